@@ -0,0 +1,59 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.benchmarks;
+
+import io.strimzi.api.kafka.model.listener.arraylistener.GenericKafkaListener;
+import io.strimzi.operator.cluster.model.KafkaBrokerConfigurationBuilder;
+import io.strimzi.operator.cluster.model.KafkaConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks rendering the broker configuration file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class KafkaBrokerConfigurationBuilderBenchmark {
+    @Param({"1", "4", "8"})
+    int listeners;
+
+    @Param({"10", "100", "1000"})
+    int configSize;
+
+    private List<GenericKafkaListener> kafkaListeners;
+    private KafkaConfiguration configuration;
+
+    @Setup
+    public void setup() {
+        kafkaListeners = KafkaFixtures.listeners(listeners);
+        configuration = new KafkaConfiguration(KafkaFixtures.brokerConfig(configSize).entrySet());
+    }
+
+    @Benchmark
+    public String build() {
+        return new KafkaBrokerConfigurationBuilder()
+                .withBrokerId()
+                .withZookeeper(KafkaFixtures.NAME)
+                .withListeners(KafkaFixtures.NAME, KafkaFixtures.NAMESPACE, kafkaListeners)
+                .withUserConfiguration(configuration)
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.benchmarks;
+
+import io.strimzi.operator.cluster.model.KafkaCluster;
+import io.strimzi.operator.cluster.model.KafkaVersion;
+import io.strimzi.operator.cluster.operator.resource.KafkaBrokerConfigurationDiff;
+import io.strimzi.operator.common.model.OrderedProperties;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptySet;
+
+/**
+ * Benchmarks diffing the configuration reported by a broker against its desired configuration.
+ * The current configuration differs from the desired one in a single dynamically updatable option.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class KafkaBrokerConfigurationDiffBenchmark {
+    @Param({"1", "4"})
+    int listeners;
+
+    @Param({"10", "100"})
+    int configSize;
+
+    private KafkaVersion kafkaVersion;
+    private String desired;
+    private Config current;
+
+    @Setup
+    public void setup() {
+        KafkaVersion.Lookup versions = KafkaFixtures.versions();
+        kafkaVersion = versions.defaultVersion();
+
+        KafkaCluster cluster = KafkaCluster.fromCrd(KafkaFixtures.kafka(3, listeners, configSize), versions);
+        cluster.generateAncillaryConfigMap(null, emptySet(), emptySet());
+        desired = cluster.getBrokersConfiguration();
+
+        List<ConfigEntry> entries = new ArrayList<>();
+        for (Map.Entry<String, String> entry : new OrderedProperties().addStringPairs(desired).asMap().entrySet()) {
+            String value = entry.getValue().replace("${STRIMZI_BROKER_ID}", "0");
+            entries.add(new ConfigEntry(entry.getKey(), "num.io.threads".equals(entry.getKey()) ? "4" : value));
+        }
+        current = new Config(entries);
+    }
+
+    @Benchmark
+    public KafkaBrokerConfigurationDiff diff() {
+        return new KafkaBrokerConfigurationDiff(current, desired, kafkaVersion, 0);
+    }
+}
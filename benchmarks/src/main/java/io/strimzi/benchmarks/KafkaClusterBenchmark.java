@@ -0,0 +1,72 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.benchmarks;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.strimzi.api.kafka.model.Kafka;
+import io.strimzi.operator.cluster.model.KafkaCluster;
+import io.strimzi.operator.cluster.model.KafkaVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptySet;
+
+/**
+ * Benchmarks the generation of the Kafka broker model and resources from the {@code Kafka} custom resource.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class KafkaClusterBenchmark {
+    @Param({"3", "12", "48"})
+    int brokers;
+
+    @Param({"1", "4"})
+    int listeners;
+
+    @Param({"10", "100"})
+    int configSize;
+
+    private KafkaVersion.Lookup versions;
+    private Kafka kafka;
+    private KafkaCluster cluster;
+
+    @Setup
+    public void setup() {
+        versions = KafkaFixtures.versions();
+        kafka = KafkaFixtures.kafka(brokers, listeners, configSize);
+        cluster = KafkaCluster.fromCrd(kafka, versions);
+    }
+
+    @Benchmark
+    public KafkaCluster fromCrd() {
+        return KafkaCluster.fromCrd(kafka, versions);
+    }
+
+    @Benchmark
+    public StatefulSet generateStatefulSet() {
+        return cluster.generateStatefulSet(false, null, null);
+    }
+
+    @Benchmark
+    public ConfigMap generateAncillaryConfigMap() {
+        return cluster.generateAncillaryConfigMap(null, emptySet(), emptySet());
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.benchmarks;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.strimzi.api.kafka.model.Kafka;
+import io.strimzi.api.kafka.model.KafkaBuilder;
+import io.strimzi.api.kafka.model.listener.KafkaListenerAuthenticationScramSha512;
+import io.strimzi.api.kafka.model.listener.KafkaListenerAuthenticationTls;
+import io.strimzi.api.kafka.model.listener.arraylistener.ArrayOrObjectKafkaListeners;
+import io.strimzi.api.kafka.model.listener.arraylistener.GenericKafkaListener;
+import io.strimzi.api.kafka.model.listener.arraylistener.GenericKafkaListenerBuilder;
+import io.strimzi.api.kafka.model.listener.arraylistener.KafkaListenerType;
+import io.strimzi.api.kafka.model.storage.PersistentClaimStorageBuilder;
+import io.strimzi.operator.cluster.model.KafkaVersion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the custom resources and configurations used by the benchmarks.
+ */
+public class KafkaFixtures {
+    public static final String NAMESPACE = "my-namespace";
+    public static final String NAME = "my-cluster";
+
+    /**
+     * Broker options which are commonly set in {@code Kafka.spec.kafka.config}.
+     * Configurations larger than this list are padded with custom options.
+     */
+    private static final String[][] BROKER_OPTIONS = {
+        {"num.partitions", "3"},
+        {"default.replication.factor", "3"},
+        {"min.insync.replicas", "2"},
+        {"offsets.topic.replication.factor", "3"},
+        {"transaction.state.log.replication.factor", "3"},
+        {"transaction.state.log.min.isr", "2"},
+        {"log.retention.hours", "168"},
+        {"log.retention.check.interval.ms", "300000"},
+        {"log.segment.bytes", "1073741824"},
+        {"log.cleaner.threads", "1"},
+        {"message.max.bytes", "1000012"},
+        {"num.io.threads", "8"},
+        {"num.network.threads", "3"},
+        {"num.replica.fetchers", "1"},
+        {"background.threads", "10"},
+        {"compression.type", "producer"},
+        {"auto.create.topics.enable", "false"},
+        {"unclean.leader.election.enable", "false"},
+        {"socket.send.buffer.bytes", "102400"},
+        {"socket.receive.buffer.bytes", "102400"}
+    };
+
+    private KafkaFixtures() { }
+
+    /**
+     * @return A lookup of the supported Kafka versions with an image configured for each of them.
+     */
+    public static KafkaVersion.Lookup versions() {
+        Map<String, String> images = new HashMap<>();
+        for (String version : new KafkaVersion.Lookup(emptyImages(), emptyImages(), emptyImages(), emptyImages(), emptyImages()).supportedVersions()) {
+            images.put(version, "strimzi/kafka:latest-kafka-" + version);
+        }
+        return new KafkaVersion.Lookup(images, images, images, images, images);
+    }
+
+    private static Map<String, String> emptyImages() {
+        return new HashMap<>();
+    }
+
+    /**
+     * @param size The number of options.
+     * @return Broker options as they would be set in {@code Kafka.spec.kafka.config}.
+     */
+    public static Map<String, Object> brokerConfig(int size) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            if (i < BROKER_OPTIONS.length) {
+                config.put(BROKER_OPTIONS[i][0], BROKER_OPTIONS[i][1]);
+            } else {
+                config.put("custom.option." + i, "value-" + i);
+            }
+        }
+        return config;
+    }
+
+    /**
+     * @param count The number of listeners.
+     * @return Internal listeners, alternating between plain with SCRAM-SHA-512 and TLS client authentication.
+     */
+    public static List<GenericKafkaListener> listeners(int count) {
+        List<GenericKafkaListener> listeners = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean tls = i % 2 == 1;
+            listeners.add(new GenericKafkaListenerBuilder()
+                    .withName("listener" + i)
+                    .withPort(9092 + i)
+                    .withType(KafkaListenerType.INTERNAL)
+                    .withTls(tls)
+                    .withAuth(tls ? new KafkaListenerAuthenticationTls() : new KafkaListenerAuthenticationScramSha512())
+                    .build());
+        }
+        return listeners;
+    }
+
+    /**
+     * @param brokers The number of Kafka brokers. The cluster has 5 ZooKeeper nodes from 5 brokers on, and 3 below.
+     * @param listeners The number of listeners.
+     * @param configSize The number of options in {@code Kafka.spec.kafka.config}.
+     * @return A Kafka custom resource.
+     */
+    public static Kafka kafka(int brokers, int listeners, int configSize) {
+        return new KafkaBuilder()
+                .withMetadata(new ObjectMetaBuilder()
+                        .withNamespace(NAMESPACE)
+                        .withName(NAME)
+                        .build())
+                .withNewSpec()
+                    .withNewKafka()
+                        .withReplicas(brokers)
+                        .withListeners(new ArrayOrObjectKafkaListeners(listeners(listeners), null))
+                        .withConfig(brokerConfig(configSize))
+                        .withStorage(new PersistentClaimStorageBuilder()
+                                .withSize("100Gi")
+                                .withDeleteClaim(false)
+                                .build())
+                    .endKafka()
+                    .withNewZookeeper()
+                        .withReplicas(brokers >= 5 ? 5 : 3)
+                        .withStorage(new PersistentClaimStorageBuilder()
+                                .withSize("10Gi")
+                                .withDeleteClaim(false)
+                                .build())
+                    .endZookeeper()
+                .endSpec()
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.benchmarks;
+
+import io.strimzi.operator.common.model.OrderedProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing and rendering of properties files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OrderedPropertiesBenchmark {
+    @Param({"10", "100", "1000"})
+    int configSize;
+
+    private String pairs;
+    private OrderedProperties properties;
+
+    @Setup
+    public void setup() {
+        properties = new OrderedProperties();
+        for (Map.Entry<String, Object> entry : KafkaFixtures.brokerConfig(configSize).entrySet()) {
+            properties.addPair(entry.getKey(), String.valueOf(entry.getValue()));
+        }
+        pairs = properties.asPairs();
+    }
+
+    @Benchmark
+    public OrderedProperties parse() {
+        return new OrderedProperties().addStringPairs(pairs);
+    }
+
+    @Benchmark
+    public String render() {
+        return properties.asPairs();
+    }
+}
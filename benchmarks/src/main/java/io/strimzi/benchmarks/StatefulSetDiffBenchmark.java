@@ -0,0 +1,63 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.benchmarks;
+
+import io.fabric8.kubernetes.api.model.apps.StatefulSet;
+import io.strimzi.operator.cluster.model.ImagePullPolicy;
+import io.strimzi.operator.cluster.model.KafkaCluster;
+import io.strimzi.operator.cluster.operator.resource.StatefulSetDiff;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks diffing the current and desired Kafka StatefulSets, both when nothing changed
+ * (the common case of a periodic reconciliation) and when the pod template changed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StatefulSetDiffBenchmark {
+    @Param({"3", "12", "48"})
+    int brokers;
+
+    @Param({"1", "4"})
+    int listeners;
+
+    private StatefulSet current;
+    private StatefulSet unchanged;
+    private StatefulSet changed;
+
+    @Setup
+    public void setup() {
+        KafkaCluster cluster = KafkaCluster.fromCrd(KafkaFixtures.kafka(brokers, listeners, 10), KafkaFixtures.versions());
+        current = cluster.generateStatefulSet(false, null, null);
+        unchanged = cluster.generateStatefulSet(false, null, null);
+        changed = cluster.generateStatefulSet(false, ImagePullPolicy.ALWAYS, null);
+    }
+
+    @Benchmark
+    public StatefulSetDiff diffUnchanged() {
+        return new StatefulSetDiff(current, unchanged);
+    }
+
+    @Benchmark
+    public StatefulSetDiff diffChanged() {
+        return new StatefulSetDiff(current, changed);
+    }
+}
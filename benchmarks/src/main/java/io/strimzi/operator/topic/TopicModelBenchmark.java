@@ -0,0 +1,118 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.topic;
+
+import io.strimzi.api.kafka.model.KafkaTopic;
+import io.strimzi.api.kafka.model.KafkaTopicBuilder;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks converting and diffing the topics of the Topic Operator. The classes are package-private, hence the
+ * package of this benchmark. Run with {@code -prof gc} to report the allocation rate of each conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TopicModelBenchmark {
+    @Param({"5", "20"})
+    int configSize;
+
+    private KafkaTopic resource;
+    private TopicMetadata metadata;
+    private byte[] json;
+    private Topic topic;
+    private Topic sameTopic;
+    private Topic changedTopic;
+
+    @Setup
+    public void setup() {
+        Map<String, Object> config = new HashMap<>(configSize);
+        List<ConfigEntry> entries = new ArrayList<>(configSize);
+        for (int i = 0; i < configSize; i++) {
+            config.put("config.key." + i, "value-" + i);
+            entries.add(new ConfigEntry("config.key." + i, "value-" + i));
+        }
+
+        resource = new KafkaTopicBuilder()
+                .withNewMetadata()
+                    .withName("my-topic")
+                    .withNamespace("myproject")
+                    .addToLabels("strimzi.io/cluster", "my-cluster")
+                .endMetadata()
+                .withNewSpec()
+                    .withPartitions(12)
+                    .withReplicas(3)
+                    .withConfig(config)
+                .endSpec()
+                .build();
+
+        List<Node> nodes = Arrays.asList(new Node(0, "broker-0", 9092), new Node(1, "broker-1", 9092), new Node(2, "broker-2", 9092));
+        List<TopicPartitionInfo> partitions = new ArrayList<>(12);
+        for (int i = 0; i < 12; i++) {
+            partitions.add(new TopicPartitionInfo(i, nodes.get(i % 3), nodes, nodes));
+        }
+        metadata = new TopicMetadata(new TopicDescription("my-topic", false, partitions), new Config(entries));
+
+        topic = TopicSerialization.fromTopicResource(resource);
+        sameTopic = TopicSerialization.fromTopicMetadata(metadata);
+        changedTopic = new Topic.Builder(sameTopic).withConfigEntry("config.key.0", "changed").build();
+        json = TopicSerialization.toJson(topic);
+    }
+
+    @Benchmark
+    public Topic fromTopicResource() {
+        return TopicSerialization.fromTopicResource(resource);
+    }
+
+    @Benchmark
+    public Topic fromTopicMetadata() {
+        return TopicSerialization.fromTopicMetadata(metadata);
+    }
+
+    @Benchmark
+    public byte[] toJson() {
+        return TopicSerialization.toJson(topic);
+    }
+
+    @Benchmark
+    public Topic fromJson() {
+        return TopicSerialization.fromJson(json);
+    }
+
+    @Benchmark
+    public TopicDiff diffSame() {
+        return TopicDiff.diff(topic, sameTopic);
+    }
+
+    @Benchmark
+    public TopicDiff diffChanged() {
+        return TopicDiff.diff(topic, changedTopic);
+    }
+}
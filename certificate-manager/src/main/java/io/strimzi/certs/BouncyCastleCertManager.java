@@ -0,0 +1,390 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.certs;
+
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x500.X500NameBuilder;
+import org.bouncycastle.asn1.x500.style.BCStyle;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.ExtensionsGenerator;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509ExtensionUtils;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.openssl.PEMKeyPair;
+import org.bouncycastle.openssl.PEMParser;
+import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
+import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
+import org.bouncycastle.openssl.jcajce.JcaPKCS8Generator;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentVerifierProviderBuilder;
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import org.bouncycastle.pkcs.PKCSException;
+import org.bouncycastle.pkcs.jcajce.JcaPKCS10CertificationRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A certificates manager which generates keys and certificates within the JVM, using Bouncy Castle.
+ * Unlike {@link OpenSslCertManager}, it does not fork any process and does not create any temporary files:
+ * the only files it reads and writes are the ones passed to its methods.
+ *
+ * Keys are 2048-bit RSA keys written in PKCS#8 PEM format, and certificates are signed using SHA-256,
+ * like the ones generated by {@code openssl} with its default configuration.
+ */
+@SuppressWarnings({"checkstyle:ClassDataAbstractionCoupling", "checkstyle:ClassFanOutComplexity"})
+public class BouncyCastleCertManager implements CertManager {
+    private static final String KEY_ALGORITHM = "RSA";
+    private static final int KEY_SIZE = 2048;
+
+    /**
+     * The subject used when none is given, because Java does not accept certificates with an empty issuer.
+     */
+    private static final X500Name DEFAULT_SUBJECT = new X500NameBuilder(BCStyle.INSTANCE)
+            .addRDN(BCStyle.O, "io.strimzi")
+            .build();
+
+    private final SecureRandom random = new SecureRandom();
+    private final JcaPEMKeyConverter keyConverter = new JcaPEMKeyConverter();
+    private final JcaX509CertificateConverter certConverter = new JcaX509CertificateConverter();
+
+    public BouncyCastleCertManager() {}
+
+    @Override
+    public void generateSelfSignedCert(File keyFile, File certFile, int days) throws IOException {
+        generateSelfSignedCert(keyFile, certFile, null, days);
+    }
+
+    @Override
+    public void generateSelfSignedCert(File keyFile, File certFile, Subject sbj, int days) throws IOException {
+        KeyPair keyPair = generateKeyPair();
+        X509Certificate cert = selfSignedCert(keyPair.getPrivate(), keyPair.getPublic(), sbj, days);
+
+        writePem(keyFile, new JcaPKCS8Generator(keyPair.getPrivate(), null));
+        writePem(certFile, cert);
+    }
+
+    @Override
+    public void renewSelfSignedCert(File keyFile, File certFile, Subject sbj, int days) throws IOException {
+        PrivateKey privateKey = readPrivateKey(Files.readAllBytes(keyFile.toPath()));
+        X509Certificate cert = selfSignedCert(privateKey, publicKey(privateKey), sbj, days);
+
+        writePem(certFile, cert);
+    }
+
+    @Override
+    public void addCertToTrustStore(File certFile, String certAlias, File trustStoreFile, String trustStorePassword)
+            throws IOException, CertificateException, KeyStoreException, NoSuchAlgorithmException {
+
+        KeyStore trustStore = KeyStore.getInstance("PKCS12");
+        // the KeyStore class is able to create an empty store if the input stream is null
+        if (trustStoreFile.length() > 0) {
+            try (InputStream isTrustStore = new FileInputStream(trustStoreFile)) {
+                trustStore.load(isTrustStore, trustStorePassword.toCharArray());
+            }
+        } else {
+            trustStore.load(null, trustStorePassword.toCharArray());
+        }
+
+        try (InputStream isCertificate = new FileInputStream(certFile)) {
+            Certificate certificate = CertificateFactory.getInstance("X.509").generateCertificate(isCertificate);
+            trustStore.setEntry(certAlias, new KeyStore.TrustedCertificateEntry(certificate), null);
+        }
+
+        try (OutputStream osTrustStore = new FileOutputStream(trustStoreFile)) {
+            trustStore.store(osTrustStore, trustStorePassword.toCharArray());
+        }
+    }
+
+    @Override
+    public void addKeyAndCertToKeyStore(File keyFile, File certFile, String alias, File keyStoreFile, String keyStorePassword) throws IOException {
+        PrivateKey privateKey = readPrivateKey(Files.readAllBytes(keyFile.toPath()));
+
+        try (InputStream isCertificate = new FileInputStream(certFile)) {
+            Collection<? extends Certificate> chain = CertificateFactory.getInstance("X.509").generateCertificates(isCertificate);
+
+            // Like openssl pkcs12 -export, this replaces any existing content of the keystore file
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(null, keyStorePassword.toCharArray());
+            keyStore.setKeyEntry(alias, privateKey, keyStorePassword.toCharArray(), chain.toArray(new Certificate[0]));
+
+            try (OutputStream osKeyStore = new FileOutputStream(keyStoreFile)) {
+                keyStore.store(osKeyStore, keyStorePassword.toCharArray());
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Failed to create the keystore " + keyStoreFile, e);
+        }
+    }
+
+    @Override
+    public void deleteFromTrustStore(List<String> aliases, File trustStoreFile, String trustStorePassword)
+            throws IOException, CertificateException, KeyStoreException, NoSuchAlgorithmException {
+
+        KeyStore trustStore = KeyStore.getInstance("PKCS12");
+        try (InputStream isTrustStore = new FileInputStream(trustStoreFile)) {
+            trustStore.load(isTrustStore, trustStorePassword.toCharArray());
+        }
+
+        for (String alias : aliases) {
+            trustStore.deleteEntry(alias);
+        }
+
+        try (OutputStream osTrustStore = new FileOutputStream(trustStoreFile)) {
+            trustStore.store(osTrustStore, trustStorePassword.toCharArray());
+        }
+    }
+
+    @Override
+    public void generateCsr(File keyFile, File csrFile, Subject sbj) throws IOException {
+        KeyPair keyPair = generateKeyPair();
+
+        JcaPKCS10CertificationRequestBuilder builder = new JcaPKCS10CertificationRequestBuilder(x500Name(sbj), keyPair.getPublic());
+        GeneralNames subjectAltNames = subjectAltNames(sbj);
+        if (subjectAltNames != null) {
+            ExtensionsGenerator extensions = new ExtensionsGenerator();
+            extensions.addExtension(Extension.subjectAlternativeName, false, subjectAltNames);
+            builder.addAttribute(PKCSObjectIdentifiers.pkcs_9_at_extensionRequest, extensions.generate());
+        }
+        PKCS10CertificationRequest csr = builder.build(signer(keyPair.getPrivate()));
+
+        writePem(keyFile, new JcaPKCS8Generator(keyPair.getPrivate(), null));
+        writePem(csrFile, csr);
+    }
+
+    @Override
+    public void generateCert(File csrFile, File caKey, File caCert, File crtFile, int days) throws IOException {
+        generateCert(csrFile, caKey, caCert, crtFile, null, days);
+    }
+
+    @Override
+    public void generateCert(File csrFile, File caKey, File caCert, File crtFile, Subject sbj, int days) throws IOException {
+        generateCert(csrFile, Files.readAllBytes(caKey.toPath()), Files.readAllBytes(caCert.toPath()), crtFile, sbj, days);
+    }
+
+    @Override
+    public void generateCert(File csrFile, byte[] caKey, byte[] caCert, File crtFile, int days) throws IOException {
+        generateCert(csrFile, caKey, caCert, crtFile, null, days);
+    }
+
+    @Override
+    public void generateCert(File csrFile, byte[] caKey, byte[] caCert, File crtFile, Subject sbj, int days) throws IOException {
+        PKCS10CertificationRequest csr = readPem(Files.readAllBytes(csrFile.toPath()), PKCS10CertificationRequest.class);
+        PrivateKey caPrivateKey = readPrivateKey(caKey);
+        X509Certificate caCertificate = convert(readPem(caCert, X509CertificateHolder.class));
+
+        try {
+            if (!csr.isSignatureValid(new JcaContentVerifierProviderBuilder().build(csr.getSubjectPublicKeyInfo()))) {
+                throw new IOException("The signature of the certificate sign request " + csrFile + " is not valid");
+            }
+
+            PublicKey publicKey = keyConverter.getPublicKey(csr.getSubjectPublicKeyInfo());
+            X509v3CertificateBuilder builder = certBuilder(
+                    X500Name.getInstance(caCertificate.getSubjectX500Principal().getEncoded()), csr.getSubject(), publicKey, days);
+
+            JcaX509ExtensionUtils extensionUtils = new JcaX509ExtensionUtils();
+            builder.addExtension(Extension.subjectKeyIdentifier, false, extensionUtils.createSubjectKeyIdentifier(publicKey));
+            builder.addExtension(Extension.authorityKeyIdentifier, false, extensionUtils.createAuthorityKeyIdentifier(caCertificate));
+            // Like openssl x509 -req, the subject alt names come from the given subject rather than from the CSR
+            GeneralNames subjectAltNames = subjectAltNames(sbj);
+            if (subjectAltNames != null) {
+                builder.addExtension(Extension.subjectAlternativeName, false, subjectAltNames);
+            }
+
+            writePem(crtFile, convert(builder.build(signer(caPrivateKey))));
+        } catch (GeneralSecurityException | OperatorCreationException | PKCSException e) {
+            throw new IOException("Failed to sign the certificate sign request " + csrFile, e);
+        }
+    }
+
+    private X509Certificate selfSignedCert(PrivateKey privateKey, PublicKey publicKey, Subject sbj, int days) throws IOException {
+        X500Name name = x500Name(sbj);
+        X509v3CertificateBuilder builder = certBuilder(name, name, publicKey, days);
+
+        try {
+            JcaX509ExtensionUtils extensionUtils = new JcaX509ExtensionUtils();
+            builder.addExtension(Extension.subjectKeyIdentifier, false, extensionUtils.createSubjectKeyIdentifier(publicKey));
+            builder.addExtension(Extension.authorityKeyIdentifier, false, extensionUtils.createAuthorityKeyIdentifier(publicKey));
+            builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+            GeneralNames subjectAltNames = subjectAltNames(sbj);
+            if (subjectAltNames != null) {
+                builder.addExtension(Extension.subjectAlternativeName, false, subjectAltNames);
+            }
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Failed to compute the key identifiers", e);
+        }
+
+        return convert(builder.build(signer(privateKey)));
+    }
+
+    private X509v3CertificateBuilder certBuilder(X500Name issuer, X500Name subject, PublicKey publicKey, int days) {
+        Instant notBefore = Instant.now();
+        Instant notAfter = notBefore.plus(Duration.ofDays(days));
+        return new JcaX509v3CertificateBuilder(issuer, new BigInteger(64, random), Date.from(notBefore), Date.from(notAfter), subject, publicKey);
+    }
+
+    private KeyPair generateKeyPair() throws IOException {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(KEY_ALGORITHM);
+            generator.initialize(KEY_SIZE, random);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Failed to generate a key pair", e);
+        }
+    }
+
+    private ContentSigner signer(PrivateKey privateKey) throws IOException {
+        String algorithm = "EC".equals(privateKey.getAlgorithm()) ? "SHA256withECDSA" : "SHA256withRSA";
+        try {
+            return new JcaContentSignerBuilder(algorithm).build(privateKey);
+        } catch (OperatorCreationException e) {
+            throw new IOException("Failed to create a " + algorithm + " signer", e);
+        }
+    }
+
+    /**
+     * Derives the public key from a private key, which is needed to renew a certificate with only its key at hand.
+     */
+    private PublicKey publicKey(PrivateKey privateKey) throws IOException {
+        if (privateKey instanceof RSAPrivateCrtKey) {
+            RSAPrivateCrtKey rsaKey = (RSAPrivateCrtKey) privateKey;
+            try {
+                return KeyFactory.getInstance(KEY_ALGORITHM).generatePublic(new RSAPublicKeySpec(rsaKey.getModulus(), rsaKey.getPublicExponent()));
+            } catch (GeneralSecurityException e) {
+                throw new IOException("Failed to derive the public key", e);
+            }
+        }
+        throw new IOException("Cannot derive the public key from a " + privateKey.getAlgorithm() + " private key");
+    }
+
+    private X509Certificate convert(X509CertificateHolder holder) throws IOException {
+        try {
+            return certConverter.getCertificate(holder);
+        } catch (CertificateException e) {
+            throw new IOException("Failed to convert the certificate", e);
+        }
+    }
+
+    /**
+     * Reads a private key in PKCS#8 or in the traditional OpenSSL PEM format.
+     */
+    private PrivateKey readPrivateKey(byte[] pem) throws IOException {
+        Object object = readPem(pem, Object.class);
+        if (object instanceof PEMKeyPair) {
+            return keyConverter.getPrivateKey(((PEMKeyPair) object).getPrivateKeyInfo());
+        } else if (object instanceof PrivateKeyInfo) {
+            return keyConverter.getPrivateKey((PrivateKeyInfo) object);
+        } else {
+            throw new IOException("Expected a private key but found " + object.getClass().getSimpleName());
+        }
+    }
+
+    private static <T> T readPem(byte[] pem, Class<T> type) throws IOException {
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(pem), StandardCharsets.US_ASCII);
+             PEMParser parser = new PEMParser(reader)) {
+            Object object = parser.readObject();
+            if (!type.isInstance(object)) {
+                throw new IOException("Expected a PEM encoded " + type.getSimpleName() + " but found " + (object == null ? "nothing" : object.getClass().getSimpleName()));
+            }
+            return type.cast(object);
+        }
+    }
+
+    private static void writePem(File file, Object object) throws IOException {
+        try (JcaPEMWriter writer = new JcaPEMWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.US_ASCII))) {
+            writer.writeObject(object);
+        }
+    }
+
+    private static X500Name x500Name(Subject sbj) {
+        if (sbj == null || (sbj.organizationName() == null && sbj.commonName() == null)) {
+            return DEFAULT_SUBJECT;
+        }
+
+        // Same order as the openssl -subj option built by Subject.toString()
+        X500NameBuilder builder = new X500NameBuilder(BCStyle.INSTANCE);
+        if (sbj.organizationName() != null) {
+            builder.addRDN(BCStyle.O, sbj.organizationName());
+        }
+        if (sbj.commonName() != null) {
+            builder.addRDN(BCStyle.CN, sbj.commonName());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Converts subject alt names in the openssl configuration format (for example {@code DNS.1} or {@code IP.1}).
+     */
+    private static GeneralNames subjectAltNames(Subject sbj) {
+        if (sbj == null || sbj.subjectAltNames() == null || sbj.subjectAltNames().isEmpty()) {
+            return null;
+        }
+
+        List<GeneralName> names = new ArrayList<>(sbj.subjectAltNames().size());
+        for (Map.Entry<String, String> entry : sbj.subjectAltNames().entrySet()) {
+            String type = entry.getKey().split("\\.", 2)[0].toUpperCase(Locale.ENGLISH);
+            switch (type) {
+                case "DNS":
+                    names.add(new GeneralName(GeneralName.dNSName, entry.getValue()));
+                    break;
+                case "IP":
+                    names.add(new GeneralName(GeneralName.iPAddress, entry.getValue()));
+                    break;
+                case "URI":
+                    names.add(new GeneralName(GeneralName.uniformResourceIdentifier, entry.getValue()));
+                    break;
+                case "EMAIL":
+                    names.add(new GeneralName(GeneralName.rfc822Name, entry.getValue()));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported subject alt name " + entry.getKey());
+            }
+        }
+        return new GeneralNames(names.toArray(new GeneralName[0]));
+    }
+}
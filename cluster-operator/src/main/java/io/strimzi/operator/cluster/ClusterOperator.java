@@ -178,6 +178,8 @@ public class ClusterOperator extends AbstractVerticle {
                         PrometheusMeterRegistry metrics = (PrometheusMeterRegistry) metricsProvider.meterRegistry();
                         request.response().setStatusCode(200)
                                 .end(metrics.scrape());
+                    } else if (request.path().equals("/debug/reconciliations")) {
+                        kafkaAssemblyOperator.reconciliationTraces().handle(request);
                     }
                 })
                 .listen(HEALTH_SERVER_PORT, ar -> {
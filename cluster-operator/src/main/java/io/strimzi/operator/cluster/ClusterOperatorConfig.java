@@ -17,6 +17,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
@@ -39,6 +40,9 @@ public class ClusterOperatorConfig {
     public static final String STRIMZI_CREATE_CLUSTER_ROLES = "STRIMZI_CREATE_CLUSTER_ROLES";
     public static final String STRIMZI_IMAGE_PULL_POLICY = "STRIMZI_IMAGE_PULL_POLICY";
     public static final String STRIMZI_IMAGE_PULL_SECRETS = "STRIMZI_IMAGE_PULL_SECRETS";
+    public static final String STRIMZI_RESOURCE_CACHE_RESYNC_INTERVAL_MS = "STRIMZI_RESOURCE_CACHE_RESYNC_INTERVAL_MS";
+    public static final String STRIMZI_RECONCILIATION_CONCURRENCY = "STRIMZI_RECONCILIATION_CONCURRENCY";
+    public static final String STRIMZI_MAX_PARALLEL_BROKER_RESTARTS = "STRIMZI_MAX_PARALLEL_BROKER_RESTARTS";
 
     // Env vars for configuring images
     public static final String STRIMZI_KAFKA_IMAGES = "STRIMZI_KAFKA_IMAGES";
@@ -59,6 +63,8 @@ public class ClusterOperatorConfig {
     public static final long DEFAULT_FULL_RECONCILIATION_INTERVAL_MS = 120_000;
     public static final long DEFAULT_OPERATION_TIMEOUT_MS = 300_000;
     public static final boolean DEFAULT_CREATE_CLUSTER_ROLES = false;
+    public static final long DEFAULT_RESOURCE_CACHE_RESYNC_INTERVAL_MS = 0;
+    public static final int DEFAULT_MAX_PARALLEL_BROKER_RESTARTS = 1;
 
     private final Set<String> namespaces;
     private final long reconciliationIntervalMs;
@@ -67,6 +73,9 @@ public class ClusterOperatorConfig {
     private final KafkaVersion.Lookup versions;
     private final ImagePullPolicy imagePullPolicy;
     private final List<LocalObjectReference> imagePullSecrets;
+    private final long resourceCacheResyncIntervalMs;
+    private final Map<String, Integer> reconciliationConcurrency;
+    private final int maxParallelBrokerRestarts;
 
     /**
      * Constructor
@@ -78,8 +87,11 @@ public class ClusterOperatorConfig {
      * @param versions The configured Kafka versions
      * @param imagePullPolicy Image pull policy configured by the user
      * @param imagePullSecrets Set of secrets for pulling container images from secured repositories
+     * @param resourceCacheResyncIntervalMs Resync interval of the local resource caches in milliseconds, or 0 to disable the caches
+     * @param reconciliationConcurrency Maximum number of concurrent reconciliations per resource kind
+     * @param maxParallelBrokerRestarts Maximum number of Kafka brokers restarted at the same time by a rolling update
      */
-    public ClusterOperatorConfig(Set<String> namespaces, long reconciliationIntervalMs, long operationTimeoutMs, boolean createClusterRoles, KafkaVersion.Lookup versions, ImagePullPolicy imagePullPolicy, List<LocalObjectReference> imagePullSecrets) {
+    public ClusterOperatorConfig(Set<String> namespaces, long reconciliationIntervalMs, long operationTimeoutMs, boolean createClusterRoles, KafkaVersion.Lookup versions, ImagePullPolicy imagePullPolicy, List<LocalObjectReference> imagePullSecrets, long resourceCacheResyncIntervalMs, Map<String, Integer> reconciliationConcurrency, int maxParallelBrokerRestarts) {
         this.namespaces = unmodifiableSet(new HashSet<>(namespaces));
         this.reconciliationIntervalMs = reconciliationIntervalMs;
         this.operationTimeoutMs = operationTimeoutMs;
@@ -87,6 +99,9 @@ public class ClusterOperatorConfig {
         this.versions = versions;
         this.imagePullPolicy = imagePullPolicy;
         this.imagePullSecrets = imagePullSecrets;
+        this.resourceCacheResyncIntervalMs = resourceCacheResyncIntervalMs;
+        this.reconciliationConcurrency = reconciliationConcurrency;
+        this.maxParallelBrokerRestarts = maxParallelBrokerRestarts;
     }
 
     /**
@@ -128,7 +143,10 @@ public class ClusterOperatorConfig {
         boolean createClusterRoles = parseCreateClusterRoles(map.get(ClusterOperatorConfig.STRIMZI_CREATE_CLUSTER_ROLES));
         ImagePullPolicy imagePullPolicy = parseImagePullPolicy(map.get(ClusterOperatorConfig.STRIMZI_IMAGE_PULL_POLICY));
         List<LocalObjectReference> imagePullSecrets = parseImagePullSecrets(map.get(ClusterOperatorConfig.STRIMZI_IMAGE_PULL_SECRETS));
-        return new ClusterOperatorConfig(namespaces, reconciliationInterval, operationTimeout, createClusterRoles, lookup, imagePullPolicy, imagePullSecrets);
+        long resourceCacheResyncInterval = parseResourceCacheResyncInterval(map.get(ClusterOperatorConfig.STRIMZI_RESOURCE_CACHE_RESYNC_INTERVAL_MS));
+        Map<String, Integer> reconciliationConcurrency = parseReconciliationConcurrency(map.get(ClusterOperatorConfig.STRIMZI_RECONCILIATION_CONCURRENCY));
+        int maxParallelBrokerRestarts = parseMaxParallelBrokerRestarts(map.get(ClusterOperatorConfig.STRIMZI_MAX_PARALLEL_BROKER_RESTARTS));
+        return new ClusterOperatorConfig(namespaces, reconciliationInterval, operationTimeout, createClusterRoles, lookup, imagePullPolicy, imagePullSecrets, resourceCacheResyncInterval, reconciliationConcurrency, maxParallelBrokerRestarts);
 
     }
 
@@ -171,6 +189,57 @@ public class ClusterOperatorConfig {
         return operationTimeout;
     }
 
+    private static long parseResourceCacheResyncInterval(String resourceCacheResyncIntervalEnvVar) {
+        long resourceCacheResyncInterval = DEFAULT_RESOURCE_CACHE_RESYNC_INTERVAL_MS;
+
+        if (resourceCacheResyncIntervalEnvVar != null) {
+            resourceCacheResyncInterval = Long.parseLong(resourceCacheResyncIntervalEnvVar);
+
+            if (resourceCacheResyncInterval < 0) {
+                throw new InvalidConfigurationException(ClusterOperatorConfig.STRIMZI_RESOURCE_CACHE_RESYNC_INTERVAL_MS
+                        + " cannot be negative");
+            }
+        }
+
+        return resourceCacheResyncInterval;
+    }
+
+    private static int parseMaxParallelBrokerRestarts(String maxParallelBrokerRestartsEnvVar) {
+        int maxParallelBrokerRestarts = DEFAULT_MAX_PARALLEL_BROKER_RESTARTS;
+
+        if (maxParallelBrokerRestartsEnvVar != null) {
+            maxParallelBrokerRestarts = Integer.parseInt(maxParallelBrokerRestartsEnvVar);
+
+            if (maxParallelBrokerRestarts < 1) {
+                throw new InvalidConfigurationException(ClusterOperatorConfig.STRIMZI_MAX_PARALLEL_BROKER_RESTARTS
+                        + " must be at least 1");
+            }
+        }
+
+        return maxParallelBrokerRestarts;
+    }
+
+    private static Map<String, Integer> parseReconciliationConcurrency(String reconciliationConcurrencyEnvVar) {
+        Map<String, Integer> reconciliationConcurrency = new HashMap<>();
+
+        try {
+            for (Map.Entry<String, String> entry : Util.parseMap(reconciliationConcurrencyEnvVar).entrySet()) {
+                int concurrency = Integer.parseInt(entry.getValue());
+
+                if (concurrency < 0) {
+                    throw new NumberFormatException("Negative concurrency " + concurrency);
+                }
+
+                reconciliationConcurrency.put(entry.getKey(), concurrency);
+            }
+        } catch (RuntimeException e) {
+            throw new InvalidConfigurationException(ClusterOperatorConfig.STRIMZI_RECONCILIATION_CONCURRENCY
+                    + " is not a valid list of <kind>=<concurrency> pairs", e);
+        }
+
+        return Collections.unmodifiableMap(reconciliationConcurrency);
+    }
+
     private static boolean parseCreateClusterRoles(String createClusterRolesEnvVar) {
         boolean createClusterRoles = DEFAULT_CREATE_CLUSTER_ROLES;
 
@@ -303,6 +372,28 @@ public class ClusterOperatorConfig {
         return imagePullSecrets;
     }
 
+    /**
+     * @return  Resync interval of the local resource caches in milliseconds. 0 if the caches are disabled.
+     */
+    public long getResourceCacheResyncIntervalMs() {
+        return resourceCacheResyncIntervalMs;
+    }
+
+    /**
+     * @param kind  Kind of the reconciled resources
+     * @return  Maximum number of concurrent reconciliations of resources of the given kind. 0 if it is not limited.
+     */
+    public int getReconciliationConcurrency(String kind) {
+        return reconciliationConcurrency.getOrDefault(kind, 0);
+    }
+
+    /**
+     * @return  Maximum number of Kafka brokers restarted at the same time by a rolling update. 1 if they are restarted one at a time.
+     */
+    public int getMaxParallelBrokerRestarts() {
+        return maxParallelBrokerRestarts;
+    }
+
     @Override
     public String toString() {
         return "ClusterOperatorConfig(" +
@@ -313,6 +404,9 @@ public class ClusterOperatorConfig {
                 ",versions=" + versions +
                 ",imagePullPolicy=" + imagePullPolicy +
                 ",imagePullSecrets=" + imagePullSecrets +
+                ",resourceCacheResyncIntervalMs=" + resourceCacheResyncIntervalMs +
+                ",reconciliationConcurrency=" + reconciliationConcurrency +
+                ",maxParallelBrokerRestarts=" + maxParallelBrokerRestarts +
                 ")";
     }
 }
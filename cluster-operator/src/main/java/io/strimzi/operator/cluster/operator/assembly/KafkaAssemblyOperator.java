@@ -87,6 +87,8 @@ import io.strimzi.operator.common.BackOff;
 import io.strimzi.operator.common.InvalidConfigurationException;
 import io.strimzi.operator.common.PasswordGenerator;
 import io.strimzi.operator.common.Reconciliation;
+import io.strimzi.operator.common.ReconciliationTraces;
+import io.strimzi.operator.common.StageGraph;
 import io.strimzi.operator.common.Util;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.operator.resource.AbstractScalableResourceOperator;
@@ -101,6 +103,8 @@ import io.strimzi.operator.common.operator.resource.RoleBindingOperator;
 import io.strimzi.operator.common.operator.resource.RouteOperator;
 import io.strimzi.operator.common.operator.resource.StatusUtils;
 import io.strimzi.operator.common.operator.resource.StorageClassOperator;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
@@ -127,6 +131,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.TreeSet;
 import java.util.function.Supplier;
@@ -156,7 +161,13 @@ import static java.util.Collections.singletonMap;
 public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesClient, Kafka, KafkaList, DoneableKafka, Resource<Kafka, DoneableKafka>> {
     private static final Logger log = LogManager.getLogger(KafkaAssemblyOperator.class.getName());
 
+    /**
+     * The number of stages listed in the summary logged after each reconciliation
+     */
+    private static final int SLOWEST_STAGES_LOGGED = 5;
+
     private final long operationTimeoutMs;
+    private final int maxParallelBrokerRestarts;
 
     private final ZookeeperSetOperator zkSetOperations;
     private final KafkaSetOperator kafkaSetOperations;
@@ -171,6 +182,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
     private final CrdOperator<KubernetesClient, Kafka, KafkaList, DoneableKafka> crdOperator;
     private final ZookeeperScalerProvider zkScalerProvider;
     private final AdminClientProvider adminClientProvider;
+    private final ReconciliationTraces reconciliationTraces = new ReconciliationTraces(ReconciliationTraces.DEFAULT_CAPACITY);
 
     /**
      * @param vertx The Vertx instance
@@ -187,6 +199,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
         super(vertx, pfa, Kafka.RESOURCE_KIND, certManager, passwordGenerator,
                 supplier.kafkaOperator, supplier, config);
         this.operationTimeoutMs = config.getOperationTimeoutMs();
+        this.maxParallelBrokerRestarts = config.getMaxParallelBrokerRestarts();
         this.routeOperations = supplier.routeOperations;
         this.zkSetOperations = supplier.zkSetOperations;
         this.kafkaSetOperations = supplier.kafkaSetOperations;
@@ -260,109 +273,161 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
     }
 
     Future<Void> reconcile(ReconciliationState reconcileState)  {
-        Promise<Void> chainPromise = Promise.promise();
+        StageGraph stages = reconcileStages(reconcileState);
+        long startTime = System.nanoTime();
+
+        return stages.execute()
+                .onComplete(res -> recordStages(reconcileState.reconciliation, stages.durations(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), res.cause()));
+    }
 
-        reconcileState.initialStatus()
-                .compose(state -> state.reconcileCas(this::dateSupplier))
-                .compose(state -> state.clusterOperatorSecret(this::dateSupplier))
-                .compose(state -> state.getKafkaClusterDescription())
+    /**
+     * Records the durations of the reconciliation stages as metrics and as a reconciliation trace, and logs the
+     * slowest stages.
+     *
+     * @param reconciliation The reconciliation
+     * @param stageDurations The duration of each stage which was run, in milliseconds
+     * @param durationMs The duration of all the stages in milliseconds
+     * @param failure The cause of the failure of the reconciliation, or null if it succeeded
+     */
+    /*test*/ void recordStages(Reconciliation reconciliation, Map<String, Long> stageDurations, long durationMs, Throwable failure) {
+        Tags tags = Tags.of(Tag.of("kind", kind()), Tag.of("namespace", reconciliation.namespace()), Tag.of("cluster", reconciliation.name()));
+        stageDurations.forEach((stage, stageDurationMs) -> metrics.timer(METRICS_PREFIX + "reconciliations.stage.duration",
+                "The time the stages of reconciliations take to complete", tags.and("stage", stage))
+                .record(stageDurationMs, TimeUnit.MILLISECONDS));
+
+        if (log.isDebugEnabled()) {
+            String slowest = stageDurations.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(SLOWEST_STAGES_LOGGED)
+                    .map(stage -> stage.getKey() + "=" + stage.getValue() + "ms")
+                    .collect(Collectors.joining(", "));
+            log.debug("{}: Reconciliation stages took {}ms, the slowest were {}", reconciliation, durationMs, slowest);
+        }
+
+        reconciliationTraces.add(reconciliation, durationMs, stageDurations, failure);
+    }
+
+    /**
+     * @return The traces of the most recent reconciliations
+     */
+    public ReconciliationTraces reconciliationTraces() {
+        return reconciliationTraces;
+    }
+
+    /**
+     * Builds the graph of the reconciliation stages. Stages which create or update independent resources run
+     * concurrently, while anything which might roll the pods, add listener statuses or depend on the results of
+     * previous stages keeps the order of the original linear chain.
+     *
+     * @param state The reconciliation state
+     * @return The graph of the reconciliation stages
+     */
+    StageGraph reconcileStages(ReconciliationState state) {
+        return new StageGraph(vertx)
+                .stage("initialStatus", state::initialStatus)
+                .stage("reconcileCas", () -> state.reconcileCas(this::dateSupplier), "initialStatus")
+                .stage("clusterOperatorSecret", () -> state.clusterOperatorSecret(this::dateSupplier), "reconcileCas")
+                .stage("getKafkaClusterDescription", state::getKafkaClusterDescription, "clusterOperatorSecret")
                 // Roll everything if a new CA is added to the trust store.
-                .compose(state -> state.rollingUpdateForNewCaKey())
-                .compose(state -> state.getZookeeperDescription())
-                .compose(state -> state.zkModelWarnings())
-                .compose(state -> state.zkManualPodCleaning())
-                .compose(state -> state.zkNetPolicy())
-                .compose(state -> state.zkManualRollingUpdate())
-                .compose(state -> state.zkVersionChange())
-                .compose(state -> state.zookeeperServiceAccount())
-                .compose(state -> state.zkPvcs())
-                .compose(state -> state.zkService())
-                .compose(state -> state.zkHeadlessService())
-                .compose(state -> state.zkAncillaryCm())
-                .compose(state -> state.zkNodesSecret(this::dateSupplier))
-                .compose(state -> state.zkPodDisruptionBudget())
-                .compose(state -> state.zkStatefulSet())
-                .compose(state -> state.zkScalingDown())
-                .compose(state -> state.zkRollingUpdate())
-                .compose(state -> state.zkPodsReady())
-                .compose(state -> state.zkScalingUp())
-                .compose(state -> state.zkScalingCheck())
-                .compose(state -> state.zkServiceEndpointReadiness())
-                .compose(state -> state.zkHeadlessServiceEndpointReadiness())
-                .compose(state -> state.zkPersistentClaimDeletion())
-
-                .compose(state -> state.checkKafkaSpec())
-                .compose(state -> state.kafkaModelWarnings())
-                .compose(state -> state.kafkaManualPodCleaning())
-                .compose(state -> state.kafkaNetPolicy())
-                .compose(state -> state.kafkaManualRollingUpdate())
-                .compose(state -> state.kafkaVersionChange())
-                .compose(state -> state.kafkaPvcs())
-                .compose(state -> state.kafkaInitServiceAccount())
-                .compose(state -> state.kafkaInitClusterRoleBinding())
-                .compose(state -> state.kafkaScaleDown())
-                .compose(state -> state.kafkaServices())
-                .compose(state -> state.kafkaRoutes())
-                .compose(state -> state.kafkaIngresses())
-                .compose(state -> state.kafkaInternalServicesReady())
-                .compose(state -> state.kafkaLoadBalancerServicesReady())
-                .compose(state -> state.kafkaNodePortServicesReady())
-                .compose(state -> state.kafkaRoutesReady())
-                .compose(state -> state.kafkaIngressesReady())
-                .compose(state -> state.kafkaGenerateCertificates(this::dateSupplier))
-                .compose(state -> state.customListenerCertificates())
-                .compose(state -> state.kafkaAncillaryCm())
-                .compose(state -> state.kafkaBrokersSecret())
-                .compose(state -> state.kafkaJmxSecret())
-                .compose(state -> state.kafkaPodDisruptionBudget())
-                .compose(state -> state.kafkaStatefulSet())
-                .compose(state -> state.kafkaRollingUpdate())
-                .compose(state -> state.kafkaScaleUp())
-                .compose(state -> state.kafkaPodsReady())
-                .compose(state -> state.kafkaServiceEndpointReady())
-                .compose(state -> state.kafkaHeadlessServiceEndpointReady())
-                .compose(state -> state.kafkaPersistentClaimDeletion())
+                .stage("rollingUpdateForNewCaKey", state::rollingUpdateForNewCaKey, "getKafkaClusterDescription")
+
+                .stage("getZookeeperDescription", state::getZookeeperDescription, "rollingUpdateForNewCaKey")
+                .stage("zkModelWarnings", state::zkModelWarnings, "getZookeeperDescription")
+                .stage("zkNetPolicy", state::zkNetPolicy, "getZookeeperDescription")
+                .stage("zookeeperServiceAccount", state::zookeeperServiceAccount, "getZookeeperDescription")
+                .stage("zkService", state::zkService, "getZookeeperDescription")
+                .stage("zkHeadlessService", state::zkHeadlessService, "getZookeeperDescription")
+                .stage("zkPodDisruptionBudget", state::zkPodDisruptionBudget, "getZookeeperDescription")
+                .stage("zkManualPodCleaning", state::zkManualPodCleaning, "zkModelWarnings")
+                .stage("zkManualRollingUpdate", state::zkManualRollingUpdate, "zkManualPodCleaning")
+                .stage("zkVersionChange", state::zkVersionChange, "zkManualRollingUpdate")
+                .stage("zkPvcs", state::zkPvcs, "zkVersionChange")
+                .stage("zkAncillaryCm", state::zkAncillaryCm, "zkVersionChange")
+                .stage("zkNodesSecret", () -> state.zkNodesSecret(this::dateSupplier), "zkVersionChange")
+                .stage("zkStatefulSet", state::zkStatefulSet, "zkNetPolicy", "zookeeperServiceAccount", "zkService",
+                        "zkHeadlessService", "zkPodDisruptionBudget", "zkPvcs", "zkAncillaryCm", "zkNodesSecret")
+                .stage("zkScalingDown", state::zkScalingDown, "zkStatefulSet")
+                .stage("zkRollingUpdate", state::zkRollingUpdate, "zkScalingDown")
+                .stage("zkPodsReady", state::zkPodsReady, "zkRollingUpdate")
+                .stage("zkScalingUp", state::zkScalingUp, "zkPodsReady")
+                .stage("zkScalingCheck", state::zkScalingCheck, "zkScalingUp")
+                .stage("zkServiceEndpointReadiness", state::zkServiceEndpointReadiness, "zkScalingCheck")
+                .stage("zkHeadlessServiceEndpointReadiness", state::zkHeadlessServiceEndpointReadiness, "zkScalingCheck")
+                .stage("zkPersistentClaimDeletion", state::zkPersistentClaimDeletion, "zkServiceEndpointReadiness", "zkHeadlessServiceEndpointReadiness")
+
+                .stage("checkKafkaSpec", state::checkKafkaSpec, "zkPersistentClaimDeletion")
+                .stage("kafkaModelWarnings", state::kafkaModelWarnings, "checkKafkaSpec")
+                .stage("kafkaNetPolicy", state::kafkaNetPolicy, "checkKafkaSpec")
+                .stage("kafkaInitServiceAccount", state::kafkaInitServiceAccount, "checkKafkaSpec")
+                .stage("kafkaInitClusterRoleBinding", state::kafkaInitClusterRoleBinding, "checkKafkaSpec")
+                .stage("kafkaPodDisruptionBudget", state::kafkaPodDisruptionBudget, "checkKafkaSpec")
+                .stage("kafkaManualPodCleaning", state::kafkaManualPodCleaning, "kafkaModelWarnings")
+                .stage("kafkaManualRollingUpdate", state::kafkaManualRollingUpdate, "kafkaManualPodCleaning")
+                .stage("kafkaVersionChange", state::kafkaVersionChange, "kafkaManualRollingUpdate")
+                .stage("kafkaPvcs", state::kafkaPvcs, "kafkaVersionChange")
+                .stage("kafkaScaleDown", state::kafkaScaleDown, "kafkaPvcs")
+                .stage("kafkaServices", state::kafkaServices, "kafkaScaleDown")
+                .stage("kafkaRoutes", state::kafkaRoutes, "kafkaScaleDown")
+                .stage("kafkaIngresses", state::kafkaIngresses, "kafkaScaleDown")
+                // The listener statuses are added in this order, so the readiness checks stay sequential
+                .stage("kafkaInternalServicesReady", state::kafkaInternalServicesReady, "kafkaServices", "kafkaRoutes", "kafkaIngresses")
+                .stage("kafkaLoadBalancerServicesReady", state::kafkaLoadBalancerServicesReady, "kafkaInternalServicesReady")
+                .stage("kafkaNodePortServicesReady", state::kafkaNodePortServicesReady, "kafkaLoadBalancerServicesReady")
+                .stage("kafkaRoutesReady", state::kafkaRoutesReady, "kafkaNodePortServicesReady")
+                .stage("kafkaIngressesReady", state::kafkaIngressesReady, "kafkaRoutesReady")
+                .stage("kafkaGenerateCertificates", () -> state.kafkaGenerateCertificates(this::dateSupplier), "kafkaIngressesReady")
+                .stage("customListenerCertificates", state::customListenerCertificates, "kafkaGenerateCertificates")
+                .stage("kafkaAncillaryCm", state::kafkaAncillaryCm, "customListenerCertificates")
+                .stage("kafkaBrokersSecret", state::kafkaBrokersSecret, "customListenerCertificates")
+                .stage("kafkaJmxSecret", state::kafkaJmxSecret, "customListenerCertificates")
+                .stage("kafkaStatefulSet", state::kafkaStatefulSet, "kafkaNetPolicy", "kafkaInitServiceAccount",
+                        "kafkaInitClusterRoleBinding", "kafkaPodDisruptionBudget", "kafkaAncillaryCm", "kafkaBrokersSecret", "kafkaJmxSecret")
+                .stage("kafkaRollingUpdate", state::kafkaRollingUpdate, "kafkaStatefulSet")
+                .stage("kafkaScaleUp", state::kafkaScaleUp, "kafkaRollingUpdate")
+                .stage("kafkaPodsReady", state::kafkaPodsReady, "kafkaScaleUp")
+                .stage("kafkaServiceEndpointReady", state::kafkaServiceEndpointReady, "kafkaPodsReady")
+                .stage("kafkaHeadlessServiceEndpointReady", state::kafkaHeadlessServiceEndpointReady, "kafkaPodsReady")
+                .stage("kafkaPersistentClaimDeletion", state::kafkaPersistentClaimDeletion, "kafkaServiceEndpointReady", "kafkaHeadlessServiceEndpointReady")
                 // This has to run after all possible rolling updates which might move the pods to different nodes
-                .compose(state -> state.kafkaNodePortExternalListenerStatus())
-                .compose(state -> state.kafkaCustomCertificatesToStatus())
-
-                .compose(state -> state.checkUnsupportedTopicOperator())
-
-                .compose(state -> state.getEntityOperatorDescription())
-                .compose(state -> state.entityOperatorServiceAccount())
-                .compose(state -> state.entityOperatorTopicOpRoleBinding())
-                .compose(state -> state.entityOperatorUserOpRoleBinding())
-                .compose(state -> state.entityOperatorTopicOpAncillaryCm())
-                .compose(state -> state.entityOperatorUserOpAncillaryCm())
-                .compose(state -> state.entityOperatorSecret(this::dateSupplier))
-                .compose(state -> state.entityOperatorDeployment())
-                .compose(state -> state.entityOperatorReady())
-
-                .compose(state -> state.getCruiseControlDescription())
-                .compose(state -> state.cruiseControlNetPolicy())
-                .compose(state -> state.cruiseControlServiceAccount())
-                .compose(state -> state.cruiseControlAncillaryCm())
-                .compose(state -> state.cruiseControlSecret(this::dateSupplier))
-                .compose(state -> state.cruiseControlDeployment())
-                .compose(state -> state.cruiseControlService())
-                .compose(state -> state.cruiseControlReady())
-
-                .compose(state -> state.getKafkaExporterDescription())
-                .compose(state -> state.kafkaExporterServiceAccount())
-                .compose(state -> state.kafkaExporterSecret(this::dateSupplier))
-                .compose(state -> state.kafkaExporterDeployment())
-                .compose(state -> state.kafkaExporterReady())
-
-                .compose(state -> state.getJmxTransDescription())
-                .compose(state -> state.jmxTransServiceAccount())
-                .compose(state -> state.jmxTransConfigMap())
-                .compose(state -> state.jmxTransDeployment())
-                .compose(state -> state.jmxTransDeploymentReady())
-
-                .map((Void) null)
-                .onComplete(chainPromise);
-
-        return chainPromise.future();
+                .stage("kafkaNodePortExternalListenerStatus", state::kafkaNodePortExternalListenerStatus, "kafkaPersistentClaimDeletion")
+                .stage("kafkaCustomCertificatesToStatus", state::kafkaCustomCertificatesToStatus, "kafkaNodePortExternalListenerStatus")
+
+                .stage("checkUnsupportedTopicOperator", state::checkUnsupportedTopicOperator, "kafkaCustomCertificatesToStatus")
+
+                // The Entity Operator, Cruise Control, Kafka Exporter and JMX Trans are independent of each other
+                .stage("getEntityOperatorDescription", state::getEntityOperatorDescription, "checkUnsupportedTopicOperator")
+                .stage("entityOperatorServiceAccount", state::entityOperatorServiceAccount, "getEntityOperatorDescription")
+                .stage("entityOperatorTopicOpRoleBinding", state::entityOperatorTopicOpRoleBinding, "getEntityOperatorDescription")
+                .stage("entityOperatorUserOpRoleBinding", state::entityOperatorUserOpRoleBinding, "getEntityOperatorDescription")
+                .stage("entityOperatorTopicOpAncillaryCm", state::entityOperatorTopicOpAncillaryCm, "getEntityOperatorDescription")
+                .stage("entityOperatorUserOpAncillaryCm", state::entityOperatorUserOpAncillaryCm, "getEntityOperatorDescription")
+                .stage("entityOperatorSecret", () -> state.entityOperatorSecret(this::dateSupplier), "getEntityOperatorDescription")
+                .stage("entityOperatorDeployment", state::entityOperatorDeployment, "entityOperatorServiceAccount", "entityOperatorTopicOpRoleBinding",
+                        "entityOperatorUserOpRoleBinding", "entityOperatorTopicOpAncillaryCm", "entityOperatorUserOpAncillaryCm", "entityOperatorSecret")
+                .stage("entityOperatorReady", state::entityOperatorReady, "entityOperatorDeployment")
+
+                .stage("getCruiseControlDescription", state::getCruiseControlDescription, "checkUnsupportedTopicOperator")
+                .stage("cruiseControlNetPolicy", state::cruiseControlNetPolicy, "getCruiseControlDescription")
+                .stage("cruiseControlServiceAccount", state::cruiseControlServiceAccount, "getCruiseControlDescription")
+                .stage("cruiseControlAncillaryCm", state::cruiseControlAncillaryCm, "getCruiseControlDescription")
+                .stage("cruiseControlSecret", () -> state.cruiseControlSecret(this::dateSupplier), "getCruiseControlDescription")
+                .stage("cruiseControlDeployment", state::cruiseControlDeployment, "cruiseControlNetPolicy", "cruiseControlServiceAccount",
+                        "cruiseControlAncillaryCm", "cruiseControlSecret")
+                .stage("cruiseControlService", state::cruiseControlService, "getCruiseControlDescription")
+                .stage("cruiseControlReady", state::cruiseControlReady, "cruiseControlDeployment", "cruiseControlService")
+
+                .stage("getKafkaExporterDescription", state::getKafkaExporterDescription, "checkUnsupportedTopicOperator")
+                .stage("kafkaExporterServiceAccount", state::kafkaExporterServiceAccount, "getKafkaExporterDescription")
+                .stage("kafkaExporterSecret", () -> state.kafkaExporterSecret(this::dateSupplier), "getKafkaExporterDescription")
+                .stage("kafkaExporterDeployment", state::kafkaExporterDeployment, "kafkaExporterServiceAccount", "kafkaExporterSecret")
+                .stage("kafkaExporterReady", state::kafkaExporterReady, "kafkaExporterDeployment")
+
+                .stage("getJmxTransDescription", state::getJmxTransDescription, "checkUnsupportedTopicOperator")
+                .stage("jmxTransServiceAccount", state::jmxTransServiceAccount, "getJmxTransDescription")
+                .stage("jmxTransConfigMap", state::jmxTransConfigMap, "getJmxTransDescription")
+                .stage("jmxTransDeployment", state::jmxTransDeployment, "jmxTransServiceAccount", "jmxTransConfigMap")
+                .stage("jmxTransDeploymentReady", state::jmxTransDeploymentReady, "jmxTransDeployment");
     }
 
     ReconciliationState createReconciliationState(Reconciliation reconciliation, Kafka kafkaAssembly) {
@@ -716,7 +781,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
                         .compose(i -> kafkaSetOperations.getAsync(namespace, KafkaCluster.kafkaClusterName(name)))
                         .compose(sts -> new KafkaRoller(vertx, reconciliation, podOperations, 1_000, operationTimeoutMs,
                             () -> new BackOff(250, 2, 10), sts, clusterCa.caCertSecret(), oldCoSecret, adminClientProvider,
-                            kafkaCluster.getBrokersConfiguration(), kafkaLogging, kafkaCluster.getKafkaVersion())
+                            kafkaCluster.getBrokersConfiguration(), kafkaLogging, kafkaCluster.getKafkaVersion(), maxParallelBrokerRestarts)
                             .rollingRestart(rollPodAndLogReason))
                         .compose(i -> rollDeploymentIfExists(EntityOperator.entityOperatorName(name), reason.toString()))
                         .compose(i -> rollDeploymentIfExists(KafkaExporter.kafkaExporterName(name), reason.toString()))
@@ -1267,7 +1332,7 @@ public class KafkaAssemblyOperator extends AbstractAssemblyOperator<KubernetesCl
             return adminClientSecrets()
                 .compose(compositeFuture -> new KafkaRoller(vertx, reconciliation, podOperations, 1_000, operationTimeoutMs,
                     () -> new BackOff(250, 2, 10), sts, compositeFuture.resultAt(0), compositeFuture.resultAt(1), adminClientProvider,
-                        kafkaCluster.getBrokersConfiguration(), kafkaLogging, kafkaCluster.getKafkaVersion())
+                        kafkaCluster.getBrokersConfiguration(), kafkaLogging, kafkaCluster.getKafkaVersion(), maxParallelBrokerRestarts)
                     .rollingRestart(podNeedsRestart));
         }
 
@@ -11,15 +11,13 @@ import org.apache.kafka.clients.admin.Config;
 import org.apache.kafka.clients.admin.ConfigEntry;
 import org.apache.kafka.clients.admin.ListTopicsOptions;
 import org.apache.kafka.clients.admin.TopicDescription;
-import org.apache.kafka.common.Node;
-import org.apache.kafka.common.TopicPartitionInfo;
 import org.apache.kafka.common.config.ConfigResource;
 import org.apache.kafka.common.config.TopicConfig;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -30,24 +28,24 @@ import static java.lang.Integer.parseInt;
 /**
  * Determines whether the given broker can be rolled without affecting
  * producers with acks=all publishing to topics with a {@code min.in.sync.replicas}.
+ *
+ * The partitions of all the topics are described once, into a {@link KafkaPartitionIndex}.
+ * The first broker is checked against that index. Before each later broker is checked, only the topics with a replica
+ * on that broker, and the topics created since, are described again, so that an instance can be used for all the
+ * brokers of a rolling restart. The {@code min.in.sync.replicas} of each topic is described only once.
  */
 class KafkaAvailability {
 
     private static final Logger log = LogManager.getLogger(KafkaAvailability.class.getName());
 
     private final Admin ac;
-    private final Future<Collection<TopicDescription>> descriptions;
+    private final KafkaPartitionIndex index = new KafkaPartitionIndex();
+    // Completed when the index is up to date; guarded by this
+    private Future<Void> indexed;
+    private boolean stale;
 
     KafkaAvailability(Admin ac) {
         this.ac = ac;
-        // 1. Get all topic names
-        Future<Set<String>> topicNames = topicNames();
-        // 2. Get topic descriptions
-        descriptions = topicNames.compose(names -> {
-            log.debug("Got {} topic names", names.size());
-            log.trace("Topic names {}", names);
-            return describeTopics(names);
-        });
     }
 
     /**
@@ -55,95 +53,91 @@ class KafkaAvailability {
      * producers with acks=all publishing to topics with a {@code min.in.sync.replicas}.
      */
     Future<Boolean> canRoll(int podId) {
-        log.debug("Determining whether broker {} can be rolled", podId);
-        return canRollBroker(descriptions, podId);
+        return canRoll(podId, Collections.emptySet());
     }
 
-    private Future<Boolean> canRollBroker(Future<Collection<TopicDescription>> descriptions, int podId) {
-        Future<Set<TopicDescription>> topicsOnGivenBroker = descriptions
-                .compose(topicDescriptions -> {
-                    log.debug("Got {} topic descriptions", topicDescriptions.size());
-                    return Future.succeededFuture(groupTopicsByBroker(topicDescriptions, podId));
+    /**
+     * Determine whether the given broker can be rolled together with the given brokers being restarted
+     * without affecting producers with acks=all publishing to topics with a {@code min.in.sync.replicas}.
+     * A broker sharing partitions with the brokers being restarted can only be rolled together with them
+     * when they are all in its rack.
+     */
+    Future<Boolean> canRoll(int podId, Set<Integer> restarting) {
+        log.debug("Determining whether broker {} can be rolled with brokers {} being restarted", podId, restarting);
+        return refresh(podId)
+                .compose(ignored -> describeMinIsr(index.topicsWithUnknownMinIsr(podId)))
+                .map(ignored -> {
+                    if (!restarting.isEmpty() && index.sharesPartitions(podId, restarting) && !index.sameRack(podId, restarting)) {
+                        log.debug("Broker {} shares partitions with brokers {} being restarted, which are not all in its rack", podId, restarting);
+                        return false;
+                    }
+                    boolean canRoll = !index.wouldAffectAvailability(podId, restarting);
+                    if (!canRoll) {
+                        log.debug("Restart pod {} would remove it from ISR, stalling producers with acks=all", podId);
+                    }
+                    return canRoll;
                 }).recover(error -> {
-                    log.warn(error);
+                    log.warn("Error determining whether it is safe to restart pod {}", podId, error);
                     return Future.failedFuture(error);
                 });
-
-        // 4. Get topic configs (for those on $broker)
-        Future<Map<String, Config>> topicConfigsOnGivenBroker = topicsOnGivenBroker
-                .compose(td -> topicConfigs(td.stream().map(t -> t.name()).collect(Collectors.toSet())));
-
-        // 5. join
-        return topicConfigsOnGivenBroker.map(topicNameToConfig -> {
-            Collection<TopicDescription> tds = topicsOnGivenBroker.result();
-            boolean canRoll = tds.stream().noneMatch(
-                td -> wouldAffectAvailability(podId, topicNameToConfig, td));
-            if (!canRoll) {
-                log.debug("Restart pod {} would remove it from ISR, stalling producers with acks=all", podId);
-            }
-            return canRoll;
-        }).recover(error -> {
-            log.warn("Error determining whether it is safe to restart pod {}", podId, error);
-            return Future.failedFuture(error);
-        });
     }
 
-    private boolean wouldAffectAvailability(int broker, Map<String, Config> nameToConfig, TopicDescription td) {
-        Config config = nameToConfig.get(td.name());
-        ConfigEntry minIsrConfig = config.get(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
-        int minIsr;
-        if (minIsrConfig != null && minIsrConfig.value() != null) {
-            minIsr = parseInt(minIsrConfig.value());
-            log.debug("{} has {}={}.", td.name(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr);
-        } else {
-            minIsr = -1;
-            log.debug("{} lacks {}.", td.name(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
-        }
-
-        for (TopicPartitionInfo pi : td.partitions()) {
-            List<Node> isr = pi.isr();
-            if (minIsr >= 0) {
-                if (pi.replicas().size() <= minIsr) {
-                    log.debug("{}/{} will be underreplicated (|ISR|={} and {}={}) if broker {} is restarted, but there are only {} replicas.",
-                            td.name(), pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker,
-                            pi.replicas().size());
-                } else if (isr.size() < minIsr
-                        && contains(pi.replicas(), broker)) {
-                    logIsrReplicas(td, pi, isr);
-                    log.info("{}/{} is already underreplicated (|ISR|={}, {}={}); broker {} has a replica, " +
-                                    "so should not be restarted right now (it might be first to catch up).",
-                            td.name(), pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker);
-                    return true;
-                } else if (isr.size() == minIsr
-                        && contains(isr, broker)) {
-                    if (minIsr < pi.replicas().size()) {
-                        logIsrReplicas(td, pi, isr);
-                        log.info("{}/{} will be underreplicated (|ISR|={} and {}={}) if broker {} is restarted.",
-                                td.name(), pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker);
-                        return true;
-                    } else {
-                        log.debug("{}/{} will be underreplicated (|ISR|={} and {}={}) if broker {} is restarted, but there are only {} replicas.",
-                                td.name(), pi.partition(), isr.size(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker,
-                                pi.replicas().size());
+    /**
+     * Brings the index up to date for the given broker. The whole index is built when it does not exist yet, or when
+     * building or refreshing it failed.
+     */
+    private synchronized Future<Void> refresh(int podId) {
+        Future<Void> current = indexed;
+        if (current == null || current.failed()) {
+            stale = false;
+            indexed = topicNames().compose(names -> {
+                log.debug("Got {} topic names", names.size());
+                log.trace("Topic names {}", names);
+                index.retainTopics(names);
+                return describeTopics(names);
+            }).map(tds -> {
+                index.update(tds);
+                return null;
+            });
+        } else if (stale) {
+            indexed = current.compose(ignored -> topicNames()).compose(names -> {
+                index.retainTopics(names);
+                Set<String> indexedNames = index.topicNames();
+                Set<String> refreshed = index.topicsOn(podId);
+                for (String name : names) {
+                    if (!indexedNames.contains(name)) {
+                        refreshed.add(name);
                     }
                 }
-            }
+                log.debug("Refreshing {} of {} topics for broker {}", refreshed.size(), names.size(), podId);
+                return refreshed.isEmpty() ? Future.succeededFuture(Collections.<TopicDescription>emptySet()) : describeTopics(refreshed);
+            }).map(tds -> {
+                index.update(tds);
+                return null;
+            });
         }
-        return false;
+        stale = true;
+        return indexed;
     }
 
-    private void logIsrReplicas(TopicDescription td, TopicPartitionInfo pi, List<Node> isr) {
-        if (log.isDebugEnabled()) {
-            log.debug("{}/{} has ISR={}, replicas={}", td.name(), pi.partition(), nodeList(isr), nodeList(pi.replicas()));
+    private Future<Void> describeMinIsr(Set<String> topicNames) {
+        if (topicNames.isEmpty()) {
+            return Future.succeededFuture();
         }
-    }
-
-    String nodeList(List<Node> nodes) {
-        return nodes.stream().map(n -> String.valueOf(n.id())).collect(Collectors.joining(",", "[", "]"));
-    }
-
-    private boolean contains(List<Node> isr, int broker) {
-        return isr.stream().anyMatch(node -> node.id() == broker);
+        return topicConfigs(topicNames).map(topicNameToConfig -> {
+            for (Map.Entry<String, Config> entry : topicNameToConfig.entrySet()) {
+                ConfigEntry minIsrConfig = entry.getValue().get(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
+                if (minIsrConfig != null && minIsrConfig.value() != null) {
+                    int minIsr = parseInt(minIsrConfig.value());
+                    log.debug("{} has {}={}.", entry.getKey(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr);
+                    index.minIsr(entry.getKey(), minIsr);
+                } else {
+                    log.debug("{} lacks {}.", entry.getKey(), TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
+                    index.minIsr(entry.getKey(), KafkaPartitionIndex.NO_MIN_ISR);
+                }
+            }
+            return null;
+        });
     }
 
     private Future<Map<String, Config>> topicConfigs(Collection<String> topicNames) {
@@ -166,21 +160,6 @@ class KafkaAvailability {
         return promise.future();
     }
 
-    private Set<TopicDescription> groupTopicsByBroker(Collection<TopicDescription> tds, int podId) {
-        Set<TopicDescription> topicPartitionInfos = new HashSet<>();
-        for (TopicDescription td : tds) {
-            log.trace("{}", td);
-            for (TopicPartitionInfo pd : td.partitions()) {
-                for (Node broker : pd.replicas()) {
-                    if (podId == broker.id()) {
-                        topicPartitionInfos.add(td);
-                    }
-                }
-            }
-        }
-        return topicPartitionInfos;
-    }
-
     protected Future<Collection<TopicDescription>> describeTopics(Set<String> names) {
         Promise<Collection<TopicDescription>> descPromise = Promise.promise();
         ac.describeTopics(names).all()
@@ -0,0 +1,277 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.resource;
+
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The partitions of a Kafka cluster indexed by the brokers hosting their replicas, so that whether a broker can be
+ * rolled can be determined from the partitions hosted on that broker alone.
+ * The replicas and ISR of each partition are kept as arrays of broker ids, and the {@code min.insync.replicas} of
+ * each topic is kept once known, even when the partitions of the topic are updated.
+ * The rack of each broker is taken from the nodes of the partitions.
+ */
+class KafkaPartitionIndex {
+
+    private static final Logger log = LogManager.getLogger(KafkaPartitionIndex.class.getName());
+
+    /** The {@code min.insync.replicas} of a topic whose config has not been described yet. */
+    static final int UNKNOWN_MIN_ISR = Integer.MIN_VALUE;
+    /** The {@code min.insync.replicas} of a topic which lacks that config. */
+    static final int NO_MIN_ISR = -1;
+
+    private static final class TopicPartitions {
+        private final String name;
+        private final int[] partitions;
+        private final int[][] replicas;
+        private final int[][] isr;
+        private int minIsr = UNKNOWN_MIN_ISR;
+
+        TopicPartitions(TopicDescription td) {
+            List<TopicPartitionInfo> infos = td.partitions();
+            this.name = td.name();
+            this.partitions = new int[infos.size()];
+            this.replicas = new int[infos.size()][];
+            this.isr = new int[infos.size()][];
+            for (int i = 0; i < infos.size(); i++) {
+                TopicPartitionInfo pi = infos.get(i);
+                partitions[i] = pi.partition();
+                replicas[i] = ids(pi.replicas());
+                isr[i] = ids(pi.isr());
+            }
+        }
+
+        private static int[] ids(List<Node> nodes) {
+            int[] ids = new int[nodes.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = nodes.get(i).id();
+            }
+            return ids;
+        }
+    }
+
+    private final Map<String, TopicPartitions> topics = new HashMap<>();
+    // broker id -> topic name -> indexes of the partitions of the topic with a replica on the broker
+    private final Map<Integer, Map<String, int[]>> brokerPartitions = new HashMap<>();
+    private final Map<Integer, String> racks = new HashMap<>();
+
+    /**
+     * Adds the given topics to the index, replacing the partitions of those already indexed.
+     * @param tds The topic descriptions.
+     */
+    synchronized void update(Collection<TopicDescription> tds) {
+        for (TopicDescription td : tds) {
+            for (TopicPartitionInfo pi : td.partitions()) {
+                for (Node node : pi.replicas()) {
+                    if (node.hasRack()) {
+                        racks.put(node.id(), node.rack());
+                    }
+                }
+            }
+            TopicPartitions current = new TopicPartitions(td);
+            TopicPartitions previous = topics.put(td.name(), current);
+            if (previous != null) {
+                current.minIsr = previous.minIsr;
+                unindex(previous);
+            }
+            index(current);
+        }
+    }
+
+    /**
+     * Removes the topics not among the given names from the index.
+     * @param names The names of the existing topics.
+     */
+    synchronized void retainTopics(Set<String> names) {
+        for (Iterator<TopicPartitions> it = topics.values().iterator(); it.hasNext(); ) {
+            TopicPartitions topic = it.next();
+            if (!names.contains(topic.name)) {
+                it.remove();
+                unindex(topic);
+            }
+        }
+    }
+
+    /**
+     * @return The names of the indexed topics.
+     */
+    synchronized Set<String> topicNames() {
+        return new HashSet<>(topics.keySet());
+    }
+
+    /**
+     * @param broker The broker id.
+     * @return The names of the topics with a replica on the given broker.
+     */
+    synchronized Set<String> topicsOn(int broker) {
+        return new HashSet<>(brokerPartitions.getOrDefault(broker, Collections.emptyMap()).keySet());
+    }
+
+    /**
+     * @param broker The broker id.
+     * @return The names of the topics with a replica on the given broker whose {@code min.insync.replicas} is not known.
+     */
+    synchronized Set<String> topicsWithUnknownMinIsr(int broker) {
+        return brokerPartitions.getOrDefault(broker, Collections.emptyMap()).keySet().stream()
+                .filter(name -> topics.get(name).minIsr == UNKNOWN_MIN_ISR)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Sets the {@code min.insync.replicas} of the given topic.
+     * @param topicName The topic name.
+     * @param minIsr The {@code min.insync.replicas}, or {@link #NO_MIN_ISR}.
+     */
+    synchronized void minIsr(String topicName, int minIsr) {
+        TopicPartitions topic = topics.get(topicName);
+        if (topic != null) {
+            topic.minIsr = minIsr;
+        }
+    }
+
+    /**
+     * @param broker The broker id.
+     * @param others The ids of other brokers.
+     * @return true if the given broker has a replica of a partition with a replica on one of the other brokers.
+     */
+    synchronized boolean sharesPartitions(int broker, Set<Integer> others) {
+        for (Map.Entry<String, int[]> entry : brokerPartitions.getOrDefault(broker, Collections.emptyMap()).entrySet()) {
+            TopicPartitions topic = topics.get(entry.getKey());
+            for (int i : entry.getValue()) {
+                for (int replica : topic.replicas[i]) {
+                    if (others.contains(replica)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param broker The broker id.
+     * @param others The ids of other brokers.
+     * @return true if the rack of the given broker is known, and is the rack of all the other brokers.
+     */
+    synchronized boolean sameRack(int broker, Set<Integer> others) {
+        String rack = racks.get(broker);
+        return rack != null && others.stream().allMatch(other -> rack.equals(racks.get(other)));
+    }
+
+    /**
+     * Determine whether restarting the given broker, while the given brokers are being restarted, would take a
+     * partition below its {@code min.insync.replicas}, looking only at the partitions with a replica on that broker.
+     * The brokers being restarted are not counted in the ISR.
+     * @param broker The broker id.
+     * @param restarting The ids of the brokers being restarted.
+     * @return true if restarting the broker would affect the availability of a partition.
+     */
+    synchronized boolean wouldAffectAvailability(int broker, Set<Integer> restarting) {
+        for (Map.Entry<String, int[]> entry : brokerPartitions.getOrDefault(broker, Collections.emptyMap()).entrySet()) {
+            TopicPartitions topic = topics.get(entry.getKey());
+            int minIsr = topic.minIsr;
+            if (minIsr < 0) {
+                continue;
+            }
+            for (int i : entry.getValue()) {
+                int[] replicas = topic.replicas[i];
+                int[] isr = topic.isr[i];
+                int isrSize = isrSize(isr, restarting);
+                if (replicas.length <= minIsr) {
+                    log.debug("{}/{} will be underreplicated (|ISR|={} and {}={}) if broker {} is restarted, but there are only {} replicas.",
+                            topic.name, topic.partitions[i], isrSize, TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker,
+                            replicas.length);
+                } else if (isrSize < minIsr) {
+                    logIsrReplicas(topic, i);
+                    log.info("{}/{} is already underreplicated (|ISR|={}, {}={}); broker {} has a replica, " +
+                                    "so should not be restarted right now (it might be first to catch up).",
+                            topic.name, topic.partitions[i], isrSize, TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker);
+                    return true;
+                } else if (isrSize == minIsr && contains(isr, broker)) {
+                    logIsrReplicas(topic, i);
+                    log.info("{}/{} will be underreplicated (|ISR|={} and {}={}) if broker {} is restarted.",
+                            topic.name, topic.partitions[i], isrSize, TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, minIsr, broker);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int isrSize(int[] isr, Set<Integer> restarting) {
+        if (restarting.isEmpty()) {
+            return isr.length;
+        }
+        int size = 0;
+        for (int broker : isr) {
+            if (!restarting.contains(broker)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private void logIsrReplicas(TopicPartitions topic, int i) {
+        if (log.isDebugEnabled()) {
+            log.debug("{}/{} has ISR={}, replicas={}", topic.name, topic.partitions[i],
+                    Arrays.toString(topic.isr[i]), Arrays.toString(topic.replicas[i]));
+        }
+    }
+
+    private static boolean contains(int[] brokers, int broker) {
+        for (int b : brokers) {
+            if (b == broker) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void index(TopicPartitions topic) {
+        Map<Integer, int[]> byBroker = new HashMap<>();
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int i = 0; i < topic.replicas.length; i++) {
+            for (int broker : topic.replicas[i]) {
+                int[] indexes = byBroker.computeIfAbsent(broker, b -> new int[topic.replicas.length]);
+                int count = counts.merge(broker, 1, Integer::sum);
+                indexes[count - 1] = i;
+            }
+        }
+        for (Map.Entry<Integer, int[]> entry : byBroker.entrySet()) {
+            brokerPartitions.computeIfAbsent(entry.getKey(), b -> new HashMap<>())
+                    .put(topic.name, Arrays.copyOf(entry.getValue(), counts.get(entry.getKey())));
+        }
+    }
+
+    private void unindex(TopicPartitions topic) {
+        for (int[] replicas : topic.replicas) {
+            for (int broker : replicas) {
+                Map<String, int[]> partitions = brokerPartitions.get(broker);
+                if (partitions != null) {
+                    partitions.remove(topic.name);
+                    if (partitions.isEmpty()) {
+                        brokerPartitions.remove(broker);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -11,8 +11,10 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
@@ -96,6 +98,15 @@ import static java.util.Collections.singletonList;
  *     <li>even pods which aren't candidates for rolling are checked for readiness which partly avoids
  *     successive reconciliations each restarting a pod which never becomes ready</li>
  * </ul>
+ *
+ * <p>When more than one pod may be restarted at the same time, the pods are considered concurrently, and step 5
+ * admits a pod into the group of pods being restarted only when no partition would drop below its min.isr with
+ * all of them restarted, and when the pod shares no partition with the group or is in the same rack as all of it.
+ * A pod which is not admitted is reconsidered once the group has changed, without counting as a failed attempt.</p>
+ *
+ * <p>The config and the logging of all the brokers are described in a single request when the rolling restart
+ * starts, and compared with the desired config and logging in parallel, so that step 3 does not need to wait for
+ * the broker to be described. A pod which is considered again after a failed attempt is described again.</p>
  */
 @SuppressWarnings("checkstyle:ClassFanOutComplexity")
 public class KafkaRoller {
@@ -118,6 +129,13 @@ public class KafkaRoller {
     private final KafkaVersion kafkaVersion;
     private final Reconciliation reconciliation;
     private Admin allClient;
+    private KafkaAvailability kafkaAvailability;
+    // The pods admitted for restart, guarded by itself
+    private final Set<Integer> restarting = new HashSet<>();
+    // The diffs of the config and logging of each broker, described when the rolling restart started
+    private final Map<Integer, Future<BrokerDiffs>> prefetchedDiffs = new ConcurrentHashMap<>();
+    // When the prefetched diffs were described
+    private volatile long prefetchedAtMs;
 
     public KafkaRoller(Vertx vertx, Reconciliation reconciliation, PodOperator podOperations,
             long pollingIntervalMs, long operationTimeoutMs, Supplier<BackOff> backOffSupplier,
@@ -132,6 +150,16 @@ public class KafkaRoller {
                        StatefulSet sts, Secret clusterCaCertSecret, Secret coKeySecret,
                        AdminClientProvider adminClientProvider,
                        String kafkaConfig, String kafkaLogging, KafkaVersion kafkaVersion) {
+        this(vertx, reconciliation, podOperations, pollingIntervalMs, operationTimeoutMs, backOffSupplier,
+                sts, clusterCaCertSecret, coKeySecret, adminClientProvider, kafkaConfig, kafkaLogging, kafkaVersion, 1);
+    }
+
+    @SuppressWarnings({"checkstyle:ParameterNumber"})
+    public KafkaRoller(Vertx vertx, Reconciliation reconciliation, PodOperator podOperations,
+                       long pollingIntervalMs, long operationTimeoutMs, Supplier<BackOff> backOffSupplier,
+                       StatefulSet sts, Secret clusterCaCertSecret, Secret coKeySecret,
+                       AdminClientProvider adminClientProvider,
+                       String kafkaConfig, String kafkaLogging, KafkaVersion kafkaVersion, int maxParallelRestarts) {
         this.namespace = sts.getMetadata().getNamespace();
         this.cluster = Labels.cluster(sts);
         this.numPods = sts.getSpec().getReplicas();
@@ -147,6 +175,8 @@ public class KafkaRoller {
         this.kafkaLogging = kafkaLogging;
         this.kafkaVersion = kafkaVersion;
         this.reconciliation = reconciliation;
+        this.executor = Executors.newScheduledThreadPool(maxParallelRestarts,
+            runnable -> new Thread(runnable, "kafka-roller"));
     }
 
     /**
@@ -157,8 +187,7 @@ public class KafkaRoller {
         return podOperations.getAsync(namespace, KafkaCluster.kafkaPodName(cluster, podId));
     }
 
-    private final ScheduledExecutorService singleExecutor = Executors.newSingleThreadScheduledExecutor(
-        runnable -> new Thread(runnable, "kafka-roller"));
+    private final ScheduledExecutorService executor;
 
     private ConcurrentHashMap<Integer, RestartContext> podToContext = new ConcurrentHashMap<>();
     private Function<Pod, List<String>> podNeedsRestart;
@@ -177,9 +206,12 @@ public class KafkaRoller {
         List<Integer> podIds = new ArrayList<>(numPods);
         try {
             this.allClient = adminClient(IntStream.range(0, numPods).boxed().collect(Collectors.toList()), false);
+            // Shared by all the pods, so that the partitions are described once and then refreshed pod by pod
+            this.kafkaAvailability = availability(allClient);
         } catch (FatalProblem | ForceableProblem e) {
             return Future.failedFuture(e);
         }
+        prefetchDiffs();
         for (int podId = 0; podId < numPods; podId++) {
             // Order the podIds unready first otherwise repeated reconciliations might each restart a pod
             // only for it not to become ready and thus drive the cluster to a worse state.
@@ -191,7 +223,7 @@ public class KafkaRoller {
         }
         Promise<Void> result = Promise.promise();
         CompositeFuture.join(futures).onComplete(ar -> {
-            singleExecutor.shutdown();
+            executor.shutdown();
             try {
                 allClient.close(Duration.ofSeconds(30));
             } catch (RuntimeException e) {
@@ -206,6 +238,7 @@ public class KafkaRoller {
         final Promise<Void> promise;
         final BackOff backOff;
         private long connectionErrorStart = 0L;
+        private long deferredStart = 0L;
 
         RestartContext(Supplier<BackOff> backOffSupplier) {
             promise = Promise.promise();
@@ -227,6 +260,23 @@ public class KafkaRoller {
             }
         }
 
+        /**
+         * Notes that the restart was deferred.
+         * @param timeoutMs How long the restart may be deferred before it counts as a failed attempt.
+         * @return Whether the restart has been deferred for longer than the given timeout.
+         */
+        boolean noteDeferred(long timeoutMs) {
+            long now = System.currentTimeMillis();
+            if (deferredStart == 0L) {
+                deferredStart = now;
+            }
+            if (now - deferredStart >= timeoutMs) {
+                deferredStart = 0L;
+                return true;
+            }
+            return false;
+        }
+
         @Override
         public String toString() {
             return "RestartContext{" +
@@ -240,7 +290,7 @@ public class KafkaRoller {
      * Schedule the rolling of the given pod at or after the given delay,
      * completed the returned Future when the pod is rolled.
      * When called multiple times with the same podId this method will return the same Future instance.
-     * Pods will be rolled one-at-a-time so the delay may be overrun.
+     * Pods will be rolled one-at-a-time, or a few at a time, so the delay may be overrun.
      * @param podId The pod to roll.
      * @param delay The delay.
      * @param unit The unit of the delay.
@@ -249,7 +299,7 @@ public class KafkaRoller {
     private Future<Void> schedule(int podId, long delay, TimeUnit unit) {
         RestartContext ctx = podToContext.computeIfAbsent(podId,
             k -> new RestartContext(backoffSupplier));
-        singleExecutor.schedule(() -> {
+        executor.schedule(() -> {
             log.debug("{}: Considering restart of pod {} after delay of {} {}", reconciliation, podId, delay, unit);
             try {
                 restartIfNecessary(podId, ctx);
@@ -257,32 +307,111 @@ public class KafkaRoller {
             } catch (InterruptedException e) {
                 // Let the executor deal with interruption.
                 Thread.currentThread().interrupt();
+            } catch (DeferredProblem e) {
+                if (ctx.noteDeferred(operationTimeoutMs)) {
+                    // Deferred for too long, which counts as a failed attempt
+                    retryOrGiveUp(podId, ctx, e);
+                } else {
+                    log.debug("{}: Pod {} cannot be restarted together with the pods being restarted, retrying after {}ms",
+                            reconciliation, podId, pollingIntervalMs);
+                    schedule(podId, pollingIntervalMs, TimeUnit.MILLISECONDS);
+                }
             } catch (FatalProblem e) {
                 log.info("{}: Could not restart pod {}, giving up after {} attempts/{}ms",
                         reconciliation, podId, ctx.backOff.maxAttempts(), ctx.backOff.totalDelayMs(), e);
                 ctx.promise.fail(e);
-                singleExecutor.shutdownNow();
+                executor.shutdownNow();
                 podToContext.forEachValue(Integer.MAX_VALUE, f -> {
                     f.promise.tryFail(e);
                 });
             } catch (Exception e) {
-                if (ctx.backOff.done()) {
-                    log.info("{}: Could not roll pod {}, giving up after {} attempts/{}ms",
-                            reconciliation, podId, ctx.backOff.maxAttempts(), ctx.backOff.totalDelayMs(), e);
-                    ctx.promise.fail(e instanceof TimeoutException ?
-                            new io.strimzi.operator.common.operator.resource.TimeoutException() :
-                            e);
-                } else {
-                    long delay1 = ctx.backOff.delayMs();
-                    log.info("{}: Could not roll pod {} due to {}, retrying after at least {}ms",
-                            reconciliation, podId, e, delay1);
-                    schedule(podId, delay1, TimeUnit.MILLISECONDS);
-                }
+                retryOrGiveUp(podId, ctx, e);
             }
         }, delay, unit);
         return ctx.promise.future();
     }
 
+    /**
+     * Schedule another attempt to roll the given pod after the backoff delay,
+     * or fail its Future when there are no attempts left.
+     */
+    private void retryOrGiveUp(int podId, RestartContext ctx, Exception e) {
+        if (ctx.backOff.done()) {
+            log.info("{}: Could not roll pod {}, giving up after {} attempts/{}ms",
+                    reconciliation, podId, ctx.backOff.maxAttempts(), ctx.backOff.totalDelayMs(), e);
+            ctx.promise.fail(e instanceof TimeoutException ?
+                    new io.strimzi.operator.common.operator.resource.TimeoutException() :
+                    e);
+        } else {
+            long delay1 = ctx.backOff.delayMs();
+            log.info("{}: Could not roll pod {} due to {}, retrying after at least {}ms",
+                    reconciliation, podId, e, delay1);
+            schedule(podId, delay1, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** The differences between the current and the desired config and logging of a broker. */
+    static class BrokerDiffs {
+        private final KafkaBrokerConfigurationDiff diff;
+        private final KafkaBrokerLoggingConfigurationDiff logDiff;
+
+        BrokerDiffs(KafkaBrokerConfigurationDiff diff, KafkaBrokerLoggingConfigurationDiff logDiff) {
+            this.diff = diff;
+            this.logDiff = logDiff;
+        }
+    }
+
+    /**
+     * Describe the config and the logging of all the brokers in a single request, and compute their diffs
+     * in parallel as the descriptions arrive.
+     */
+    private void prefetchDiffs() {
+        List<Integer> brokerIds = IntStream.range(0, numPods).boxed().collect(Collectors.toList());
+        Map<ConfigResource, Future<Config>> configs;
+        prefetchedAtMs = System.currentTimeMillis();
+        try {
+            configs = describeBrokerConfigs(brokerIds);
+        } catch (RuntimeException e) {
+            log.debug("{}: Error describing the config of the brokers, they will be described one by one", reconciliation, e);
+            return;
+        }
+        for (int brokerId : brokerIds) {
+            Future<Config> config = configs.get(Util.getBrokersConfig(brokerId));
+            Future<Config> logging = configs.get(Util.getBrokersLogging(brokerId));
+            if (config == null || logging == null) {
+                continue;
+            }
+            prefetchedDiffs.put(brokerId, CompositeFuture.join(config, logging).compose(ignored -> {
+                Promise<BrokerDiffs> diffs = Promise.promise();
+                vertx.executeBlocking(blocking -> {
+                    log.trace("{}: Broker {}: description {}", reconciliation, brokerId, config.result());
+                    log.trace("{}: Broker {}: logging description {}", reconciliation, brokerId, logging.result());
+                    blocking.complete(new BrokerDiffs(
+                            new KafkaBrokerConfigurationDiff(config.result(), kafkaConfig, kafkaVersion, brokerId),
+                            new KafkaBrokerLoggingConfigurationDiff(logging.result(), kafkaLogging, brokerId)));
+                }, false, diffs);
+                return diffs.future();
+            }));
+        }
+    }
+
+    /**
+     * Returns the diffs of the given broker computed when the rolling restart started, at most once.
+     * Once they are older than the operation timeout they no longer prove that the broker responds,
+     * so the caller has to describe the broker again before acting on them.
+     * @param brokerId The id of the broker.
+     * @return The diffs, or null if the brokers could not be described together, or the diffs were already returned.
+     * @throws ForceableProblem If the broker could not be described.
+     */
+    private BrokerDiffs prefetchedDiffs(int brokerId) throws ForceableProblem, InterruptedException {
+        Future<BrokerDiffs> diffs = prefetchedDiffs.remove(brokerId);
+        if (diffs == null) {
+            return null;
+        }
+        return await(diffs, 30, TimeUnit.SECONDS,
+            error -> new ForceableProblem("Error getting broker config", error));
+    }
+
     /** Described how the "restart" (which might actually just be a reconfigure) will be performed. */
     static class RestartPlan {
         private final boolean needsRestart;
@@ -322,6 +451,12 @@ public class KafkaRoller {
             if (restartPlan.needsRestart || restartPlan.needsReconfig) {
                 if (deferController(podId, restartContext)) {
                     log.debug("{}: Pod {} is controller and there are other pods to roll", reconciliation, podId);
+                    synchronized (restarting) {
+                        if (!restarting.isEmpty()) {
+                            // Waiting for the pods being restarted does not count as a failed attempt
+                            throw new DeferredProblem("Pod " + podName(podId) + " is currently the controller and pods " + restarting + " are being restarted");
+                        }
+                    }
                     throw new ForceableProblem("Pod " + podName(podId) + " is currently the controller and there are other pods still to roll");
                 } else {
                     if (canRoll(podId, 60_000, TimeUnit.MILLISECONDS, false)) {
@@ -359,6 +494,10 @@ public class KafkaRoller {
             } else {
                 throw e;
             }
+        } finally {
+            synchronized (restarting) {
+                restarting.remove(podId);
+            }
         }
     }
 
@@ -407,22 +546,36 @@ public class KafkaRoller {
         KafkaBrokerLoggingConfigurationDiff loggingDiff = null;
         boolean needsReconfig = false;
         // Always get the broker config. This request gets sent to that specific broker, so it's a proof that we can
-        // connect to the broker and that it's capable of responding.
-        Config brokerConfig;
+        // connect to the broker and that it's capable of responding. On the first attempt the config described
+        // when the rolling restart started is used, unless it is older than the operation timeout. Then only the
+        // logging, which is cheaper to describe, is described again to check that the broker still responds.
+        BrokerDiffs prefetched = null;
+        Config brokerConfig = null;
+        KafkaBrokerLoggingConfigurationDiff freshLoggingDiff = null;
         try {
-            brokerConfig = brokerConfig(podId);
+            prefetched = prefetchedDiffs(podId);
+            if (prefetched == null) {
+                brokerConfig = brokerConfig(podId);
+            } else if (System.currentTimeMillis() - prefetchedAtMs > operationTimeoutMs) {
+                log.debug("{}: Broker {}: config described when the rolling restart started is stale, describing the logging again", reconciliation, podId);
+                freshLoggingDiff = logging(podId);
+            }
         } catch (ForceableProblem e) {
             if (restartContext.backOff.done()) {
                 needsRestart = true;
-                brokerConfig = null;
             } else {
                 throw e;
             }
         }
         if (!needsRestart) {
-            log.trace("{}: Broker {}: description {}", reconciliation, podId, brokerConfig);
-            diff = new KafkaBrokerConfigurationDiff(brokerConfig, kafkaConfig, kafkaVersion, podId);
-            loggingDiff = logging(podId);
+            if (prefetched != null) {
+                diff = prefetched.diff;
+                loggingDiff = freshLoggingDiff != null ? freshLoggingDiff : prefetched.logDiff;
+            } else {
+                log.trace("{}: Broker {}: description {}", reconciliation, podId, brokerConfig);
+                diff = new KafkaBrokerConfigurationDiff(brokerConfig, kafkaConfig, kafkaVersion, podId);
+                loggingDiff = logging(podId);
+            }
             if (diff.getDiffSize() > 0) {
                 if (diff.canBeUpdatedDynamically()) {
                     log.info("{}: Pod {} needs to be reconfigured.", reconciliation, podId);
@@ -442,6 +595,23 @@ public class KafkaRoller {
         return new RestartPlan(needsRestart, needsReconfig, diff, loggingDiff);
     }
 
+    /**
+     * Describes the config and the logging of the given brokers in a single request.
+     * @param brokerIds The ids of the brokers.
+     * @return The futures of the config of each {@code BROKER} and {@code BROKER_LOGGER} resource.
+     */
+    protected Map<ConfigResource, Future<Config>> describeBrokerConfigs(List<Integer> brokerIds) {
+        List<ConfigResource> resources = new ArrayList<>(2 * brokerIds.size());
+        for (int brokerId : brokerIds) {
+            resources.add(Util.getBrokersConfig(brokerId));
+            resources.add(Util.getBrokersLogging(brokerId));
+        }
+        Map<ConfigResource, Future<Config>> configs = new HashMap<>(resources.size());
+        allClient.describeConfigs(resources).values().forEach((resource, config) ->
+                configs.put(resource, Util.kafkaFutureToVertxFuture(vertx, config)));
+        return configs;
+    }
+
     /**
      * Returns a config of the given broker.
      * @param brokerId The id of the broker.
@@ -526,6 +696,13 @@ public class KafkaRoller {
         }
     }
 
+    /** The pod cannot be restarted together with the pods being restarted, but might be once they are */
+    static final class DeferredProblem extends Exception {
+        DeferredProblem(String msg) {
+            super(msg);
+        }
+    }
+
     /** Immediately aborts rolling */
     static final class FatalProblem extends Exception {
         public FatalProblem(String message) {
@@ -537,19 +714,57 @@ public class KafkaRoller {
         }
     }
 
+    /**
+     * @return The pods being restarted, except the given pod, which is still recorded as being restarted when it is
+     * checked again to be force-rolled.
+     */
+    private Set<Integer> otherRestartingPods(int podId) {
+        synchronized (restarting) {
+            Set<Integer> others = new HashSet<>(restarting);
+            others.remove(podId);
+            return others;
+        }
+    }
+
+    /**
+     * Determine whether the given pod can be rolled now, together with the pods being restarted,
+     * admitting it into the pods being restarted if so.
+     * The lock on the pods being restarted is not held while waiting for the answer, so that the other pods can
+     * still finish their restarts, and the answer is only used if no other pod was admitted in the meantime.
+     */
     private boolean canRoll(int podId, long timeout, TimeUnit unit, boolean ignoreSslError)
-            throws ForceableProblem, InterruptedException {
+            throws ForceableProblem, InterruptedException, DeferredProblem {
+        Set<Integer> others = otherRestartingPods(podId);
+        boolean canRoll;
         try {
-            return await(availability(allClient).canRoll(podId), timeout, unit,
+            canRoll = await(kafkaAvailability.canRoll(podId, others), timeout, unit,
                 t -> new ForceableProblem("An error while trying to determine rollability", t));
         } catch (ForceableProblem e) {
-            // If we're not able to connect then roll
+            // If we're not able to connect then roll, but only on its own, because nothing is known about
+            // the partitions it shares with the pods being restarted
             if (ignoreSslError && e.getCause() instanceof SslAuthenticationException) {
-                return true;
+                if (!others.isEmpty()) {
+                    throw new DeferredProblem("Pod " + podName(podId) + " cannot be checked and cannot be force-rolled together with pods " + others);
+                }
+                canRoll = true;
             } else {
                 throw e;
             }
         }
+        synchronized (restarting) {
+            if (canRoll) {
+                // The pod can still be rolled if some of the other pods have finished their restart since,
+                // but not if another pod was admitted
+                Set<Integer> current = otherRestartingPods(podId);
+                if (!others.containsAll(current)) {
+                    throw new DeferredProblem("Pod " + podName(podId) + " has to be checked again together with pods " + current);
+                }
+                restarting.add(podId);
+            } else if (!others.isEmpty()) {
+                throw new DeferredProblem("Pod " + podName(podId) + " cannot be restarted together with pods " + others);
+            }
+            return canRoll;
+        }
     }
 
     /**
@@ -36,6 +36,7 @@ import io.strimzi.operator.common.BackOff;
 import io.strimzi.operator.common.DefaultAdminClientProvider;
 import io.strimzi.operator.common.MetricsProvider;
 import io.strimzi.operator.common.MicrometerMetricsProvider;
+import io.strimzi.operator.common.PooledAdminClientProvider;
 import io.strimzi.operator.common.operator.resource.BuildConfigOperator;
 import io.strimzi.operator.common.operator.resource.ClusterRoleBindingOperator;
 import io.strimzi.operator.common.operator.resource.ConfigMapOperator;
@@ -98,7 +99,7 @@ public class ResourceOperatorSupplier {
             new ZookeeperLeaderFinder(vertx, new SecretOperator(vertx, client),
             // Retry up to 3 times (4 attempts), with overall max delay of 35000ms
                 () -> new BackOff(5_000, 2, 4)),
-                    new DefaultAdminClientProvider(),
+                    new PooledAdminClientProvider(new DefaultAdminClientProvider(), PooledAdminClientProvider.DEFAULT_IDLE_TIMEOUT_MS),
                     new DefaultZookeeperScalerProvider(),
                     new MicrometerMetricsProvider(),
                     pfa, operationTimeoutMs);
@@ -203,4 +204,24 @@ public class ResourceOperatorSupplier {
         this.metricsProvider = metricsProvider;
         this.adminClientProvider = adminClientProvider;
     }
+
+    /**
+     * Serves reads of Secrets, ConfigMaps, Services, Endpoints, StatefulSets, Pods and Routes from watch-backed local
+     * caches instead of querying the Kubernetes API server on every read. Waiting for these resources to get ready
+     * then completes as soon as the watch delivers the change.
+     *
+     * @param resyncIntervalMs The interval after which a cached namespace is listed again.
+     */
+    public void enableResourceCaches(long resyncIntervalMs) {
+        secretOperations.enableCache(resyncIntervalMs, metricsProvider);
+        configMapOperations.enableCache(resyncIntervalMs, metricsProvider);
+        serviceOperations.enableCache(resyncIntervalMs, metricsProvider);
+        kafkaSetOperations.enableCache(resyncIntervalMs, metricsProvider);
+        // Both read StatefulSets, so they share one cache
+        zkSetOperations.shareCache(kafkaSetOperations);
+        podOperations.enableCache(resyncIntervalMs, metricsProvider);
+        if (routeOperations != null) {
+            routeOperations.enableCache(resyncIntervalMs, metricsProvider);
+        }
+    }
 }
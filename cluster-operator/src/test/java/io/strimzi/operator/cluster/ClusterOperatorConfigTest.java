@@ -59,7 +59,7 @@ public class ClusterOperatorConfigTest {
     @Test
     public void testReconciliationInterval() {
 
-        ClusterOperatorConfig config = new ClusterOperatorConfig(singleton("namespace"), 60_000, 30_000, false, new KafkaVersion.Lookup(emptyMap(), emptyMap(), emptyMap(), emptyMap(), emptyMap()), null, null);
+        ClusterOperatorConfig config = new ClusterOperatorConfig(singleton("namespace"), 60_000, 30_000, false, new KafkaVersion.Lookup(emptyMap(), emptyMap(), emptyMap(), emptyMap(), emptyMap()), null, null, 0, emptyMap(), 1);
 
         assertThat(config.getNamespaces(), is(singleton("namespace")));
         assertThat(config.getReconciliationIntervalMs(), is(60_000L));
@@ -262,4 +262,65 @@ public class ClusterOperatorConfigTest {
             assertThat(e.getMessage(), containsString(envVar.getKey()));
         }
     }
+
+    @Test
+    public void testResourceCacheResyncInterval() {
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+
+        ClusterOperatorConfig config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getResourceCacheResyncIntervalMs(), is(ClusterOperatorConfig.DEFAULT_RESOURCE_CACHE_RESYNC_INTERVAL_MS));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_RESOURCE_CACHE_RESYNC_INTERVAL_MS, "600000");
+        config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getResourceCacheResyncIntervalMs(), is(600_000L));
+    }
+
+    @Test
+    public void testNegativeResourceCacheResyncIntervalThrows() {
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        envVars.put(ClusterOperatorConfig.STRIMZI_RESOURCE_CACHE_RESYNC_INTERVAL_MS, "-1");
+
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+    }
+
+    @Test
+    public void testReconciliationConcurrency() {
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+
+        ClusterOperatorConfig config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getReconciliationConcurrency("Kafka"), is(0));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_RECONCILIATION_CONCURRENCY, "Kafka=2, KafkaConnect=5");
+        config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getReconciliationConcurrency("Kafka"), is(2));
+        assertThat(config.getReconciliationConcurrency("KafkaConnect"), is(5));
+        assertThat(config.getReconciliationConcurrency("KafkaBridge"), is(0));
+    }
+
+    @Test
+    public void testInvalidReconciliationConcurrencyThrows() {
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+        envVars.put(ClusterOperatorConfig.STRIMZI_RECONCILIATION_CONCURRENCY, "Kafka=-1");
+
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_RECONCILIATION_CONCURRENCY, "Kafka");
+
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+    }
+
+    @Test
+    public void testMaxParallelBrokerRestarts() {
+        Map<String, String> envVars = new HashMap<>(ClusterOperatorConfigTest.envVars);
+
+        ClusterOperatorConfig config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getMaxParallelBrokerRestarts(), is(ClusterOperatorConfig.DEFAULT_MAX_PARALLEL_BROKER_RESTARTS));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_MAX_PARALLEL_BROKER_RESTARTS, "3");
+        config = ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup());
+        assertThat(config.getMaxParallelBrokerRestarts(), is(3));
+
+        envVars.put(ClusterOperatorConfig.STRIMZI_MAX_PARALLEL_BROKER_RESTARTS, "0");
+        assertThrows(InvalidConfigurationException.class, () -> ClusterOperatorConfig.fromMap(envVars, KafkaVersionTestUtils.getKafkaVersionLookup()));
+    }
 }
@@ -18,6 +18,7 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.openshift.api.model.RouteBuilder;
 import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
@@ -708,6 +709,11 @@ public class ResourceUtils {
                 return mock(Timer.class);
             }
 
+            @Override
+            public DistributionSummary summary(String name, String description, Tags tags) {
+                return mock(DistributionSummary.class);
+            }
+
             @Override
             public AtomicInteger gauge(String name, String description, Tags tags) {
                 return new AtomicInteger(0);
@@ -716,6 +722,10 @@ public class ResourceUtils {
     }
 
     public static ResourceOperatorSupplier supplierWithMocks(boolean openShift) {
+        return supplierWithMocks(openShift, metricsProvider());
+    }
+
+    public static ResourceOperatorSupplier supplierWithMocks(boolean openShift, MetricsProvider metricsProvider) {
         RouteOperator routeOps = openShift ? mock(RouteOperator.class) : null;
 
         ResourceOperatorSupplier supplier = new ResourceOperatorSupplier(
@@ -727,7 +737,7 @@ public class ResourceUtils {
                 mock(IngressOperator.class), mock(ImageStreamOperator.class), mock(BuildConfigOperator.class),
                 mock(DeploymentConfigOperator.class), mock(CrdOperator.class), mock(CrdOperator.class), mock(CrdOperator.class),
                 mock(CrdOperator.class), mock(CrdOperator.class), mock(CrdOperator.class), mock(CrdOperator.class), mock(CrdOperator.class),
-                mock(StorageClassOperator.class), mock(NodeOperator.class), zookeeperScalerProvider(), metricsProvider(), adminClientProvider());
+                mock(StorageClassOperator.class), mock(NodeOperator.class), zookeeperScalerProvider(), metricsProvider, adminClientProvider());
         when(supplier.serviceAccountOperations.reconcile(anyString(), anyString(), any())).thenReturn(Future.succeededFuture());
         when(supplier.roleBindingOperations.reconcile(anyString(), anyString(), any())).thenReturn(Future.succeededFuture());
         when(supplier.clusterRoleBindingOperator.reconcile(anyString(), any())).thenReturn(Future.succeededFuture());
@@ -771,7 +781,10 @@ public class ResourceUtils {
                 false,
                 versions,
                 null,
-                null);
+                null,
+                0,
+                emptyMap(),
+                1);
     }
 
     public static ClusterOperatorConfig dummyClusterOperatorConfig(KafkaVersion.Lookup versions) {
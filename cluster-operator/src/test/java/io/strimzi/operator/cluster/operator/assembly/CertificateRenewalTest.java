@@ -13,7 +13,7 @@ import io.strimzi.api.kafka.model.CertificateExpirationPolicy;
 import io.strimzi.api.kafka.model.Kafka;
 import io.strimzi.api.kafka.model.KafkaBuilder;
 import io.strimzi.certs.CertAndKey;
-import io.strimzi.certs.OpenSslCertManager;
+import io.strimzi.certs.BouncyCastleCertManager;
 import io.strimzi.certs.Subject;
 import io.strimzi.operator.KubernetesVersion;
 import io.strimzi.operator.PlatformFeaturesAvailability;
@@ -95,7 +95,7 @@ public class CertificateRenewalTest {
     public static final String NAME = "my-kafka";
     private String clusterCaStorePassword = "123456";
     private static Vertx vertx;
-    private OpenSslCertManager certManager = new OpenSslCertManager();
+    private BouncyCastleCertManager certManager = new BouncyCastleCertManager();
     private PasswordGenerator passwordGenerator = new PasswordGenerator(12,
             "abcdefghijklmnopqrstuvwxyz" +
                     "ABCDEFGHIJKLMNOPQRSTUVWXYZ",
@@ -174,7 +174,7 @@ public class CertificateRenewalTest {
         return reconcileCasComplete.future();
     }
 
-    private CertAndKey generateCa(OpenSslCertManager certManager, CertificateAuthority certificateAuthority, String commonName)
+    private CertAndKey generateCa(BouncyCastleCertManager certManager, CertificateAuthority certificateAuthority, String commonName)
             throws IOException, CertificateException, KeyStoreException, NoSuchAlgorithmException {
         File clusterCaKeyFile = File.createTempFile("tls", "cluster-ca-key");
         File clusterCaCertFile = File.createTempFile("tls", "cluster-ca-cert");
@@ -0,0 +1,79 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.cluster.operator.assembly;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.strimzi.api.kafka.model.Kafka;
+import io.strimzi.operator.KubernetesVersion;
+import io.strimzi.operator.PlatformFeaturesAvailability;
+import io.strimzi.operator.cluster.ClusterOperatorConfig;
+import io.strimzi.operator.cluster.KafkaVersionTestUtils;
+import io.strimzi.operator.cluster.ResourceUtils;
+import io.strimzi.operator.cluster.model.KafkaVersion;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
+import io.strimzi.operator.common.PasswordGenerator;
+import io.strimzi.operator.common.Reconciliation;
+import io.strimzi.operator.common.operator.MockCertManager;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class KafkaAssemblyOperatorStageMetricsTest {
+    private static final KafkaVersion.Lookup VERSIONS = KafkaVersionTestUtils.getKafkaVersionLookup();
+    private final ClusterOperatorConfig config = ResourceUtils.dummyClusterOperatorConfig(VERSIONS);
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    @Test
+    public void testStagesAreRecordedAsMetricsAndTraces() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        KafkaAssemblyOperator kao = new KafkaAssemblyOperator(vertx, new PlatformFeaturesAvailability(false, KubernetesVersion.V1_11),
+                new MockCertManager(), new PasswordGenerator(10, "a", "a"),
+                ResourceUtils.supplierWithMocks(false, new MicrometerMetricsProvider(registry)), config);
+
+        Map<String, Long> stages = new LinkedHashMap<>();
+        stages.put("zk", 10L);
+        stages.put("kafka", 20L);
+        Reconciliation reconciliation = new Reconciliation("test", Kafka.RESOURCE_KIND, "my-namespace", "my-cluster");
+        kao.recordStages(reconciliation, stages, 30L, null);
+        kao.recordStages(reconciliation, stages, 30L, new RuntimeException("Failed"));
+
+        Timer kafkaStage = registry.find("strimzi.reconciliations.stage.duration")
+                .tag("kind", Kafka.RESOURCE_KIND)
+                .tag("namespace", "my-namespace")
+                .tag("cluster", "my-cluster")
+                .tag("stage", "kafka")
+                .timer();
+        assertThat(kafkaStage, is(notNullValue()));
+        assertThat(kafkaStage.count(), is(2L));
+        assertThat(kafkaStage.totalTime(TimeUnit.MILLISECONDS), is(40.0));
+        assertThat(registry.find("strimzi.reconciliations.stage.duration").tag("stage", "zk").timer().count(), is(2L));
+
+        JsonObject latest = kao.reconciliationTraces().latest(1).getJsonObject(0);
+        assertThat(latest.getBoolean("succeeded"), is(false));
+        assertThat(latest.getJsonObject("stages").getLong("zk"), is(10L));
+    }
+}
@@ -29,6 +29,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -42,6 +43,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(VertxExtension.class)
@@ -533,6 +536,87 @@ public class KafkaAvailabilityTest {
         }
     }
 
+    @Test
+    public void testIndexIsRefreshedBetweenBrokers(VertxTestContext context) {
+        KSB ksb = new KSB()
+            .addNewTopic("A", false)
+                .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                .addNewPartition(0)
+                    .replicaOn(0, 1, 2)
+                    .leader(0)
+                    .isr(0, 1)
+                .endPartition()
+            .endTopic()
+
+            .addBroker(3);
+
+        Admin ac = ksb.ac();
+        KafkaAvailability kafkaAvailability = new KafkaAvailability(ac);
+
+        Checkpoint a = context.checkpoint();
+        kafkaAvailability.canRoll(0)
+            .compose(canRoll -> {
+                context.verify(() -> assertFalse(canRoll, "broker 0 should not be rollable, being in an ISR of minisr = 2"));
+                // broker 2 catches up and a topic is created in the meantime
+                ksb.addNewTopic("A", false)
+                        .addNewPartition(0)
+                            .isr(0, 1, 2)
+                        .endPartition()
+                    .endTopic()
+                    .addNewTopic("B", false)
+                        .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                        .addNewPartition(0)
+                            .replicaOn(1, 2, 3)
+                            .leader(3)
+                            .isr(1, 3)
+                        .endPartition()
+                    .endTopic();
+                return kafkaAvailability.canRoll(0);
+            })
+            .compose(canRoll -> {
+                context.verify(() -> assertTrue(canRoll, "broker 0 should be rollable once broker 2 is back in the ISR"));
+                return kafkaAvailability.canRoll(3);
+            })
+            .onComplete(context.succeeding(canRoll -> context.verify(() -> {
+                assertFalse(canRoll, "broker 3 should not be rollable, being in an ISR of minisr = 2 of the new topic");
+                // min.insync.replicas of A is described once, then that of B
+                verify(ac, times(2)).describeConfigs(any());
+                a.flag();
+            })));
+    }
+
+    @Test
+    public void testBrokersRestartedTogether(VertxTestContext context) {
+        KSB ksb = new KSB()
+            .addNewTopic("A", false)
+                .addToConfig(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                .addNewPartition(0)
+                    .replicaOn(0, 1, 2)
+                    .leader(0)
+                    .isr(0, 1, 2)
+                .endPartition()
+            .endTopic()
+
+            .addBroker(3);
+
+        KafkaAvailability kafkaAvailability = new KafkaAvailability(ksb.ac());
+
+        Checkpoint a = context.checkpoint();
+        kafkaAvailability.canRoll(0, Collections.emptySet())
+            .compose(canRoll -> {
+                context.verify(() -> assertTrue(canRoll, "broker 0 should be rollable on its own"));
+                return kafkaAvailability.canRoll(0, Collections.singleton(3));
+            })
+            .compose(canRoll -> {
+                context.verify(() -> assertTrue(canRoll, "broker 0 should be rollable with broker 3, which shares no partition"));
+                return kafkaAvailability.canRoll(0, Collections.singleton(1));
+            })
+            .onComplete(context.succeeding(canRoll -> context.verify(() -> {
+                assertFalse(canRoll, "broker 0 should not be rollable with broker 1, leaving a single in-sync replica");
+                a.flag();
+            })));
+    }
+
     // TODO when AC throws various exceptions (e.g. UnknownTopicOrPartitionException)
     @Test
     public void testCanRollThrowsTimeoutExceptionWhenTopicsListThrowsException(VertxTestContext context) {
@@ -7,13 +7,19 @@ package io.strimzi.operator.cluster.operator.resource;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -24,11 +30,14 @@ import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.api.model.apps.StatefulSetBuilder;
 import io.strimzi.operator.cluster.KafkaVersionTestUtils;
 import io.strimzi.operator.common.BackOff;
+import io.strimzi.operator.common.DefaultAdminClientProvider;
 import io.strimzi.operator.common.Reconciliation;
+import io.strimzi.operator.common.Util;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.operator.resource.PodOperator;
 import io.strimzi.operator.common.operator.resource.TimeoutException;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxExtension;
@@ -37,6 +46,8 @@ import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.Config;
 import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.errors.SslAuthenticationException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.AfterAll;
@@ -50,9 +61,13 @@ import static io.vertx.core.Future.succeededFuture;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.hasItems;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -204,6 +219,66 @@ public class KafkaRollerTest {
                 singletonList(2));
     }
 
+    @Test
+    public void testRollInParallelGroups(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        // Pods with ids of the same parity can be restarted together
+        TestingKafkaRoller kafkaRoller = new TestingKafkaRoller(sts, null, null, podOps,
+            noException(), null, noException(), noException(), noException(),
+            (podId, restarting) -> succeededFuture(restarting.stream().allMatch(other -> other % 2 == podId % 2)),
+            2, 2);
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> singletonList("roll"))
+            .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                List<Integer> restarted = restarted();
+                assertThat(restarted.size(), is(5));
+                assertThat(new HashSet<>(restarted), is(new HashSet<>(asList(0, 1, 2, 3, 4))));
+                assertThat("The controller should be restarted last", restarted.get(4), is(2));
+                assertThat(kafkaRoller.maxRestarting, is(2));
+                assertNoUnclosedAdminClient(testContext, kafkaRoller);
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testPodWhichCannotBeCheckedIsForceRolledAlone(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        // Pod 1 cannot be connected to, the other pods can be restarted together, but not with pod 1
+        List<Set<Integer>> checkedWith = new CopyOnWriteArrayList<>();
+        TestingKafkaRoller kafkaRoller = new TestingKafkaRoller(sts, null, null, podOps,
+            noException(), null, noException(), noException(), noException(),
+            (podId, restarting) -> {
+                if (restarting.contains(podId)) {
+                    checkedWith.add(restarting);
+                }
+                return podId == 1 ? failedFuture(new SslAuthenticationException("SSL handshake failed"))
+                        : succeededFuture(!restarting.contains(1));
+            },
+            2, 2);
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> singletonList("roll"))
+            .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                assertThat(new HashSet<>(restarted()), is(new HashSet<>(asList(0, 1, 2, 3, 4))));
+                assertThat("Pod 1 was restarted together with pods " + kafkaRoller.restartedWith.get(1),
+                        kafkaRoller.restartedWith.get(1).isEmpty(), is(true));
+                assertThat("A pod was checked together with itself", checkedWith, is(emptyList()));
+                assertNoUnclosedAdminClient(testContext, kafkaRoller);
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testDeferredRestartCountsAsAttemptAfterTimeout() {
+        KafkaRoller.RestartContext ctx = new KafkaRoller.RestartContext(() -> new BackOff(10L, 2, 4));
+        assertThat(ctx.noteDeferred(60_000L), is(false));
+        assertThat(ctx.noteDeferred(60_000L), is(false));
+        assertThat(ctx.noteDeferred(0L), is(true));
+        // The next deferral starts a new timeout
+        assertThat(ctx.noteDeferred(60_000L), is(false));
+    }
+
     @Test
     public void testRollHandlesErrorWhenOpeningAdminClient(VertxTestContext testContext) {
         PodOperator podOps = mockPodOps(podId -> succeededFuture());
@@ -424,6 +499,83 @@ public class KafkaRollerTest {
                 emptyList());
     }
 
+    @Test
+    public void testBrokersAreDescribedTogetherWhenNothingNeedsRestart(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        TestingKafkaRoller kafkaRoller = new TestingKafkaRoller(sts, null, null, podOps,
+                noException(), null,
+                noException(), noException(), noException(),
+            brokerId -> succeededFuture(true), 2);
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> emptyList())
+            .onComplete(testContext.succeeding(v -> {
+                testContext.verify(() -> {
+                    assertThat(restarted(), is(emptyList()));
+                    assertThat(kafkaRoller.describedTogether.get(), is(1));
+                    assertThat(kafkaRoller.describedAlone.get(), is(0));
+                    assertThat(kafkaRoller.loggingDescribedAlone, is(empty()));
+                });
+                assertNoUnclosedAdminClient(testContext, kafkaRoller);
+                async.flag();
+            }));
+    }
+
+    @Test
+    public void testBrokerLoggingIsDescribedAloneWhenTheDescriptionIsStale(VertxTestContext testContext) {
+        // Pods 0 and 1 take a while to become ready, so the config of the pods checked after them, described
+        // when the rolling restart started, is older than the operation timeout by the time they are checked
+        PodOperator podOps = mockPodOps(podId -> {
+            if (podId > 1) {
+                return succeededFuture();
+            }
+            Promise<Void> ready = Promise.promise();
+            vertx.setTimer(600, timerId -> ready.tryComplete());
+            return ready.future();
+        });
+        StatefulSet sts = buildStatefulSet();
+        TestingKafkaRoller kafkaRoller = new TestingKafkaRoller(sts, null, null, podOps,
+                noException(), null,
+                noException(), noException(), noException(),
+            brokerId -> succeededFuture(true), 2);
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> emptyList())
+            .onComplete(testContext.succeeding(v -> {
+                testContext.verify(() -> {
+                    assertThat(restarted(), is(emptyList()));
+                    assertThat(kafkaRoller.describedTogether.get(), is(1));
+                    assertThat(kafkaRoller.describedAlone.get(), is(0));
+                    assertThat(kafkaRoller.loggingDescribedAlone, hasItems(2, 3, 4));
+                    assertThat(kafkaRoller.loggingDescribedAlone, not(hasItem(1)));
+                });
+                assertNoUnclosedAdminClient(testContext, kafkaRoller);
+                async.flag();
+            }));
+    }
+
+    @Test
+    public void testBrokerIsDescribedAloneWhenDescribingTogetherFailed(VertxTestContext testContext) {
+        PodOperator podOps = mockPodOps(podId -> succeededFuture());
+        StatefulSet sts = buildStatefulSet();
+        AtomicInteger attempts = new AtomicInteger();
+        TestingKafkaRoller kafkaRoller = new TestingKafkaRoller(sts, null, null, podOps,
+                noException(), null,
+                noException(), noException(),
+            podId -> podId == 1 && attempts.incrementAndGet() == 1 ? new KafkaRoller.ForceableProblem("could not get config exception") : null,
+            brokerId -> succeededFuture(true), 2);
+        Checkpoint async = testContext.checkpoint();
+        kafkaRoller.rollingRestart(pod -> emptyList())
+            .onComplete(testContext.succeeding(v -> {
+                testContext.verify(() -> {
+                    assertThat(restarted(), is(emptyList()));
+                    assertThat(kafkaRoller.describedTogether.get(), is(1));
+                    assertThat(kafkaRoller.describedAlone.get(), is(1));
+                });
+                assertNoUnclosedAdminClient(testContext, kafkaRoller);
+                async.flag();
+            }));
+    }
+
     @Test
     public void testControllerAndOneMoreNeverRollable(VertxTestContext testContext) throws InterruptedException {
         PodOperator podOps = mockPodOps(podId -> succeededFuture());
@@ -513,7 +665,7 @@ public class KafkaRollerTest {
 
     @BeforeEach
     public void clearRestarted() {
-        restarted = new ArrayList<>();
+        restarted = Collections.synchronizedList(new ArrayList<>());
     }
 
     private PodOperator mockPodOps(Function<Integer, Future<Void>> readiness) {
@@ -536,7 +688,7 @@ public class KafkaRollerTest {
             if (ready.succeeded()) {
                 return true;
             } else {
-                if (ready.cause() instanceof TimeoutException) {
+                if (!ready.isComplete() || ready.cause() instanceof TimeoutException) {
                     return false;
                 } else {
                     throw ready.cause();
@@ -565,11 +717,20 @@ public class KafkaRollerTest {
         private final IdentityHashMap<Admin, Throwable> unclosedAdminClients;
         private final Function<List<Integer>, RuntimeException> acOpenException;
         private final Throwable acCloseException;
-        private final Function<Integer, Future<Boolean>> canRollFn;
+        private final BiFunction<Integer, Set<Integer>, Future<Boolean>> canRollFn;
+        private final int maxParallelRestarts;
+        private final Set<Integer> restarting = new HashSet<>();
+        private int maxRestarting;
+        // The pods which were being restarted when each pod was restarted
+        private final Map<Integer, Set<Integer>> restartedWith = new HashMap<>();
         private final Function<Integer, Throwable> controllerException;
         private final Function<Integer, ForceableProblem> alterConfigsException;
         private final Function<Integer, ForceableProblem> getConfigsException;
         private final int[] controllers;
+        private final AtomicInteger describedTogether = new AtomicInteger();
+        private final AtomicInteger describedAlone = new AtomicInteger();
+        // The brokers whose logging was described on its own
+        private final Set<Integer> loggingDescribedAlone = ConcurrentHashMap.newKeySet();
 
         private TestingKafkaRoller(StatefulSet sts, Secret clusterCaCertSecret, Secret coKeySecret,
                                    PodOperator podOps,
@@ -580,9 +741,25 @@ public class KafkaRollerTest {
                                    Function<Integer, ForceableProblem> getConfigsException,
                                    Function<Integer, Future<Boolean>> canRollFn,
                                   int... controllers) {
+            this(sts, clusterCaCertSecret, coKeySecret, podOps, acOpenException, acCloseException, controllerException,
+                    alterConfigsException, getConfigsException, (podId, restarting) -> canRollFn.apply(podId), 1, controllers);
+        }
+
+        private TestingKafkaRoller(StatefulSet sts, Secret clusterCaCertSecret, Secret coKeySecret,
+                                   PodOperator podOps,
+                                   Function<List<Integer>, RuntimeException> acOpenException,
+                                   Throwable acCloseException,
+                                   Function<Integer, Throwable> controllerException,
+                                   Function<Integer, ForceableProblem> alterConfigsException,
+                                   Function<Integer, ForceableProblem> getConfigsException,
+                                   BiFunction<Integer, Set<Integer>, Future<Boolean>> canRollFn,
+                                   int maxParallelRestarts,
+                                   int... controllers) {
             super(KafkaRollerTest.vertx, new Reconciliation("test", "Kafka", stsNamespace(), clusterName()), podOps, 500, 1000,
                 () -> new BackOff(10L, 2, 4),
-                sts, clusterCaCertSecret, coKeySecret, "", "", KafkaVersionTestUtils.getLatestVersion());
+                sts, clusterCaCertSecret, coKeySecret, new DefaultAdminClientProvider(), "", "", KafkaVersionTestUtils.getLatestVersion(),
+                maxParallelRestarts);
+            this.maxParallelRestarts = maxParallelRestarts;
             this.controllers = controllers;
             this.controllerCall = 0;
             Objects.requireNonNull(acOpenException);
@@ -630,8 +807,8 @@ public class KafkaRollerTest {
                 }
 
                 @Override
-                Future<Boolean> canRoll(int podId) {
-                    return canRollFn.apply(podId);
+                Future<Boolean> canRoll(int podId, Set<Integer> restarting) {
+                    return canRollFn.apply(podId, restarting);
                 }
             };
         }
@@ -653,8 +830,21 @@ public class KafkaRollerTest {
             }
         }
 
+        @Override
+        protected Map<ConfigResource, Future<Config>> describeBrokerConfigs(List<Integer> brokerIds) {
+            describedTogether.incrementAndGet();
+            Map<ConfigResource, Future<Config>> configs = new HashMap<>();
+            for (int brokerId : brokerIds) {
+                ForceableProblem problem = getConfigsException.apply(brokerId);
+                configs.put(Util.getBrokersConfig(brokerId), problem != null ? failedFuture(problem) : succeededFuture(new Config(emptyList())));
+                configs.put(Util.getBrokersLogging(brokerId), succeededFuture(new Config(emptyList())));
+            }
+            return configs;
+        }
+
         @Override
         protected Config brokerConfig(int brokerId) throws ForceableProblem, InterruptedException {
+            describedAlone.incrementAndGet();
             ForceableProblem problem = getConfigsException.apply(brokerId);
             if (problem != null) {
                 throw problem;
@@ -663,6 +853,7 @@ public class KafkaRollerTest {
 
         @Override
         protected Config brokerLogging(int brokerId) throws ForceableProblem, InterruptedException {
+            loggingDescribedAlone.add(brokerId);
             return new Config(emptyList());
         }
 
@@ -677,7 +868,24 @@ public class KafkaRollerTest {
         @Override
         protected Future<Void> restart(Pod pod) {
             restarted.add(pod.getMetadata().getName());
-            return succeededFuture();
+            if (maxParallelRestarts == 1) {
+                return succeededFuture();
+            }
+            // Keep the pod restarting for a while, so that the pods restarted together overlap
+            int podId = podName2Number(pod.getMetadata().getName());
+            synchronized (restarting) {
+                restartedWith.put(podId, new HashSet<>(restarting));
+                restarting.add(podId);
+                maxRestarting = Math.max(maxRestarting, restarting.size());
+            }
+            Promise<Void> restart = Promise.promise();
+            vertx.setTimer(200, ignored -> {
+                synchronized (restarting) {
+                    restarting.remove(podId);
+                }
+                restart.complete();
+            });
+            return restart.future();
         }
 
     }
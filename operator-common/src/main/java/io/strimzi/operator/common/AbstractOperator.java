@@ -22,7 +22,6 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
-import io.vertx.core.shareddata.Lock;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -73,8 +72,24 @@ public abstract class AbstractOperator<
     private final Counter lockedReconciliationsCounter;
     private final AtomicInteger resourceCounter;
     private final Timer reconciliationsTimer;
+    private final WorkQueue workQueue;
+    private final KeyedSerializer serializer;
 
     public AbstractOperator(Vertx vertx, String kind, S resourceOperator, MetricsProvider metrics) {
+        this(vertx, kind, resourceOperator, metrics, WorkQueue.UNBOUNDED);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param vertx The vertx instance.
+     * @param kind The kind of the reconciled resources.
+     * @param resourceOperator The resource operator for the reconciled resources.
+     * @param metrics The metrics provider.
+     * @param maxConcurrentReconciliations The maximum number of reconciliations running at the same time,
+     *                                     or {@link WorkQueue#UNBOUNDED}.
+     */
+    public AbstractOperator(Vertx vertx, String kind, S resourceOperator, MetricsProvider metrics, int maxConcurrentReconciliations) {
         this.vertx = vertx;
         this.kind = kind;
         this.resourceOperator = resourceOperator;
@@ -110,6 +125,9 @@ public abstract class AbstractOperator<
         reconciliationsTimer = metrics.timer(METRICS_PREFIX + "reconciliations.duration",
                 "The time the reconciliation takes to complete",
                 metricTags);
+
+        workQueue = new WorkQueue(kind, maxConcurrentReconciliations, metrics);
+        serializer = new KeyedSerializer(vertx);
     }
 
     @Override
@@ -155,18 +173,47 @@ public abstract class AbstractOperator<
      * Reconciliation works by getting the assembly resource (e.g. {@code KafkaUser})
      * in the given namespace with the given name and
      * comparing with the corresponding resource.
+     * The reconciliation is queued ahead of any queued periodic reconciliations.
      * @param reconciliation The reconciliation.
      * @return A Future which is completed with the result of the reconciliation.
      */
     @Override
     public final Future<Void> reconcile(Reconciliation reconciliation) {
+        return workQueue.submit(reconciliation, false, () -> reconcileNow(reconciliation));
+    }
+
+    /**
+     * Reconcile assembly resources in the given namespace having the given {@code name}
+     * as part of a periodic reconciliation.
+     * The reconciliation is queued behind any queued reconciliations triggered by watch events.
+     * @param reconciliation The reconciliation.
+     * @return A Future which is completed with the result of the reconciliation.
+     */
+    @Override
+    public final Future<Void> reconcilePeriodically(Reconciliation reconciliation) {
+        return workQueue.submit(reconciliation, true, () -> reconcileNow(reconciliation));
+    }
+
+    /**
+     * Runs the reconciliation once any running reconciliation of the same resource has completed.
+     * Reconciliations of a resource requested while it is already waiting for a running reconciliation
+     * are merged into the waiting one.
+     */
+    private Future<Void> reconcileNow(Reconciliation reconciliation) {
+        final String lockName = getLockName(reconciliation.namespace(), reconciliation.name());
+        log.debug("{}: Try to acquire lock {}", reconciliation, lockName);
+        return serializer.coalesce(lockName, () -> reconcileWithLock(reconciliation, lockName));
+    }
+
+    private Future<Void> reconcileWithLock(Reconciliation reconciliation, String lockName) {
         String namespace = reconciliation.namespace();
         String name = reconciliation.name();
+        log.debug("{}: Lock {} acquired", reconciliation, lockName);
 
         reconciliationsCounter.increment();
         Timer.Sample reconciliationTimerSample = Timer.start(metrics.meterRegistry());
 
-        Future<Void> handler = withLock(reconciliation, LOCK_TIMEOUT_MS, () -> {
+        Future<Void> handler = callWithLock(reconciliation, lockName, () -> {
             T cr = resourceOperator.get(namespace, name);
             if (cr != null) {
                 validate(cr);
@@ -211,44 +258,35 @@ public abstract class AbstractOperator<
      * and call the given {@code callable} with the lock held.
      * Once the callable returns (or if it throws) release the lock and complete the returned Future.
      * If the lock cannot be acquired the given {@code callable} is not called and the returned Future is completed with {@link UnableToAcquireLockException}.
+     * The lock is held in-process: callers waiting for the same resource are queued and run in order.
      * @param reconciliation
      * @param callable
      * @param <T>
      * @return
      */
     protected final <T> Future<T> withLock(Reconciliation reconciliation, long lockTimeoutMs, Callable<Future<T>> callable) {
-        Promise<T> handler = Promise.promise();
-        String namespace = reconciliation.namespace();
-        String name = reconciliation.name();
-        final String lockName = getLockName(namespace, name);
+        final String lockName = getLockName(reconciliation.namespace(), reconciliation.name());
         log.debug("{}: Try to acquire lock {}", reconciliation, lockName);
-        vertx.sharedData().getLockWithTimeout(lockName, lockTimeoutMs, res -> {
-            if (res.succeeded()) {
-                log.debug("{}: Lock {} acquired", reconciliation, lockName);
-                Lock lock = res.result();
-                try {
-                    callable.call().onComplete(callableRes -> {
-                        if (callableRes.succeeded()) {
-                            handler.complete(callableRes.result());
-                        } else {
-                            handler.fail(callableRes.cause());
-                        }
-
-                        lock.release();
-                        log.debug("{}: Lock {} released", reconciliation, lockName);
-                    });
-                } catch (Throwable ex) {
-                    lock.release();
-                    log.debug("{}: Lock {} released", reconciliation, lockName);
-                    log.error("{}: Reconciliation failed", reconciliation, ex);
-                    handler.fail(ex);
-                }
-            } else {
+        return serializer.execute(lockName, lockTimeoutMs, () -> {
+            log.debug("{}: Lock {} acquired", reconciliation, lockName);
+            return callWithLock(reconciliation, lockName, callable);
+        }).recover(error -> {
+            if (error instanceof KeyedSerializer.WaitTimeoutException) {
                 log.warn("{}: Failed to acquire lock {} within {}ms.", reconciliation, lockName, lockTimeoutMs);
-                handler.fail(new UnableToAcquireLockException());
+                return Future.failedFuture(new UnableToAcquireLockException());
             }
+            return Future.failedFuture(error);
         });
-        return handler.future();
+    }
+
+    private <T> Future<T> callWithLock(Reconciliation reconciliation, String lockName, Callable<Future<T>> callable) {
+        try {
+            return callable.call().onComplete(callableRes -> log.debug("{}: Lock {} released", reconciliation, lockName));
+        } catch (Throwable ex) {
+            log.debug("{}: Lock {} released", reconciliation, lockName);
+            log.error("{}: Reconciliation failed", reconciliation, ex);
+            return Future.failedFuture(ex);
+        }
     }
 
     /**
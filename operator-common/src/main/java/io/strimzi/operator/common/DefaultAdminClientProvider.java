@@ -9,17 +9,17 @@ import io.strimzi.operator.cluster.model.Ca;
 import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.common.config.SslConfigs;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 
-import java.io.File;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
 import java.util.Properties;
 
 public class DefaultAdminClientProvider implements AdminClientProvider {
 
-    private static final Logger LOGGER = LogManager.getLogger(DefaultAdminClientProvider.class);
-
     /**
      * Create a Kafka Admin interface instance handling the following different scenarios:
      *
@@ -40,61 +40,59 @@ public class DefaultAdminClientProvider implements AdminClientProvider {
      * If {@code clusterCaCertSecret}, {@code keyCertSecret} and {@code keyCertName} are provided as not null, the returned
      * Admin Client instance is configured to connect to the Apache Kafka bootstrap (defined via {@code hostname}) on
      * TLS encrypted connection and with TLS client authentication.
+     *
+     * The truststore and the keystore are kept in memory, using {@link InMemorySslEngineFactory}.
      */
     @Override
     public Admin createAdminClient(String bootstrapHostnames, Secret clusterCaCertSecret, Secret keyCertSecret, String keyCertName) {
-        Admin ac;
-        String trustStorePassword = null;
-        File truststoreFile = null;
+        Properties p = new Properties();
+        p.setProperty(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapHostnames);
+        p.setProperty(AdminClientConfig.METADATA_MAX_AGE_CONFIG, "30000");
+
         // provided Secret with cluster CA certificate for TLS encryption
-        if (clusterCaCertSecret != null) {
-            PasswordGenerator pg = new PasswordGenerator(12);
-            trustStorePassword = pg.generate();
-            truststoreFile = Util.createFileTrustStore(getClass().getName(), "ts", Ca.cert(clusterCaCertSecret, Ca.CA_CRT), trustStorePassword.toCharArray());
+        if (clusterCaCertSecret == null) {
+            return Admin.create(p);
         }
 
-        try {
-            String keyStorePassword = null;
-            File keystoreFile = null;
-            // provided Secret and related key for getting the private key for TLS client authentication
-            if (keyCertSecret != null && keyCertName != null && !keyCertName.isEmpty()) {
-                keyStorePassword = new String(Util.decodeFromSecret(keyCertSecret, keyCertName + ".password"), StandardCharsets.US_ASCII);
-                keystoreFile = Util.createFileStore(getClass().getName(), "ts", Util.decodeFromSecret(keyCertSecret, keyCertName + ".p12"));
-            }
-
-            try {
-                Properties p = new Properties();
-                p.setProperty(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapHostnames);
-
-                // configuring TLS encryption if requested
-                if (truststoreFile != null && trustStorePassword != null) {
-                    p.setProperty(AdminClientConfig.SECURITY_PROTOCOL_CONFIG, "SSL");
+        KeyStore truststore = createTrustStore(Ca.cert(clusterCaCertSecret, Ca.CA_CRT));
+        KeyStore keystore = null;
+        char[] keystorePassword = null;
+        // provided Secret and related key for getting the private key for TLS client authentication
+        if (keyCertSecret != null && keyCertName != null && !keyCertName.isEmpty()) {
+            keystorePassword = new String(Util.decodeFromSecret(keyCertSecret, keyCertName + ".password"), StandardCharsets.US_ASCII).toCharArray();
+            keystore = createKeyStore(Util.decodeFromSecret(keyCertSecret, keyCertName + ".p12"), keystorePassword);
+        }
 
-                    p.setProperty(SslConfigs.SSL_TRUSTSTORE_LOCATION_CONFIG, truststoreFile.getAbsolutePath());
-                    p.setProperty(SslConfigs.SSL_TRUSTSTORE_TYPE_CONFIG, "PKCS12");
-                    p.setProperty(SslConfigs.SSL_TRUSTSTORE_PASSWORD_CONFIG, trustStorePassword);
-                }
+        // configuring TLS encryption, and TLS client authentication if requested, with the stores in memory
+        p.setProperty(AdminClientConfig.SECURITY_PROTOCOL_CONFIG, "SSL");
+        p.setProperty(SslConfigs.SSL_ENGINE_FACTORY_CLASS_CONFIG, InMemorySslEngineFactory.class.getName());
+        p.put(InMemorySslEngineFactory.TRUSTSTORE_CONFIG, truststore);
+        if (keystore != null) {
+            p.put(InMemorySslEngineFactory.KEYSTORE_CONFIG, keystore);
+            p.put(InMemorySslEngineFactory.KEYSTORE_PASSWORD_CONFIG, keystorePassword);
+        }
 
-                // configuring TLS client authentication
-                if (keystoreFile != null && keyStorePassword != null) {
-                    p.setProperty(SslConfigs.SSL_KEYSTORE_LOCATION_CONFIG, keystoreFile.getAbsolutePath());
-                    p.setProperty(SslConfigs.SSL_KEYSTORE_TYPE_CONFIG, "PKCS12");
-                    p.setProperty(SslConfigs.SSL_KEYSTORE_PASSWORD_CONFIG, keyStorePassword);
-                }
+        return Admin.create(p);
+    }
 
-                p.setProperty(AdminClientConfig.METADATA_MAX_AGE_CONFIG, "30000");
+    private static KeyStore createTrustStore(X509Certificate certificate) {
+        try {
+            KeyStore trustStore = KeyStore.getInstance("PKCS12");
+            trustStore.load(null, null);
+            trustStore.setEntry(certificate.getSubjectDN().getName(), new KeyStore.TrustedCertificateEntry(certificate), null);
+            return trustStore;
+        } catch (GeneralSecurityException | IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-                ac = Admin.create(p);
-            } finally {
-                if (keystoreFile != null && !keystoreFile.delete()) {
-                    LOGGER.warn("Unable to delete keystore file {}", keystoreFile);
-                }
-            }
-        } finally {
-            if (truststoreFile != null && !truststoreFile.delete()) {
-                LOGGER.warn("Unable to delete truststore file {}", truststoreFile);
-            }
+    private static KeyStore createKeyStore(byte[] bytes, char[] password) {
+        try {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(new ByteArrayInputStream(bytes), password);
+            return keyStore;
+        } catch (GeneralSecurityException | IOException e) {
+            throw new RuntimeException(e);
         }
-        return ac;
     }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.config.SslConfigs;
+import org.apache.kafka.common.security.auth.SslEngineFactory;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import java.security.KeyStore;
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Kafka {@link SslEngineFactory} using a truststore and a keystore held in memory, instead of files.
+ *
+ * The stores are passed as {@link KeyStore} instances in the client configuration, under {@link #TRUSTSTORE_CONFIG},
+ * {@link #KEYSTORE_CONFIG} and {@link #KEYSTORE_PASSWORD_CONFIG}. The Kafka clients pass their original configuration
+ * to the SSL engine factory, and only log these keys as unknown configurations.
+ *
+ * The factory only supports clients: {@link #createServerSslEngine(String, int)} throws an
+ * {@link UnsupportedOperationException}.
+ */
+public class InMemorySslEngineFactory implements SslEngineFactory {
+
+    /** The truststore, as a {@link KeyStore} */
+    public static final String TRUSTSTORE_CONFIG = "strimzi.ssl.truststore";
+    /** The keystore, as a {@link KeyStore}, or no value for no TLS client authentication */
+    public static final String KEYSTORE_CONFIG = "strimzi.ssl.keystore";
+    /** The password of the keystore, as a {@code char[]} */
+    public static final String KEYSTORE_PASSWORD_CONFIG = "strimzi.ssl.keystore.password";
+
+    private KeyStore truststore;
+    private KeyStore keystore;
+    private SSLContext sslContext;
+    private List<String> enabledProtocols;
+    private List<String> cipherSuites;
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void configure(Map<String, ?> configs) {
+        truststore = (KeyStore) configs.get(TRUSTSTORE_CONFIG);
+        if (truststore == null) {
+            throw new KafkaException("No truststore configured in " + TRUSTSTORE_CONFIG);
+        }
+        keystore = (KeyStore) configs.get(KEYSTORE_CONFIG);
+        char[] keystorePassword = (char[]) configs.get(KEYSTORE_PASSWORD_CONFIG);
+        enabledProtocols = (List<String>) configs.get(SslConfigs.SSL_ENABLED_PROTOCOLS_CONFIG);
+        cipherSuites = (List<String>) configs.get(SslConfigs.SSL_CIPHER_SUITES_CONFIG);
+        try {
+            KeyManager[] keyManagers = null;
+            if (keystore != null) {
+                KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+                kmf.init(keystore, keystorePassword);
+                keyManagers = kmf.getKeyManagers();
+            }
+            TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            tmf.init(truststore);
+            TrustManager[] trustManagers = tmf.getTrustManagers();
+            Object protocol = configs.get(SslConfigs.SSL_PROTOCOL_CONFIG);
+            sslContext = SSLContext.getInstance(protocol != null ? protocol.toString() : SslConfigs.DEFAULT_SSL_PROTOCOL);
+            sslContext.init(keyManagers, trustManagers, new SecureRandom());
+        } catch (Exception e) {
+            throw new KafkaException("Failed to create the SSL context", e);
+        }
+    }
+
+    @Override
+    public SSLEngine createClientSslEngine(String peerHost, int peerPort, String endpointIdentification) {
+        SSLEngine sslEngine = sslContext.createSSLEngine(peerHost, peerPort);
+        if (enabledProtocols != null && !enabledProtocols.isEmpty()) {
+            sslEngine.setEnabledProtocols(enabledProtocols.toArray(new String[0]));
+        }
+        if (cipherSuites != null && !cipherSuites.isEmpty()) {
+            sslEngine.setEnabledCipherSuites(cipherSuites.toArray(new String[0]));
+        }
+        sslEngine.setUseClientMode(true);
+        SSLParameters sslParams = sslEngine.getSSLParameters();
+        sslParams.setEndpointIdentificationAlgorithm(endpointIdentification);
+        sslEngine.setSSLParameters(sslParams);
+        return sslEngine;
+    }
+
+    @Override
+    public SSLEngine createServerSslEngine(String peerHost, int peerPort) {
+        throw new UnsupportedOperationException("Only client SSL engines are supported");
+    }
+
+    @Override
+    public boolean shouldBeRebuilt(Map<String, Object> nextConfigs) {
+        return false;
+    }
+
+    @Override
+    public Set<String> reconfigurableConfigs() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public KeyStore keystore() {
+        return keystore;
+    }
+
+    @Override
+    public KeyStore truststore() {
+        return truststore;
+    }
+
+    @Override
+    public void close() {
+        sslContext = null;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs asynchronous tasks one at a time for each key, in the order in which they were submitted.
+ * This replaces polling for a Vert.x shared data lock with an in-process queue per key.
+ *
+ * <ul>
+ * <li>Tasks submitted via {@link #execute(String, long, Callable)} all run, one after the other.
+ * <li>Tasks submitted via {@link #coalesce(String, Callable)} while another task with the same key is running
+ *     are merged into at most one follow-up run, so that repeated triggers neither pile up nor get lost.
+ * </ul>
+ *
+ * Each task runs on the Vert.x context of the thread which submitted it.
+ */
+public class KeyedSerializer {
+    private final Vertx vertx;
+    private final Map<String, Deque<Entry<?>>> queues = new HashMap<>();
+
+    /**
+     * The exception by which Futures returned by {@link #execute(String, long, Callable)} are failed when
+     * the task did not start within the timeout.
+     */
+    public static class WaitTimeoutException extends TimeoutException { }
+
+    /**
+     * Constructor.
+     *
+     * @param vertx The Vertx instance.
+     */
+    public KeyedSerializer(Vertx vertx) {
+        this.vertx = vertx;
+    }
+
+    /**
+     * Runs the given {@code task} once all the tasks previously submitted with the same {@code key} have completed.
+     *
+     * @param key The key.
+     * @param timeoutMs The maximum time to wait for the previously submitted tasks, or 0 to wait without a limit.
+     * @param task The task.
+     * @param <T> The type of the result of the task.
+     * @return A Future which completes with the result of the task, or fails with {@link WaitTimeoutException}
+     * if the task could not be started within {@code timeoutMs}.
+     */
+    public <T> Future<T> execute(String key, long timeoutMs, Callable<Future<T>> task) {
+        Entry<T> entry = new Entry<>(vertx.getOrCreateContext(), task, false);
+        boolean start;
+
+        synchronized (this) {
+            Deque<Entry<?>> queue = queues.computeIfAbsent(key, k -> new ArrayDeque<>());
+            queue.addLast(entry);
+            start = queue.size() == 1;
+            if (start) {
+                entry.started = true;
+            } else if (timeoutMs > 0) {
+                entry.timerId = vertx.setTimer(timeoutMs, id -> timeout(key, entry));
+            }
+        }
+
+        if (start) {
+            start(key, entry);
+        }
+        return entry.promise.future();
+    }
+
+    /**
+     * Runs the given {@code task} once all the tasks previously submitted with the same {@code key} have completed.
+     * If there already is a coalescing task waiting for the same {@code key}, the given {@code task} is not queued
+     * and the caller gets the result of the waiting task instead.
+     *
+     * @param key The key.
+     * @param task The task.
+     * @return A Future which completes with the result of the task (or of the waiting task it was merged into).
+     */
+    public Future<Void> coalesce(String key, Callable<Future<Void>> task) {
+        Entry<Void> entry;
+        boolean start;
+
+        synchronized (this) {
+            Deque<Entry<?>> queue = queues.computeIfAbsent(key, k -> new ArrayDeque<>());
+            for (Entry<?> waiting : queue) {
+                if (waiting.coalescing && !waiting.started) {
+                    @SuppressWarnings("unchecked")
+                    Entry<Void> pending = (Entry<Void>) waiting;
+                    return pending.promise.future();
+                }
+            }
+
+            entry = new Entry<>(vertx.getOrCreateContext(), task, true);
+            queue.addLast(entry);
+            start = queue.size() == 1;
+            entry.started = start;
+        }
+
+        if (start) {
+            start(key, entry);
+        }
+        return entry.promise.future();
+    }
+
+    /**
+     * @return The number of keys with running or waiting tasks.
+     */
+    public synchronized int size() {
+        return queues.size();
+    }
+
+    private <T> void start(String key, Entry<T> entry) {
+        entry.context.runOnContext(v -> {
+            Future<T> result;
+            try {
+                result = entry.task.call();
+            } catch (Throwable t) {
+                result = Future.failedFuture(t);
+            }
+
+            result.onComplete(res -> {
+                next(key);
+                entry.promise.handle(res);
+            });
+        });
+    }
+
+    private void next(String key) {
+        Entry<?> next;
+
+        synchronized (this) {
+            Deque<Entry<?>> queue = queues.get(key);
+            queue.pollFirst();
+            next = queue.peekFirst();
+            if (next == null) {
+                queues.remove(key);
+            } else {
+                next.started = true;
+                if (next.timerId != null) {
+                    vertx.cancelTimer(next.timerId);
+                }
+            }
+        }
+
+        if (next != null) {
+            start(key, next);
+        }
+    }
+
+    private void timeout(String key, Entry<?> entry) {
+        boolean removed;
+
+        synchronized (this) {
+            removed = !entry.started && queues.get(key).remove(entry);
+        }
+
+        if (removed) {
+            entry.promise.fail(new WaitTimeoutException());
+        }
+    }
+
+    private static class Entry<T> {
+        private final Context context;
+        private final Callable<Future<T>> task;
+        private final boolean coalescing;
+        private final Promise<T> promise = Promise.promise();
+        private boolean started = false;
+        private Long timerId;
+
+        Entry(Context context, Callable<Future<T>> task, boolean coalescing) {
+            this.context = context;
+            this.task = task;
+            this.coalescing = coalescing;
+        }
+    }
+}
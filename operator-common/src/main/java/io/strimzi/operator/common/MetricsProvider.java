@@ -5,6 +5,7 @@
 package io.strimzi.operator.common;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
@@ -42,6 +43,16 @@ public interface MetricsProvider {
      */
     Timer timer(String name, String description, Tags tags);
 
+    /**
+     * Creates new DistributionSummary type metric
+     *
+     * @param name          Name of the metric
+     * @param description   Description of the metric
+     * @param tags          Tags used for the metric
+     * @return              DistributionSummary metric
+     */
+    DistributionSummary summary(String name, String description, Tags tags);
+
     /**
      * Creates new Gauge type metric
      *
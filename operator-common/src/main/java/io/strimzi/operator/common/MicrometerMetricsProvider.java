@@ -5,6 +5,7 @@
 package io.strimzi.operator.common;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
@@ -23,7 +24,16 @@ public class MicrometerMetricsProvider implements MetricsProvider {
      * Constructor of the Micrometer metrics provider
      */
     public MicrometerMetricsProvider() {
-        this.metrics = BackendRegistries.getDefaultNow();
+        this(BackendRegistries.getDefaultNow());
+    }
+
+    /**
+     * Constructor of the Micrometer metrics provider
+     *
+     * @param metrics   The MeterRegistry in which the metrics are registered
+     */
+    public MicrometerMetricsProvider(MeterRegistry metrics) {
+        this.metrics = metrics;
     }
 
     /**
@@ -68,6 +78,22 @@ public class MicrometerMetricsProvider implements MetricsProvider {
                 .register(metrics);
     }
 
+    /**
+     * Creates new DistributionSummary type metric
+     *
+     * @param name          Name of the metric
+     * @param description   Description of the metric
+     * @param tags          Tags used for the metric
+     * @return              DistributionSummary metric
+     */
+    @Override
+    public DistributionSummary summary(String name, String description, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tags(tags)
+                .register(metrics);
+    }
+
     /**
      * Creates new Gauge type metric
      *
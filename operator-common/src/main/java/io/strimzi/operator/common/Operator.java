@@ -42,6 +42,17 @@ public interface Operator {
      */
     Future<Void> reconcile(Reconciliation reconciliation);
 
+    /**
+     * Reconcile the resource identified by the given reconciliation as part of a reconciliation of all resources
+     * (see {@link #reconcileThese(String, Set, Handler)}).
+     * Operators which queue reconciliations can start these after the reconciliations triggered by watch events.
+     * @param reconciliation The resource.
+     * @return A Future is completed once the resource has been reconciled.
+     */
+    default Future<Void> reconcilePeriodically(Reconciliation reconciliation) {
+        return reconcile(reconciliation);
+    }
+
     /**
      * Triggers the asynchronous reconciliation of all resources which this operator consumes.
      * The resources to reconcile are identified by {@link #allResourceNames(String)}.
@@ -67,7 +78,7 @@ public interface Operator {
 
             for (NamespaceAndName resourceRef : desiredNames) {
                 Reconciliation reconciliation = new Reconciliation(trigger, kind(), resourceRef.getNamespace(), resourceRef.getName());
-                futures.add(reconcile(reconciliation));
+                futures.add(reconcilePeriodically(reconciliation));
             }
             CompositeFuture.join(futures).map((Void) null).onComplete(handler);
         } else {
@@ -0,0 +1,211 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link AdminClientProvider} which reuses the Admin clients created by another provider.
+ *
+ * The clients are pooled by bootstrap address, together with the fingerprint of the certificates and keys they were
+ * created with. Closing a client returned by {@link #createAdminClient(String, Secret, Secret, String)} returns it to
+ * the pool instead. A pooled client is closed once it has not been used for the idle timeout, or once it is no longer
+ * used after a client for the same bootstrap address was requested with other certificates or keys, for example
+ * because the CA was renewed.
+ */
+public class PooledAdminClientProvider implements AdminClientProvider {
+
+    private static final Logger LOGGER = LogManager.getLogger(PooledAdminClientProvider.class);
+
+    /**
+     * The default idle timeout, long enough for the clients to be reused between periodic reconciliations.
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT_MS = 300_000;
+
+    private static class PooledClient {
+        private final String bootstrapHostnames;
+        private final String fingerprint;
+        private final Admin admin;
+        private int leases = 0;
+        private long lastUsedMs;
+        private boolean invalid = false;
+
+        PooledClient(String bootstrapHostnames, String fingerprint, Admin admin) {
+            this.bootstrapHostnames = bootstrapHostnames;
+            this.fingerprint = fingerprint;
+            this.admin = admin;
+        }
+    }
+
+    private final AdminClientProvider delegate;
+    private final long idleTimeoutMs;
+    // bootstrap address -> client, guarded by this
+    private final Map<String, PooledClient> clients = new HashMap<>();
+    private final ScheduledExecutorService idleCloser = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "admin-client-pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructor
+     *
+     * @param delegate The provider creating the clients.
+     * @param idleTimeoutMs The time after which a client which is not used is closed.
+     */
+    public PooledAdminClientProvider(AdminClientProvider delegate, long idleTimeoutMs) {
+        this.delegate = delegate;
+        this.idleTimeoutMs = idleTimeoutMs;
+        idleCloser.scheduleWithFixedDelay(this::closeIdle, idleTimeoutMs, idleTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Admin createAdminClient(String bootstrapHostnames, Secret clusterCaCertSecret, Secret keyCertSecret, String keyCertName) {
+        String fingerprint = fingerprint(clusterCaCertSecret, keyCertSecret, keyCertName);
+        PooledClient client;
+        synchronized (this) {
+            client = clients.get(bootstrapHostnames);
+            if (client != null && !client.fingerprint.equals(fingerprint)) {
+                LOGGER.debug("Certificates of the Admin client for {} changed", bootstrapHostnames);
+                clients.remove(bootstrapHostnames);
+                client.invalid = true;
+                if (client.leases == 0) {
+                    close(client);
+                }
+                client = null;
+            }
+            if (client != null) {
+                client.leases++;
+                return lease(client);
+            }
+        }
+
+        // Create the client outside the lock, as creating an Admin client can take a while
+        Admin admin = delegate.createAdminClient(bootstrapHostnames, clusterCaCertSecret, keyCertSecret, keyCertName);
+        synchronized (this) {
+            PooledClient existing = clients.get(bootstrapHostnames);
+            if (existing != null && existing.fingerprint.equals(fingerprint)) {
+                // Created concurrently
+                close(new PooledClient(bootstrapHostnames, fingerprint, admin));
+                client = existing;
+            } else {
+                if (existing != null) {
+                    clients.remove(bootstrapHostnames);
+                    existing.invalid = true;
+                    if (existing.leases == 0) {
+                        close(existing);
+                    }
+                }
+                client = new PooledClient(bootstrapHostnames, fingerprint, admin);
+                clients.put(bootstrapHostnames, client);
+                LOGGER.debug("Created Admin client for {}", bootstrapHostnames);
+            }
+            client.leases++;
+            return lease(client);
+        }
+    }
+
+    /**
+     * Closes all the pooled clients, including those still in use.
+     */
+    public synchronized void close() {
+        idleCloser.shutdown();
+        for (PooledClient client : clients.values()) {
+            close(client);
+        }
+        clients.clear();
+    }
+
+    /**
+     * @return The number of pooled clients.
+     */
+    /*test*/ synchronized int size() {
+        return clients.size();
+    }
+
+    /*test*/ void closeIdle() {
+        List<PooledClient> idle = new ArrayList<>();
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            for (Iterator<PooledClient> it = clients.values().iterator(); it.hasNext(); ) {
+                PooledClient client = it.next();
+                if (client.leases == 0 && now - client.lastUsedMs >= idleTimeoutMs) {
+                    it.remove();
+                    idle.add(client);
+                }
+            }
+        }
+        for (PooledClient client : idle) {
+            LOGGER.debug("Closing idle Admin client for {}", client.bootstrapHostnames);
+            close(client);
+        }
+    }
+
+    private synchronized void release(PooledClient client) {
+        client.leases--;
+        client.lastUsedMs = System.currentTimeMillis();
+        if (client.invalid && client.leases == 0) {
+            close(client);
+        }
+    }
+
+    private void close(PooledClient client) {
+        try {
+            client.admin.close(Duration.ofSeconds(30));
+        } catch (RuntimeException e) {
+            LOGGER.debug("Exception closing the Admin client for {}", client.bootstrapHostnames, e);
+        }
+    }
+
+    /**
+     * @return A proxy of the client of the given pooled client, which returns it to the pool when it is closed.
+     */
+    private Admin lease(PooledClient client) {
+        AtomicBoolean released = new AtomicBoolean(false);
+        return (Admin) Proxy.newProxyInstance(Admin.class.getClassLoader(), new Class<?>[] {Admin.class}, (proxy, method, args) -> {
+            if ("close".equals(method.getName())) {
+                if (released.compareAndSet(false, true)) {
+                    release(client);
+                }
+                return null;
+            }
+            try {
+                return method.invoke(client.admin, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    private static String fingerprint(Secret clusterCaCertSecret, Secret keyCertSecret, String keyCertName) {
+        StringBuilder certificates = new StringBuilder();
+        if (clusterCaCertSecret != null && clusterCaCertSecret.getData() != null) {
+            certificates.append(clusterCaCertSecret.getData());
+        }
+        certificates.append('/');
+        if (keyCertSecret != null && keyCertSecret.getData() != null && keyCertName != null) {
+            certificates.append(keyCertName).append('/')
+                    .append(keyCertSecret.getData().get(keyCertName + ".p12")).append('/')
+                    .append(keyCertSecret.getData().get(keyCertName + ".password"));
+        }
+        return Util.stringHash(certificates.toString());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Keeps the traces of the most recent reconciliations, with the duration of each of their stages, so that they
+ * can be inspected through the debug endpoint of the health server.
+ *
+ * As a {@link Handler} of HTTP requests, it serves the most recent traces as JSON. The number of traces can be
+ * limited with the {@code limit} query parameter, which has to be a non-negative integer.
+ */
+public class ReconciliationTraces implements Handler<HttpServerRequest> {
+    public static final int DEFAULT_CAPACITY = 50;
+
+    private final int capacity;
+    private final Deque<JsonObject> traces;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity The maximum number of traces to keep. When it is reached, the oldest trace is dropped.
+     */
+    public ReconciliationTraces(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity has to be positive, but was " + capacity);
+        }
+        this.capacity = capacity;
+        this.traces = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Adds the trace of a completed reconciliation.
+     *
+     * @param reconciliation The reconciliation.
+     * @param durationMs The duration of the whole reconciliation in milliseconds.
+     * @param stageDurations The duration of each stage in milliseconds, in the order in which the stages were started.
+     * @param failure The cause of the failure of the reconciliation, or null if it succeeded.
+     */
+    public void add(Reconciliation reconciliation, long durationMs, Map<String, Long> stageDurations, Throwable failure) {
+        JsonObject stages = new JsonObject();
+        stageDurations.forEach(stages::put);
+
+        JsonObject trace = new JsonObject()
+                .put("reconciliation", reconciliation.toString())
+                .put("kind", reconciliation.kind())
+                .put("namespace", reconciliation.namespace())
+                .put("name", reconciliation.name())
+                .put("completed", Instant.now().toString())
+                .put("durationMs", durationMs)
+                .put("succeeded", failure == null)
+                .put("stages", stages);
+        if (failure != null) {
+            trace.put("failure", String.valueOf(failure.getMessage()));
+        }
+
+        synchronized (this) {
+            if (traces.size() == capacity) {
+                traces.removeLast();
+            }
+            traces.addFirst(trace);
+        }
+    }
+
+    /**
+     * @param limit The maximum number of traces to return.
+     * @return The most recent traces, newest first.
+     */
+    public synchronized JsonArray latest(int limit) {
+        JsonArray result = new JsonArray();
+        Iterator<JsonObject> iterator = traces.iterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    @Override
+    public void handle(HttpServerRequest request) {
+        int limit = capacity;
+        String limitParam = request.getParam("limit");
+        if (limitParam != null) {
+            try {
+                limit = Integer.parseInt(limitParam);
+            } catch (NumberFormatException e) {
+                limit = -1;
+            }
+            if (limit < 0) {
+                request.response().setStatusCode(400).end("Invalid limit " + limitParam);
+                return;
+            }
+        }
+        request.response().setStatusCode(200)
+                .putHeader("Content-Type", "application/json")
+                .end(latest(limit).encodePrettily());
+    }
+}
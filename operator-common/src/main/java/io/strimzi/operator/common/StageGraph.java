@@ -0,0 +1,170 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A graph of named asynchronous stages, in which each stage is started as soon as all the stages it depends on
+ * have succeeded. Stages which do not depend on each other (directly or indirectly) run concurrently.
+ *
+ * <ul>
+ * <li>A stage can only depend on stages which were added before it, so the graph cannot contain cycles.
+ * <li>All the stages are started and completed on the Vert.x context on which {@link #execute()} was called,
+ *     so the stages of one graph never run their synchronous parts concurrently.
+ * <li>When a stage fails, no further stages are started. The Future returned by {@link #execute()} fails with
+ *     the cause of the first failure once the stages which were already running have completed.
+ * </ul>
+ *
+ * The duration of every completed stage is recorded and available from {@link #durations()}.
+ */
+public class StageGraph {
+    private final Vertx vertx;
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+    private final Map<String, Long> durations = new LinkedHashMap<>();
+
+    private Context context;
+    private Promise<Void> promise;
+    private int running = 0;
+    private int remaining = 0;
+    private Throwable failure;
+
+    /**
+     * Constructor.
+     *
+     * @param vertx The Vertx instance.
+     */
+    public StageGraph(Vertx vertx) {
+        this.vertx = vertx;
+    }
+
+    /**
+     * Adds a stage to the graph.
+     *
+     * @param name The name of the stage, which has to be unique within the graph.
+     * @param step The step run by the stage.
+     * @param dependsOn The names of the stages which have to succeed before this stage is started.
+     * @return This graph.
+     * @throws IllegalArgumentException If the name is already used or if any of the dependencies is unknown.
+     */
+    public StageGraph stage(String name, Supplier<Future<?>> step, String... dependsOn) {
+        if (stages.containsKey(name)) {
+            throw new IllegalArgumentException("Stage " + name + " is already defined");
+        }
+
+        Stage stage = new Stage(name, step, dependsOn.length);
+        for (String dependency : dependsOn) {
+            Stage parent = stages.get(dependency);
+            if (parent == null) {
+                throw new IllegalArgumentException("Stage " + name + " depends on unknown stage " + dependency);
+            }
+            parent.dependents.add(stage);
+        }
+        stages.put(name, stage);
+
+        return this;
+    }
+
+    /**
+     * Runs all the stages of the graph. This method can be called only once.
+     *
+     * @return A Future which completes once all the stages succeeded, or fails with the cause of the first
+     * stage which failed.
+     */
+    public Future<Void> execute() {
+        if (promise != null) {
+            throw new IllegalStateException("The stages were already executed");
+        }
+
+        promise = Promise.promise();
+        context = vertx.getOrCreateContext();
+        remaining = stages.size();
+
+        context.runOnContext(v -> {
+            if (remaining == 0) {
+                promise.complete();
+            } else {
+                for (Stage stage : stages.values()) {
+                    if (stage.pendingDependencies == 0) {
+                        start(stage);
+                    }
+                }
+            }
+        });
+
+        return promise.future();
+    }
+
+    /**
+     * @return The duration in milliseconds of each completed stage, in the order in which they were started.
+     */
+    public Map<String, Long> durations() {
+        return Collections.unmodifiableMap(durations);
+    }
+
+    private void start(Stage stage) {
+        running++;
+        durations.put(stage.name, null);
+        long startTime = System.nanoTime();
+
+        Future<?> result;
+        try {
+            result = stage.step.get();
+        } catch (Throwable t) {
+            result = Future.failedFuture(t);
+        }
+
+        result.onComplete(res -> context.runOnContext(v -> complete(stage, startTime, res.cause())));
+    }
+
+    private void complete(Stage stage, long startTime, Throwable cause) {
+        running--;
+        remaining--;
+        durations.put(stage.name, (System.nanoTime() - startTime) / 1_000_000);
+
+        if (cause != null) {
+            if (failure == null) {
+                failure = cause;
+            }
+        } else if (failure == null) {
+            for (Stage dependent : stage.dependents) {
+                if (--dependent.pendingDependencies == 0) {
+                    start(dependent);
+                }
+            }
+        }
+
+        if (running == 0) {
+            if (failure != null) {
+                promise.fail(failure);
+            } else if (remaining == 0) {
+                promise.complete();
+            }
+        }
+    }
+
+    private static class Stage {
+        private final String name;
+        private final Supplier<Future<?>> step;
+        private final List<Stage> dependents = new ArrayList<>();
+        private int pendingDependencies;
+
+        Stage(String name, Supplier<Future<?>> step, int dependencies) {
+            this.name = name;
+            this.step = step;
+            this.pendingDependencies = dependencies;
+        }
+    }
+}
@@ -37,6 +37,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -88,12 +89,52 @@ public class Util {
      */
     public static Future<Void> waitFor(Vertx vertx, String logContext, String logState, long pollIntervalMs, long timeoutMs, BooleanSupplier completed,
                                        Predicate<Throwable> failOnError) {
+        return waitFor(vertx, logContext, logState, pollIntervalMs, timeoutMs, completed, failOnError, null);
+    }
+
+    /**
+     * Invoke the given {@code completed} supplier on a pooled thread approximately every {@code pollIntervalMs}
+     * milliseconds, and as soon as a change is signalled through the given {@code onChange}, until it returns true
+     * or {@code timeoutMs} milliseconds have elapsed.
+     * @param vertx The vertx instance.
+     * @param logContext A string used for context in logging.
+     * @param logState The state we are waiting for use in log messages
+     * @param pollIntervalMs The poll interval in milliseconds.
+     * @param timeoutMs The timeout, in milliseconds.
+     * @param completed Determines when the wait is complete by returning true.
+     * @param failOnError Determine whether a given error thrown by {@code completed},
+     *                    should result in the immediate completion of the returned Future.
+     * @param onChange Registers the given listener to be called on changes which can complete the wait, returning
+     *                 a handle which unregisters it, or null to only poll.
+     * @return A future that completes when the given {@code completed} indicates readiness.
+     */
+    public static Future<Void> waitFor(Vertx vertx, String logContext, String logState, long pollIntervalMs, long timeoutMs, BooleanSupplier completed,
+                                       Predicate<Throwable> failOnError, Function<Runnable, Runnable> onChange) {
         Promise<Void> promise = Promise.promise();
         LOGGER.debug("Waiting for {} to get {}", logContext, logState);
         long deadline = System.currentTimeMillis() + timeoutMs;
         Handler<Long> handler = new Handler<Long>() {
+            // Whether a check is running, whether a change was signalled during it and the timer of the next poll
+            private boolean checking = false;
+            private boolean changed = false;
+            private long pollTimerId = -1;
+
             @Override
             public void handle(Long timerId) {
+                synchronized (this) {
+                    if (promise.future().isComplete()) {
+                        return;
+                    } else if (checking) {
+                        changed = true;
+                        return;
+                    }
+                    if (pollTimerId != -1) {
+                        vertx.cancelTimer(pollTimerId);
+                        pollTimerId = -1;
+                    }
+                    checking = true;
+                    changed = false;
+                }
                 vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
                     future -> {
                         try {
@@ -123,8 +164,18 @@ public class Util {
                                     LOGGER.error(exceptionMessage);
                                     promise.fail(new TimeoutException(exceptionMessage));
                                 } else {
-                                    // Schedule ourselves to run again
-                                    vertx.setTimer(Math.min(pollIntervalMs, timeLeft), this);
+                                    boolean recheck;
+                                    synchronized (this) {
+                                        checking = false;
+                                        recheck = changed;
+                                        if (!recheck) {
+                                            // Schedule ourselves to run again
+                                            pollTimerId = vertx.setTimer(Math.min(pollIntervalMs, timeLeft), this);
+                                        }
+                                    }
+                                    if (recheck) {
+                                        handle(null);
+                                    }
                                 }
                             }
                         }
@@ -133,6 +184,11 @@ public class Util {
             }
         };
 
+        if (onChange != null) {
+            Runnable unregister = onChange.apply(() -> handler.handle(null));
+            promise.future().onComplete(ignored -> unregister.run());
+        }
+
         // Call the handler ourselves the first time
         handler.handle(null);
 
@@ -0,0 +1,169 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A bounded queue of reconciliations for the resources of a single kind.
+ *
+ * <ul>
+ * <li>At most {@code maxConcurrency} reconciliations are running at the same time; the others wait in the queue.
+ * <li>A reconciliation submitted for a resource which is already waiting in the queue is not queued a second time.
+ *     Its caller gets the Future of the reconciliation which is already waiting.
+ * <li>Reconciliations triggered by watch events are started before periodic reconciliations.
+ * </ul>
+ */
+public class WorkQueue {
+    private static final Logger log = LogManager.getLogger(WorkQueue.class);
+
+    /**
+     * Used for operators which do not limit the number of concurrent reconciliations.
+     */
+    public static final int UNBOUNDED = 0;
+
+    private final int maxConcurrency;
+    private final MetricsProvider metrics;
+    private final AtomicInteger queueDepth;
+    private final Timer waitTimer;
+
+    private final Deque<Item> watchQueue = new ArrayDeque<>();
+    private final Deque<Item> periodicQueue = new ArrayDeque<>();
+    private final Map<String, Item> queued = new HashMap<>();
+    private int running = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param kind The kind of the reconciled resources (used for metrics).
+     * @param maxConcurrency The maximum number of reconciliations running at the same time, or {@link #UNBOUNDED}.
+     * @param metrics The metrics provider.
+     */
+    public WorkQueue(String kind, int maxConcurrency, MetricsProvider metrics) {
+        this.maxConcurrency = maxConcurrency;
+        this.metrics = metrics;
+
+        Tags metricTags = Tags.of(Tag.of("kind", kind));
+
+        queueDepth = metrics.gauge(AbstractOperator.METRICS_PREFIX + "reconciliations.queue.depth",
+                "Number of reconciliations waiting to be started",
+                metricTags);
+
+        waitTimer = metrics.timer(AbstractOperator.METRICS_PREFIX + "reconciliations.queue.wait",
+                "The time reconciliations wait in the queue before they are started",
+                metricTags);
+    }
+
+    /**
+     * Queue the given {@code task} for the resource identified by the {@code reconciliation}.
+     *
+     * @param reconciliation The reconciliation.
+     * @param periodic Whether the reconciliation is part of a periodic reconciliation of all resources.
+     * @param task Starts the reconciliation.
+     * @return A Future which completes with the result of the task
+     * (or of the task already queued for the same resource).
+     */
+    public Future<Void> submit(Reconciliation reconciliation, boolean periodic, Supplier<Future<Void>> task) {
+        String key = reconciliation.namespace() + "/" + reconciliation.name();
+        Future<Void> result;
+
+        synchronized (this) {
+            Item item = queued.get(key);
+            if (item != null) {
+                log.debug("{}: Reconciliation of {} is already queued", reconciliation, key);
+                if (!periodic && item.periodic) {
+                    periodicQueue.remove(item);
+                    watchQueue.addLast(item);
+                    item.periodic = false;
+                }
+                return item.promise.future();
+            }
+
+            item = new Item(key, periodic, task, Timer.start(metrics.meterRegistry()));
+            queued.put(key, item);
+            if (periodic) {
+                periodicQueue.addLast(item);
+            } else {
+                watchQueue.addLast(item);
+            }
+            queueDepth.set(queued.size());
+            result = item.promise.future();
+        }
+
+        startQueued();
+        return result;
+    }
+
+    private void startQueued() {
+        List<Item> toStart = new ArrayList<>();
+
+        synchronized (this) {
+            while ((maxConcurrency <= 0 || running < maxConcurrency)
+                    && !(watchQueue.isEmpty() && periodicQueue.isEmpty())) {
+                Item item = watchQueue.isEmpty() ? periodicQueue.pollFirst() : watchQueue.pollFirst();
+                queued.remove(item.key);
+                running++;
+                toStart.add(item);
+            }
+            queueDepth.set(queued.size());
+        }
+
+        for (Item item : toStart) {
+            item.waitSample.stop(waitTimer);
+
+            Future<Void> future;
+            try {
+                future = item.task.get();
+            } catch (Throwable t) {
+                future = Future.failedFuture(t);
+            }
+
+            future.onComplete(res -> {
+                synchronized (this) {
+                    running--;
+                }
+                item.promise.handle(res);
+                startQueued();
+            });
+        }
+    }
+
+    /**
+     * @return The number of reconciliations waiting to be started.
+     */
+    public synchronized int size() {
+        return queued.size();
+    }
+
+    private static class Item {
+        private final String key;
+        private final Supplier<Future<Void>> task;
+        private final Timer.Sample waitSample;
+        private final Promise<Void> promise = Promise.promise();
+        private boolean periodic;
+
+        Item(String key, boolean periodic, Supplier<Future<Void>> task, Timer.Sample waitSample) {
+            this.key = key;
+            this.periodic = periodic;
+            this.task = task;
+            this.waitSample = waitSample;
+        }
+    }
+}
@@ -52,6 +52,16 @@ public abstract class AbstractReadyResourceOperator<C extends KubernetesClient,
      * @return Whether the resource in in the Ready state.
      */
     public boolean isReady(String namespace, String name) {
+        if (cache() != null) {
+            // The cached resource is checked instead of getting it again from the API server
+            T resource = get(namespace, name);
+            if (resource == null || resource.getMetadata().getDeletionTimestamp() != null) {
+                // A cached resource which is being deleted is not the one being waited for
+                return false;
+            }
+            return !Readiness.isReadinessApplicable(resource.getClass()) || Readiness.isReady(resource);
+        }
+
         R resourceOp = operation().inNamespace(namespace).withName(name);
         T resource = resourceOp.get();
         if (resource != null)   {
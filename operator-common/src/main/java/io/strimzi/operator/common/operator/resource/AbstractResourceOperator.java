@@ -8,6 +8,7 @@ import io.fabric8.kubernetes.api.model.DeletionPropagation;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.LabelSelector;
+import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.kubernetes.client.Watcher;
@@ -16,6 +17,7 @@ import io.fabric8.kubernetes.client.dsl.FilterWatchListMultiDeletable;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
+import io.strimzi.operator.common.MetricsProvider;
 import io.strimzi.operator.common.Util;
 import io.strimzi.operator.common.model.Labels;
 import io.vertx.core.Future;
@@ -29,6 +31,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
 
 /**
  * Abstract resource creation, for a generic resource type {@code R}.
@@ -47,6 +50,7 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
     protected final Vertx vertx;
     protected final C client;
     protected final String resourceKind;
+    private volatile ResourceCache<T> cache;
 
     /**
      * Constructor.
@@ -62,6 +66,54 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
 
     protected abstract MixedOperation<T, L, D, R> operation();
 
+    /**
+     * Serve {@link #get(String, String)}, {@link #getAsync(String, String)}, {@link #list(String, Labels)}
+     * and {@link #listAsync(String, Labels)} from a local {@link ResourceCache} which is kept up to date
+     * by a watch in each namespace that is read from.
+     * Reads across all namespaces, and reads using set-based label selectors, still go to the API server.
+     *
+     * @param resyncIntervalMs The interval after which a cached namespace is listed again.
+     * @param metrics The metrics provider used for the cache metrics.
+     */
+    @SuppressWarnings("unchecked") // due to L extends KubernetesResourceList/*<T>*/
+    public void enableCache(long resyncIntervalMs, MetricsProvider metrics) {
+        ResourceCache.ListOperation<T> listOperation = namespace -> operation().inNamespace(namespace).list();
+        ResourceCache.WatchOperation<T> watchOperation = (namespace, resourceVersion, watcher) -> operation().inNamespace(namespace)
+                .watch(new ListOptionsBuilder().withResourceVersion(resourceVersion).build(), watcher);
+        this.cache = new ResourceCache<>(resourceKind, listOperation, watchOperation, resyncIntervalMs, metrics);
+    }
+
+    /**
+     * Serve reads from the {@link ResourceCache} of the given operator of the same kind, so that both operators
+     * share a single watch in each namespace.
+     *
+     * @param other The operator, whose {@linkplain #enableCache(long, MetricsProvider) caching} is enabled.
+     */
+    public void shareCache(AbstractResourceOperator<?, T, ?, ?, ?> other) {
+        if (other.cache == null) {
+            throw new IllegalStateException("The cache of the " + other.resourceKind + " operator is not enabled");
+        }
+        this.cache = other.cache;
+    }
+
+    /**
+     * @return The local cache used for reads, or null if {@linkplain #enableCache(long, MetricsProvider) caching} is not enabled.
+     */
+    protected ResourceCache<T> cache() {
+        return cache;
+    }
+
+    private ReconcileResult<T> updateCache(ReconcileResult<T> result) {
+        ResourceCache<T> cache = this.cache;
+        if (cache != null) {
+            // Deletions are evicted by the DELETED watch event, because the resource can change until it is gone
+            if (!(result instanceof ReconcileResult.Noop)) {
+                result.resourceOpt().ifPresent(cache::put);
+            }
+        }
+        return result;
+    }
+
     /**
      * Asynchronously create or update the given {@code resource} depending on whether it already exists,
      * returning a future for the outcome.
@@ -118,7 +170,7 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
             false,
             promise
         );
-        return promise.future();
+        return promise.future().map(this::updateCache);
     }
 
     /**
@@ -208,6 +260,10 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
      * @return The resource, or null if it doesn't exist.
      */
     public T get(String namespace, String name) {
+        ResourceCache<T> cache = this.cache;
+        if (cache != null) {
+            return cache.get(namespace, name);
+        }
         return operation().inNamespace(namespace).withName(name).get();
     }
 
@@ -261,6 +317,19 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
 
     @SuppressWarnings("unchecked") // due to L extends KubernetesResourceList/*<T>*/
     protected List<T> listInNamespace(String namespace, Labels selector) {
+        ResourceCache<T> cache = this.cache;
+        if (cache != null) {
+            List<T> resources = cache.list(namespace);
+            if (selector != null) {
+                Map<String, String> labels = selector.toMap();
+                return resources.stream()
+                        .filter(resource -> resource.getMetadata().getLabels() != null
+                                && resource.getMetadata().getLabels().entrySet().containsAll(labels.entrySet()))
+                        .collect(Collectors.toList());
+            }
+            return resources;
+        }
+
         NonNamespaceOperation<T, L, D, R> tldrNonNamespaceOperation = operation().inNamespace(namespace);
 
         if (selector != null) {
@@ -286,17 +355,7 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
     public Future<List<T>> listAsync(String namespace, Labels selector) {
         Promise<List<T>> result = Promise.promise();
         vertx.createSharedWorkerExecutor("kubernetes-ops-tool").executeBlocking(
-            future -> {
-                List<T> resources;
-
-                if (AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace))  {
-                    resources = listInAnyNamespace(selector);
-                } else {
-                    resources = listInNamespace(namespace, selector);
-                }
-
-                future.complete(resources);
-            }, true, result
+            future -> future.complete(list(namespace, selector)), true, result
         );
         return result.future();
     }
@@ -306,6 +365,13 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
         Promise<List<T>> result = Promise.promise();
         vertx.createSharedWorkerExecutor("kubernetes-ops-tool").executeBlocking(
             future -> {
+                if (cache != null
+                        && !AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace)
+                        && (!selector.isPresent() || selector.get().getMatchExpressions() == null || selector.get().getMatchExpressions().isEmpty())) {
+                    future.complete(listInNamespace(namespace, selector.map(s -> Labels.fromMap(s.getMatchLabels())).orElse(null)));
+                    return;
+                }
+
                 FilterWatchListDeletable<T, L, Boolean, Watch, Watcher<T>> operation;
                 if (AbstractWatchableResourceOperator.ANY_NAMESPACE.equals(namespace))  {
                     operation = operation().inAnyNamespace();
@@ -351,11 +417,15 @@ public abstract class AbstractResourceOperator<C extends KubernetesClient, T ext
      * is ready.
      */
     public Future<Void> waitFor(String namespace, String name, String logState, long pollIntervalMs, final long timeoutMs, BiPredicate<String, String> predicate) {
+        ResourceCache<T> cache = this.cache;
+        // With a cache, the predicate is also tested as soon as the watch delivers a change to the resource
         return Util.waitFor(vertx,
             String.format("%s resource %s in namespace %s", resourceKind, name, namespace),
             logState,
             pollIntervalMs,
             timeoutMs,
-            () -> predicate.test(namespace, name));
+            () -> predicate.test(namespace, name),
+            error -> false,
+            cache != null ? listener -> cache.addListener(namespace, name, listener) : null);
     }
 }
@@ -53,8 +53,7 @@ public class IngressOperator extends AbstractResourceOperator<KubernetesClient,
      * @return Whether the Ingress already has assigned ingress address.
      */
     public boolean isIngressAddressReady(String namespace, String name) {
-        Resource<Ingress, DoneableIngress> resourceOp = operation().inNamespace(namespace).withName(name);
-        Ingress resource = resourceOp.get();
+        Ingress resource = get(namespace, name);
 
         if (resource != null && resource.getStatus() != null && resource.getStatus().getLoadBalancer() != null && resource.getStatus().getLoadBalancer().getIngress() != null && resource.getStatus().getLoadBalancer().getIngress().size() > 0) {
             if (resource.getStatus().getLoadBalancer().getIngress().get(0).getHostname() != null || resource.getStatus().getLoadBalancer().getIngress().get(0).getIp() != null) {
@@ -72,9 +72,9 @@ public class PodOperator extends AbstractReadyResourceOperator<KubernetesClient,
         Future<Void> podReconcileFuture =
                 reconcile(namespace, podName, null).compose(ignore -> {
                     Future<Void> del = waitFor(namespace, podName, "deleted", pollingIntervalMs, timeoutMs, (ignore1, ignore2) -> {
-                        // predicate - changed generation means pod has been updated
-                        String newUid = getPodUid(get(namespace, podName));
-                        boolean done = !deleted.equals(newUid);
+                        // predicate - a pod with another uid means the pod was recreated
+                        Pod current = get(namespace, podName);
+                        boolean done = current != null && !deleted.equals(getPodUid(current));
                         if (done) {
                             log.debug("Rolling pod {} finished", podName);
                         }
@@ -0,0 +1,345 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.operator.resource;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.strimzi.operator.common.AbstractOperator;
+import io.strimzi.operator.common.MetricsProvider;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A watch-backed local cache of the resources of a single kind, indexed by namespace.
+ *
+ * <p>The first read for a namespace lists the resources in that namespace and opens a watch starting
+ * from the resource version of the list, so that subsequent reads are served from memory.
+ * The namespace is dropped from the cache (and listed again on the next read) when its watch closes,
+ * and every {@code resyncIntervalMs} milliseconds to guard against missed events.</p>
+ *
+ * <p>Resources created or modified through the owning {@link AbstractResourceOperator} are written through to the
+ * cache, so that a read following a write observes the write even before the corresponding watch event has arrived.
+ * A cached resource is only replaced by a resource with a newer {@code metadata.resourceVersion}, so that neither a
+ * write nor a late watch event can replace a newer copy.</p>
+ *
+ * <p>Deletions are only applied when the watch delivers them, because a resource can still change while it is being
+ * deleted (a pod terminates gracefully, for example). The resource version of a deleted resource is kept until the
+ * namespace is listed again, so that an older copy of it cannot be cached again afterwards.</p>
+ *
+ * <p>A single instance should be used for each kind, even when several operators read that kind, so that there is
+ * a single watch per namespace.</p>
+ *
+ * <p>Listeners can be registered for single resources, so that waiting for a resource to get ready completes as soon
+ * as the watch delivers the change, instead of on the next poll.</p>
+ *
+ * @param <T> The Kubernetes resource type.
+ */
+public class ResourceCache<T extends HasMetadata> {
+
+    private static final Logger log = LogManager.getLogger(ResourceCache.class);
+
+    /**
+     * Lists all the resources in a namespace.
+     * @param <T> The Kubernetes resource type.
+     */
+    @FunctionalInterface
+    public interface ListOperation<T extends HasMetadata> {
+        KubernetesResourceList<T> list(String namespace);
+    }
+
+    /**
+     * Watches all the resources in a namespace, starting from the given resource version.
+     * @param <T> The Kubernetes resource type.
+     */
+    @FunctionalInterface
+    public interface WatchOperation<T extends HasMetadata> {
+        Watch watch(String namespace, String resourceVersion, Watcher<T> watcher);
+    }
+
+    private final String kind;
+    private final ListOperation<T> listOperation;
+    private final WatchOperation<T> watchOperation;
+    private final long resyncIntervalMs;
+    private final Map<String, NamespaceCache> namespaces = new ConcurrentHashMap<>();
+    // The listeners for changes to single resources, by namespace and name
+    private final Map<String, List<Runnable>> listeners = new ConcurrentHashMap<>();
+
+    private final MetricsProvider metrics;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    // The staleness gauges, by namespace
+    private final Map<String, AtomicInteger> staleness = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param kind The kind of the cached resources (used for logging and metrics).
+     * @param listOperation Used to list the resources in a namespace.
+     * @param watchOperation Used to watch the resources in a namespace.
+     * @param resyncIntervalMs The interval after which the resources in a namespace are listed again.
+     * @param metrics The metrics provider.
+     */
+    public ResourceCache(String kind, ListOperation<T> listOperation, WatchOperation<T> watchOperation, long resyncIntervalMs, MetricsProvider metrics) {
+        this.kind = kind;
+        this.listOperation = listOperation;
+        this.watchOperation = watchOperation;
+        this.resyncIntervalMs = resyncIntervalMs;
+        this.metrics = metrics;
+
+        Tags metricTags = Tags.of(Tag.of("kind", kind));
+
+        hitCounter = metrics.counter(AbstractOperator.METRICS_PREFIX + "resource.cache.hits",
+                "Number of reads served from the local resource cache",
+                metricTags);
+
+        missCounter = metrics.counter(AbstractOperator.METRICS_PREFIX + "resource.cache.misses",
+                "Number of reads which required the resources to be listed from the Kubernetes API server",
+                metricTags);
+    }
+
+    /**
+     * Gets the resource with the given {@code name} in the given {@code namespace}, listing the namespace first
+     * if it is not cached yet.
+     *
+     * @param namespace The namespace.
+     * @param name The name.
+     * @return The resource, or null if it doesn't exist.
+     */
+    public T get(String namespace, String name) {
+        return namespace(namespace).resources.get(name);
+    }
+
+    /**
+     * Lists the resources in the given {@code namespace}, listing the namespace first if it is not cached yet.
+     *
+     * @param namespace The namespace.
+     * @return The resources.
+     */
+    public List<T> list(String namespace) {
+        return new ArrayList<>(namespace(namespace).resources.values());
+    }
+
+    /**
+     * Updates the cached copy of the resource after it has been created or modified.
+     * This is a no-op when the namespace is not cached.
+     *
+     * @param resource The resource.
+     */
+    public void put(T resource) {
+        NamespaceCache cache = namespaces.get(resource.getMetadata().getNamespace());
+        if (cache != null) {
+            cache.update(resource);
+        }
+    }
+
+    /**
+     * Registers a {@code listener} which is called on the watch thread whenever the watch of the given
+     * {@code namespace} delivers an event for the resource with the given {@code name}.
+     * Events are only delivered while the namespace is cached, which it is after it has been read from.
+     *
+     * @param namespace The namespace.
+     * @param name The name.
+     * @param listener The listener.
+     * @return A handle which removes the listener when run.
+     */
+    public Runnable addListener(String namespace, String name, Runnable listener) {
+        String key = namespace + "/" + name;
+        listeners.compute(key, (k, list) -> {
+            List<Runnable> result = list != null ? list : new CopyOnWriteArrayList<>();
+            result.add(listener);
+            return result;
+        });
+        return () -> listeners.computeIfPresent(key, (k, list) -> {
+            list.remove(listener);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private void notifyListeners(String namespace, String name) {
+        List<Runnable> list = listeners.get(namespace + "/" + name);
+        if (list != null) {
+            for (Runnable listener : list) {
+                try {
+                    listener.run();
+                } catch (RuntimeException e) {
+                    log.warn("Error notifying listener of {} {} in namespace {}", kind, name, namespace, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the given {@code namespace} from the cache, closing its watch.
+     *
+     * @param namespace The namespace.
+     */
+    public void invalidate(String namespace) {
+        NamespaceCache cache = namespaces.remove(namespace);
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    /**
+     * Drops all namespaces from the cache, closing their watches.
+     */
+    public void close() {
+        for (String namespace : new ArrayList<>(namespaces.keySet())) {
+            invalidate(namespace);
+        }
+    }
+
+    private NamespaceCache namespace(String namespace) {
+        NamespaceCache cache = namespaces.get(namespace);
+        if (cache != null && System.currentTimeMillis() - cache.listedAt >= resyncIntervalMs) {
+            log.debug("Resyncing {} cache in namespace {}", kind, namespace);
+            namespaces.remove(namespace, cache);
+            cache.close();
+            cache = null;
+        }
+
+        if (cache != null) {
+            hitCounter.increment();
+        } else {
+            missCounter.increment();
+            // List and watch outside of the map, so that reads of other namespaces are not blocked meanwhile.
+            // Concurrent first reads of the same namespace might list it more than once, but only one is kept.
+            NamespaceCache listed = new NamespaceCache(namespace);
+            cache = namespaces.putIfAbsent(namespace, listed);
+            if (cache == null) {
+                cache = listed;
+            } else {
+                listed.close();
+            }
+        }
+
+        staleness.computeIfAbsent(namespace, ns -> metrics.gauge(AbstractOperator.METRICS_PREFIX + "resource.cache.staleness",
+                "Time in milliseconds since the cached namespace last received an event or was listed",
+                Tags.of(Tag.of("kind", kind), Tag.of("namespace", ns))))
+                .set((int) Math.min(Integer.MAX_VALUE, System.currentTimeMillis() - cache.updatedAt));
+        return cache;
+    }
+
+    /**
+     * @return The {@code metadata.resourceVersion} of the given resource, or -1 if it is not a number.
+     */
+    private static long resourceVersion(HasMetadata resource) {
+        try {
+            return Long.parseLong(resource.getMetadata().getResourceVersion());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * The cached resources of a single namespace, kept up to date by a watch.
+     */
+    private class NamespaceCache implements Watcher<T> {
+        private final String namespace;
+        private final Map<String, T> resources = new ConcurrentHashMap<>();
+        // The resource versions at which the resources were deleted, by name
+        private final Map<String, Long> deletedVersions = new ConcurrentHashMap<>();
+        private final long listedAt;
+        private final Watch watch;
+        private volatile long updatedAt;
+
+        NamespaceCache(String namespace) {
+            this.namespace = namespace;
+            this.listedAt = System.currentTimeMillis();
+            this.updatedAt = listedAt;
+
+            KubernetesResourceList<T> list = listOperation.list(namespace);
+            for (T resource : list.getItems()) {
+                update(resource);
+            }
+
+            String resourceVersion = list.getMetadata() != null ? list.getMetadata().getResourceVersion() : null;
+            this.watch = watchOperation.watch(namespace, resourceVersion, this);
+            log.debug("Cached {} {} resources in namespace {} at resource version {}", resources.size(), kind, namespace, resourceVersion);
+        }
+
+        @Override
+        public void eventReceived(Action action, T resource) {
+            updatedAt = System.currentTimeMillis();
+            String name = resource.getMetadata().getName();
+            switch (action) {
+                case ADDED:
+                case MODIFIED:
+                    update(resource);
+                    break;
+                case DELETED:
+                    delete(resource);
+                    break;
+                default:
+                    log.warn("Dropping {} cache in namespace {} after {} event", kind, namespace, action);
+                    namespaces.remove(namespace, this);
+                    close();
+                    return;
+            }
+            notifyListeners(namespace, name);
+        }
+
+        @Override
+        public void onClose(KubernetesClientException e) {
+            if (e != null) {
+                log.debug("Dropping {} cache in namespace {} after its watch was closed", kind, namespace, e);
+            }
+            namespaces.remove(namespace, this);
+        }
+
+        /**
+         * Caches the given resource, unless a resource with a newer resource version is already cached,
+         * or the resource was deleted at a newer resource version.
+         */
+        void update(T resource) {
+            String name = resource.getMetadata().getName();
+            long version = resourceVersion(resource);
+            Long deletedVersion = deletedVersions.get(name);
+            if (deletedVersion != null && version >= 0 && version <= deletedVersion) {
+                return;
+            }
+            deletedVersions.remove(name);
+            resources.merge(name, resource, (cached, updated) -> isNewer(cached, updated) ? cached : updated);
+        }
+
+        /**
+         * Removes the given deleted resource, unless a resource with a newer resource version is already cached
+         * (because it was created again).
+         */
+        void delete(T resource) {
+            String name = resource.getMetadata().getName();
+            long version = resourceVersion(resource);
+            if (version >= 0) {
+                deletedVersions.merge(name, version, Math::max);
+            }
+            resources.computeIfPresent(name, (n, cached) -> isNewer(cached, resource) ? cached : null);
+        }
+
+        private boolean isNewer(T resource, T other) {
+            long version = resourceVersion(resource);
+            long otherVersion = resourceVersion(other);
+            return version >= 0 && otherVersion >= 0 && version > otherVersion;
+        }
+
+        void close() {
+            if (watch != null) {
+                watch.close();
+            }
+        }
+    }
+}
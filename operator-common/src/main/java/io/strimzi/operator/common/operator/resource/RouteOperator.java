@@ -52,8 +52,7 @@ public class RouteOperator extends AbstractResourceOperator<OpenShiftClient, Rou
      * @return Whether the address is ready.
      */
     public boolean isAddressReady(String namespace, String name) {
-        Resource<Route, DoneableRoute> resourceOp = operation().inNamespace(namespace).withName(name);
-        Route resource = resourceOp.get();
+        Route resource = get(namespace, name);
 
         if (resource != null && resource.getStatus() != null && resource.getStatus().getIngress() != null && resource.getStatus().getIngress().size() > 0) {
             if (resource.getStatus().getIngress().get(0).getHost() != null) {
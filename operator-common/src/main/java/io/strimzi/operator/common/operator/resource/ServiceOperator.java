@@ -11,6 +11,7 @@ import io.fabric8.kubernetes.api.model.ServicePort;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.ServiceResource;
+import io.strimzi.operator.common.MetricsProvider;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 
@@ -115,6 +116,15 @@ public class ServiceOperator extends AbstractResourceOperator<KubernetesClient,
         return internalDelete(namespace, name, true);
     }
 
+    /**
+     * Also serves the reads of the Endpoints, whose readiness is waited for, from a watch-backed local cache.
+     */
+    @Override
+    public void enableCache(long resyncIntervalMs, MetricsProvider metrics) {
+        super.enableCache(resyncIntervalMs, metrics);
+        endpointOperations.enableCache(resyncIntervalMs, metrics);
+    }
+
     public Future<Void> endpointReadiness(String namespace, String name, long pollInterval, long operationTimeoutMs) {
         return endpointOperations.readiness(namespace, name, pollInterval, operationTimeoutMs);
     }
@@ -140,8 +150,7 @@ public class ServiceOperator extends AbstractResourceOperator<KubernetesClient,
      * @return Whether the Service already has assigned ingress address.
      */
     public boolean isIngressAddressReady(String namespace, String name) {
-        ServiceResource<Service, DoneableService> resourceOp = operation().inNamespace(namespace).withName(name);
-        Service resource = resourceOp.get();
+        Service resource = get(namespace, name);
 
         if (resource != null && resource.getStatus() != null && resource.getStatus().getLoadBalancer() != null && resource.getStatus().getLoadBalancer().getIngress() != null && resource.getStatus().getLoadBalancer().getIngress().size() > 0) {
             if (resource.getStatus().getLoadBalancer().getIngress().get(0).getHostname() != null || resource.getStatus().getLoadBalancer().getIngress().get(0).getIp() != null) {
@@ -173,8 +182,7 @@ public class ServiceOperator extends AbstractResourceOperator<KubernetesClient,
      * @return Whether the Service already has assigned node ports.
      */
     public boolean isNodePortReady(String namespace, String name) {
-        ServiceResource<Service, DoneableService> resourceOp = operation().inNamespace(namespace).withName(name);
-        Service resource = resourceOp.get();
+        Service resource = get(namespace, name);
 
         if (resource != null && resource.getSpec() != null && resource.getSpec().getPorts() != null) {
             boolean ready = true;
@@ -0,0 +1,81 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.config.SslConfigs;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLEngine;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InMemorySslEngineFactoryTest {
+
+    private static KeyStore emptyStore() throws Exception {
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        store.load(null, null);
+        return store;
+    }
+
+    @Test
+    public void testStoresAreTakenFromTheConfigs() throws Exception {
+        KeyStore truststore = emptyStore();
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(InMemorySslEngineFactory.TRUSTSTORE_CONFIG, truststore);
+
+        InMemorySslEngineFactory factory = new InMemorySslEngineFactory();
+        factory.configure(configs);
+        try {
+            assertThat(factory.truststore(), is(sameInstance(truststore)));
+            assertThat(factory.keystore(), is(nullValue()));
+            SSLEngine engine = factory.createClientSslEngine("localhost", 9093, "HTTPS");
+            assertThat(engine.getUseClientMode(), is(true));
+            assertThat(engine.getSSLParameters().getEndpointIdentificationAlgorithm(), is("HTTPS"));
+            assertThrows(UnsupportedOperationException.class, () -> factory.createServerSslEngine("localhost", 9093));
+        } finally {
+            factory.close();
+        }
+    }
+
+    @Test
+    public void testTruststoreIsRequired() {
+        InMemorySslEngineFactory factory = new InMemorySslEngineFactory();
+        assertThrows(KafkaException.class, () -> factory.configure(new HashMap<>()));
+    }
+
+    private static Properties adminConfig() {
+        Properties p = new Properties();
+        p.setProperty(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9093");
+        p.setProperty(AdminClientConfig.SECURITY_PROTOCOL_CONFIG, "SSL");
+        p.setProperty(SslConfigs.SSL_ENGINE_FACTORY_CLASS_CONFIG, InMemorySslEngineFactory.class.getName());
+        return p;
+    }
+
+    @Test
+    public void testAdminClientPassesTheStoresToTheFactory() throws Exception {
+        Properties p = adminConfig();
+        p.put(InMemorySslEngineFactory.TRUSTSTORE_CONFIG, emptyStore());
+        p.put(InMemorySslEngineFactory.KEYSTORE_CONFIG, emptyStore());
+        p.put(InMemorySslEngineFactory.KEYSTORE_PASSWORD_CONFIG, new char[0]);
+
+        // Creating the client configures the factory
+        Admin admin = Admin.create(p);
+        admin.close(Duration.ZERO);
+
+        assertThrows(KafkaException.class, () -> Admin.create(adminConfig()));
+    }
+}
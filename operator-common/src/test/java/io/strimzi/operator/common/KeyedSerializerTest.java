@@ -0,0 +1,138 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+@ExtendWith(VertxExtension.class)
+public class KeyedSerializerTest {
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        vertx.close(done -> latch.countDown());
+        latch.await(30, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testTasksWithSameKeyRunInOrder(VertxTestContext context) {
+        KeyedSerializer serializer = new KeyedSerializer(vertx);
+        List<String> events = new CopyOnWriteArrayList<>();
+        Promise<Void> first = Promise.promise();
+
+        serializer.execute("key", 0, () -> {
+            events.add("start-1");
+            return first.future().onComplete(v -> events.add("end-1"));
+        });
+        Future<Void> second = serializer.execute("key", 0, () -> {
+            events.add("start-2");
+            return Future.succeededFuture();
+        });
+        Future<Void> other = serializer.execute("other", 0, () -> {
+            events.add("start-other");
+            return Future.succeededFuture();
+        });
+
+        Checkpoint async = context.checkpoint();
+        other.compose(v -> {
+            context.verify(() -> assertThat(second.isComplete(), is(false)));
+            first.complete();
+            return second;
+        }).onComplete(context.succeeding(v -> context.verify(() -> {
+            events.remove("start-other");
+            assertThat(events, contains("start-1", "end-1", "start-2"));
+            assertThat(serializer.size(), is(0));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testCoalescedTasksRunOnce(VertxTestContext context) {
+        KeyedSerializer serializer = new KeyedSerializer(vertx);
+        AtomicInteger runs = new AtomicInteger();
+        Promise<Void> first = Promise.promise();
+
+        serializer.coalesce("key", () -> {
+            runs.incrementAndGet();
+            return first.future();
+        });
+        Future<Void> second = serializer.coalesce("key", () -> {
+            runs.incrementAndGet();
+            return Future.succeededFuture();
+        });
+        Future<Void> third = serializer.coalesce("key", () -> {
+            runs.incrementAndGet();
+            return Future.succeededFuture();
+        });
+
+        first.complete();
+
+        Checkpoint async = context.checkpoint();
+        second.compose(v -> third).onComplete(context.succeeding(v -> context.verify(() -> {
+            assertThat(runs.get(), is(2));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testWaitingTaskTimesOut(VertxTestContext context) {
+        KeyedSerializer serializer = new KeyedSerializer(vertx);
+        Promise<Void> first = Promise.promise();
+        AtomicInteger runs = new AtomicInteger();
+
+        serializer.execute("key", 0, () -> first.future());
+        Future<Void> second = serializer.execute("key", 100, () -> {
+            runs.incrementAndGet();
+            return Future.succeededFuture();
+        });
+
+        Checkpoint async = context.checkpoint();
+        second.onComplete(context.failing(e -> context.verify(() -> {
+            assertThat(e, instanceOf(KeyedSerializer.WaitTimeoutException.class));
+            assertThat(runs.get(), is(0));
+            first.complete();
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testThrowingTaskDoesNotBlockKey(VertxTestContext context) {
+        KeyedSerializer serializer = new KeyedSerializer(vertx);
+
+        Future<Void> failing = serializer.execute("key", 0, () -> {
+            throw new RuntimeException("Failed");
+        });
+        Future<Void> next = serializer.execute("key", 0, () -> Future.succeededFuture());
+
+        Checkpoint async = context.checkpoint();
+        failing.onComplete(context.failing(e -> next.onComplete(context.succeeding(v -> async.flag()))));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import org.apache.kafka.clients.admin.Admin;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class PooledAdminClientProviderTest {
+
+    private static class MockProvider implements AdminClientProvider {
+        final List<Admin> created = new ArrayList<>();
+
+        @Override
+        public Admin createAdminClient(String bootstrapHostnames, Secret clusterCaCertSecret, Secret keyCertSecret, String keyCertName) {
+            Admin admin = mock(Admin.class);
+            created.add(admin);
+            return admin;
+        }
+    }
+
+    private static Secret caSecret(String cert) {
+        return new SecretBuilder()
+                .withNewMetadata().withName("my-cluster-cluster-ca-cert").endMetadata()
+                .withData(singletonMap("ca.crt", cert))
+                .build();
+    }
+
+    @Test
+    public void testClientIsReusedOnceClosed() {
+        MockProvider delegate = new MockProvider();
+        PooledAdminClientProvider provider = new PooledAdminClientProvider(delegate, 60_000);
+        try {
+            Admin first = provider.createAdminClient("my-cluster-kafka-bootstrap:9091", caSecret("ca"), null, null);
+            first.describeCluster();
+            first.close();
+            first.close();
+            Admin second = provider.createAdminClient("my-cluster-kafka-bootstrap:9091", caSecret("ca"), null, null);
+            second.close();
+
+            assertThat(delegate.created.size(), is(1));
+            verify(delegate.created.get(0)).describeCluster();
+            verify(delegate.created.get(0), never()).close();
+            verify(delegate.created.get(0), never()).close(any(Duration.class));
+            assertThat(provider.size(), is(1));
+        } finally {
+            provider.close();
+        }
+    }
+
+    @Test
+    public void testClientsAreKeyedByBootstrapAddress() {
+        MockProvider delegate = new MockProvider();
+        PooledAdminClientProvider provider = new PooledAdminClientProvider(delegate, 60_000);
+        try {
+            provider.createAdminClient("a-kafka-bootstrap:9091", caSecret("ca"), null, null).close();
+            provider.createAdminClient("b-kafka-bootstrap:9091", caSecret("ca"), null, null).close();
+
+            assertThat(delegate.created.size(), is(2));
+            assertThat(provider.size(), is(2));
+        } finally {
+            provider.close();
+        }
+    }
+
+    @Test
+    public void testClientIsInvalidatedWhenTheCaChanges() {
+        MockProvider delegate = new MockProvider();
+        PooledAdminClientProvider provider = new PooledAdminClientProvider(delegate, 60_000);
+        try {
+            Admin first = provider.createAdminClient("my-cluster-kafka-bootstrap:9091", caSecret("ca"), null, null);
+            Admin second = provider.createAdminClient("my-cluster-kafka-bootstrap:9091", caSecret("renewed-ca"), null, null);
+
+            assertThat(delegate.created.size(), is(2));
+            // The first client is still in use
+            verify(delegate.created.get(0), never()).close(any(Duration.class));
+
+            first.close();
+            verify(delegate.created.get(0), times(1)).close(any(Duration.class));
+
+            second.close();
+            verify(delegate.created.get(1), never()).close(any(Duration.class));
+            assertThat(provider.size(), is(1));
+        } finally {
+            provider.close();
+        }
+    }
+
+    @Test
+    public void testIdleClientIsClosed() {
+        MockProvider delegate = new MockProvider();
+        PooledAdminClientProvider provider = new PooledAdminClientProvider(delegate, 100);
+        try {
+            Admin inUse = provider.createAdminClient("a-kafka-bootstrap:9091", caSecret("ca"), null, null);
+            provider.createAdminClient("b-kafka-bootstrap:9091", caSecret("ca"), null, null).close();
+
+            verify(delegate.created.get(1), timeout(5_000)).close(any(Duration.class));
+            verify(delegate.created.get(0), never()).close(any(Duration.class));
+            assertThat(provider.size(), is(1));
+
+            inUse.close();
+            verify(delegate.created.get(0), timeout(5_000)).close(any(Duration.class));
+        } finally {
+            provider.close();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(VertxExtension.class)
+public class ReconciliationTracesTest {
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    private static Reconciliation reconciliation(String name) {
+        return new Reconciliation("test", "Kafka", "my-namespace", name);
+    }
+
+    @Test
+    public void testTracesAreNewestFirstAndBounded() {
+        ReconciliationTraces traces = new ReconciliationTraces(2);
+        Map<String, Long> stages = new LinkedHashMap<>();
+        stages.put("first", 10L);
+        stages.put("second", 20L);
+
+        traces.add(reconciliation("a"), 30L, stages, null);
+        traces.add(reconciliation("b"), 40L, stages, new RuntimeException("Failed"));
+        traces.add(reconciliation("c"), 50L, Collections.emptyMap(), null);
+
+        JsonArray latest = traces.latest(10);
+        assertThat(latest.size(), is(2));
+
+        JsonObject newest = latest.getJsonObject(0);
+        assertThat(newest.getString("name"), is("c"));
+        assertThat(newest.getBoolean("succeeded"), is(true));
+        assertThat(newest.containsKey("failure"), is(false));
+
+        JsonObject failed = latest.getJsonObject(1);
+        assertThat(failed.getString("name"), is("b"));
+        assertThat(failed.getString("kind"), is("Kafka"));
+        assertThat(failed.getString("namespace"), is("my-namespace"));
+        assertThat(failed.getLong("durationMs"), is(40L));
+        assertThat(failed.getBoolean("succeeded"), is(false));
+        assertThat(failed.getString("failure"), is("Failed"));
+        assertThat(failed.getJsonObject("stages").getLong("second"), is(20L));
+
+        assertThat(traces.latest(1).size(), is(1));
+        assertThat(traces.latest(0).size(), is(0));
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ReconciliationTraces(0));
+    }
+
+    private static ReconciliationTraces tracesOf(String... names) {
+        ReconciliationTraces traces = new ReconciliationTraces(ReconciliationTraces.DEFAULT_CAPACITY);
+        for (String name : names) {
+            traces.add(reconciliation(name), 10L, Collections.singletonMap("stage", 10L), null);
+        }
+        return traces;
+    }
+
+    private static void get(VertxTestContext context, ReconciliationTraces traces, String uri, int expectedStatus, Handler<String> bodyHandler) {
+        HttpServer server = vertx.createHttpServer().requestHandler(traces);
+        server.listen(0, context.succeeding(s -> {
+            HttpClient client = vertx.createHttpClient();
+            client.getNow(server.actualPort(), "localhost", uri, response -> response.bodyHandler(body -> {
+                context.verify(() -> assertThat(response.statusCode(), is(expectedStatus)));
+                context.verify(() -> bodyHandler.handle(body.toString()));
+                client.close();
+                server.close();
+            }));
+        }));
+    }
+
+    @Test
+    public void testEndpointServesTheLatestTraces(VertxTestContext context) {
+        Checkpoint async = context.checkpoint();
+        get(context, tracesOf("a", "b", "c"), "/debug/reconciliations", 200, body -> {
+            JsonArray latest = new JsonArray(body);
+            assertThat(latest.size(), is(3));
+            assertThat(latest.getJsonObject(0).getString("name"), is("c"));
+            assertThat(latest.getJsonObject(0).getJsonObject("stages").getLong("stage"), is(10L));
+            async.flag();
+        });
+    }
+
+    @Test
+    public void testEndpointLimit(VertxTestContext context) {
+        Checkpoint async = context.checkpoint();
+        get(context, tracesOf("a", "b", "c"), "/debug/reconciliations?limit=2", 200, body -> {
+            JsonArray latest = new JsonArray(body);
+            assertThat(latest.size(), is(2));
+            assertThat(latest.getJsonObject(1).getString("name"), is("b"));
+            async.flag();
+        });
+    }
+
+    @Test
+    public void testEndpointRejectsNegativeLimit(VertxTestContext context) {
+        Checkpoint async = context.checkpoint();
+        get(context, tracesOf("a"), "/debug/reconciliations?limit=-1", 400, body -> {
+            assertThat(body, is("Invalid limit -1"));
+            async.flag();
+        });
+    }
+
+    @Test
+    public void testEndpointRejectsInvalidLimit(VertxTestContext context) {
+        Checkpoint async = context.checkpoint();
+        get(context, tracesOf("a"), "/debug/reconciliations?limit=all", 400, body -> {
+            assertThat(body, is("Invalid limit all"));
+            async.flag();
+        });
+    }
+}
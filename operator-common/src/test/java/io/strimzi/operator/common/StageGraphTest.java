@@ -0,0 +1,121 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(VertxExtension.class)
+public class StageGraphTest {
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        vertx.close(done -> latch.countDown());
+        latch.await(30, TimeUnit.SECONDS);
+    }
+
+    private static Supplier<Future<?>> record(List<String> events, String name) {
+        return () -> {
+            events.add(name);
+            return Future.succeededFuture();
+        };
+    }
+
+    @Test
+    public void testIndependentStagesRunConcurrently(VertxTestContext context) {
+        List<String> events = new CopyOnWriteArrayList<>();
+        Promise<Void> slow = Promise.promise();
+
+        StageGraph graph = new StageGraph(vertx)
+                .stage("first", record(events, "first"))
+                .stage("slow", () -> {
+                    events.add("slow");
+                    return slow.future();
+                }, "first")
+                .stage("fast", () -> {
+                    events.add("fast");
+                    // The slow stage is still running while this one starts
+                    slow.complete();
+                    return Future.succeededFuture();
+                }, "first")
+                .stage("last", record(events, "last"), "slow", "fast");
+
+        Checkpoint async = context.checkpoint();
+        graph.execute().onComplete(context.succeeding(v -> context.verify(() -> {
+            assertThat(events, contains("first", "slow", "fast", "last"));
+            assertThat(graph.durations().keySet(), containsInAnyOrder("first", "slow", "fast", "last"));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testFailureStopsDependentStages(VertxTestContext context) {
+        List<String> events = new CopyOnWriteArrayList<>();
+        Promise<Void> running = Promise.promise();
+
+        StageGraph graph = new StageGraph(vertx)
+                .stage("first", record(events, "first"))
+                .stage("running", () -> {
+                    events.add("running");
+                    return running.future().onComplete(v -> events.add("running-done"));
+                }, "first")
+                .stage("failing", () -> {
+                    throw new RuntimeException("Failed");
+                }, "first")
+                .stage("dependent", record(events, "dependent"), "failing")
+                .stage("last", record(events, "last"), "running");
+
+        vertx.setTimer(100, id -> running.complete());
+
+        Checkpoint async = context.checkpoint();
+        graph.execute().onComplete(context.failing(e -> context.verify(() -> {
+            assertThat(e.getMessage(), is("Failed"));
+            // The failure is reported only once the running stage completed, and no other stage is started
+            assertThat(events, contains("first", "running", "running-done"));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testEmptyGraphSucceeds(VertxTestContext context) {
+        Checkpoint async = context.checkpoint();
+        new StageGraph(vertx).execute().onComplete(context.succeeding(v -> async.flag()));
+    }
+
+    @Test
+    public void testInvalidGraph() {
+        StageGraph graph = new StageGraph(vertx).stage("first", () -> Future.succeededFuture());
+
+        assertThrows(IllegalArgumentException.class, () -> graph.stage("first", () -> Future.succeededFuture()));
+        assertThrows(IllegalArgumentException.class, () -> graph.stage("second", () -> Future.succeededFuture(), "unknown"));
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.micrometer.MicrometerMetricsOptions;
+import io.vertx.micrometer.VertxPrometheusOptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+public class WorkQueueTest {
+    private static Vertx vertx;
+
+    private MetricsProvider metrics;
+    private List<String> started;
+    private Map<String, Promise<Void>> running;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx(new VertxOptions().setMetricsOptions(
+                new MicrometerMetricsOptions()
+                        .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+                        .setEnabled(true)
+        ));
+    }
+
+    @AfterAll
+    public static void after() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        vertx.close(done -> latch.countDown());
+        latch.await(30, TimeUnit.SECONDS);
+    }
+
+    @BeforeEach
+    public void setup() {
+        metrics = new MicrometerMetricsProvider();
+        MeterRegistry registry = metrics.meterRegistry();
+        registry.forEachMeter(registry::remove);
+
+        started = new ArrayList<>();
+        running = new HashMap<>();
+    }
+
+    private Future<Void> submit(WorkQueue queue, String name, boolean periodic) {
+        return queue.submit(new Reconciliation("test", "TestResource", "my-namespace", name), periodic, () -> {
+            started.add(name);
+            Promise<Void> promise = Promise.promise();
+            running.put(name, promise);
+            return promise.future();
+        });
+    }
+
+    private double queueDepth() {
+        return metrics.meterRegistry().get(AbstractOperator.METRICS_PREFIX + "reconciliations.queue.depth").tag("kind", "TestResource").gauge().value();
+    }
+
+    @Test
+    public void testConcurrencyIsBounded() {
+        WorkQueue queue = new WorkQueue("TestResource", 2, metrics);
+
+        submit(queue, "a", false);
+        submit(queue, "b", false);
+        submit(queue, "c", false);
+
+        assertThat(started, contains("a", "b"));
+        assertThat(queue.size(), is(1));
+        assertThat(queueDepth(), is(1.0));
+
+        running.get("a").complete();
+
+        assertThat(started, contains("a", "b", "c"));
+        assertThat(queue.size(), is(0));
+        assertThat(queueDepth(), is(0.0));
+    }
+
+    @Test
+    public void testUnboundedQueueStartsImmediately() {
+        WorkQueue queue = new WorkQueue("TestResource", WorkQueue.UNBOUNDED, metrics);
+
+        submit(queue, "a", false);
+        submit(queue, "b", true);
+        submit(queue, "c", false);
+
+        assertThat(started, contains("a", "b", "c"));
+        assertThat(queue.size(), is(0));
+    }
+
+    @Test
+    public void testQueuedResourceIsDeduplicated() {
+        WorkQueue queue = new WorkQueue("TestResource", 1, metrics);
+
+        submit(queue, "a", false);
+        Future<Void> first = submit(queue, "b", true);
+        Future<Void> second = submit(queue, "b", false);
+
+        assertThat(queue.size(), is(1));
+
+        running.get("a").complete();
+        running.get("b").complete();
+
+        assertThat(started, contains("a", "b"));
+        assertThat(first.succeeded(), is(true));
+        assertThat(second.succeeded(), is(true));
+    }
+
+    @Test
+    public void testWatchEventsArePrioritized() {
+        WorkQueue queue = new WorkQueue("TestResource", 1, metrics);
+
+        submit(queue, "a", true);
+        submit(queue, "b", true);
+        submit(queue, "c", true);
+        submit(queue, "d", false);
+        // A watch event for a resource already queued periodically moves it ahead of the periodic reconciliations
+        submit(queue, "c", false);
+
+        running.get("a").complete();
+        running.get("d").complete();
+        running.get("c").complete();
+        running.get("b").complete();
+
+        assertThat(started, contains("a", "d", "c", "b"));
+    }
+
+    @Test
+    public void testFailedTaskDoesNotBlockQueue() {
+        WorkQueue queue = new WorkQueue("TestResource", 1, metrics);
+
+        Future<Void> failed = queue.submit(new Reconciliation("test", "TestResource", "my-namespace", "a"), false, () -> {
+            throw new RuntimeException("Failed");
+        });
+        submit(queue, "b", false);
+
+        assertThat(failed.failed(), is(true));
+        assertThat(started, contains("b"));
+    }
+}
@@ -6,15 +6,25 @@ package io.strimzi.operator.common.operator.resource;
 
 import io.strimzi.operator.common.model.Labels;
 
+import io.fabric8.kubernetes.api.model.DeletionPropagation;
 import io.fabric8.kubernetes.api.model.DoneablePod;
+import io.fabric8.kubernetes.api.model.ListOptions;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.dsl.EditReplacePatchDeletable;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
 import io.fabric8.kubernetes.client.dsl.PodResource;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.openshift.client.server.mock.OpenShiftServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxTestContext;
@@ -22,12 +32,19 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class PodOperatorTest extends
@@ -97,6 +114,68 @@ public class PodOperatorTest extends
         });
     }
 
+    private static Pod pod(String uid, String resourceVersion) {
+        return new PodBuilder()
+                .withNewMetadata()
+                    .withNamespace(NAMESPACE)
+                    .withName(RESOURCE_NAME)
+                    .withUid(uid)
+                    .withResourceVersion(resourceVersion)
+                .endMetadata()
+                .build();
+    }
+
+    @Test
+    public void testRestartWithCacheCompletesWhenThePodWasRecreated(VertxTestContext context) throws InterruptedException {
+        Pod pod = pod("old-uid", "10");
+
+        EditReplacePatchDeletable mockDeletable = mock(EditReplacePatchDeletable.class);
+        EditReplacePatchDeletable mockDeletableGrace = mock(EditReplacePatchDeletable.class);
+        when(mockDeletableGrace.withGracePeriod(anyLong())).thenReturn(mockDeletable);
+        when(mockDeletable.delete()).thenReturn(true);
+        PodResource mockResource = mock(PodResource.class);
+        when(mockResource.get()).thenReturn(pod);
+        when(mockResource.withPropagationPolicy(any(DeletionPropagation.class))).thenReturn(mockDeletableGrace);
+
+        AtomicReference<Watcher<Pod>> watcher = new AtomicReference<>();
+        NonNamespaceOperation mockNameable = mock(NonNamespaceOperation.class);
+        when(mockNameable.withName(RESOURCE_NAME)).thenReturn(mockResource);
+        when(mockNameable.list()).thenReturn(new PodListBuilder()
+                .withNewMetadata().withResourceVersion("10").endMetadata()
+                .withItems(pod)
+                .build());
+        when(mockNameable.watch(any(ListOptions.class), any(Watcher.class))).thenAnswer(invocation -> {
+            watcher.set(invocation.getArgument(1));
+            return mock(Watch.class);
+        });
+        MixedOperation mockPods = mock(MixedOperation.class);
+        when(mockPods.inNamespace(NAMESPACE)).thenReturn(mockNameable);
+        KubernetesClient mockClient = mock(KubernetesClient.class);
+        mocker(mockClient, mockPods);
+
+        PodOperator op = createResourceOperations(vertx, mockClient);
+        op.enableCache(60_000, new MicrometerMetricsProvider(new SimpleMeterRegistry()));
+        // Cache the namespace
+        context.verify(() -> assertThat(op.get(NAMESPACE, RESOURCE_NAME), is(pod)));
+
+        Future<Void> restarted = op.restart("test", pod, 10_000);
+        verify(mockDeletable, timeout(5_000)).delete();
+
+        // The pod terminates and is deleted, which does not complete the restart, neither does a late copy of it
+        watcher.get().eventReceived(Watcher.Action.MODIFIED, pod("old-uid", "11"));
+        watcher.get().eventReceived(Watcher.Action.DELETED, pod("old-uid", "12"));
+        watcher.get().eventReceived(Watcher.Action.MODIFIED, pod("old-uid", "11"));
+        Thread.sleep(1_500);
+        context.verify(() -> {
+            assertThat(restarted.isComplete(), is(false));
+            assertThat(op.get(NAMESPACE, RESOURCE_NAME), is(nullValue()));
+        });
+
+        Checkpoint async = context.checkpoint();
+        watcher.get().eventReceived(Watcher.Action.ADDED, pod("new-uid", "13"));
+        restarted.onComplete(context.succeeding(v -> async.flag()));
+    }
+
     @Override
     protected Class clientType() {
         return KubernetesClient.class;
@@ -0,0 +1,280 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.common.operator.resource;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.ConfigMapListBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.strimzi.operator.common.AbstractOperator;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
+import io.strimzi.operator.common.Util;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.micrometer.MicrometerMetricsOptions;
+import io.vertx.micrometer.VertxPrometheusOptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+public class ResourceCacheTest {
+    private static Vertx vertx;
+
+    private MetricsProvider metrics;
+    private List<ConfigMap> existing;
+    private AtomicInteger lists;
+    private AtomicReference<Watcher<ConfigMap>> watcher;
+    private AtomicReference<String> watchedVersion;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx(new VertxOptions().setMetricsOptions(
+                new MicrometerMetricsOptions()
+                        .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+                        .setEnabled(true)
+        ));
+    }
+
+    @AfterAll
+    public static void after() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        vertx.close(done -> latch.countDown());
+        latch.await(30, TimeUnit.SECONDS);
+    }
+
+    @BeforeEach
+    public void setup() {
+        metrics = new MicrometerMetricsProvider();
+        MeterRegistry registry = metrics.meterRegistry();
+        registry.forEachMeter(registry::remove);
+
+        existing = new ArrayList<>();
+        existing.add(configMap("cm-1", "1"));
+        existing.add(configMap("cm-2", "2"));
+        lists = new AtomicInteger();
+        watcher = new AtomicReference<>();
+        watchedVersion = new AtomicReference<>();
+    }
+
+    private static ConfigMap configMap(String name, String value) {
+        return configMap(name, value, null);
+    }
+
+    private static ConfigMap configMap(String name, String value, String resourceVersion) {
+        return new ConfigMapBuilder()
+                .withNewMetadata()
+                    .withNamespace("ns")
+                    .withName(name)
+                    .withResourceVersion(resourceVersion)
+                .endMetadata()
+                .addToData("key", value)
+                .build();
+    }
+
+    private ResourceCache<ConfigMap> cache(long resyncIntervalMs) {
+        return new ResourceCache<>("ConfigMap",
+            namespace -> {
+                lists.incrementAndGet();
+                return new ConfigMapListBuilder()
+                        .withNewMetadata().withResourceVersion("100").endMetadata()
+                        .withItems(existing)
+                        .build();
+            },
+            (namespace, resourceVersion, w) -> {
+                watcher.set(w);
+                watchedVersion.set(resourceVersion);
+                return () -> { };
+            },
+            resyncIntervalMs,
+            metrics);
+    }
+
+    private double count(String name) {
+        return metrics.meterRegistry().get(AbstractOperator.METRICS_PREFIX + name).tag("kind", "ConfigMap").counter().count();
+    }
+
+    @Test
+    public void testReadsAreServedFromCacheAfterFirstList() {
+        ResourceCache<ConfigMap> cache = cache(60_000);
+
+        assertThat(cache.get("ns", "cm-1").getData().get("key"), is("1"));
+        assertThat(cache.get("ns", "cm-2").getData().get("key"), is("2"));
+        assertThat(cache.get("ns", "cm-3"), is(nullValue()));
+        assertThat(cache.list("ns"), hasSize(2));
+
+        assertThat(lists.get(), is(1));
+        assertThat(watchedVersion.get(), is("100"));
+        assertThat(count("resource.cache.misses"), is(1.0));
+        assertThat(count("resource.cache.hits"), is(3.0));
+    }
+
+    @Test
+    public void testWatchEventsUpdateCache() {
+        ResourceCache<ConfigMap> cache = cache(60_000);
+        cache.list("ns");
+
+        watcher.get().eventReceived(Watcher.Action.ADDED, configMap("cm-3", "3"));
+        watcher.get().eventReceived(Watcher.Action.MODIFIED, configMap("cm-1", "11"));
+        watcher.get().eventReceived(Watcher.Action.DELETED, configMap("cm-2", "2"));
+
+        assertThat(cache.get("ns", "cm-1").getData().get("key"), is("11"));
+        assertThat(cache.get("ns", "cm-2"), is(nullValue()));
+        assertThat(cache.get("ns", "cm-3"), is(notNullValue()));
+        assertThat(lists.get(), is(1));
+    }
+
+    @Test
+    public void testWritesAreWrittenThrough() {
+        ResourceCache<ConfigMap> cache = cache(60_000);
+        cache.list("ns");
+
+        cache.put(configMap("cm-3", "3"));
+
+        assertThat(cache.get("ns", "cm-3"), is(notNullValue()));
+    }
+
+    @Test
+    public void testDeletedResourceIsNotCachedAgain() {
+        ResourceCache<ConfigMap> cache = cache(60_000);
+        cache.list("ns");
+
+        cache.put(configMap("cm-1", "written", "105"));
+        watcher.get().eventReceived(Watcher.Action.MODIFIED, configMap("cm-1", "terminating", "106"));
+        watcher.get().eventReceived(Watcher.Action.DELETED, configMap("cm-1", "terminating", "107"));
+        assertThat(cache.get("ns", "cm-1"), is(nullValue()));
+
+        // A late write of the deleted resource does not bring it back, but the recreated resource is cached
+        cache.put(configMap("cm-1", "late write", "105"));
+        assertThat(cache.get("ns", "cm-1"), is(nullValue()));
+        cache.put(configMap("cm-1", "recreated", "108"));
+        assertThat(cache.get("ns", "cm-1").getData().get("key"), is("recreated"));
+
+        // A late deletion event does not remove the recreated resource
+        watcher.get().eventReceived(Watcher.Action.DELETED, configMap("cm-1", "terminating", "107"));
+        assertThat(cache.get("ns", "cm-1").getData().get("key"), is("recreated"));
+    }
+
+    @Test
+    public void testOlderResourceVersionDoesNotReplaceNewer() {
+        ResourceCache<ConfigMap> cache = cache(60_000);
+        cache.list("ns");
+
+        cache.put(configMap("cm-1", "written", "105"));
+        watcher.get().eventReceived(Watcher.Action.MODIFIED, configMap("cm-1", "late event", "103"));
+        assertThat(cache.get("ns", "cm-1").getData().get("key"), is("written"));
+
+        watcher.get().eventReceived(Watcher.Action.MODIFIED, configMap("cm-1", "event", "107"));
+        cache.put(configMap("cm-1", "late write", "105"));
+        assertThat(cache.get("ns", "cm-1").getData().get("key"), is("event"));
+    }
+
+    @Test
+    public void testStalenessIsTaggedByNamespace() {
+        ResourceCache<ConfigMap> cache = cache(60_000);
+        cache.list("ns");
+        cache.list("other-ns");
+
+        MeterRegistry registry = metrics.meterRegistry();
+        assertThat(registry.get(AbstractOperator.METRICS_PREFIX + "resource.cache.staleness").tag("kind", "ConfigMap").gauges(), hasSize(2));
+        assertThat(registry.get(AbstractOperator.METRICS_PREFIX + "resource.cache.staleness").tag("namespace", "other-ns").gauge(), is(notNullValue()));
+    }
+
+    @Test
+    public void testClosedWatchCausesRelist() {
+        ResourceCache<ConfigMap> cache = cache(60_000);
+        cache.list("ns");
+
+        watcher.get().onClose(new KubernetesClientException("Gone"));
+        existing.add(configMap("cm-3", "3"));
+
+        assertThat(cache.list("ns"), hasSize(3));
+        assertThat(lists.get(), is(2));
+    }
+
+    @Test
+    public void testResyncCausesRelist() {
+        ResourceCache<ConfigMap> cache = cache(0);
+
+        cache.list("ns");
+        cache.list("ns");
+
+        assertThat(lists.get(), is(2));
+    }
+
+    @Test
+    public void testInvalidateClosesWatch() {
+        AtomicInteger closed = new AtomicInteger();
+        ResourceCache<ConfigMap> cache = new ResourceCache<>("ConfigMap",
+            namespace -> new ConfigMapListBuilder().withItems(existing).build(),
+            (namespace, resourceVersion, w) -> {
+                Watch watch = closed::incrementAndGet;
+                return watch;
+            },
+            60_000,
+            metrics);
+
+        cache.list("ns");
+        cache.invalidate("ns");
+
+        assertThat(closed.get(), is(1));
+    }
+
+    @Test
+    public void testListenersAreNotifiedOfTheirResource() {
+        ResourceCache<ConfigMap> cache = cache(60_000);
+        cache.list("ns");
+        AtomicInteger notified = new AtomicInteger();
+        Runnable remove = cache.addListener("ns", "cm-1", notified::incrementAndGet);
+
+        watcher.get().eventReceived(Watcher.Action.MODIFIED, configMap("cm-1", "11"));
+        watcher.get().eventReceived(Watcher.Action.MODIFIED, configMap("cm-2", "22"));
+        assertThat(notified.get(), is(1));
+
+        remove.run();
+        watcher.get().eventReceived(Watcher.Action.MODIFIED, configMap("cm-1", "111"));
+        assertThat(notified.get(), is(1));
+    }
+
+    @Test
+    public void testWaitingCompletesOnWatchEvent() throws InterruptedException {
+        ResourceCache<ConfigMap> cache = cache(60_000);
+        cache.list("ns");
+
+        CountDownLatch done = new CountDownLatch(1);
+        // The poll interval is longer than the test, so only the watch event can complete the wait
+        Util.waitFor(vertx, "ConfigMap cm-1", "updated", 60_000, 60_000,
+            () -> "11".equals(cache.get("ns", "cm-1").getData().get("key")),
+            error -> false,
+            listener -> cache.addListener("ns", "cm-1", listener)).onComplete(ar -> {
+                if (ar.succeeded()) {
+                    done.countDown();
+                }
+            });
+
+        watcher.get().eventReceived(Watcher.Action.MODIFIED, configMap("cm-2", "22"));
+        assertThat(done.await(500, TimeUnit.MILLISECONDS), is(false));
+
+        watcher.get().eventReceived(Watcher.Action.MODIFIED, configMap("cm-1", "11"));
+        assertThat(done.await(10, TimeUnit.SECONDS), is(true));
+    }
+}
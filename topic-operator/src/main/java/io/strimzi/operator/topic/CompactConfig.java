@@ -0,0 +1,158 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.topic;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The immutable config of a {@link Topic}. The entries are kept sorted by key in two arrays rather than in a hash
+ * table, the key strings are shared by all the topics through a dictionary, and the hash code is computed once.
+ * Iterating over the config returns the entries in key order.
+ */
+final class CompactConfig extends AbstractMap<String, String> {
+
+    // Topics use a few dozen distinct config keys, the limit only protects against unbounded growth
+    private static final int MAX_KEYS = 4096;
+    private static final Map<String, String> KEYS = new ConcurrentHashMap<>();
+
+    static final CompactConfig EMPTY = new CompactConfig(new String[0], new String[0]);
+
+    private final String[] keys;
+    private final String[] values;
+    private final int hash;
+
+    private CompactConfig(String[] keys, String[] values) {
+        this.keys = keys;
+        this.values = values;
+        int hash = 0;
+        for (int i = 0; i < keys.length; i++) {
+            // The same hash code as the other Map implementations
+            hash += keys[i].hashCode() ^ Objects.hashCode(values[i]);
+        }
+        this.hash = hash;
+    }
+
+    /**
+     * @param config The config.
+     * @return The compact copy of the given config.
+     */
+    static CompactConfig of(Map<String, String> config) {
+        if (config instanceof CompactConfig) {
+            return (CompactConfig) config;
+        } else if (config.isEmpty()) {
+            return EMPTY;
+        }
+        String[] keys = new String[config.size()];
+        int i = 0;
+        for (String key : config.keySet()) {
+            keys[i++] = intern(Objects.requireNonNull(key));
+        }
+        Arrays.sort(keys);
+        String[] values = new String[keys.length];
+        for (i = 0; i < keys.length; i++) {
+            values[i] = config.get(keys[i]);
+        }
+        return new CompactConfig(keys, values);
+    }
+
+    /**
+     * @param key A config key.
+     * @return The instance of the key shared by all topics.
+     */
+    static String intern(String key) {
+        String interned = KEYS.get(key);
+        if (interned != null) {
+            return interned;
+        } else if (KEYS.size() >= MAX_KEYS) {
+            return key;
+        }
+        interned = KEYS.putIfAbsent(key, key);
+        return interned != null ? interned : key;
+    }
+
+    String key(int index) {
+        return keys[index];
+    }
+
+    String value(int index) {
+        return values[index];
+    }
+
+    private int indexOf(Object key) {
+        return key instanceof String ? Arrays.binarySearch(keys, key) : -1;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public String get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<Entry<String, String>>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new Iterator<Entry<String, String>>() {
+                    private int next = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < keys.length;
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        if (next >= keys.length) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, String> entry = new SimpleImmutableEntry<>(keys[next], values[next]);
+                        next++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (o instanceof CompactConfig) {
+            CompactConfig other = (CompactConfig) o;
+            return hash == other.hash && Arrays.equals(keys, other.keys) && Arrays.equals(values, other.values);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -46,6 +46,18 @@ public class Config {
         }
     };
 
+    /** A Java Integer which is zero or greater */
+    private static final Type<? extends Integer> NON_NEGATIVE_INTEGER = new Type<Integer>() {
+        @Override
+        Integer parse(String s) {
+            int value = Integer.parseInt(s);
+            if (value < 0) {
+                throw new IllegalArgumentException("The value must not be negative");
+            }
+            return value;
+        }
+    };
+
     /**
      * A time duration.
      */
@@ -95,11 +107,25 @@ public class Config {
     public static final String TC_ZK_CONNECT = "STRIMZI_ZOOKEEPER_CONNECT";
     public static final String TC_ZK_SESSION_TIMEOUT_MS = "STRIMZI_ZOOKEEPER_SESSION_TIMEOUT_MS";
     public static final String TC_ZK_CONNECTION_TIMEOUT_MS = "TC_ZK_CONNECTION_TIMEOUT_MS";
+    public static final String TC_ZK_SCAN_INTERVAL_MS = "STRIMZI_ZOOKEEPER_SCAN_INTERVAL_MS";
+    public static final String TC_KAFKA_POLL_INTERVAL_MS = "STRIMZI_KAFKA_POLL_INTERVAL_MS";
     public static final String TC_PERIODIC_INTERVAL_MS = "STRIMZI_FULL_RECONCILIATION_INTERVAL_MS";
+    public static final String TC_PERIODIC_RECONCILIATION_PARALLELISM = "STRIMZI_PERIODIC_RECONCILIATION_PARALLELISM";
+    public static final String TC_EVENT_DEBOUNCE_MS = "STRIMZI_EVENT_DEBOUNCE_MS";
     public static final String TC_REASSIGN_THROTTLE = "STRIMZI_REASSIGN_THROTTLE";
     public static final String TC_REASSIGN_VERIFY_INTERVAL_MS = "STRIMZI_REASSIGN_VERIFY_INTERVAL_MS";
     public static final String TC_TOPIC_METADATA_MAX_ATTEMPTS = "STRIMZI_TOPIC_METADATA_MAX_ATTEMPTS";
     public static final String TC_TOPICS_PATH = "STRIMZI_TOPICS_PATH";
+    public static final String TC_SHARDING_ENABLED = "STRIMZI_SHARDING_ENABLED";
+    public static final String TC_SHARD_MEMBERS_PATH = "STRIMZI_SHARD_MEMBERS_PATH";
+    public static final String TC_USE_ZOOKEEPER_TOPIC_STORE = "STRIMZI_USE_ZOOKEEPER_TOPIC_STORE";
+    public static final String TC_STORE_TOPIC = "STRIMZI_STORE_TOPIC";
+    public static final String TC_STORE_TOPIC_LOAD_TIMEOUT_MS = "STRIMZI_STORE_TOPIC_LOAD_TIMEOUT_MS";
+    public static final String TC_DELETE_ZOOKEEPER_TOPIC_STORE = "STRIMZI_DELETE_ZOOKEEPER_TOPIC_STORE";
+    public static final String TC_TOPIC_METADATA_BATCH_WINDOW_MS = "STRIMZI_TOPIC_METADATA_BATCH_WINDOW_MS";
+    public static final String TC_TOPIC_METADATA_MAX_BATCH_SIZE = "STRIMZI_TOPIC_METADATA_MAX_BATCH_SIZE";
+    public static final String TC_TOPIC_CREATION_BATCH_WINDOW_MS = "STRIMZI_TOPIC_CREATION_BATCH_WINDOW_MS";
+    public static final String TC_TOPIC_CREATION_MAX_BATCH_SIZE = "STRIMZI_TOPIC_CREATION_MAX_BATCH_SIZE";
 
     public static final String TC_TLS_ENABLED = "STRIMZI_TLS_ENABLED";
     public static final String TC_TLS_TRUSTSTORE_LOCATION = "STRIMZI_TRUSTSTORE_LOCATION";
@@ -128,9 +154,34 @@ public class Config {
     /** The zookeeper connection timeout. */
     public static final Value<Long> ZOOKEEPER_CONNECTION_TIMEOUT_MS = new Value<>(TC_ZK_CONNECTION_TIMEOUT_MS, DURATION, "20000");
 
+    /**
+     * The interval between scans of the data versions of the topic znodes, which then replace the ZooKeeper watches
+     * on every topic. When 0, a ZooKeeper watch is set on every topic.
+     */
+    public static final Value<Long> ZOOKEEPER_SCAN_INTERVAL_MS = new Value<>(TC_ZK_SCAN_INTERVAL_MS, DURATION, "0");
+
+    /**
+     * The interval between polls of the topics through the Kafka Admin API, which then replace the ZooKeeper watches
+     * for finding the topic changes made in Kafka. When 0, the topic changes are found using ZooKeeper.
+     */
+    public static final Value<Long> KAFKA_POLL_INTERVAL_MS = new Value<>(TC_KAFKA_POLL_INTERVAL_MS, DURATION, "0");
+
     /** The period between full reconciliations. */
     public static final Value<Long> FULL_RECONCILIATION_INTERVAL_MS = new Value<>(TC_PERIODIC_INTERVAL_MS, DURATION, "900000");
 
+    /**
+     * The maximum number of topics reconciled at the same time by the periodic reconciliation, which then skips
+     * the topics which did not change since they were last reconciled and spreads the reconciliation of the remaining
+     * topics over the full reconciliation interval. When 0, all topics are reconciled at the same time.
+     */
+    public static final Value<Integer> PERIODIC_RECONCILIATION_PARALLELISM = new Value<>(TC_PERIODIC_RECONCILIATION_PARALLELISM, NON_NEGATIVE_INTEGER, "0");
+
+    /**
+     * How long the events of a topic are collected before the topic is reconciled, so that several events of the same
+     * topic are handled by one reconciliation. When 0, every event is reconciled on its own.
+     */
+    public static final Value<Long> EVENT_DEBOUNCE_MS = new Value<>(TC_EVENT_DEBOUNCE_MS, DURATION, "0");
+
     /** The interbroker throttled rate to use when a topic change requires partition reassignment. */
     public static final Value<Long> REASSIGN_THROTTLE = new Value<>(TC_REASSIGN_THROTTLE, LONG, Long.toString(Long.MAX_VALUE));
 
@@ -143,9 +194,45 @@ public class Config {
     /** The maximum number of retries for getting topic metadata from the Kafka cluster */
     public static final Value<Integer> TOPIC_METADATA_MAX_ATTEMPTS = new Value<>(TC_TOPIC_METADATA_MAX_ATTEMPTS, POSITIVE_INTEGER, "6");
 
+    /**
+     * How long topic metadata requests are collected before they are sent to Kafka together, or 0 to send each one
+     * immediately. When the topics are polled (see {@link #KAFKA_POLL_INTERVAL_MS}), 0 means a short window instead.
+     */
+    public static final Value<Long> TOPIC_METADATA_BATCH_WINDOW_MS = new Value<>(TC_TOPIC_METADATA_BATCH_WINDOW_MS, DURATION, "0");
+
+    /** The maximum number of topics described in one request to Kafka */
+    public static final Value<Integer> TOPIC_METADATA_MAX_BATCH_SIZE = new Value<>(TC_TOPIC_METADATA_MAX_BATCH_SIZE, POSITIVE_INTEGER, "500");
+
+    /** How long topic creations are collected before the topics are created in Kafka and in the ZooKeeper topic store together, or 0 to create each topic immediately */
+    public static final Value<Long> TOPIC_CREATION_BATCH_WINDOW_MS = new Value<>(TC_TOPIC_CREATION_BATCH_WINDOW_MS, DURATION, "0");
+
+    /** The maximum number of topics created in one request to Kafka */
+    public static final Value<Integer> TOPIC_CREATION_MAX_BATCH_SIZE = new Value<>(TC_TOPIC_CREATION_MAX_BATCH_SIZE, POSITIVE_INTEGER, "500");
+
     /** The path to the Zookeeper node that stores the topic state in ZooKeeper. */
     public static final Value<String> TOPICS_PATH = new Value<>(TC_TOPICS_PATH, STRING, "/strimzi/topics");
 
+    /**
+     * If the topics are shared between the replicas of the Topic Operator, which register themselves in ZooKeeper.
+     * When false, the replica handles all the topics. It requires the topic state to be stored in ZooKeeper.
+     */
+    public static final Value<String> SHARDING_ENABLED = new Value<>(TC_SHARDING_ENABLED, STRING, "false");
+
+    /** The path to the Zookeeper node whose children are the replicas of the Topic Operator sharing the topics. */
+    public static final Value<String> SHARD_MEMBERS_PATH = new Value<>(TC_SHARD_MEMBERS_PATH, STRING, "/strimzi/topic-operators");
+
+    /** If the topic state is stored in ZooKeeper. When false, it is stored in a compacted Kafka topic and the topic state stored in ZooKeeper is migrated to it. */
+    public static final Value<String> USE_ZOOKEEPER_TOPIC_STORE = new Value<>(TC_USE_ZOOKEEPER_TOPIC_STORE, STRING, "true");
+
+    /** If the topic state stored in ZooKeeper is deleted once it was migrated to the compacted Kafka topic. When false, it is kept. */
+    public static final Value<String> DELETE_ZOOKEEPER_TOPIC_STORE = new Value<>(TC_DELETE_ZOOKEEPER_TOPIC_STORE, STRING, "false");
+
+    /** The name of the compacted Kafka topic that stores the topic state when it is not stored in ZooKeeper. */
+    public static final Value<String> STORE_TOPIC = new Value<>(TC_STORE_TOPIC, STRING, "__strimzi_store_topic");
+
+    /** How long the content of the compacted Kafka topic that stores the topic state can take to load on startup. */
+    public static final Value<Long> STORE_TOPIC_LOAD_TIMEOUT_MS = new Value<>(TC_STORE_TOPIC_LOAD_TIMEOUT_MS, DURATION, "120000");
+
     /** If the connection with Kafka has to be encrypted by TLS protocol */
     public static final Value<String> TLS_ENABLED = new Value<>(TC_TLS_ENABLED, STRING, "false");
     /** The truststore with CA certificate for Kafka broker/server authentication */
@@ -167,11 +254,25 @@ public class Config {
         addConfigValue(configValues, ZOOKEEPER_CONNECT);
         addConfigValue(configValues, ZOOKEEPER_SESSION_TIMEOUT_MS);
         addConfigValue(configValues, ZOOKEEPER_CONNECTION_TIMEOUT_MS);
+        addConfigValue(configValues, ZOOKEEPER_SCAN_INTERVAL_MS);
+        addConfigValue(configValues, KAFKA_POLL_INTERVAL_MS);
         addConfigValue(configValues, FULL_RECONCILIATION_INTERVAL_MS);
+        addConfigValue(configValues, PERIODIC_RECONCILIATION_PARALLELISM);
+        addConfigValue(configValues, EVENT_DEBOUNCE_MS);
         addConfigValue(configValues, REASSIGN_THROTTLE);
         addConfigValue(configValues, REASSIGN_VERIFY_INTERVAL_MS);
         addConfigValue(configValues, TOPIC_METADATA_MAX_ATTEMPTS);
+        addConfigValue(configValues, TOPIC_METADATA_BATCH_WINDOW_MS);
+        addConfigValue(configValues, TOPIC_METADATA_MAX_BATCH_SIZE);
+        addConfigValue(configValues, TOPIC_CREATION_BATCH_WINDOW_MS);
+        addConfigValue(configValues, TOPIC_CREATION_MAX_BATCH_SIZE);
         addConfigValue(configValues, TOPICS_PATH);
+        addConfigValue(configValues, SHARDING_ENABLED);
+        addConfigValue(configValues, SHARD_MEMBERS_PATH);
+        addConfigValue(configValues, USE_ZOOKEEPER_TOPIC_STORE);
+        addConfigValue(configValues, STORE_TOPIC);
+        addConfigValue(configValues, STORE_TOPIC_LOAD_TIMEOUT_MS);
+        addConfigValue(configValues, DELETE_ZOOKEEPER_TOPIC_STORE);
         addConfigValue(configValues, TLS_ENABLED);
         addConfigValue(configValues, TLS_TRUSTSTORE_LOCATION);
         addConfigValue(configValues, TLS_TRUSTSTORE_PASSWORD);
@@ -203,6 +304,11 @@ public class Config {
         for (Value<?> value : x.values()) {
             this.map.put(value.key, get(map, value));
         }
+        // Each replica reads the Kafka topic store only once and migrates the ZooKeeper topics on its own
+        if (Boolean.parseBoolean(get(SHARDING_ENABLED)) && !Boolean.parseBoolean(get(USE_ZOOKEEPER_TOPIC_STORE))) {
+            throw new IllegalArgumentException("Config value: " + TC_SHARDING_ENABLED + " requires "
+                    + TC_USE_ZOOKEEPER_TOPIC_STORE + " to be true");
+        }
     }
 
     public static Collection<Value<?>> keys() {
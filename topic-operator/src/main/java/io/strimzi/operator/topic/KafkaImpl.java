@@ -4,11 +4,20 @@
  */
 package io.strimzi.operator.topic;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.strimzi.operator.common.MetricsProvider;
 import io.strimzi.operator.common.Util;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
@@ -22,6 +31,7 @@ import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.admin.TopicDescription;
 import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.errors.TopicExistsException;
 import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -42,9 +52,57 @@ public class KafkaImpl implements Kafka {
 
     protected final Vertx vertx;
 
+    // How long the topicMetadata() calls are collected before they are sent as one request, or 0 for no batching
+    private final long batchWindowMs;
+    private final int maxBatchSize;
+    private final DistributionSummary batchFillRatio;
+
+    // The topics waiting to be described, with the promises of the callers waiting for them
+    private Map<String, List<Promise<TopicMetadata>>> pendingMetadata = new LinkedHashMap<>();
+    private boolean flushScheduled = false;
+
+    // How long the createTopic() calls are collected before they are sent as one request, or 0 for no batching
+    private final long creationBatchWindowMs;
+    private final int creationMaxBatchSize;
+
+    // The topics waiting to be created, with the promises of the callers waiting for them
+    private Map<String, PendingCreation> pendingCreations = new LinkedHashMap<>();
+
     public KafkaImpl(Admin adminClient, Vertx vertx) {
+        this(adminClient, vertx, 0, 1, null);
+    }
+
+    public KafkaImpl(Admin adminClient, Vertx vertx, long batchWindowMs, int maxBatchSize, MetricsProvider metrics) {
+        this(adminClient, vertx, batchWindowMs, maxBatchSize, 0, 1, metrics);
+    }
+
+    /**
+     * @param adminClient The Kafka Admin client.
+     * @param vertx The Vertx instance.
+     * @param batchWindowMs How long the {@link #topicMetadata(TopicName)} calls are collected before the topics are
+     *                      described in one request, or 0 to describe each topic on its own.
+     * @param maxBatchSize The maximum number of topics described in one request.
+     * @param creationBatchWindowMs How long the {@link #createTopic(Topic)} calls are collected before the topics are
+     *                              created in one request, or 0 to create each topic on its own.
+     * @param creationMaxBatchSize The maximum number of topics created in one request.
+     * @param metrics The metrics provider used for the batch fill ratio metric, or null.
+     */
+    public KafkaImpl(Admin adminClient, Vertx vertx, long batchWindowMs, int maxBatchSize, long creationBatchWindowMs,
+                     int creationMaxBatchSize, MetricsProvider metrics) {
         this.adminClient = adminClient;
         this.vertx = vertx;
+        this.batchWindowMs = batchWindowMs;
+        this.maxBatchSize = maxBatchSize;
+        this.creationBatchWindowMs = creationBatchWindowMs;
+        this.creationMaxBatchSize = creationMaxBatchSize;
+
+        if (metrics != null) {
+            this.batchFillRatio = metrics.summary(TopicOperator.METRICS_PREFIX + "topic.metadata.batch.fill.ratio",
+                    "The number of topics described in one request, relative to the maximum batch size",
+                    Tags.of(Tag.of("kind", "KafkaTopic")));
+        } else {
+            this.batchFillRatio = null;
+        }
     }
 
     /**
@@ -94,25 +152,87 @@ public class KafkaImpl implements Kafka {
      * Completes the returned Future on the Vertx event loop
      * with the topic config obtained from the Kafka AdminClient API.
      * The Future completes with a null result a topic with the given {@code topicName} does not exist.
+     * The topics requested within the batch window are described together in one describeTopics and one
+     * describeConfigs request.
      */
     @Override
     public Future<TopicMetadata> topicMetadata(TopicName topicName) {
         LOGGER.debug("Getting metadata for topic {}", topicName);
-        ConfigResource resource = new ConfigResource(ConfigResource.Type.TOPIC, topicName.toString());
-        Future<TopicDescription> topicDescriptionFuture = mapFuture(adminClient.describeTopics(
-                singleton(topicName.toString())).values().get(topicName.toString()));
-        Future<Config> configFuture = mapFuture(adminClient.describeConfigs(
-                singleton(resource)).values().get(resource));
-        return CompositeFuture.all(topicDescriptionFuture, configFuture)
-        .map(compositeFuture ->
-            new TopicMetadata(compositeFuture.resultAt(0), compositeFuture.resultAt(1)))
-            .recover(error -> {
-                if (error instanceof UnknownTopicOrPartitionException) {
-                    return Future.succeededFuture(null);
-                } else {
-                    return Future.failedFuture(error);
-                }
-            });
+        Promise<TopicMetadata> result = Promise.promise();
+        boolean flushNow;
+
+        synchronized (this) {
+            pendingMetadata.computeIfAbsent(topicName.toString(), name -> new ArrayList<>(1)).add(result);
+            flushNow = batchWindowMs <= 0 || pendingMetadata.size() >= maxBatchSize;
+            if (!flushNow && !flushScheduled) {
+                flushScheduled = true;
+                vertx.setTimer(batchWindowMs, id -> flushTopicMetadata());
+            }
+        }
+
+        if (flushNow) {
+            flushTopicMetadata();
+        }
+
+        return result.future();
+    }
+
+    /**
+     * Describes the pending topics in requests of at most {@code maxBatchSize} topics and completes the waiting
+     * promises with the metadata of their topic.
+     */
+    private void flushTopicMetadata() {
+        Map<String, List<Promise<TopicMetadata>>> batch;
+
+        synchronized (this) {
+            batch = pendingMetadata;
+            pendingMetadata = new LinkedHashMap<>();
+            flushScheduled = false;
+        }
+
+        List<String> topics = new ArrayList<>(batch.keySet());
+        for (int from = 0; from < topics.size(); from += maxBatchSize) {
+            List<String> chunk = topics.subList(from, Math.min(from + maxBatchSize, topics.size()));
+            if (batchFillRatio != null) {
+                batchFillRatio.record((double) chunk.size() / maxBatchSize);
+            }
+            describeTopics(chunk, batch);
+        }
+    }
+
+    private void describeTopics(List<String> topics, Map<String, List<Promise<TopicMetadata>>> waiting) {
+        LOGGER.debug("Describing {} topics", topics.size());
+        Map<String, KafkaFuture<TopicDescription>> descriptions;
+        Map<ConfigResource, KafkaFuture<Config>> configs;
+
+        try {
+            Set<String> names = new LinkedHashSet<>(topics);
+            Set<ConfigResource> resources = topics.stream()
+                    .map(topic -> new ConfigResource(ConfigResource.Type.TOPIC, topic))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            descriptions = adminClient.describeTopics(names).values();
+            configs = adminClient.describeConfigs(resources).values();
+        } catch (Exception e) {
+            topics.forEach(topic -> waiting.get(topic).forEach(promise -> promise.tryFail(e)));
+            return;
+        }
+
+        for (String topic : topics) {
+            Future<TopicDescription> topicDescriptionFuture = mapFuture(descriptions.get(topic));
+            Future<Config> configFuture = mapFuture(configs.get(new ConfigResource(ConfigResource.Type.TOPIC, topic)));
+
+            CompositeFuture.all(topicDescriptionFuture, configFuture)
+                .map(compositeFuture ->
+                    new TopicMetadata(compositeFuture.<TopicDescription>resultAt(0), compositeFuture.<Config>resultAt(1)))
+                .recover(error -> {
+                    if (error instanceof UnknownTopicOrPartitionException) {
+                        return Future.succeededFuture(null);
+                    } else {
+                        return Future.failedFuture(error);
+                    }
+                })
+                .onComplete(ar -> waiting.get(topic).forEach(promise -> promise.handle(ar)));
+        }
     }
 
     @Override
@@ -143,18 +263,89 @@ public class KafkaImpl implements Kafka {
     /**
      * Create a new topic via the Kafka AdminClient API, calling the given handler
      * (in a different thread) with the result.
+     * The topics created within the creation batch window are created together in one createTopics request,
+     * and each caller gets the result for its own topic.
      */
     @Override
     public Future<Void> createTopic(Topic topic) {
+        NewTopic newTopic;
         try {
-            NewTopic newTopic = TopicSerialization.toNewTopic(topic, null);
-            LOGGER.debug("Creating topic {}", newTopic);
-            KafkaFuture<Void> future = adminClient.createTopics(
-                    singleton(newTopic)).values().get(newTopic.name());
-            return mapFuture(future);
+            newTopic = TopicSerialization.toNewTopic(topic, null);
         } catch (Exception e) {
             return Future.failedFuture(e);
         }
+        LOGGER.debug("Creating topic {}", newTopic);
+
+        if (creationBatchWindowMs <= 0) {
+            try {
+                KafkaFuture<Void> future = adminClient.createTopics(
+                        singleton(newTopic)).values().get(newTopic.name());
+                return mapFuture(future);
+            } catch (Exception e) {
+                return Future.failedFuture(e);
+            }
+        }
+
+        Promise<Void> result = Promise.promise();
+        boolean flushNow;
+
+        synchronized (this) {
+            if (pendingCreations.containsKey(newTopic.name())) {
+                return Future.failedFuture(new TopicExistsException("Topic '" + newTopic.name() + "' is already being created."));
+            }
+            if (pendingCreations.isEmpty()) {
+                vertx.setTimer(creationBatchWindowMs, id -> flushCreations());
+            }
+            pendingCreations.put(newTopic.name(), new PendingCreation(newTopic, result));
+            flushNow = pendingCreations.size() >= creationMaxBatchSize;
+        }
+
+        if (flushNow) {
+            flushCreations();
+        }
+
+        return result.future();
+    }
+
+    /**
+     * Creates the pending topics in requests of at most {@code creationMaxBatchSize} topics and completes the waiting
+     * promises with the result of their topic, so that a topic which cannot be created does not fail the others.
+     */
+    private void flushCreations() {
+        Map<String, PendingCreation> batch;
+
+        synchronized (this) {
+            if (pendingCreations.isEmpty()) {
+                return;
+            }
+            batch = pendingCreations;
+            pendingCreations = new LinkedHashMap<>();
+        }
+
+        List<PendingCreation> creations = new ArrayList<>(batch.values());
+        for (int from = 0; from < creations.size(); from += creationMaxBatchSize) {
+            List<PendingCreation> chunk = creations.subList(from, Math.min(from + creationMaxBatchSize, creations.size()));
+            LOGGER.debug("Creating {} topics", chunk.size());
+            try {
+                Map<String, KafkaFuture<Void>> results = adminClient.createTopics(
+                        chunk.stream().map(creation -> creation.newTopic).collect(Collectors.toList())).values();
+                for (PendingCreation creation : chunk) {
+                    mapFuture(results.get(creation.newTopic.name())).onComplete(creation.result);
+                }
+            } catch (Exception e) {
+                chunk.forEach(creation -> creation.result.tryFail(e));
+            }
+        }
+    }
+
+    private static class PendingCreation {
+        private final NewTopic newTopic;
+        private final Promise<Void> result;
+
+        PendingCreation(NewTopic newTopic, Promise<Void> result) {
+            this.newTopic = newTopic;
+            this.result = result;
+        }
     }
 
     private <T> Future<T> mapFuture(KafkaFuture<T> future) {
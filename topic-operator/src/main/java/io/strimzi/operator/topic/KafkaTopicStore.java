@@ -0,0 +1,372 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.topic;
+
+import io.strimzi.operator.topic.zk.Zk;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.I0Itec.zkclient.exception.ZkNoNodeException;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link TopicStore} that stores the topic state in a compacted Kafka topic.
+ *
+ * The content of the store topic is read into memory when the store is created and the reads are served from memory.
+ * The writes are sent through one producer, which batches them, and the in-memory view is updated when Kafka
+ * acknowledges them. The operator has to be the only writer to the store topic.
+ *
+ * When the store is created, the topics stored in ZooKeeper by the {@link ZkTopicStore} are copied into it, unless
+ * they were already copied and the {@link ZkTopicStore} was not used since. Their znodes are kept unless their deletion
+ * is requested.
+ */
+public class KafkaTopicStore implements TopicStore {
+
+    private final static Logger LOGGER = LogManager.getLogger(KafkaTopicStore.class);
+
+    private static final long POLL_TIMEOUT_MS = 1_000;
+    private static final int MAX_REPLICATION_FACTOR = 3;
+    // The data of the ZooKeeper topics path once its topics were migrated
+    private static final byte[] MIGRATED_MARKER = "{\"migrated\":true}".getBytes(StandardCharsets.UTF_8);
+
+    private final Vertx vertx;
+    private final String storeTopic;
+    private final Producer<String, byte[]> producer;
+    // The topics in the store, as they would be read back from it
+    private final Map<TopicName, Topic> topics = new ConcurrentHashMap<>();
+
+    /*test*/ KafkaTopicStore(Vertx vertx, String storeTopic, Producer<String, byte[]> producer) {
+        this.vertx = vertx;
+        this.storeTopic = storeTopic;
+        this.producer = producer;
+    }
+
+    /**
+     * Creates the store topic when it does not exist, loads its content and migrates the topics from ZooKeeper.
+     *
+     * @param vertx The Vertx instance.
+     * @param adminClient The Admin client used to create the store topic.
+     * @param kafkaProperties The properties used to connect to Kafka (bootstrap servers and security configuration).
+     * @param storeTopic The name of the store topic.
+     * @param loadTimeoutMs The maximum time to load the content of the store topic.
+     * @param zk The ZooKeeper client used for the migration.
+     * @param zkTopicsPath The path to the znode with the topics stored by the {@link ZkTopicStore}.
+     * @param deleteZkTopics Whether the znodes of the migrated topics are deleted.
+     * @return A future which completes with the topic store.
+     */
+    public static Future<KafkaTopicStore> create(Vertx vertx, Admin adminClient, Properties kafkaProperties,
+                                                 String storeTopic, long loadTimeoutMs,
+                                                 Zk zk, String zkTopicsPath, boolean deleteZkTopics) {
+        Promise<KafkaTopicStore> result = Promise.promise();
+
+        vertx.<KafkaTopicStore>executeBlocking(future -> {
+            try {
+                createStoreTopic(adminClient, storeTopic);
+
+                Properties producerProperties = new Properties();
+                producerProperties.putAll(kafkaProperties);
+                producerProperties.put(ProducerConfig.ACKS_CONFIG, "all");
+                producerProperties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "true");
+                producerProperties.put(ProducerConfig.LINGER_MS_CONFIG, "5");
+
+                KafkaTopicStore store = new KafkaTopicStore(vertx, storeTopic,
+                        new KafkaProducer<>(producerProperties, new StringSerializer(), new ByteArraySerializer()));
+                Properties consumerProperties = new Properties();
+                consumerProperties.putAll(kafkaProperties);
+                consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+                try (KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(consumerProperties, new StringDeserializer(), new ByteArrayDeserializer())) {
+                    store.load(consumer, loadTimeoutMs);
+                }
+                future.complete(store);
+            } catch (Throwable t) {
+                future.fail(t);
+            }
+        }, true, result);
+
+        return result.future().compose(store -> store.migrateFromZooKeeper(zk, zkTopicsPath, deleteZkTopics).map(store));
+    }
+
+    private static void createStoreTopic(Admin adminClient, String storeTopic) throws InterruptedException, ExecutionException {
+        int brokers = adminClient.describeCluster().nodes().get().size();
+        NewTopic newTopic = new NewTopic(storeTopic, 1, (short) Math.min(MAX_REPLICATION_FACTOR, brokers))
+                .configs(Collections.singletonMap(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT));
+
+        try {
+            adminClient.createTopics(Collections.singleton(newTopic)).all().get();
+            LOGGER.info("Created the topic store topic {}", storeTopic);
+        } catch (ExecutionException e) {
+            if (!(e.getCause() instanceof TopicExistsException)) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Reads the content of the store topic into memory.
+     *
+     * @param consumer The consumer used to read the store topic.
+     * @param timeoutMs The maximum time to read the store topic up to its end offsets.
+     * @throws TimeoutException When the end offsets were not reached in time.
+     */
+    /*test*/ void load(Consumer<String, byte[]> consumer, long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        List<TopicPartition> partitions = consumer.partitionsFor(storeTopic, Duration.ofMillis(timeoutMs)).stream()
+                .map(info -> new TopicPartition(info.topic(), info.partition()))
+                .collect(Collectors.toList());
+        consumer.assign(partitions);
+        consumer.seekToBeginning(partitions);
+        Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions, Duration.ofMillis(timeoutMs));
+
+        while (partitions.stream().anyMatch(partition -> consumer.position(partition) < endOffsets.get(partition))) {
+            long remainingMs = deadline - System.currentTimeMillis();
+            if (remainingMs <= 0) {
+                throw new TimeoutException("Timed out after " + timeoutMs + "ms loading the topic store topic " + storeTopic
+                        + " up to the offsets " + endOffsets);
+            }
+            for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(Math.min(POLL_TIMEOUT_MS, remainingMs)))) {
+                TopicName topicName = new TopicName(record.key());
+                if (record.value() == null) {
+                    topics.remove(topicName);
+                } else {
+                    topics.put(topicName, TopicSerialization.fromJson(record.value()));
+                }
+            }
+        }
+
+        LOGGER.info("Loaded {} topics from the topic store topic {}", topics.size(), storeTopic);
+    }
+
+    /**
+     * Makes this store match the topics stored by the {@link ZkTopicStore}: the topics in ZooKeeper are written
+     * to this store when they differ from the stored ones and the stored topics which are not in ZooKeeper are deleted.
+     * Doing it again gives the same result, so the migration can be restarted when it fails half way.
+     *
+     * The znodes are left in place, so that the operator can go back to the {@link ZkTopicStore}, and the migration
+     * is recorded in the data of the {@code zkTopicsPath} znode, so that the topics are not copied again once this
+     * store was changed. The record is removed by {@link #clearMigrationMarker(Zk, String)} when the operator goes back
+     * to the {@link ZkTopicStore}, so that the topics are copied again the next time this store is used.
+     * The znodes of the topics are deleted only when {@code deleteZkTopics} is true.
+     *
+     * @param zk The ZooKeeper client.
+     * @param zkTopicsPath The path to the znode with the topics stored by the {@link ZkTopicStore}.
+     * @param deleteZkTopics Whether the znodes of the topics are deleted once they were copied.
+     * @return A future which completes once the topics were copied (and deleted).
+     */
+    /*test*/ Future<Void> migrateFromZooKeeper(Zk zk, String zkTopicsPath, boolean deleteZkTopics) {
+        Promise<byte[]> marker = Promise.promise();
+        zk.getData(zkTopicsPath, marker);
+
+        // Without the topics path, there is nothing to migrate
+        return marker.future().recover(error -> error instanceof ZkNoNodeException
+                ? Future.succeededFuture(MIGRATED_MARKER) : Future.failedFuture(error))
+            .compose(data -> {
+                if (isMigrationMarker(data)) {
+                    LOGGER.debug("The topics under ZooKeeper path {} were already migrated", zkTopicsPath);
+                    return Future.<Void>succeededFuture();
+                }
+                return children(zk, zkTopicsPath)
+                    .compose(children -> copyFromZooKeeper(zk, zkTopicsPath, children))
+                    .compose(ignored -> {
+                        Promise<Void> marked = Promise.promise();
+                        zk.setData(zkTopicsPath, MIGRATED_MARKER, -1, marked);
+                        return marked.future();
+                    });
+            })
+            .compose(ignored -> deleteZkTopics ? deleteFromZooKeeper(zk, zkTopicsPath) : Future.<Void>succeededFuture());
+    }
+
+    private static boolean isMigrationMarker(byte[] data) {
+        return Arrays.equals(data, MIGRATED_MARKER);
+    }
+
+    /**
+     * Removes the record of the migration from the data of the {@code zkTopicsPath} znode, because the
+     * {@link ZkTopicStore} is used (again) and the topics in ZooKeeper become newer than the ones in this store.
+     *
+     * @param zk The ZooKeeper client.
+     * @param zkTopicsPath The path to the znode with the topics stored by the {@link ZkTopicStore}.
+     * @return A future which completes once the record was removed.
+     */
+    public static Future<Void> clearMigrationMarker(Zk zk, String zkTopicsPath) {
+        Promise<byte[]> marker = Promise.promise();
+        zk.getData(zkTopicsPath, marker);
+
+        return marker.future().recover(error -> error instanceof ZkNoNodeException
+                ? Future.succeededFuture(null) : Future.failedFuture(error))
+            .compose(data -> {
+                if (!isMigrationMarker(data)) {
+                    return Future.succeededFuture();
+                }
+                LOGGER.info("The topics under ZooKeeper path {} will be migrated again when the topic store topic is used", zkTopicsPath);
+                Promise<Void> cleared = Promise.promise();
+                zk.setData(zkTopicsPath, new byte[0], -1, cleared);
+                return cleared.future();
+            });
+    }
+
+    private static Future<List<String>> children(Zk zk, String zkTopicsPath) {
+        Promise<List<String>> childrenPromise = Promise.promise();
+        zk.children(zkTopicsPath, ar -> {
+            if (ar.failed() && ar.cause() instanceof ZkNoNodeException) {
+                childrenPromise.complete(Collections.emptyList());
+            } else {
+                childrenPromise.handle(ar);
+            }
+        });
+        return childrenPromise.future();
+    }
+
+    private Future<Void> copyFromZooKeeper(Zk zk, String zkTopicsPath, List<String> children) {
+        Set<TopicName> removed = new HashSet<>(topics.keySet());
+        children.forEach(child -> removed.remove(new TopicName(child)));
+        if (children.isEmpty() && removed.isEmpty()) {
+            return Future.succeededFuture();
+        }
+
+        LOGGER.info("Migrating {} topics from ZooKeeper path {} to the topic store topic {}", children.size(), zkTopicsPath, storeTopic);
+        List<Future> migrations = new ArrayList<>(children.size() + removed.size());
+        for (String child : children) {
+            Promise<byte[]> data = Promise.promise();
+            zk.getData(zkTopicsPath + "/" + child, data);
+
+            migrations.add(data.future().compose(json -> {
+                Topic topic = TopicSerialization.fromJson(json);
+                return topic.equals(topics.get(topic.getTopicName())) ? Future.succeededFuture() : write(topic.getTopicName(), json);
+            }));
+        }
+        // These were deleted while the ZooKeeper store was used
+        for (TopicName topicName : removed) {
+            migrations.add(write(topicName, null));
+        }
+
+        return CompositeFuture.all(migrations).<Void>map(ignored -> {
+            LOGGER.info("Migrated {} topics from ZooKeeper, their znodes are kept under {}", children.size(), zkTopicsPath);
+            return null;
+        });
+    }
+
+    private static Future<Void> deleteFromZooKeeper(Zk zk, String zkTopicsPath) {
+        return children(zk, zkTopicsPath).compose(children -> {
+            if (children.isEmpty()) {
+                return Future.succeededFuture();
+            }
+
+            LOGGER.info("Deleting {} migrated topics from ZooKeeper path {}", children.size(), zkTopicsPath);
+            List<Future> deletions = new ArrayList<>(children.size());
+            for (String child : children) {
+                Promise<Void> deleted = Promise.promise();
+                zk.delete(zkTopicsPath + "/" + child, -1, deleted);
+                deletions.add(deleted.future());
+            }
+            return CompositeFuture.all(deletions).mapEmpty();
+        });
+    }
+
+    @Override
+    public Future<Topic> read(TopicName name) {
+        return Future.succeededFuture(topics.get(name));
+    }
+
+    @Override
+    public Future<Void> create(Topic topic) {
+        if (topics.containsKey(topic.getTopicName())) {
+            return Future.failedFuture(new EntityExistsException());
+        }
+        return write(topic.getTopicName(), TopicSerialization.toJson(topic));
+    }
+
+    @Override
+    public Future<Void> update(Topic topic) {
+        if (!topics.containsKey(topic.getTopicName())) {
+            return Future.failedFuture(new NoSuchEntityExistsException());
+        }
+        return write(topic.getTopicName(), TopicSerialization.toJson(topic));
+    }
+
+    @Override
+    public Future<Void> delete(TopicName topicName) {
+        if (!topics.containsKey(topicName)) {
+            return Future.failedFuture(new NoSuchEntityExistsException());
+        }
+        return write(topicName, null);
+    }
+
+    /**
+     * Sends the topic to the store topic, or a tombstone when {@code json} is null, and updates the in-memory view
+     * when the write is acknowledged.
+     */
+    private Future<Void> write(TopicName topicName, byte[] json) {
+        Context context = vertx.getOrCreateContext();
+        Promise<Void> result = Promise.promise();
+
+        try {
+            producer.send(new ProducerRecord<>(storeTopic, topicName.toString(), json), (metadata, error) -> {
+                if (error == null) {
+                    if (json == null) {
+                        topics.remove(topicName);
+                    } else {
+                        topics.put(topicName, TopicSerialization.fromJson(json));
+                    }
+                }
+                context.runOnContext(ignored -> {
+                    if (error != null) {
+                        LOGGER.error("Error writing topic {} to the topic store topic {}", topicName, storeTopic, error);
+                        result.fail(error);
+                    } else {
+                        result.complete();
+                    }
+                });
+            });
+        } catch (Exception e) {
+            result.fail(e);
+        }
+
+        return result.future();
+    }
+
+    /**
+     * Closes the producer, waiting for the pending writes for at most the given time.
+     *
+     * @param timeout The maximum time to wait.
+     */
+    public void close(Duration timeout) {
+        producer.close(timeout);
+    }
+}
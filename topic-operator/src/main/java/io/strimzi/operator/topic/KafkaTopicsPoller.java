@@ -0,0 +1,257 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.topic;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Detects the topic changes made directly in Kafka by polling the topics through the {@link Kafka} interface,
+ * as an alternative to the ZooKeeper watches of {@link ZkTopicsWatcher}.
+ *
+ * Every poll lists the topics and describes them. The descriptions are batched by {@link KafkaImpl}, which collects
+ * them for at least {@link #METADATA_BATCH_WINDOW_MS} when the poller is used. Only a fingerprint of each topic
+ * is kept between the polls, and
+ * {@link TopicOperator#onTopicCreated(LogContext, TopicName)},
+ * {@link TopicOperator#onTopicDeleted(LogContext, TopicName)},
+ * {@link TopicOperator#onTopicPartitionsChanged(LogContext, TopicName)} and
+ * {@link TopicOperator#onTopicConfigChanged(LogContext, TopicName)} are called only for the topics which changed.
+ * The first successful poll only records the fingerprints, because the initial reconciliation covers all topics.
+ * The topics which it could not describe are recorded silently by the next poll which describes them.
+ * When the topics are shared between replicas, only the topics owned by this replica are described.
+ */
+class KafkaTopicsPoller {
+
+    private final static Logger LOGGER = LogManager.getLogger(KafkaTopicsPoller.class);
+
+    /**
+     * The window of the topic metadata batches when the poller is used and {@link Config#TOPIC_METADATA_BATCH_WINDOW_MS}
+     * is 0. All the descriptions of a poll are requested at once, so they fill the batches of
+     * {@link Config#TOPIC_METADATA_MAX_BATCH_SIZE} topics.
+     */
+    static final long METADATA_BATCH_WINDOW_MS = 10;
+
+    // The fingerprint of the topics owned by another replica, which are listed but not described
+    private static final long NOT_OWNED = Long.MIN_VALUE;
+    // The fingerprint of the topics which existed when the topics were first recorded, but could not be described
+    private static final long NOT_DESCRIBED = Long.MIN_VALUE + 1;
+
+    private final Vertx vertx;
+    private final Kafka kafka;
+    private final TopicOperator topicOperator;
+    private final long intervalMs;
+
+    // The fingerprints of the topics from the last poll, with the partitions hash in the upper 32 bits
+    // and the config hash in the lower 32 bits
+    private final Map<String, Long> fingerprints = new ConcurrentHashMap<>();
+
+    private volatile int state = 0;
+    private volatile Long timerId;
+
+    /**
+     * Constructor
+     *
+     * @param vertx    Vertx instance
+     * @param kafka    Kafka client to poll the topics with
+     * @param topicOperator    Operator instance to notify
+     * @param intervalMs    interval between the end of a poll and the start of the next one
+     */
+    KafkaTopicsPoller(Vertx vertx, Kafka kafka, TopicOperator topicOperator, long intervalMs) {
+        this.vertx = vertx;
+        this.kafka = kafka;
+        this.topicOperator = topicOperator;
+        this.intervalMs = intervalMs;
+    }
+
+    void start() {
+        poll().onComplete(ar -> {
+            if (state != 2) {
+                schedule();
+            }
+        });
+    }
+
+    void stop() {
+        this.state = 2;
+        Long timerId = this.timerId;
+        if (timerId != null) {
+            vertx.cancelTimer(timerId);
+        }
+    }
+
+    boolean started() {
+        return this.state == 1;
+    }
+
+    private void schedule() {
+        timerId = vertx.setTimer(intervalMs, id -> {
+            timerId = null;
+            if (state == 2) {
+                return;
+            }
+            poll().onComplete(ar -> {
+                if (state != 2) {
+                    schedule();
+                }
+            });
+        });
+    }
+
+    /**
+     * Poll the topics once and notify the operator about the changed topics. Until a poll succeeds, the polls only
+     * record the topics.
+     *
+     * @return A future which completes when the poll is done
+     */
+    Future<Void> poll() {
+        boolean initial = !started();
+        return kafka.listTopics().compose(names -> {
+            Map<String, Future<TopicMetadata>> metadata = new HashMap<>(names.size());
+            for (String name : names) {
+                TopicName topicName = new TopicName(name);
+                if (topicOperator.owns(topicName)) {
+                    metadata.put(name, kafka.topicMetadata(topicName));
+                } else {
+                    fingerprints.put(name, NOT_OWNED);
+                }
+            }
+            return CompositeFuture.join(new ArrayList<>(metadata.values()))
+                    .recover(error -> Future.succeededFuture())
+                    .<Void>map(ignored -> {
+                        compare(names, metadata, initial);
+                        if (initial && state == 0) {
+                            this.state = 1;
+                        }
+                        return null;
+                    });
+        }).recover(error -> {
+            LOGGER.warn("Error polling the topics", error);
+            return Future.failedFuture(error);
+        });
+    }
+
+    private void compare(Set<String> names, Map<String, Future<TopicMetadata>> metadata, boolean initial) {
+        for (Iterator<String> it = fingerprints.keySet().iterator(); it.hasNext(); ) {
+            String name = it.next();
+            if (!names.contains(name)) {
+                it.remove();
+                if (!initial) {
+                    LogContext logContext = LogContext.kafkaPoll("-" + name);
+                    LOGGER.info("{}: Topic deleted", logContext);
+                    topicOperator.onTopicDeleted(logContext, new TopicName(name))
+                            .onComplete(ar -> log(logContext, "deletion", name, ar.cause()));
+                }
+            }
+        }
+
+        for (Map.Entry<String, Future<TopicMetadata>> entry : metadata.entrySet()) {
+            String name = entry.getKey();
+            Future<TopicMetadata> result = entry.getValue();
+            if (result.failed()) {
+                // The topic is compared again in the next poll
+                LOGGER.debug("Error describing topic {}", name, result.cause());
+                if (initial) {
+                    fingerprints.putIfAbsent(name, NOT_DESCRIBED);
+                }
+                continue;
+            } else if (result.result() == null) {
+                // The topic was deleted after it was listed
+                continue;
+            }
+
+            long fingerprint = fingerprint(result.result());
+            Long previous = fingerprints.put(name, fingerprint);
+            if (initial || Objects.equals(previous, fingerprint)) {
+                continue;
+            }
+
+            if (previous != null && previous == NOT_OWNED) {
+                // The topic moved to this replica, which reconciles the topics it owns after a rebalance
+                LOGGER.debug("Topic {} is now owned by this replica", name);
+                continue;
+            } else if (previous != null && previous == NOT_DESCRIBED) {
+                // The topic existed before the first poll, so the initial reconciliation covers it
+                LOGGER.debug("Topic {} is now described", name);
+                continue;
+            }
+
+            if (previous == null) {
+                LogContext logContext = LogContext.kafkaPoll("+" + name);
+                LOGGER.info("{}: Topic created", logContext);
+                topicOperator.onTopicCreated(logContext, new TopicName(name))
+                        .onComplete(ar -> log(logContext, "creation", name, ar.cause()));
+                continue;
+            }
+
+            if (partitionsHash(previous) != partitionsHash(fingerprint)) {
+                LogContext logContext = LogContext.kafkaPoll("=" + name);
+                LOGGER.info("{}: Partitions change", logContext);
+                topicOperator.onTopicPartitionsChanged(logContext, new TopicName(name))
+                        .onComplete(ar -> log(logContext, "partitions change", name, ar.cause()));
+            }
+            if (configHash(previous) != configHash(fingerprint)) {
+                LogContext logContext = LogContext.kafkaPoll("=" + name);
+                LOGGER.info("{}: Topic config change", logContext);
+                topicOperator.onTopicConfigChanged(logContext, new TopicName(name))
+                        .onComplete(ar -> log(logContext, "config change", name, ar.cause()));
+            }
+        }
+    }
+
+    private static void log(LogContext logContext, String change, String name, Throwable error) {
+        if (error == null) {
+            LOGGER.debug("{}: Success responding to {} of topic {}", logContext, change, name);
+        } else {
+            LOGGER.warn("{}: Error responding to {} of topic {}", logContext, change, name, error);
+        }
+    }
+
+    /**
+     * Computes the fingerprint of the topic from its partitions, their replicas and the topic configs which are not
+     * defaults. The hashes do not depend on the order in which Kafka returns the partitions and configs.
+     */
+    /*test*/ static long fingerprint(TopicMetadata metadata) {
+        int partitionsHash = 0;
+        for (TopicPartitionInfo partition : metadata.getDescription().partitions()) {
+            int hash = partition.partition();
+            for (Node replica : partition.replicas()) {
+                hash = 31 * hash + replica.id();
+            }
+            partitionsHash += hash * 0x9E3779B1;
+        }
+
+        int configHash = 0;
+        for (ConfigEntry entry : metadata.getConfig().entries()) {
+            if (entry.source() != ConfigEntry.ConfigSource.DEFAULT_CONFIG
+                    && entry.source() != ConfigEntry.ConfigSource.STATIC_BROKER_CONFIG) {
+                configHash += 31 * entry.name().hashCode() + Objects.hashCode(entry.value());
+            }
+        }
+
+        return ((long) partitionsHash << 32) | (configHash & 0xFFFFFFFFL);
+    }
+
+    private static int partitionsHash(long fingerprint) {
+        return (int) (fingerprint >>> 32);
+    }
+
+    private static int configHash(long fingerprint) {
+        return (int) fingerprint;
+    }
+}
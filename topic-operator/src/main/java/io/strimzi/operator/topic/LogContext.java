@@ -31,6 +31,10 @@ public class LogContext {
         return new LogContext(znode + " " + childAction);
     }
 
+    static LogContext kafkaPoll(String topicAction) {
+        return new LogContext("kafka poll " + topicAction);
+    }
+
     static LogContext kubeWatch(Watcher.Action action, KafkaTopic kafkaTopic) {
         LogContext logContext = new LogContext("kube " + action(action) + kafkaTopic.getMetadata().getName());
         logContext.resourceVersion = kafkaTopic.getMetadata().getResourceVersion();
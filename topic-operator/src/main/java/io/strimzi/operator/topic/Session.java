@@ -29,6 +29,7 @@ import org.apache.logging.log4j.Logger;
 import java.security.Security;
 import java.time.Duration;
 import java.util.Properties;
+import java.util.UUID;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
 
 public class Session extends AbstractVerticle {
@@ -49,11 +50,18 @@ public class Session extends AbstractVerticle {
     /*test*/ ZkTopicsWatcher topicsWatcher;
     /*test*/ TopicConfigsWatcher topicConfigsWatcher;
     /*test*/ ZkTopicWatcher topicWatcher;
+    /*test*/ KafkaTopicsPoller topicsPoller;
+    /*test*/ TopicShards shards;
     /*test*/ PrometheusMeterRegistry metricsRegistry;
     /** The id of the periodic reconciliation timer. This is null during a periodic reconciliation. */
     private volatile Long timerId;
+    /** The id of the timer of the next scan of the topic znodes, when they are scanned instead of watched. */
+    private volatile Long scanTimerId;
     private volatile boolean stopped = false;
+    private boolean rebalancing = false;
+    private boolean rebalancePending = false;
     private Zk zk;
+    private KafkaTopicStore kafkaTopicStore;
     private volatile HttpServer healthServer;
 
     public Session(KubernetesClient kubeClient, Config config) {
@@ -77,14 +85,24 @@ public class Session extends AbstractVerticle {
         if (timerId != null) {
             vertx.cancelTimer(timerId);
         }
+        Long scanTimerId = this.scanTimerId;
+        if (scanTimerId != null) {
+            vertx.cancelTimer(scanTimerId);
+        }
         vertx.executeBlocking(blockingResult -> {
             long timeout = 120_000L;
             long deadline = System.currentTimeMillis() + timeout;
             LOGGER.info("Stopping");
             LOGGER.debug("Stopping kube watch");
             topicWatch.close();
-            LOGGER.debug("Stopping zk watches");
-            topicsWatcher.stop();
+            if (topicsWatcher != null) {
+                LOGGER.debug("Stopping zk watches");
+                topicsWatcher.stop();
+            }
+            if (topicsPoller != null) {
+                LOGGER.debug("Stopping Kafka polling");
+                topicsPoller.stop();
+            }
 
             Promise<Void> promise = Promise.promise();
             Handler<Long> longHandler = new Handler<Long>() {
@@ -104,6 +122,12 @@ public class Session extends AbstractVerticle {
             };
             longHandler.handle(null);
             promise.future().compose(ignored -> {
+                if (shards != null) {
+                    LOGGER.debug("Leaving the Topic Operator members");
+                    return shards.stop();
+                }
+                return Future.succeededFuture();
+            }).compose(ignored -> {
 
                 LOGGER.debug("Disconnecting from zookeeper {}", zk);
                 zk.disconnect(zkResult -> {
@@ -113,6 +137,11 @@ public class Session extends AbstractVerticle {
                     long timeoutMs = Math.max(1, deadline - System.currentTimeMillis());
                     LOGGER.debug("Closing AdminClient {} with timeout {}ms", adminClient, timeoutMs);
                     try {
+                        if (kafkaTopicStore != null) {
+                            LOGGER.debug("Closing KafkaTopicStore with timeout {}ms", timeoutMs);
+                            kafkaTopicStore.close(Duration.ofMillis(timeoutMs));
+                            timeoutMs = Math.max(1, deadline - System.currentTimeMillis());
+                        }
                         adminClient.close(Duration.ofMillis(timeoutMs));
                         HttpServer healthServer = this.healthServer;
                         if (healthServer != null) {
@@ -151,7 +180,17 @@ public class Session extends AbstractVerticle {
 
         this.adminClient = AdminClient.create(adminClientProps);
         LOGGER.debug("Using AdminClient {}", adminClient);
-        this.kafka = new KafkaImpl(adminClient, vertx);
+        long metadataBatchWindowMs = config.get(Config.TOPIC_METADATA_BATCH_WINDOW_MS);
+        if (metadataBatchWindowMs <= 0 && config.get(Config.KAFKA_POLL_INTERVAL_MS) > 0) {
+            // Each poll describes all the topics, which have to be described in batches
+            metadataBatchWindowMs = KafkaTopicsPoller.METADATA_BATCH_WINDOW_MS;
+        }
+        this.kafka = new KafkaImpl(adminClient, vertx,
+                metadataBatchWindowMs,
+                config.get(Config.TOPIC_METADATA_MAX_BATCH_SIZE),
+                config.get(Config.TOPIC_CREATION_BATCH_WINDOW_MS),
+                config.get(Config.TOPIC_CREATION_MAX_BATCH_SIZE),
+                new MicrometerMetricsProvider());
         LOGGER.debug("Using Kafka {}", kafka);
         Labels labels = config.get(Config.LABELS);
 
@@ -172,66 +211,166 @@ public class Session extends AbstractVerticle {
                 LOGGER.debug("Using ZooKeeper {}", zk);
 
                 String topicsPath = config.get(Config.TOPICS_PATH);
-                ZkTopicStore topicStore = new ZkTopicStore(zk, topicsPath);
-
-                LOGGER.debug("Using TopicStore {}", topicStore);
-
-                this.topicOperator = new TopicOperator(vertx, kafka, k8s, topicStore, labels, namespace, config, new MicrometerMetricsProvider());
-                LOGGER.debug("Using Operator {}", topicOperator);
+                Future<TopicStore> topicStoreFuture;
+                if (Boolean.parseBoolean(config.get(Config.USE_ZOOKEEPER_TOPIC_STORE))) {
+                    // ZooKeeper is the store again, so its topics are copied again if the Kafka store is used later
+                    topicStoreFuture = KafkaTopicStore.clearMigrationMarker(zk, topicsPath)
+                        .map(ignored -> new ZkTopicStore(zk, topicsPath, vertx, config.get(Config.TOPIC_CREATION_BATCH_WINDOW_MS)));
+                } else {
+                    topicStoreFuture = KafkaTopicStore.create(vertx, adminClient, adminClientProps, config.get(Config.STORE_TOPIC),
+                            config.get(Config.STORE_TOPIC_LOAD_TIMEOUT_MS), zk, topicsPath,
+                            Boolean.parseBoolean(config.get(Config.DELETE_ZOOKEEPER_TOPIC_STORE)))
+                        .map(store -> {
+                            this.kafkaTopicStore = store;
+                            return store;
+                        });
+                }
 
-                this.topicConfigsWatcher = new TopicConfigsWatcher(topicOperator);
-                LOGGER.debug("Using TopicConfigsWatcher {}", topicConfigsWatcher);
-                this.topicWatcher = new ZkTopicWatcher(topicOperator);
-                LOGGER.debug("Using TopicWatcher {}", topicWatcher);
-                this.topicsWatcher = new ZkTopicsWatcher(topicOperator, topicConfigsWatcher, topicWatcher);
-                LOGGER.debug("Using TopicsWatcher {}", topicsWatcher);
-                topicsWatcher.start(zk);
+                if (Boolean.parseBoolean(config.get(Config.SHARDING_ENABLED))) {
+                    // The pod name is unique among the replicas
+                    String memberId = System.getenv("HOSTNAME") != null ? System.getenv("HOSTNAME") : UUID.randomUUID().toString();
+                    this.shards = new TopicShards(zk, config.get(Config.SHARD_MEMBERS_PATH), memberId);
+                    LOGGER.debug("Using TopicShards {} with member id {}", shards, memberId);
+                    topicStoreFuture = topicStoreFuture.compose(store -> shards.start(ignored -> rebalance()).map(store));
+                }
 
-                Promise<Void> promise = Promise.promise();
-                Promise<Void> initReconcilePromise = Promise.promise();
-                K8sTopicWatcher watcher = new K8sTopicWatcher(topicOperator, initReconcilePromise.future());
-                Thread resourceThread = new Thread(() -> {
-                    try {
-                        LOGGER.debug("Watching KafkaTopics matching {}", labels.labels());
+                topicStoreFuture.onComplete(topicStoreResult -> {
+                    if (topicStoreResult.failed()) {
+                        start.fail(topicStoreResult.cause());
+                    } else {
+                        startOperator(start, topicStoreResult.result(), labels, namespace);
+                    }
+                });
+            });
+    }
 
-                        Session.this.topicWatch = kubeClient.customResources(Crds.kafkaTopic(), KafkaTopic.class, KafkaTopicList.class, DoneableKafkaTopic.class)
-                                .inNamespace(namespace).withLabels(labels.labels()).watch(watcher);
-                        LOGGER.debug("Watching setup");
+    @SuppressWarnings("deprecation")
+    private void startOperator(Promise<Void> start, TopicStore topicStore, Labels labels, String namespace) {
+        LOGGER.debug("Using TopicStore {}", topicStore);
 
-                        // start the HTTP server for healthchecks
-                        healthServer = this.startHealthServer();
-                        promise.complete();
-                    } catch (Throwable t) {
-                        promise.fail(t);
-                    }
+        this.topicOperator = new TopicOperator(vertx, kafka, k8s, topicStore, labels, namespace, config, new MicrometerMetricsProvider());
+        LOGGER.debug("Using Operator {}", topicOperator);
+        if (shards != null) {
+            topicOperator.setShards(shards);
+        }
 
-                }, "resource-watcher");
-                LOGGER.debug("Starting {}", resourceThread);
-                resourceThread.start();
+        final long pollInterval = config.get(Config.KAFKA_POLL_INTERVAL_MS);
+        if (pollInterval > 0) {
+            this.topicsPoller = new KafkaTopicsPoller(vertx, kafka, topicOperator, pollInterval);
+            LOGGER.debug("Using TopicsPoller {}", topicsPoller);
+            topicsPoller.start();
+        } else {
+            final long scanInterval = config.get(Config.ZOOKEEPER_SCAN_INTERVAL_MS);
+            this.topicConfigsWatcher = new TopicConfigsWatcher(topicOperator, scanInterval > 0);
+            LOGGER.debug("Using TopicConfigsWatcher {}", topicConfigsWatcher);
+            this.topicWatcher = new ZkTopicWatcher(topicOperator, scanInterval > 0);
+            LOGGER.debug("Using TopicWatcher {}", topicWatcher);
+            this.topicsWatcher = new ZkTopicsWatcher(topicOperator, topicConfigsWatcher, topicWatcher);
+            LOGGER.debug("Using TopicsWatcher {}", topicsWatcher);
+            topicsWatcher.start(zk);
 
-                final Long interval = config.get(Config.FULL_RECONCILIATION_INTERVAL_MS);
-                Handler<Long> periodic = new Handler<Long>() {
+            if (scanInterval > 0) {
+                Handler<Long> scan = new Handler<Long>() {
                     @Override
                     public void handle(Long oldTimerId) {
                         if (!stopped) {
-                            timerId = null;
-                            boolean isInitialReconcile = oldTimerId == null;
-                            topicOperator.reconcileAllTopics(isInitialReconcile ? "initial " : "periodic ").onComplete(result -> {
-                                topicOperator.getPeriodicReconciliationsCounter().increment();
-                                if (isInitialReconcile) {
-                                    initReconcilePromise.complete();
+                            scanTimerId = null;
+                            topicsWatcher.scan().onComplete(result -> {
+                                if (result.failed()) {
+                                    LOGGER.warn("Error scanning the topic znodes for changes", result.cause());
                                 }
                                 if (!stopped) {
-                                    timerId = vertx.setTimer(interval, this);
+                                    scanTimerId = vertx.setTimer(scanInterval, this);
                                 }
                             });
                         }
                     }
                 };
-                periodic.handle(null);
-                promise.future().onComplete(start);
-                LOGGER.info("Started");
-            });
+                scanTimerId = vertx.setTimer(scanInterval, scan);
+            }
+        }
+
+        Promise<Void> promise = Promise.promise();
+        Promise<Void> initReconcilePromise = Promise.promise();
+        K8sTopicWatcher watcher = new K8sTopicWatcher(topicOperator, initReconcilePromise.future());
+        Thread resourceThread = new Thread(() -> {
+            try {
+                LOGGER.debug("Watching KafkaTopics matching {}", labels.labels());
+
+                Session.this.topicWatch = kubeClient.customResources(Crds.kafkaTopic(), KafkaTopic.class, KafkaTopicList.class, DoneableKafkaTopic.class)
+                        .inNamespace(namespace).withLabels(labels.labels()).watch(watcher);
+                LOGGER.debug("Watching setup");
+
+                // start the HTTP server for healthchecks
+                healthServer = this.startHealthServer();
+                promise.complete();
+            } catch (Throwable t) {
+                promise.fail(t);
+            }
+
+        }, "resource-watcher");
+        LOGGER.debug("Starting {}", resourceThread);
+        resourceThread.start();
+
+        final Long interval = config.get(Config.FULL_RECONCILIATION_INTERVAL_MS);
+        // The windowed periodic reconciliation spreads the topics over the interval, so the next one is due
+        // one interval after the previous one started
+        final boolean windowed = config.get(Config.PERIODIC_RECONCILIATION_PARALLELISM) > 0;
+        Handler<Long> periodic = new Handler<Long>() {
+            @Override
+            public void handle(Long oldTimerId) {
+                if (!stopped) {
+                    timerId = null;
+                    boolean isInitialReconcile = oldTimerId == null;
+                    long startedMs = System.currentTimeMillis();
+                    topicOperator.reconcileAllTopics(isInitialReconcile ? "initial " : "periodic ").onComplete(result -> {
+                        topicOperator.getPeriodicReconciliationsCounter().increment();
+                        if (isInitialReconcile) {
+                            initReconcilePromise.complete();
+                        }
+                        if (!stopped) {
+                            long delay = windowed && !isInitialReconcile
+                                    ? Math.max(1, interval - (System.currentTimeMillis() - startedMs))
+                                    : interval;
+                            timerId = vertx.setTimer(delay, this);
+                        }
+                    });
+                }
+            }
+        };
+        periodic.handle(null);
+        promise.future().onComplete(start);
+        LOGGER.info("Started");
+    }
+
+    /**
+     * Reconcile all the topics owned by this replica after the replicas sharing the topics changed.
+     * A rebalance requested while another one is running starts when the running one has finished.
+     */
+    private void rebalance() {
+        synchronized (this) {
+            if (stopped || topicOperator == null) {
+                return;
+            } else if (rebalancing) {
+                rebalancePending = true;
+                return;
+            }
+            rebalancing = true;
+        }
+        topicOperator.reconcileAllTopics("rebalance ").onComplete(result -> {
+            if (result.failed()) {
+                LOGGER.warn("Error reconciling the topics after the Topic Operator members changed", result.cause());
+            }
+            boolean again;
+            synchronized (this) {
+                rebalancing = false;
+                again = rebalancePending;
+                rebalancePending = false;
+            }
+            if (again) {
+                rebalance();
+            }
+        });
     }
 
     /**
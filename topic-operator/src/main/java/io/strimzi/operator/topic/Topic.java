@@ -6,9 +6,9 @@ package io.strimzi.operator.topic;
 
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 public class Topic {
 
@@ -146,12 +146,15 @@ public class Topic {
 
     private final int numPartitions;
 
-    private final Map<String, String> config;
+    private final CompactConfig config;
 
     private final ObjectMeta metadata;
 
     private final short numReplicas;
 
+    // The hash of the name, partitions, replicas and config, which does not include the metadata
+    private final int contentHash;
+
     public TopicName getTopicName() {
         return topicName;
     }
@@ -180,6 +183,10 @@ public class Topic {
         return config;
     }
 
+    CompactConfig getCompactConfig() {
+        return config;
+    }
+
     public ObjectMeta getMetadata() {
         return metadata;
     }
@@ -189,8 +196,33 @@ public class Topic {
         this.resourceName = resourceName;
         this.numPartitions = numPartitions;
         this.numReplicas = numReplicas;
-        this.config = Collections.unmodifiableMap(config);
+        this.config = CompactConfig.of(config);
         this.metadata = metadata;
+
+        int contentHash = Objects.hashCode(topicName);
+        contentHash = 31 * contentHash + numPartitions;
+        contentHash = 31 * contentHash + numReplicas;
+        contentHash = 31 * contentHash + this.config.hashCode();
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * Returns the hash of the name, the partitions, the replicas and the config of the topic, which is computed when
+     * the topic is built. Topics with different content hashes do not have the same content.
+     */
+    int contentHash() {
+        return contentHash;
+    }
+
+    /**
+     * Whether this topic has the same name, partitions, replicas and config as the given topic, ignoring the metadata.
+     */
+    boolean hasSameContent(Topic other) {
+        return contentHash == other.contentHash
+                && numPartitions == other.numPartitions
+                && numReplicas == other.numReplicas
+                && Objects.equals(topicName, other.topicName)
+                && config.equals(other.config);
     }
 
     @Override
@@ -211,10 +243,7 @@ public class Topic {
 
         Topic topic = (Topic) o;
 
-        if (numPartitions != topic.numPartitions) return false;
-        if (numReplicas != topic.numReplicas) return false;
-        if (!topicName.equals(topic.topicName)) return false;
-        if (!config.equals(topic.config)) return false;
+        if (!hasSameContent(topic)) return false;
         if (metadata == null) {
             return topic.metadata == null;
         } else
@@ -223,11 +252,6 @@ public class Topic {
 
     @Override
     public int hashCode() {
-        int result = topicName.hashCode();
-        result = 31 * result + numPartitions;
-        result = 31 * result + numReplicas;
-        result = 31 * result + config.hashCode();
-        result = 31 * result + metadata.hashCode();
-        return result;
+        return 31 * contentHash + Objects.hashCode(metadata);
     }
 }
@@ -17,6 +17,10 @@ class TopicConfigsWatcher extends ZkWatcher {
         super(topicOperator, CONFIGS_ZNODE);
     }
 
+    TopicConfigsWatcher(TopicOperator topicOperator, boolean scanning) {
+        super(topicOperator, CONFIGS_ZNODE, scanning);
+    }
+
     @Override
     protected void notifyOperator(String child) {
         LogContext logContext = LogContext.zkWatch(CONFIGS_ZNODE, "=" + child);
@@ -6,6 +6,7 @@ package io.strimzi.operator.topic;
 
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -227,6 +228,9 @@ class TopicDiff {
         if (!source.getTopicName().equals(target.getTopicName())) {
             throw new IllegalArgumentException();
         }
+        if (source.hasSameContent(target)) {
+            return new TopicDiff(Collections.emptyMap(), target.getMetadata());
+        }
         Map<String, Difference> differences = new HashMap<>();
         if (source.getNumPartitions() != target.getNumPartitions()) {
             NumPartitionsDifference numPartitionsDifference = new NumPartitionsDifference(source.getNumPartitions(), target.getNumPartitions());
@@ -236,28 +240,32 @@ class TopicDiff {
             NumReplicasDifference numReplicasDifference = new NumReplicasDifference(target.getNumReplicas());
             differences.put(numReplicasDifference.address(), numReplicasDifference);
         }
-        if (!source.getConfig().equals(target.getConfig())) {
-            //Removed keys
-            HashSet<String> removed = new HashSet<>(source.getConfig().keySet());
-            removed.removeAll(target.getConfig().keySet());
-            for (String removedKey : removed) {
-                RemovedConfigEntry removedConfigEntry = new RemovedConfigEntry(removedKey);
-                differences.put(removedConfigEntry.address(), removedConfigEntry);
-            }
-            //Added keys
-            HashSet<String> added = new HashSet<>(target.getConfig().keySet());
-            added.removeAll(source.getConfig().keySet());
-            for (String addedKey : added) {
-                AddedConfigEntry addedConfigEntry = new AddedConfigEntry(addedKey, target.getConfig().get(addedKey));
-                differences.put(addedConfigEntry.address(), addedConfigEntry);
-            }
-            //Changed values
-            HashSet<String> retained = new HashSet<>(source.getConfig().keySet());
-            retained.retainAll(target.getConfig().keySet());
-            for (String retainedKey : retained) {
-                if (!source.getConfig().get(retainedKey).equals(target.getConfig().get(retainedKey))) {
-                    AddedConfigEntry addedConfigEntry = new AddedConfigEntry(retainedKey, target.getConfig().get(retainedKey));
+        CompactConfig sourceConfig = source.getCompactConfig();
+        CompactConfig targetConfig = target.getCompactConfig();
+        if (!sourceConfig.equals(targetConfig)) {
+            // Walk both configs in key order, so that only the changed entries are visited twice
+            int s = 0;
+            int t = 0;
+            while (s < sourceConfig.size() || t < targetConfig.size()) {
+                int order = s == sourceConfig.size() ? 1
+                        : t == targetConfig.size() ? -1
+                        : sourceConfig.key(s).compareTo(targetConfig.key(t));
+                if (order < 0) {
+                    //Removed key
+                    RemovedConfigEntry removedConfigEntry = new RemovedConfigEntry(sourceConfig.key(s++));
+                    differences.put(removedConfigEntry.address(), removedConfigEntry);
+                } else if (order > 0) {
+                    //Added key
+                    AddedConfigEntry addedConfigEntry = new AddedConfigEntry(targetConfig.key(t), targetConfig.value(t++));
                     differences.put(addedConfigEntry.address(), addedConfigEntry);
+                } else {
+                    //Changed value
+                    if (!sourceConfig.value(s).equals(targetConfig.value(t))) {
+                        AddedConfigEntry addedConfigEntry = new AddedConfigEntry(targetConfig.key(t), targetConfig.value(t));
+                        differences.put(addedConfigEntry.address(), addedConfigEntry);
+                    }
+                    s++;
+                    t++;
                 }
             }
         }
@@ -17,6 +17,7 @@ import io.strimzi.api.kafka.model.KafkaTopicBuilder;
 import io.strimzi.api.kafka.model.status.KafkaTopicStatus;
 import io.strimzi.operator.cluster.model.StatusDiff;
 import io.strimzi.operator.common.BackOff;
+import io.strimzi.operator.common.KeyedSerializer;
 import io.strimzi.operator.common.MaxAttemptsExceededException;
 import io.strimzi.operator.common.MetricsProvider;
 import io.strimzi.operator.common.operator.resource.StatusUtils;
@@ -34,14 +35,18 @@ import org.apache.logging.log4j.Logger;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.disjoint;
@@ -59,8 +64,10 @@ class TopicOperator {
     private final Labels labels;
     private final String namespace;
     private TopicStore topicStore;
+    // The topics owned by this replica when the topics are shared between replicas, or null when it owns all topics
+    private volatile TopicShards shards;
     private final Config config;
-    private final ConcurrentHashMap<TopicName, Integer> inflight = new ConcurrentHashMap<>();
+    private final KeyedSerializer topicSerializer;
 
     protected final MetricsProvider metrics;
     private Counter periodicReconciliationsCounter;
@@ -68,9 +75,29 @@ class TopicOperator {
     private Counter failedReconciliationsCounter;
     private Counter successfulReconciliationsCounter;
     private Counter lockedReconciliationsCounter;
+    private Counter unchangedReconciliationsCounter;
+    private Counter coalescedEventsCounter;
     private AtomicInteger topicCounter;
     private Timer reconciliationsTimer;
 
+    // The Kafka, KafkaTopic and topic store state of the topics after they were last reconciled successfully by a
+    // windowed periodic reconciliation
+    private final Map<TopicName, TopicState> topicStates = new ConcurrentHashMap<>();
+
+    // The topic events waiting for the end of the debounce window of their topic
+    private final Map<TopicName, PendingEvents> pendingEvents = new HashMap<>();
+
+    /**
+     * The sources of the events which trigger the reconciliation of a topic
+     */
+    enum TopicEvent {
+        KAFKA_CREATED,
+        KAFKA_DELETED,
+        KAFKA_CONFIG_CHANGED,
+        KAFKA_PARTITIONS_CHANGED,
+        KUBE
+    }
+
     enum EventType {
         INFO("Info"),
         WARNING("Warning");
@@ -379,6 +406,7 @@ class TopicOperator {
         this.kafka = kafka;
         this.k8s = k8s;
         this.vertx = vertx;
+        this.topicSerializer = new KeyedSerializer(vertx);
         this.labels = labels;
         this.topicStore = topicStore;
         this.namespace = namespace;
@@ -419,6 +447,14 @@ class TopicOperator {
             lockedReconciliationsCounter = metrics.counter(METRICS_PREFIX + "reconciliations.locked",
                     "Number of reconciliations skipped because another reconciliation for the same topic was still running",
                     metricTags);
+
+            unchangedReconciliationsCounter = metrics.counter(METRICS_PREFIX + "reconciliations.unchanged",
+                    "Number of topics skipped by the periodic reconciliation because they did not change since they were last reconciled",
+                    metricTags);
+
+            coalescedEventsCounter = metrics.counter(METRICS_PREFIX + "events.coalesced",
+                    "Number of topic events merged into the reconciliation of an earlier event for the same topic",
+                    metricTags);
         }
     }
 
@@ -426,6 +462,19 @@ class TopicOperator {
         return this.periodicReconciliationsCounter;
     }
 
+    void setShards(TopicShards shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * @param topicName The topic name.
+     * @return Whether this replica handles the given topic.
+     */
+    boolean owns(TopicName topicName) {
+        TopicShards shards = this.shards;
+        return shards == null || shards.owns(topicName);
+    }
+
     public void setTopicCount(int topics) {
         this.topicCounter.set(topics);
     }
@@ -440,69 +489,41 @@ class TopicOperator {
     public Future<Void> executeWithTopicLockHeld(LogContext logContext, TopicName key, Reconciliation action) {
         String lockName = key.toString();
         int timeoutMs = 30 * 1_000;
-        Promise<Void> result = Promise.promise();
-        BiFunction<TopicName, Integer, Integer> decrement = (topicName, waiters) -> {
-            if (waiters != null) {
-                if (waiters == 1) {
-                    LOGGER.debug("{}: Removing last waiter {}", logContext, action);
-                    return null;
-                } else {
-                    LOGGER.debug("{}: Removing waiter {}, {} waiters left", logContext, action, waiters - 1);
-                    return waiters - 1;
-                }
-            } else {
-                LOGGER.error("{}: Assertion failure. topic {}, action {}", logContext, lockName, action);
-                return null;
-            }
-        };
         LOGGER.debug("{}: Queuing action {} on topic {}", logContext, action, lockName);
-        inflight.compute(key, (topicName, waiters) -> {
-            if (waiters == null) {
-                LOGGER.debug("{}: Adding first waiter {}", logContext, action);
-                return 1;
-            } else {
-                LOGGER.debug("{}: Adding waiter {}: {}", logContext, action, waiters + 1);
-                return waiters + 1;
-            }
-        });
-        vertx.sharedData().getLockWithTimeout(lockName, timeoutMs, lockResult -> {
-            if (lockResult.succeeded()) {
-                LOGGER.debug("{}: Lock acquired", logContext);
-                LOGGER.debug("{}: Executing action {} on topic {}", logContext, action, lockName);
-                action.execute().onComplete(actionResult -> {
-                    LOGGER.debug("{}: Executing handler for action {} on topic {}", logContext, action, lockName);
-                    action.result = actionResult;
-                    // Update status with lock held so that event is ignored via statusUpdateGeneration
-                    action.updateStatus(logContext).onComplete(statusResult -> {
-                        if (statusResult.failed()) {
-                            LOGGER.error("{}: Error updating KafkaTopic.status for action {}", logContext, action,
-                                    statusResult.cause());
-                        }
-                        try {
-                            if (actionResult.failed() && statusResult.failed()) {
-                                actionResult.cause().addSuppressed(statusResult.cause());
-                            }
-                            result.handle(actionResult.failed() ? actionResult : statusResult);
-                        } catch (Throwable t) {
-                            result.fail(t);
-                        } finally {
-                            lockResult.result().release();
-                            LOGGER.debug("{}: Lock released", logContext);
-                            inflight.compute(key, decrement);
+        return topicSerializer.<Void>execute(lockName, timeoutMs, () -> {
+            LOGGER.debug("{}: Lock acquired", logContext);
+            LOGGER.debug("{}: Executing action {} on topic {}", logContext, action, lockName);
+            Promise<Void> result = Promise.promise();
+            action.execute().onComplete(actionResult -> {
+                LOGGER.debug("{}: Executing handler for action {} on topic {}", logContext, action, lockName);
+                action.result = actionResult;
+                // Update status with lock held so that event is ignored via statusUpdateGeneration
+                action.updateStatus(logContext).onComplete(statusResult -> {
+                    if (statusResult.failed()) {
+                        LOGGER.error("{}: Error updating KafkaTopic.status for action {}", logContext, action,
+                                statusResult.cause());
+                    }
+                    try {
+                        if (actionResult.failed() && statusResult.failed()) {
+                            actionResult.cause().addSuppressed(statusResult.cause());
                         }
-                    });
+                        result.handle(actionResult.failed() ? actionResult : statusResult);
+                    } catch (Throwable t) {
+                        result.fail(t);
+                    } finally {
+                        LOGGER.debug("{}: Lock released", logContext);
+                    }
                 });
-            } else {
+            });
+            return result.future();
+        }).recover(error -> {
+            if (error instanceof KeyedSerializer.WaitTimeoutException) {
                 lockedReconciliationsCounter.increment();
                 LOGGER.warn("{}: Lock not acquired within {}ms: action {} will not be run", logContext, timeoutMs, action);
-                try {
-                    result.handle(Future.failedFuture("Failed to acquire lock for topic " + lockName + " after " + timeoutMs + "ms. Not executing action " + action));
-                } finally {
-                    inflight.compute(key, decrement);
-                }
+                return Future.failedFuture("Failed to acquire lock for topic " + lockName + " after " + timeoutMs + "ms. Not executing action " + action);
             }
+            return Future.failedFuture(error);
         });
-        return result.future();
     }
 
     /**
@@ -764,8 +785,8 @@ class TopicOperator {
 
     /** Called when a topic znode is deleted in ZK */
     Future<Void> onTopicDeleted(LogContext logContext, TopicName topicName) {
-        return executeWithTopicLockHeld(logContext, topicName,
-            new Reconciliation("onTopicDeleted") {
+        return debounce(logContext, topicName, TopicEvent.KAFKA_DELETED, null,
+            () -> new Reconciliation("onTopicDeleted") {
                 @Override
                 public Future<Void> execute() {
                     return reconcileOnTopicChange(logContext, topicName, null, this);
@@ -779,24 +800,24 @@ class TopicOperator {
      * Called when ZK watch notifies of change to topic's config
      */
     Future<Void> onTopicConfigChanged(LogContext logContext, TopicName topicName) {
-        return executeWithTopicLockHeld(logContext, topicName,
-                new Reconciliation("onTopicConfigChanged") {
-                    @Override
-                    public Future<Void> execute() {
-                        return kafka.topicMetadata(topicName)
-                                .compose(metadata -> {
-                                    Topic topic = TopicSerialization.fromTopicMetadata(metadata);
-                                    return reconcileOnTopicChange(logContext, topicName, topic, this);
-                                });
-                    }
-                });
+        return debounce(logContext, topicName, TopicEvent.KAFKA_CONFIG_CHANGED, null,
+            () -> new Reconciliation("onTopicConfigChanged") {
+                @Override
+                public Future<Void> execute() {
+                    return kafka.topicMetadata(topicName)
+                            .compose(metadata -> {
+                                Topic topic = TopicSerialization.fromTopicMetadata(metadata);
+                                return reconcileOnTopicChange(logContext, topicName, topic, this);
+                            });
+                }
+            });
     }
 
     /**
      * Called when ZK watch notifies of a change to the topic's partitions
      */
     Future<Void> onTopicPartitionsChanged(LogContext logContext, TopicName topicName) {
-        Reconciliation action = new Reconciliation("onTopicPartitionsChanged") {
+        Supplier<Reconciliation> action = () -> new Reconciliation("onTopicPartitionsChanged") {
             @Override
             public Future<Void> execute() {
                 Reconciliation self = this;
@@ -842,7 +863,7 @@ class TopicOperator {
                 return promise.future();
             }
         };
-        return executeWithTopicLockHeld(logContext, topicName, action);
+        return debounce(logContext, topicName, TopicEvent.KAFKA_PARTITIONS_CHANGED, null, action);
     }
 
     /**
@@ -866,7 +887,7 @@ class TopicOperator {
     Future<Void> onTopicCreated(LogContext logContext, TopicName topicName) {
         // XXX currently runs on the ZK thread, requiring a synchronized inFlight
         // is it better to put this check in the topic deleted event?
-        Reconciliation action = new Reconciliation("onTopicCreated") {
+        Supplier<Reconciliation> action = () -> new Reconciliation("onTopicCreated") {
             @Override
             public Future<Void> execute() {
                 Reconciliation self = this;
@@ -903,7 +924,111 @@ class TopicOperator {
                 return promise.future();
             }
         };
-        return executeWithTopicLockHeld(logContext, topicName, action);
+        return debounce(logContext, topicName, TopicEvent.KAFKA_CREATED, null, action);
+    }
+
+    /**
+     * Runs the reconciliation of the given topic event when the debounce window of the topic ends. The events of the
+     * same topic which arrive during the window are merged into one reconciliation: a single event runs its own
+     * reconciliation, while several events run one three-way reconciliation of the current KafkaTopic, Kafka and topic
+     * store state of the topic. When the debounce window is 0, the reconciliation of the event is queued immediately.
+     *
+     * @param kubeName The name of the KafkaTopic for KafkaTopic events, or null for Kafka events.
+     * @return A future which completes when the reconciliation which includes the event completes.
+     */
+    private Future<Void> debounce(LogContext logContext, TopicName topicName, TopicEvent event, ResourceName kubeName,
+                                  Supplier<Reconciliation> reconciliation) {
+        if (!owns(topicName)) {
+            LOGGER.debug("{}: Ignoring {} event of topic {} owned by another replica", logContext, event, topicName);
+            return Future.succeededFuture();
+        }
+
+        long windowMs = config.get(Config.EVENT_DEBOUNCE_MS);
+        if (windowMs <= 0) {
+            return executeWithTopicLockHeld(logContext, topicName, reconciliation.get());
+        }
+
+        synchronized (pendingEvents) {
+            PendingEvents pending = pendingEvents.get(topicName);
+            if (pending == null) {
+                pending = new PendingEvents(logContext);
+                pendingEvents.put(topicName, pending);
+                vertx.setTimer(windowMs, id -> flushEvents(topicName));
+            } else {
+                LOGGER.debug("{}: Merging {} event into the pending reconciliation of topic {}", logContext, event, topicName);
+                if (coalescedEventsCounter != null) {
+                    coalescedEventsCounter.increment();
+                }
+            }
+            pending.add(event, kubeName, reconciliation);
+            return pending.result.future();
+        }
+    }
+
+    private void flushEvents(TopicName topicName) {
+        PendingEvents pending;
+        synchronized (pendingEvents) {
+            pending = pendingEvents.remove(topicName);
+        }
+
+        Reconciliation reconciliation;
+        if (pending.count == 1) {
+            reconciliation = pending.reconciliations.values().iterator().next().get();
+        } else if (pending.reconciliations.containsKey(TopicEvent.KAFKA_CREATED) && pending.kubeName == null) {
+            // The topic might not be visible in the Kafka metadata yet, which the creation reconciliation waits for
+            reconciliation = pending.reconciliations.get(TopicEvent.KAFKA_CREATED).get();
+        } else {
+            LOGGER.debug("{}: Reconciling {} events {} of topic {} together", pending.logContext, pending.count, pending.reconciliations.keySet(), topicName);
+            reconciliation = new Reconciliation("onCoalescedEvents") {
+                @Override
+                public Future<Void> execute() {
+                    return reconcileOnEvents(pending.logContext, topicName, pending.kubeName, this);
+                }
+            };
+        }
+        executeWithTopicLockHeld(pending.logContext, topicName, reconciliation).onComplete(pending.result);
+    }
+
+    /**
+     * Reconciles the current KafkaTopic, Kafka and topic store state of the topic after several events.
+     */
+    private Future<Void> reconcileOnEvents(LogContext logContext, TopicName topicName, ResourceName kubeName,
+                                           Reconciliation reconciliation) {
+        return CompositeFuture.all(getFromKafka(topicName), getFromTopicStore(topicName)).compose(current -> {
+            Topic kafkaTopic = current.resultAt(0);
+            Topic storeTopic = current.resultAt(1);
+            ResourceName resourceName = kubeName != null ? kubeName
+                    : storeTopic != null ? storeTopic.getResourceName() : topicName.asKubeName();
+            return k8s.getFromName(resourceName).compose(topic -> {
+                reconciliation.observedTopicFuture(topic);
+                Topic k8sTopic = TopicSerialization.fromTopicResource(topic);
+                return reconcile(reconciliation, logContext.withKubeTopic(topic), topic, k8sTopic, kafkaTopic, storeTopic);
+            });
+        });
+    }
+
+    /**
+     * The events of a topic which arrived during its debounce window
+     */
+    private static class PendingEvents {
+        private final LogContext logContext;
+        private final Map<TopicEvent, Supplier<Reconciliation>> reconciliations = new EnumMap<>(TopicEvent.class);
+        private final Promise<Void> result = Promise.promise();
+        private ResourceName kubeName;
+        private int count = 0;
+
+        PendingEvents(LogContext logContext) {
+            this.logContext = logContext;
+        }
+
+        void add(TopicEvent event, ResourceName kubeName, Supplier<Reconciliation> reconciliation) {
+            // The latest event of each kind is kept
+            reconciliations.put(event, reconciliation);
+            if (kubeName != null) {
+                this.kubeName = kubeName;
+            }
+            count++;
+        }
     }
 
     abstract class Reconciliation {
@@ -989,48 +1114,48 @@ class TopicOperator {
 
     /** Called when a resource is isModify in k8s */
     Future<Void> onResourceEvent(LogContext logContext, KafkaTopic modifiedTopic, Watcher.Action action) {
-        return executeWithTopicLockHeld(logContext, new TopicName(modifiedTopic),
-                new Reconciliation("onResourceEvent") {
-                    @Override
-                    public Future<Void> execute() {
-                        return k8s.getFromName(new ResourceName(modifiedTopic))
-                            .compose(mt ->  {
-                                final Topic k8sTopic;
-                                if (mt != null) {
-
-                                    Long generation = statusUpdateGeneration.get(mt.getMetadata().getName());
-                                    LOGGER.debug("{}: last updated generation={}", logContext, generation);
-                                    if (mt.getMetadata() != null
-                                            && mt.getMetadata().getGeneration() != null) {
-                                        if (mt.getMetadata().getGeneration().equals(generation)) {
-                                            // TODO we might also need some way to avoid statusUpdateGeneration getting too big
-                                            // e.g. remove after 10 seconds, for example
-                                            // Or do we not care and maintain this map to avoid unnecessary work always
-                                            // It doesn't scale to many topics so well, but maybe that's not such a huge problem.
-                                            LOGGER.debug("{}: Ignoring modification event caused by my own status update on {}",
-                                                    logContext,
-                                                    mt.getMetadata().getName());
-                                            return Future.succeededFuture();
-                                        } else {
-                                            LOGGER.debug("{}: modifiedTopic.getMetadata().getGeneration()={}",
-                                                    logContext, mt.getMetadata().getGeneration());
-                                        }
+        return debounce(logContext, new TopicName(modifiedTopic), TopicEvent.KUBE, new ResourceName(modifiedTopic),
+            () -> new Reconciliation("onResourceEvent") {
+                @Override
+                public Future<Void> execute() {
+                    return k8s.getFromName(new ResourceName(modifiedTopic))
+                        .compose(mt ->  {
+                            final Topic k8sTopic;
+                            if (mt != null) {
+
+                                Long generation = statusUpdateGeneration.get(mt.getMetadata().getName());
+                                LOGGER.debug("{}: last updated generation={}", logContext, generation);
+                                if (mt.getMetadata() != null
+                                        && mt.getMetadata().getGeneration() != null) {
+                                    if (mt.getMetadata().getGeneration().equals(generation)) {
+                                        // TODO we might also need some way to avoid statusUpdateGeneration getting too big
+                                        // e.g. remove after 10 seconds, for example
+                                        // Or do we not care and maintain this map to avoid unnecessary work always
+                                        // It doesn't scale to many topics so well, but maybe that's not such a huge problem.
+                                        LOGGER.debug("{}: Ignoring modification event caused by my own status update on {}",
+                                                logContext,
+                                                mt.getMetadata().getName());
+                                        return Future.succeededFuture();
                                     } else {
-                                        LOGGER.debug("{}: modifiedTopic.getMetadata().getGeneration()=null", logContext);
-                                    }
-                                    observedTopicFuture(mt);
-                                    try {
-                                        k8sTopic = TopicSerialization.fromTopicResource(mt);
-                                    } catch (InvalidTopicException e) {
-                                        return Future.failedFuture(e);
+                                        LOGGER.debug("{}: modifiedTopic.getMetadata().getGeneration()={}",
+                                                logContext, mt.getMetadata().getGeneration());
                                     }
                                 } else {
-                                    k8sTopic = null;
+                                    LOGGER.debug("{}: modifiedTopic.getMetadata().getGeneration()=null", logContext);
                                 }
-                                return reconcileOnResourceChange(this, logContext, mt != null ? mt : modifiedTopic, k8sTopic, action == Watcher.Action.MODIFIED);
-                            });
-                    }
-                });
+                                observedTopicFuture(mt);
+                                try {
+                                    k8sTopic = TopicSerialization.fromTopicResource(mt);
+                                } catch (InvalidTopicException e) {
+                                    return Future.failedFuture(e);
+                                }
+                            } else {
+                                k8sTopic = null;
+                            }
+                            return reconcileOnResourceChange(this, logContext, mt != null ? mt : modifiedTopic, k8sTopic, action == Watcher.Action.MODIFIED);
+                        });
+                }
+            });
     }
 
     private Future<Void> reconcileOnResourceChange(Reconciliation reconciliation, LogContext logContext, KafkaTopic topicResource, Topic k8sTopic,
@@ -1173,8 +1298,9 @@ class TopicOperator {
     }
 
     public boolean isWorkInflight() {
-        LOGGER.debug("Outstanding: {}", inflight);
-        return inflight.size() > 0;
+        int outstanding = topicSerializer.size();
+        LOGGER.debug("Outstanding: {}", outstanding);
+        return outstanding > 0;
     }
 
     /**
@@ -1212,18 +1338,23 @@ class TopicOperator {
     }
 
     Future<?> reconcileAllTopics(String reconciliationType) {
+        int parallelism = config.get(Config.PERIODIC_RECONCILIATION_PARALLELISM);
+        if (parallelism > 0) {
+            return reconcileAllTopicsWindowed(reconciliationType, parallelism);
+        }
+
         LOGGER.info("Starting {} reconciliation", reconciliationType);
         return kafka.listTopics().recover(ex -> Future.failedFuture(
                 new OperatorException("Error listing existing topics during " + reconciliationType + " reconciliation", ex)
         )).compose(topicNamesFromKafka ->
                 // Reconcile the topic found in Kafka
-                reconcileFromKafka(reconciliationType, topicNamesFromKafka.stream().map(TopicName::new).collect(Collectors.toList()))
+                reconcileFromKafka(reconciliationType, topicNamesFromKafka.stream().map(TopicName::new).filter(this::owns).collect(Collectors.toList()))
         ).compose(reconcileState -> {
             Future<List<KafkaTopic>> ktFut = k8s.listResources();
             return ktFut.recover(ex -> Future.failedFuture(
                     new OperatorException("Error listing existing KafkaTopics during " + reconciliationType + " reconciliation", ex)
             )).map(ktList -> {
-                reconcileState.setKafkaTopics(ktList);
+                reconcileState.setKafkaTopics(ktList.stream().filter(kt -> owns(new TopicName(kt))).collect(Collectors.toList()));
                 return reconcileState;
             });
         }).compose(reconcileState -> {
@@ -1280,6 +1411,255 @@ class TopicOperator {
     }
 
 
+    /**
+     * Reconciles the topics from Kafka and the KafkaTopics with at most {@code parallelism} topics reconciled at the
+     * same time. Topics whose Kafka, KafkaTopic and topic store state did not change since they were last reconciled
+     * successfully are skipped. The periodic reconciliations spread the topics over the full reconciliation interval.
+     */
+    private Future<Void> reconcileAllTopicsWindowed(String reconciliationType, int parallelism) {
+        LOGGER.info("Starting {} reconciliation with parallelism {}", reconciliationType, parallelism);
+        return kafka.listTopics().recover(ex -> Future.failedFuture(
+                new OperatorException("Error listing existing topics during " + reconciliationType + " reconciliation", ex)
+        )).compose(topicNamesFromKafka -> k8s.listResources().recover(ex -> Future.failedFuture(
+                new OperatorException("Error listing existing KafkaTopics during " + reconciliationType + " reconciliation", ex)
+        )).compose(ktList -> {
+            Map<TopicName, KafkaTopic> topics = new LinkedHashMap<>();
+            for (String topicName : topicNamesFromKafka) {
+                TopicName name = new TopicName(topicName);
+                if (owns(name)) {
+                    topics.put(name, null);
+                }
+            }
+            int owned = 0;
+            for (KafkaTopic kt : ktList) {
+                TopicName name = new TopicName(kt);
+                if (owns(name)) {
+                    topics.put(name, kt);
+                    owned++;
+                }
+            }
+            topicCounter.set(owned);
+            topicStates.keySet().retainAll(topics.keySet());
+
+            long intervalMs = reconciliationType.startsWith("periodic") ? config.get(Config.FULL_RECONCILIATION_INTERVAL_MS) : 0;
+            long delayMs = topics.isEmpty() ? 0 : intervalMs / topics.size();
+
+            return new WindowedReconciliation(reconciliationType, topics, parallelism, delayMs).start();
+        }));
+    }
+
+    /**
+     * A pass of the windowed periodic reconciliation over the given topics.
+     */
+    private class WindowedReconciliation {
+        private final String reconciliationType;
+        private final Iterator<Map.Entry<TopicName, KafkaTopic>> topics;
+        private final int size;
+        private final int parallelism;
+        // The minimal delay between starting the reconciliations of two topics
+        private final long delayMs;
+        private final Promise<Void> result = Promise.promise();
+
+        private final List<Throwable> failures = new ArrayList<>();
+        private int inFlight = 0;
+        private int unchanged = 0;
+        private long nextStartMs = 0;
+        private boolean waiting = false;
+
+        WindowedReconciliation(String reconciliationType, Map<TopicName, KafkaTopic> topics, int parallelism, long delayMs) {
+            this.reconciliationType = reconciliationType;
+            this.topics = topics.entrySet().iterator();
+            this.size = topics.size();
+            this.parallelism = parallelism;
+            this.delayMs = delayMs;
+        }
+
+        Future<Void> start() {
+            next();
+            return result.future();
+        }
+
+        /**
+         * Starts the reconciliations of the next topics, as long as there are less than {@code parallelism}
+         * reconciliations running and the delay since the last started reconciliation has passed.
+         */
+        private void next() {
+            List<Map.Entry<TopicName, KafkaTopic>> toStart = new ArrayList<>();
+            boolean done;
+
+            synchronized (this) {
+                if (waiting) {
+                    return;
+                }
+
+                while (inFlight < parallelism && topics.hasNext()) {
+                    long now = System.currentTimeMillis();
+                    if (now < nextStartMs) {
+                        waiting = true;
+                        vertx.setTimer(nextStartMs - now, id -> {
+                            synchronized (this) {
+                                waiting = false;
+                            }
+                            next();
+                        });
+                        break;
+                    }
+
+                    toStart.add(topics.next());
+                    inFlight++;
+                    nextStartMs = now + delayMs;
+                }
+
+                done = inFlight == 0 && !topics.hasNext();
+            }
+
+            for (Map.Entry<TopicName, KafkaTopic> topic : toStart) {
+                reconcileTopicIfChanged(reconciliationType, topic.getKey(), topic.getValue()).onComplete(ar -> {
+                    synchronized (this) {
+                        inFlight--;
+                        if (ar.failed()) {
+                            failures.add(ar.cause());
+                        } else if (!ar.result()) {
+                            unchanged++;
+                        }
+                    }
+                    next();
+                });
+            }
+
+            if (done) {
+                complete();
+            }
+        }
+
+        private synchronized void complete() {
+            LOGGER.info("Finished {} reconciliation of {} topics: {} unchanged, {} failed",
+                    reconciliationType, size, unchanged, failures.size());
+            if (failures.isEmpty()) {
+                result.tryComplete();
+            } else {
+                result.tryFail(failures.get(0));
+            }
+        }
+    }
+
+    /**
+     * Reconciles the given topic unless its Kafka, KafkaTopic and topic store state are the same as after it was last
+     * reconciled successfully.
+     *
+     * @return A future which completes with true when the topic was reconciled, or false when it was unchanged.
+     */
+    private Future<Boolean> reconcileTopicIfChanged(String reconciliationType, TopicName topicName, KafkaTopic kt) {
+        LogContext logContext = LogContext.periodic(reconciliationType + "topic " + topicName).withKubeTopic(kt);
+
+        Topic k8sTopic;
+        try {
+            k8sTopic = kt != null ? TopicSerialization.fromTopicResource(kt) : null;
+        } catch (OperatorException e) {
+            // Invalid KafkaTopics are always reconciled, so that their status reports the error
+            k8sTopic = null;
+        }
+        Topic finalK8sTopic = k8sTopic;
+
+        return CompositeFuture.all(getFromKafka(topicName), getFromTopicStore(topicName)).compose(current -> {
+            TopicState state = new TopicState(finalK8sTopic, current.resultAt(0), current.resultAt(1));
+            TopicState lastState = topicStates.get(topicName);
+
+            if (finalK8sTopic != null && lastState != null && lastState.isSameAs(state)) {
+                LOGGER.debug("{}: Topic {} did not change since the last reconciliation", logContext, topicName);
+                unchangedReconciliationsCounter.increment();
+                return Future.succeededFuture(Boolean.FALSE);
+            }
+
+            topicStates.remove(topicName);
+            Future<Void> reconciled = kt != null
+                    ? reconcileWithKubeTopic(logContext, kt, reconciliationType, new ResourceName(kt), topicName)
+                    : reconcileWithoutKubeTopic(logContext, topicName);
+
+            return reconciled
+                .compose(ignored -> kt != null ? recordState(topicName, new ResourceName(kt)) : Future.succeededFuture())
+                .map(Boolean.TRUE);
+        });
+    }
+
+    /**
+     * Records the state of the given topic after it was reconciled, so that the next windowed periodic reconciliation
+     * skips it if it does not change in the meantime.
+     */
+    private Future<Void> recordState(TopicName topicName, ResourceName resourceName) {
+        return CompositeFuture.all(k8s.getFromName(resourceName), getFromKafka(topicName), getFromTopicStore(topicName))
+            .map(reconciled -> {
+                KafkaTopic kt = reconciled.resultAt(0);
+                if (kt != null) {
+                    try {
+                        topicStates.put(topicName, new TopicState(TopicSerialization.fromTopicResource(kt),
+                                reconciled.resultAt(1), reconciled.resultAt(2)));
+                    } catch (OperatorException e) {
+                        // Invalid KafkaTopics are always reconciled
+                    }
+                }
+                return (Void) null;
+            })
+            // The topic was reconciled, it is only not skipped by the next reconciliation
+            .otherwise((Void) null);
+    }
+
+    /**
+     * The Kafka, KafkaTopic and topic store state of a topic.
+     */
+    private static final class TopicState {
+        private final Topic k8sTopic;
+        private final Topic kafkaTopic;
+        private final Topic privateTopic;
+
+        TopicState(Topic k8sTopic, Topic kafkaTopic, Topic privateTopic) {
+            this.k8sTopic = k8sTopic;
+            this.kafkaTopic = kafkaTopic;
+            this.privateTopic = privateTopic;
+        }
+
+        boolean isSameAs(TopicState other) {
+            return isSame(k8sTopic, other.k8sTopic)
+                    && isSame(kafkaTopic, other.kafkaTopic)
+                    && isSame(privateTopic, other.privateTopic);
+        }
+
+        /**
+         * Compares the parts of the topics which are reconciled. Unlike {@link Topic#equals(Object)} it ignores the
+         * resource version and the other metadata which change without the topic changing.
+         */
+        private static boolean isSame(Topic topic, Topic other) {
+            if (topic == null || other == null) {
+                return topic == other;
+            }
+            ObjectMeta metadata = topic.getMetadata();
+            ObjectMeta otherMetadata = other.getMetadata();
+            return topic.hasSameContent(other)
+                    && Objects.equals(topic.getResourceName(), other.getResourceName())
+                    && Objects.equals(metadata != null ? metadata.getLabels() : null, otherMetadata != null ? otherMetadata.getLabels() : null)
+                    && Objects.equals(metadata != null ? metadata.getAnnotations() : null, otherMetadata != null ? otherMetadata.getAnnotations() : null);
+        }
+    }
+
+    /**
+     * Reconciles a topic which exists in Kafka, but has no KafkaTopic.
+     */
+    private Future<Void> reconcileWithoutKubeTopic(LogContext logContext, TopicName topicName) {
+        return executeWithTopicLockHeld(logContext, topicName, new Reconciliation("reconcile-from-kafka") {
+            @Override
+            public Future<Void> execute() {
+                return getFromTopicStore(topicName).compose(privateTopic -> {
+                    if (privateTopic == null) {
+                        observedTopicFuture(null);
+                        return getKafkaAndReconcile(this, logContext, topicName, null, null);
+                    } else {
+                        return reconcileWithPrivateTopic(logContext, topicName, privateTopic, this);
+                    }
+                });
+            }
+        });
+    }
+
     /**
      * Reconcile all the topics in {@code foundFromKafka}, returning a ReconciliationState.
      */
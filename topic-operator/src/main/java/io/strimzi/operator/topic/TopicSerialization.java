@@ -5,9 +5,9 @@
 package io.strimzi.operator.topic;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 import io.strimzi.api.kafka.model.KafkaTopic;
@@ -40,10 +40,11 @@ class TopicSerialization {
     public static final String JSON_KEY_REPLICAS = "replicas";
     public static final String JSON_KEY_CONFIG = "config";
 
-    @SuppressWarnings("unchecked")
-    private static Map<String, String> topicConfigFromTopicConfig(KafkaTopic kafkaTopic) {
+    // The mapper is thread safe once configured, so it is shared rather than created for every topic
+    private static final ObjectMapper OBJECT_MAPPER = objectMapper();
+
+    private static void topicConfigFromTopicConfig(KafkaTopic kafkaTopic, Topic.Builder builder) {
         if (kafkaTopic.getSpec().getConfig() != null) {
-            Map<String, String> result = new HashMap<>(kafkaTopic.getSpec().getConfig().size());
             for (Map.Entry<String, Object> entry : kafkaTopic.getSpec().getConfig().entrySet()) {
                 String key = entry.getKey();
                 Object v = entry.getValue();
@@ -55,7 +56,7 @@ class TopicSerialization {
                 if (v instanceof String
                         || isNumberType
                         || v instanceof Boolean) {
-                    result.put(key, v.toString());
+                    builder.withConfigEntry(key, v.toString());
                 } else {
                     String msg = "The value corresponding to the key must have a string, number or boolean value";
                     if (v == null) {
@@ -67,9 +68,6 @@ class TopicSerialization {
                             "The key '" + key + "' of the topic config is invalid: " + msg);
                 }
             }
-            return result;
-        } else {
-            return Collections.EMPTY_MAP;
         }
     }
 
@@ -87,8 +85,8 @@ class TopicSerialization {
                 .withTopicName(getTopicName(kafkaTopic))
                 .withNumPartitions(getPartitions(kafkaTopic))
                 .withNumReplicas(getReplicas(kafkaTopic))
-                .withConfig(topicConfigFromTopicConfig(kafkaTopic))
                 .withMetadata(kafkaTopic.getMetadata());
+        topicConfigFromTopicConfig(kafkaTopic, builder);
         return builder.build();
     }
 
@@ -237,22 +235,22 @@ class TopicSerialization {
      * This is what is stored in the znodes owned by the {@link ZkTopicStore}.
      */
     public static byte[] toJson(Topic topic) {
-        ObjectMapper mapper = objectMapper();
-        ObjectNode root = mapper.createObjectNode();
-        // TODO Do we store the k8s uid here?
-        root.put(JSON_KEY_MAP_NAME, topic.getOrAsKubeName().toString());
-        root.put(JSON_KEY_TOPIC_NAME, topic.getTopicName().toString());
-        root.put(JSON_KEY_PARTITIONS, topic.getNumPartitions());
-        root.put(JSON_KEY_REPLICAS, topic.getNumReplicas());
-
-        ObjectNode config = mapper.createObjectNode();
-        for (Map.Entry<String, String> entry : topic.getConfig().entrySet()) {
-            config.put(entry.getKey(), entry.getValue());
-        }
-        root.set(JSON_KEY_CONFIG, config);
+        // The JSON is written directly, without building a tree of nodes first
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try {
-            mapper.writeValue(baos, root);
+        try (JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(baos)) {
+            generator.writeStartObject();
+            // TODO Do we store the k8s uid here?
+            generator.writeStringField(JSON_KEY_MAP_NAME, topic.getOrAsKubeName().toString());
+            generator.writeStringField(JSON_KEY_TOPIC_NAME, topic.getTopicName().toString());
+            generator.writeNumberField(JSON_KEY_PARTITIONS, topic.getNumPartitions());
+            generator.writeNumberField(JSON_KEY_REPLICAS, topic.getNumReplicas());
+
+            generator.writeObjectFieldStart(JSON_KEY_CONFIG);
+            for (Map.Entry<String, String> entry : topic.getConfig().entrySet()) {
+                generator.writeStringField(entry.getKey(), entry.getValue());
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -265,7 +263,7 @@ class TopicSerialization {
      */
     @SuppressWarnings("unchecked")
     public static Topic fromJson(byte[] json) {
-        ObjectMapper mapper = objectMapper();
+        ObjectMapper mapper = OBJECT_MAPPER;
         Map<String, Object> root = null;
         try {
             root = mapper.readValue(json, Map.class);
@@ -0,0 +1,225 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.topic;
+
+import io.strimzi.operator.topic.zk.AclBuilder;
+import io.strimzi.operator.topic.zk.Zk;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import org.I0Itec.zkclient.exception.ZkNodeExistsException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.data.ACL;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Shares the topics between the replicas of the Topic Operator.
+ *
+ * Every replica registers itself with an ephemeral znode under the members path, named after its member id, and
+ * watches the children of the members path. Each topic is owned by the member with the highest hash of the member id
+ * and the topic name (rendezvous hashing), so every replica computes the same owners from the same members, and
+ * when a member joins or leaves only the topics owned by that member change owner.
+ * When the members change, the rebalance handler is called so that the replica reconciles the topics it now owns.
+ * Registering fails when a member with the same id is already registered.
+ */
+class TopicShards {
+
+    private final static Logger LOGGER = LogManager.getLogger(TopicShards.class);
+
+    private final Zk zk;
+    private final String membersPath;
+    private final String memberId;
+    private final List<ACL> acl;
+
+    // The sorted member ids, which do not include this member while it is not registered
+    private volatile List<String> members = Collections.emptyList();
+    private volatile boolean stopped = false;
+    private volatile Handler<Void> rebalanceHandler;
+
+    /**
+     * Constructor
+     *
+     * @param zk    ZooKeeper client
+     * @param membersPath    path of the znode whose children are the members
+     * @param memberId    id of this member, which has to be unique among the replicas
+     */
+    TopicShards(Zk zk, String membersPath, String memberId) {
+        this.zk = zk;
+        this.membersPath = membersPath;
+        this.memberId = memberId;
+        this.acl = new AclBuilder().setWorld(AclBuilder.Permission.values()).build();
+    }
+
+    /**
+     * Registers this member and starts watching the members
+     *
+     * @param rebalanceHandler    handler called after the members changed
+     * @return A future which completes when the current members are known
+     */
+    Future<Void> start(Handler<Void> rebalanceHandler) {
+        this.rebalanceHandler = rebalanceHandler;
+        Future<Void> result = Future.succeededFuture();
+        for (int i = membersPath.indexOf('/', 1); i > 0; i = membersPath.indexOf('/', i + 1)) {
+            String parent = membersPath.substring(0, i);
+            result = result.compose(ignored -> createPersistent(parent));
+        }
+        return result.compose(ignored -> createPersistent(membersPath))
+                .compose(ignored -> register())
+                .compose(ignored -> zk.watchChildren(membersPath, this::membersChanged))
+                .compose(ignored -> {
+                    Promise<List<String>> children = Promise.promise();
+                    zk.children(membersPath, children);
+                    return children.future();
+                })
+                .map(children -> {
+                    update(children, false);
+                    return null;
+                });
+    }
+
+    /**
+     * Stops watching the members and unregisters this member
+     *
+     * @return A future which completes when this member is unregistered
+     */
+    Future<Void> stop() {
+        this.stopped = true;
+        this.members = Collections.emptyList();
+        zk.unwatchChildren(membersPath);
+        Promise<Void> result = Promise.promise();
+        zk.delete(memberPath(), -1, ar -> {
+            if (ar.failed()) {
+                LOGGER.warn("Error unregistering member {}", memberId, ar.cause());
+            }
+            result.complete();
+        });
+        return result.future();
+    }
+
+    /**
+     * @param topicName The topic name.
+     * @return Whether this member owns the given topic. No topic is owned while this member is not registered.
+     */
+    boolean owns(TopicName topicName) {
+        return memberId.equals(owner(members, topicName.toString()));
+    }
+
+    /**
+     * @return The sorted ids of the current members.
+     */
+    List<String> members() {
+        return members;
+    }
+
+    /**
+     * Returns the owner of the given topic among the given members.
+     *
+     * @param members The sorted member ids.
+     * @param topicName The topic name.
+     * @return The id of the owner, or null when there are no members.
+     */
+    /*test*/ static String owner(List<String> members, String topicName) {
+        String owner = null;
+        long highest = Long.MIN_VALUE;
+        int topicHash = topicName.hashCode();
+        for (String member : members) {
+            long score = mix(member.hashCode(), topicHash);
+            if (owner == null || score > highest) {
+                owner = member;
+                highest = score;
+            }
+        }
+        return owner;
+    }
+
+    /**
+     * Mixes the two hashes with the finalizer of MurmurHash3, so that the scores of the members are independent.
+     */
+    private static long mix(int memberHash, int topicHash) {
+        long h = ((long) memberHash << 32) | (topicHash & 0xFFFFFFFFL);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private String memberPath() {
+        return membersPath + "/" + memberId;
+    }
+
+    private void membersChanged(AsyncResult<List<String>> childrenResult) {
+        if (stopped) {
+            return;
+        }
+        if (childrenResult.failed()) {
+            LOGGER.error("Error on znode {} children", membersPath, childrenResult.cause());
+            return;
+        }
+        update(childrenResult.result(), true);
+    }
+
+    private void update(List<String> children, boolean notify) {
+        List<String> members = new ArrayList<>(children);
+        Collections.sort(members);
+        if (!members.contains(memberId) && !stopped) {
+            // The ephemeral znode is gone when the ZooKeeper session expired
+            LOGGER.warn("Member {} is not registered, registering it again", memberId);
+            register().onComplete(ar -> {
+                if (ar.failed()) {
+                    LOGGER.error("Error registering member {}", memberId, ar.cause());
+                }
+            });
+        }
+
+        List<String> previous = this.members;
+        this.members = Collections.unmodifiableList(members);
+        if (!members.equals(previous)) {
+            LOGGER.info("Topic Operator members are now {}", members);
+            Handler<Void> rebalanceHandler = this.rebalanceHandler;
+            if (notify && rebalanceHandler != null) {
+                rebalanceHandler.handle(null);
+            }
+        }
+    }
+
+    private Future<Void> register() {
+        Promise<Void> result = Promise.promise();
+        zk.create(memberPath(), null, acl, CreateMode.EPHEMERAL, ar -> {
+            if (ar.succeeded()) {
+                LOGGER.info("Registered member {}", memberId);
+                result.complete();
+            } else if (ar.cause() instanceof ZkNodeExistsException) {
+                // Either another replica uses the same member id, or the session of a previous run of this member has
+                // not timed out yet. Replacing the znode would make two replicas own the same topics.
+                result.fail(new RuntimeException("Member " + memberId + " is already registered under " + membersPath
+                        + ", the member ids of the replicas have to be unique", ar.cause()));
+            } else {
+                result.fail(ar.cause());
+            }
+        });
+        return result.future();
+    }
+
+    private Future<Void> createPersistent(String path) {
+        Promise<Void> result = Promise.promise();
+        zk.create(path, null, acl, CreateMode.PERSISTENT, ar -> {
+            if (ar.failed() && !(ar.cause() instanceof ZkNodeExistsException)) {
+                LOGGER.error("Error creating {}", path, ar.cause());
+                result.fail(ar.cause());
+            } else {
+                result.complete();
+            }
+        });
+        return result.future();
+    }
+}
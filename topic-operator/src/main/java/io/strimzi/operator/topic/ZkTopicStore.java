@@ -9,17 +9,24 @@ import io.strimzi.operator.topic.zk.Zk;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import org.I0Itec.zkclient.exception.ZkNoNodeException;
 import org.I0Itec.zkclient.exception.ZkNodeExistsException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
 import org.apache.zookeeper.data.ACL;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of {@link TopicStore} that stores the topic state in ZooKeeper.
+ *
+ * The topics created within the batch window are created together with {@link Zk#createAll(Map, List, CreateMode, io.vertx.core.Handler)},
+ * so that creating many topics at once does not take one ZooKeeper round trip per topic.
  */
 public class ZkTopicStore implements TopicStore {
 
@@ -31,9 +38,30 @@ public class ZkTopicStore implements TopicStore {
 
     private final List<ACL> acl;
 
+    private final Vertx vertx;
+
+    // How long the create() calls are collected before the znodes are created together, or 0 for no batching
+    private final long batchWindowMs;
+
+    // The znodes waiting to be created, by path, with the data and the promise of the caller
+    private Map<String, PendingCreate> pendingCreates = new LinkedHashMap<>();
+
     public ZkTopicStore(Zk zk, String topicsPath) {
+        this(zk, topicsPath, null, 0);
+    }
+
+    /**
+     * @param zk The ZooKeeper client.
+     * @param topicsPath The path to the znode with the topics.
+     * @param vertx The Vertx instance, used for the batch window timer.
+     * @param batchWindowMs How long the {@link #create(Topic)} calls are collected before the znodes are created
+     *                      together, or 0 to create each znode on its own.
+     */
+    public ZkTopicStore(Zk zk, String topicsPath, Vertx vertx, long batchWindowMs) {
         this.zk = zk;
         this.topicsPath = topicsPath;
+        this.vertx = vertx;
+        this.batchWindowMs = batchWindowMs;
         acl = new AclBuilder().setWorld(AclBuilder.Permission.values()).build();
         createStrimziTopicsPath();
     }
@@ -88,6 +116,19 @@ public class ZkTopicStore implements TopicStore {
         byte[] data = TopicSerialization.toJson(topic);
         String topicPath = getTopicPath(topic.getTopicName());
         LOGGER.debug("create znode {}", topicPath);
+        if (batchWindowMs > 0) {
+            synchronized (this) {
+                if (pendingCreates.isEmpty()) {
+                    vertx.setTimer(batchWindowMs, id -> flushCreates());
+                }
+                if (pendingCreates.containsKey(topicPath)) {
+                    handler.fail(new EntityExistsException());
+                } else {
+                    pendingCreates.put(topicPath, new PendingCreate(data, handler));
+                }
+            }
+            return handler.future();
+        }
         zk.create(topicPath, data, acl, CreateMode.PERSISTENT, result -> {
             if (result.failed() && result.cause() instanceof ZkNodeExistsException) {
                 handler.handle(Future.failedFuture(new EntityExistsException()));
@@ -98,6 +139,48 @@ public class ZkTopicStore implements TopicStore {
         return handler.future();
     }
 
+    /**
+     * Creates the pending znodes together and completes the promise of each caller with the result for its znode.
+     */
+    private void flushCreates() {
+        Map<String, PendingCreate> batch;
+        synchronized (this) {
+            batch = pendingCreates;
+            pendingCreates = new LinkedHashMap<>();
+        }
+
+        Map<String, byte[]> data = new LinkedHashMap<>(batch.size());
+        batch.forEach((path, create) -> data.put(path, create.data));
+        LOGGER.debug("create {} znodes", data.size());
+        zk.createAll(data, acl, CreateMode.PERSISTENT, result -> {
+            for (Map.Entry<String, PendingCreate> entry : batch.entrySet()) {
+                Promise<Void> handler = entry.getValue().handler;
+                if (result.failed()) {
+                    handler.fail(result.cause());
+                } else {
+                    Throwable error = result.result().get(entry.getKey());
+                    if (error == null) {
+                        handler.complete();
+                    } else if (error instanceof KeeperException.NodeExistsException) {
+                        handler.fail(new EntityExistsException());
+                    } else {
+                        handler.fail(error);
+                    }
+                }
+            }
+        });
+    }
+
+    private static class PendingCreate {
+        private final byte[] data;
+        private final Promise<Void> handler;
+
+        PendingCreate(byte[] data, Promise<Void> handler) {
+            this.data = data;
+            this.handler = handler;
+        }
+    }
+
     @Override
     public Future<Void> update(Topic topic) {
         Promise<Void> handler = Promise.promise();
@@ -17,6 +17,10 @@ public class ZkTopicWatcher extends ZkWatcher {
         super(topicOperator, TOPICS_ZNODE);
     }
 
+    ZkTopicWatcher(TopicOperator topicOperator, boolean scanning) {
+        super(topicOperator, TOPICS_ZNODE, scanning);
+    }
+
     @Override
     protected void notifyOperator(String child) {
         LogContext logContext = LogContext.zkWatch(TOPICS_ZNODE, "=" + child);
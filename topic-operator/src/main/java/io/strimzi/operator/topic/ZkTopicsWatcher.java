@@ -5,6 +5,7 @@
 package io.strimzi.operator.topic;
 
 import io.strimzi.operator.topic.zk.Zk;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -55,6 +56,18 @@ class ZkTopicsWatcher {
         return this.state == 1;
     }
 
+    /**
+     * Find the config and partition changes of the topics when the topic watchers are in scanning mode
+     *
+     * @return A future which completes when both watchers finished their scan
+     */
+    Future<Void> scan() {
+        if (!started()) {
+            return Future.succeededFuture();
+        }
+        return CompositeFuture.join(tcw.scan(), tw.scan()).mapEmpty();
+    }
+
     void start(Zk zk) {
         children = null;
         tcw.start(zk);
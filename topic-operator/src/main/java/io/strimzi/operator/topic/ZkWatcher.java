@@ -8,13 +8,18 @@ import io.strimzi.operator.topic.zk.Zk;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Base abstract class for a ZooKeeper watcher for child znodes
+ * Base abstract class for a ZooKeeper watcher for child znodes.
+ *
+ * By default a ZooKeeper data watch is set on every child. In scanning mode, no watches are set and the changes
+ * of the children are instead found by {@link #scan()}, which compares their data versions with the previous scan.
  */
 public abstract class ZkWatcher {
 
@@ -25,7 +30,10 @@ public abstract class ZkWatcher {
     private volatile Zk zk;
 
     private final ConcurrentHashMap<String, Boolean> children = new ConcurrentHashMap<>();
+    // The data versions of the children from the last scan, only used in scanning mode
+    private final ConcurrentHashMap<String, Integer> dataVersions = new ConcurrentHashMap<>();
     private final String rootZNode;
+    private final boolean scanning;
 
     /**
      * Constructor
@@ -34,8 +42,20 @@ public abstract class ZkWatcher {
      * @param rootZNode     root znode to watch children
      */
     ZkWatcher(TopicOperator topicOperator, String rootZNode) {
+        this(topicOperator, rootZNode, false);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param topicOperator    Operator instance to notify
+     * @param rootZNode     root znode to watch children
+     * @param scanning  whether the changes of the children are found by {@link #scan()} instead of ZooKeeper watches
+     */
+    ZkWatcher(TopicOperator topicOperator, String rootZNode, boolean scanning) {
         this.topicOperator = topicOperator;
         this.rootZNode = rootZNode;
+        this.scanning = scanning;
     }
 
     /**
@@ -69,6 +89,9 @@ public abstract class ZkWatcher {
      */
     protected void addChild(String child) {
         this.children.put(child, false);
+        if (scanning) {
+            return;
+        }
         String path = getPath(child);
         log.debug("Watching znode {} for changes", path);
         Handler<AsyncResult<byte[]>> handler = dataResult -> {
@@ -97,7 +120,34 @@ public abstract class ZkWatcher {
     protected void removeChild(String child) {
         log.debug("Unwatching znode {} for changes", child);
         this.children.remove(child);
-        zk.unwatchData(getPath(child));
+        if (scanning) {
+            this.dataVersions.remove(child);
+        } else {
+            zk.unwatchData(getPath(child));
+        }
+    }
+
+    /**
+     * Fetch the data versions of all children in one pass and notify the operator about the watched children
+     * whose data version changed since the previous scan. The first scan of a child only records its version.
+     *
+     * @return A future which completes when the scan is done
+     */
+    protected Future<Void> scan() {
+        Promise<Map<String, Integer>> versionsPromise = Promise.promise();
+        zk.childrenDataVersions(rootZNode, versionsPromise);
+        return versionsPromise.future().map(versions -> {
+            for (Map.Entry<String, Integer> entry : versions.entrySet()) {
+                String child = entry.getKey();
+                if (watching(child)) {
+                    Integer previous = this.dataVersions.put(child, entry.getValue());
+                    if (previous != null && !previous.equals(entry.getValue())) {
+                        this.notifyOperator(child);
+                    }
+                }
+            }
+            return null;
+        });
     }
 
     /**
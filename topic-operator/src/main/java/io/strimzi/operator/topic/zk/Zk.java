@@ -9,11 +9,13 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import org.I0Itec.zkclient.ZkClient;
+import org.I0Itec.zkclient.ZkConnection;
 import org.I0Itec.zkclient.serialize.BytesPushThroughSerializer;
 import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.data.ACL;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * A vert.X-style ZooKeeper client interface.
@@ -33,9 +35,11 @@ public interface Zk {
     }
 
     static Zk createSync(Vertx vertx, String zkConnectionString, int sessionTimeout, int connectionTimeout) {
+        ZkConnection connection = new ZkConnection(zkConnectionString, sessionTimeout);
         return new ZkImpl(vertx,
-                new ZkClient(zkConnectionString, sessionTimeout, connectionTimeout,
-                        new BytesPushThroughSerializer()));
+                new ZkClient(connection, connectionTimeout,
+                        new BytesPushThroughSerializer()),
+                connection, sessionTimeout);
     }
 
     /**
@@ -88,6 +92,28 @@ public interface Zk {
      */
     Zk children(String path, Handler<AsyncResult<List<String>>> handler);
 
+    /**
+     * Asynchronously fetch the data versions of the children of the znode at the given {@code path}, calling the
+     * given handler with a map from the child name to its data version. The versions are fetched without
+     * setting any watches, and children which are deleted in the meantime are left out of the result.
+     * @param path The path.
+     * @param handler The result handler.
+     * @return This instance.
+     */
+    Zk childrenDataVersions(String path, Handler<AsyncResult<Map<String, Integer>>> handler);
+
+    /**
+     * Asynchronously create the znodes at the paths of the given {@code data} map, with the data mapped to the path.
+     * The creations are independent of each other: the handler is called with a map from the path of each znode
+     * which could not be created to the reason, and the other znodes are created.
+     * @param data The data of the znodes, by path.
+     * @param acls The ACLs.
+     * @param createMode The create mode.
+     * @param handler The result handler.
+     * @return This instance.
+     */
+    Zk createAll(Map<String, byte[]> data, List<ACL> acls, CreateMode createMode, Handler<AsyncResult<Map<String, Throwable>>> handler);
+
     /**
      * Asynchronously set given the children {@code watcher} on the given {@code path},
      * returning a future which completes when the watcher is subscribed.
@@ -13,14 +13,29 @@ import io.vertx.core.WorkerExecutor;
 import org.I0Itec.zkclient.IZkChildListener;
 import org.I0Itec.zkclient.IZkDataListener;
 import org.I0Itec.zkclient.ZkClient;
+import org.I0Itec.zkclient.ZkConnection;
+import org.I0Itec.zkclient.exception.ZkException;
 import org.I0Itec.zkclient.exception.ZkNoNodeException;
+import org.I0Itec.zkclient.exception.ZkNodeExistsException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.ZooKeeper;
 import org.apache.zookeeper.data.ACL;
+import org.apache.zookeeper.data.Stat;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Implementation of {@link Zk}
@@ -33,17 +48,25 @@ public class ZkImpl implements Zk {
             LOGGER.trace("{} returned {}", msg, ignored);
         };
     }
+    // The maximum number of requests sent to ZooKeeper without waiting for their responses
+    private static final int MAX_PIPELINED_REQUESTS = 1_000;
+
     private final Vertx vertx;
     private final ZkClient zookeeper;
+    private final ZkConnection connection;
+    // How long the pipelined requests can go without any response before they are given up
+    private final long requestTimeoutMs;
 
     // Only accessed on the vertx context.
 
     private final ConcurrentHashMap<String, IZkDataListener> dataWatches = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, IZkChildListener> childWatches = new ConcurrentHashMap<>();
 
-    public ZkImpl(Vertx vertx, ZkClient zkClient) {
+    public ZkImpl(Vertx vertx, ZkClient zkClient, ZkConnection connection, long requestTimeoutMs) {
         this.vertx = vertx;
         this.zookeeper = zkClient;
+        this.connection = connection;
+        this.requestTimeoutMs = requestTimeoutMs;
     }
 
 
@@ -62,6 +85,57 @@ public class ZkImpl implements Zk {
         return this;
     }
 
+    @Override
+    public Zk createAll(Map<String, byte[]> data, List<ACL> acls, CreateMode createMode, Handler<AsyncResult<Map<String, Throwable>>> handler) {
+        workerPool().executeBlocking(
+            future -> {
+                try {
+                    // The create requests are pipelined like the exists requests of childrenDataVersions()
+                    ZooKeeper client = connection.getZookeeper();
+                    Map<String, Throwable> errors = new ConcurrentHashMap<>();
+                    Queue<String> retries = new ConcurrentLinkedQueue<>();
+                    CountDownLatch latch = new CountDownLatch(data.size());
+                    Semaphore inflight = new Semaphore(MAX_PIPELINED_REQUESTS);
+
+                    for (Map.Entry<String, byte[]> entry : data.entrySet()) {
+                        acquire(inflight);
+                        client.create(entry.getKey(), bytes(entry.getValue()), acls, createMode, (rc, path, ctx, name) -> {
+                            if (isConnectionError(rc)) {
+                                retries.add(path);
+                            } else if (rc != KeeperException.Code.OK.intValue()) {
+                                errors.put(path, KeeperException.create(KeeperException.Code.get(rc), path));
+                            }
+                            inflight.release();
+                            latch.countDown();
+                        }, null);
+                    }
+                    await(latch);
+
+                    // The requests which were lost with the connection are retried one by one by the ZkClient,
+                    // which waits for the reconnection
+                    for (String path : retries) {
+                        byte[] bytes = bytes(data.get(path));
+                        try {
+                            zookeeper.create(path, bytes, acls, createMode);
+                        } catch (ZkNodeExistsException e) {
+                            // The lost request might have created the znode
+                            byte[] existing = zookeeper.readData(path, true);
+                            if (!Arrays.equals(bytes, existing)) {
+                                errors.put(path, e.getCause() instanceof KeeperException ? e.getCause() : e);
+                            }
+                        } catch (ZkException e) {
+                            errors.put(path, e.getCause() instanceof KeeperException ? e.getCause() : e);
+                        }
+                    }
+                    future.complete(errors);
+                } catch (Throwable t) {
+                    future.fail(t);
+                }
+            },
+            handler);
+        return this;
+    }
+
     @Override
     public Zk setData(String path, byte[] data, int version, Handler<AsyncResult<Void>> handler) {
         workerPool().executeBlocking(
@@ -187,6 +261,40 @@ public class ZkImpl implements Zk {
         return this;
     }
 
+    private static byte[] bytes(byte[] data) {
+        return data == null ? new byte[0] : data;
+    }
+
+    /**
+     * Whether the asynchronous request failed because the connection to ZooKeeper was lost, so that it is not known
+     * whether it was processed.
+     */
+    private static boolean isConnectionError(int rc) {
+        return rc == KeeperException.Code.CONNECTIONLOSS.intValue()
+                || rc == KeeperException.Code.SESSIONEXPIRED.intValue();
+    }
+
+    private void acquire(Semaphore inflight) throws InterruptedException, TimeoutException {
+        if (!inflight.tryAcquire(requestTimeoutMs, TimeUnit.MILLISECONDS)) {
+            throw new TimeoutException("No response from ZooKeeper within " + requestTimeoutMs + "ms");
+        }
+    }
+
+    /**
+     * Waits for the responses of the pipelined requests. The wait fails when no response arrives within
+     * the request timeout, so that a large batch can take longer than the timeout as long as it makes progress.
+     */
+    private void await(CountDownLatch latch) throws InterruptedException, TimeoutException {
+        long remaining = latch.getCount();
+        while (!latch.await(requestTimeoutMs, TimeUnit.MILLISECONDS)) {
+            if (latch.getCount() == remaining) {
+                throw new TimeoutException("No response from ZooKeeper within " + requestTimeoutMs + "ms, "
+                        + remaining + " requests are outstanding");
+            }
+            remaining = latch.getCount();
+        }
+    }
+
     private WorkerExecutor workerPool() {
         return vertx.createSharedWorkerExecutor(getClass().getName(), 4);
     }
@@ -206,6 +314,61 @@ public class ZkImpl implements Zk {
 
     }
 
+    @Override
+    public Zk childrenDataVersions(String path, Handler<AsyncResult<Map<String, Integer>>> handler) {
+        workerPool().executeBlocking(
+            future -> {
+                try {
+                    List<String> children = zookeeper.getChildren(path);
+                    // The exists requests are pipelined through the asynchronous ZooKeeper API, so that
+                    // a scan of many children does not take one round trip per child
+                    ZooKeeper client = connection.getZookeeper();
+                    Map<String, Integer> versions = new ConcurrentHashMap<>(children.size());
+                    AtomicReference<KeeperException> error = new AtomicReference<>();
+                    Queue<String> retries = new ConcurrentLinkedQueue<>();
+                    CountDownLatch latch = new CountDownLatch(children.size());
+                    Semaphore inflight = new Semaphore(MAX_PIPELINED_REQUESTS);
+
+                    for (String child : children) {
+                        acquire(inflight);
+                        client.exists(path + "/" + child, false, (rc, childPath, ctx, stat) -> {
+                            if (rc == KeeperException.Code.OK.intValue()) {
+                                versions.put(child, stat.getVersion());
+                            } else if (isConnectionError(rc)) {
+                                retries.add(child);
+                            } else if (rc != KeeperException.Code.NONODE.intValue()) {
+                                error.compareAndSet(null, KeeperException.create(KeeperException.Code.get(rc), childPath));
+                            }
+                            inflight.release();
+                            latch.countDown();
+                        }, null);
+                    }
+                    await(latch);
+
+                    // The requests which were lost with the connection are retried one by one by the ZkClient
+                    for (String child : retries) {
+                        try {
+                            Stat stat = new Stat();
+                            zookeeper.readData(path + "/" + child, stat);
+                            versions.put(child, stat.getVersion());
+                        } catch (ZkNoNodeException e) {
+                            // The child was deleted
+                        }
+                    }
+
+                    if (error.get() != null) {
+                        future.fail(error.get());
+                    } else {
+                        future.complete(versions);
+                    }
+                } catch (Throwable t) {
+                    future.fail(t);
+                }
+            },
+            handler);
+        return this;
+    }
+
     @Override
     public Future<Zk> watchChildren(String path, Handler<AsyncResult<List<String>>> watcher) {
         Promise<Zk> result = Promise.promise();
@@ -66,6 +66,17 @@ public class ConfigTest {
         assertThrows(IllegalArgumentException.class, () -> new Config(map));
     }
 
+    @Test
+    public void testShardingRequiresTheZooKeeperTopicStore() {
+        Map<String, String> map = new HashMap<>(MANDATORY);
+        map.put(Config.SHARDING_ENABLED.key, "true");
+
+        assertDoesNotThrow(() -> new Config(map));
+
+        map.put(Config.USE_ZOOKEEPER_TOPIC_STORE.key, "false");
+        assertThrows(IllegalArgumentException.class, () -> new Config(map));
+    }
+
     @Test
     public void testTopicMetadataMaxAttemptsIsSetCorrectly() {
 
@@ -4,14 +4,22 @@
  */
 package io.strimzi.operator.topic;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.CreateTopicsResult;
 import org.apache.kafka.clients.admin.DeleteTopicsResult;
 import org.apache.kafka.clients.admin.DescribeConfigsResult;
 import org.apache.kafka.clients.admin.DescribeTopicsResult;
@@ -19,17 +27,23 @@ import org.apache.kafka.clients.admin.TopicDescription;
 import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.config.ConfigResource;
 import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.errors.TopicExistsException;
 import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
 import org.apache.kafka.common.internals.KafkaFutureImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(VertxExtension.class)
@@ -138,6 +152,22 @@ public class KafkaImplTest {
     }
 
 
+    private void mockCreateTopics(Admin admin, Map<String, Either<Void, Exception>> result) {
+        CreateTopicsResult createTopicsResult = mock(CreateTopicsResult.class);
+        when(createTopicsResult.values()).thenReturn(result.entrySet().stream().collect(toMap(
+            entry -> entry.getKey(),
+            entry -> {
+                KafkaFutureImpl<Void> kafkaFuture = new KafkaFutureImpl<>();
+                if (entry.getValue().isLeft()) {
+                    kafkaFuture.complete(null);
+                } else {
+                    kafkaFuture.completeExceptionally(entry.getValue().right());
+                }
+                return kafkaFuture;
+            })));
+        when(admin.createTopics(anyCollection())).thenReturn(createTopicsResult);
+    }
+
     @Test
     public void testTopicMetadataBothNotFound(VertxTestContext testContext) {
         Admin admin = mock(Admin.class);
@@ -250,5 +280,76 @@ public class KafkaImplTest {
             testContext.completeNow();
         })));
     }
-}
 
+    @Test
+    public void testTopicMetadataIsBatched(VertxTestContext testContext) {
+        Admin admin = mock(Admin.class);
+        Map<String, Either<TopicDescription, Exception>> descriptions = new HashMap<>();
+        descriptions.put("test1", Either.ofLeft(mock(TopicDescription.class)));
+        descriptions.put("test2", Either.ofRight(new UnknownTopicOrPartitionException()));
+        mockDescribeTopics(admin, descriptions);
+        Map<ConfigResource, Either<Config, Exception>> configs = new HashMap<>();
+        configs.put(new ConfigResource(ConfigResource.Type.TOPIC, "test1"), Either.ofLeft(mock(Config.class)));
+        configs.put(new ConfigResource(ConfigResource.Type.TOPIC, "test2"), Either.ofRight(new UnknownTopicOrPartitionException()));
+        mockDescribeConfigs(admin, configs);
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        KafkaImpl impl = new KafkaImpl(admin, vertx, 10_000, 2, new MicrometerMetricsProvider(registry));
+        // The same topic is described only once and the batch is sent as soon as it is full, without waiting for
+        // the batch window
+        CompositeFuture.all(impl.topicMetadata(new TopicName("test1")),
+                impl.topicMetadata(new TopicName("test1")),
+                impl.topicMetadata(new TopicName("test2")))
+            .onComplete(testContext.succeeding(result -> testContext.verify(() -> {
+                assertNotNull(result.resultAt(0));
+                assertNotNull(result.resultAt(1));
+                assertNull(result.resultAt(2));
+                verify(admin, times(1)).describeTopics(anyCollection());
+                verify(admin, times(1)).describeConfigs(anyCollection());
+                DistributionSummary fillRatio = registry.find(TopicOperator.METRICS_PREFIX + "topic.metadata.batch.fill.ratio").summary();
+                assertEquals(1L, fillRatio.count());
+                assertEquals(1.0, fillRatio.totalAmount());
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void testTopicCreationIsBatched(VertxTestContext testContext) {
+        Admin admin = mock(Admin.class);
+        Map<String, Either<Void, Exception>> results = new HashMap<>();
+        results.put("test1", Either.ofLeft(null));
+        results.put("test2", Either.ofRight(new TopicExistsException("Topic 'test2' already exists.")));
+        mockCreateTopics(admin, results);
+
+        KafkaImpl impl = new KafkaImpl(admin, vertx, 0, 1, 10, 10, null);
+        Future<Void> created = impl.createTopic(new Topic.Builder("test1", 1, (short) 1, emptyMap()).build());
+        Future<Void> exists = impl.createTopic(new Topic.Builder("test2", 1, (short) 1, emptyMap()).build());
+        // A failed topic does not fail the other topics of the batch
+        CompositeFuture.join(created, exists)
+            .onComplete(testContext.failing(error -> testContext.verify(() -> {
+                assertTrue(created.succeeded());
+                assertTrue(exists.cause() instanceof TopicExistsException);
+                verify(admin, times(1)).createTopics(anyCollection());
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    public void testTopicCreationBatchesAreLimitedToTheCreationMaxBatchSize(VertxTestContext testContext) {
+        Admin admin = mock(Admin.class);
+        Map<String, Either<Void, Exception>> results = new HashMap<>();
+        results.put("test1", Either.ofLeft(null));
+        results.put("test2", Either.ofLeft(null));
+        mockCreateTopics(admin, results);
+
+        // The metadata batch size does not limit the creation batches
+        KafkaImpl impl = new KafkaImpl(admin, vertx, 0, 10, 10, 1, null);
+        Future<Void> created1 = impl.createTopic(new Topic.Builder("test1", 1, (short) 1, emptyMap()).build());
+        Future<Void> created2 = impl.createTopic(new Topic.Builder("test2", 1, (short) 1, emptyMap()).build());
+        CompositeFuture.all(created1, created2)
+            .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                verify(admin, times(2)).createTopics(anyCollection());
+                testContext.completeNow();
+            })));
+    }
+}
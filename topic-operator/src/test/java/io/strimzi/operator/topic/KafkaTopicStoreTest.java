@@ -0,0 +1,298 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.topic;
+
+import io.strimzi.operator.topic.zk.Zk;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(VertxExtension.class)
+public class KafkaTopicStoreTest {
+
+    private static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    /**
+     * The topic as it is read back from the store
+     */
+    private static Topic stored(Topic topic) {
+        return TopicSerialization.fromJson(TopicSerialization.toJson(topic));
+    }
+
+    @Test
+    public void testCrud(VertxTestContext context) {
+        MockProducer<String, byte[]> producer = new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+        KafkaTopicStore store = new KafkaTopicStore(vertx, "store-topic", producer);
+
+        Topic topic = new Topic.Builder("my_topic", 2, (short) 3, Collections.singletonMap("foo", "bar")).build();
+        Topic updatedTopic = new Topic.Builder(topic).withNumPartitions(3).build();
+
+        Checkpoint async = context.checkpoint();
+        store.create(topic)
+            .compose(v -> store.read(topic.getTopicName()))
+            .compose(readTopic -> {
+                context.verify(() -> assertThat(readTopic, is(stored(topic))));
+                return store.create(topic).recover(error -> {
+                    context.verify(() -> assertThat(error, instanceOf(TopicStore.EntityExistsException.class)));
+                    return store.update(updatedTopic);
+                });
+            })
+            .compose(v -> store.read(topic.getTopicName()))
+            .compose(readTopic -> {
+                context.verify(() -> assertThat(readTopic, is(stored(updatedTopic))));
+                return store.delete(topic.getTopicName());
+            })
+            .compose(v -> store.read(topic.getTopicName()))
+            .compose(readTopic -> {
+                context.verify(() -> assertThat(readTopic, is(nullValue())));
+                return store.delete(topic.getTopicName()).recover(error -> {
+                    context.verify(() -> assertThat(error, instanceOf(TopicStore.NoSuchEntityExistsException.class)));
+                    return store.update(topic);
+                });
+            })
+            .onComplete(context.failing(error -> context.verify(() -> {
+                assertThat(error, instanceOf(TopicStore.NoSuchEntityExistsException.class));
+
+                // Two writes of the topic and one tombstone, keyed by the topic name
+                assertThat(producer.history().size(), is(3));
+                assertThat(producer.history().get(2).key(), is("my_topic"));
+                assertThat(producer.history().get(2).value(), is(nullValue()));
+                assertThat(producer.history().get(1).value(), is(TopicSerialization.toJson(updatedTopic)));
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testFailedWriteIsNotVisible(VertxTestContext context) {
+        MockProducer<String, byte[]> producer = new MockProducer<>(false, new StringSerializer(), new ByteArraySerializer());
+        KafkaTopicStore store = new KafkaTopicStore(vertx, "store-topic", producer);
+
+        Topic topic = new Topic.Builder("my_topic", 2, (short) 3, Collections.emptyMap()).build();
+
+        Checkpoint async = context.checkpoint();
+        store.create(topic).onComplete(context.failing(error -> context.verify(() -> {
+            assertThat(error.getMessage(), is("Not written"));
+            store.read(topic.getTopicName()).onComplete(context.succeeding(readTopic -> context.verify(() -> {
+                assertThat(readTopic, is(nullValue()));
+                async.flag();
+            })));
+        })));
+        producer.errorNext(new RuntimeException("Not written"));
+    }
+
+    private static final String TOPICS_PATH = "/strimzi/topics";
+
+    /**
+     * A ZooKeeper client with the given data of the topics path and one stored topic
+     */
+    private static Zk mockZk(byte[] topicsPathData, Topic topic) {
+        Zk zk = mock(Zk.class);
+        doAnswer(invocation -> {
+            Handler<AsyncResult<byte[]>> handler = invocation.getArgument(1);
+            handler.handle(Future.succeededFuture(topicsPathData));
+            return zk;
+        }).when(zk).getData(eq(TOPICS_PATH), any());
+        doAnswer(invocation -> {
+            Handler<AsyncResult<byte[]>> handler = invocation.getArgument(1);
+            handler.handle(Future.succeededFuture(TopicSerialization.toJson(topic)));
+            return zk;
+        }).when(zk).getData(eq(TOPICS_PATH + "/" + topic.getTopicName()), any());
+        doAnswer(invocation -> {
+            Handler<AsyncResult<List<String>>> handler = invocation.getArgument(1);
+            handler.handle(Future.succeededFuture(Collections.singletonList(topic.getTopicName().toString())));
+            return zk;
+        }).when(zk).children(eq(TOPICS_PATH), any());
+        doAnswer(invocation -> {
+            Handler<AsyncResult<Void>> handler = invocation.getArgument(3);
+            handler.handle(Future.succeededFuture());
+            return zk;
+        }).when(zk).setData(anyString(), any(), anyInt(), any());
+        doAnswer(invocation -> {
+            Handler<AsyncResult<Void>> handler = invocation.getArgument(2);
+            handler.handle(Future.succeededFuture());
+            return zk;
+        }).when(zk).delete(anyString(), anyInt(), any());
+        return zk;
+    }
+
+    @Test
+    public void testMigrationKeepsTheZooKeeperTopics(VertxTestContext context) {
+        MockProducer<String, byte[]> producer = new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+        KafkaTopicStore store = new KafkaTopicStore(vertx, "store-topic", producer);
+        Topic topic = new Topic.Builder("my_topic", 2, (short) 3, Collections.emptyMap()).build();
+        Zk zk = mockZk(null, topic);
+
+        Checkpoint async = context.checkpoint();
+        store.migrateFromZooKeeper(zk, TOPICS_PATH, false)
+            .compose(v -> store.read(topic.getTopicName()))
+            .onComplete(context.succeeding(readTopic -> context.verify(() -> {
+                assertThat(readTopic, is(stored(topic)));
+                assertThat(producer.history().size(), is(1));
+                verify(zk, never()).delete(anyString(), anyInt(), any());
+
+                // The topics path is marked as migrated, so that the topics are not copied again
+                ArgumentCaptor<byte[]> marker = ArgumentCaptor.forClass(byte[].class);
+                verify(zk).setData(eq(TOPICS_PATH), marker.capture(), eq(-1), any());
+                Zk migratedZk = mockZk(marker.getValue(), topic);
+                KafkaTopicStore otherStore = new KafkaTopicStore(vertx, "store-topic", producer);
+                otherStore.migrateFromZooKeeper(migratedZk, TOPICS_PATH, false)
+                    .onComplete(context.succeeding(v -> context.verify(() -> {
+                        assertThat(producer.history().size(), is(1));
+                        verify(migratedZk, never()).children(anyString(), any());
+                        async.flag();
+                    })));
+            })));
+    }
+
+    @Test
+    public void testMigrationDeletesTheZooKeeperTopicsWhenRequested(VertxTestContext context) {
+        MockProducer<String, byte[]> producer = new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+        KafkaTopicStore store = new KafkaTopicStore(vertx, "store-topic", producer);
+        Topic topic = new Topic.Builder("my_topic", 2, (short) 3, Collections.emptyMap()).build();
+        Zk zk = mockZk(null, topic);
+
+        Checkpoint async = context.checkpoint();
+        store.migrateFromZooKeeper(zk, TOPICS_PATH, true)
+            .onComplete(context.succeeding(v -> context.verify(() -> {
+                assertThat(producer.history().size(), is(1));
+                verify(zk).setData(eq(TOPICS_PATH), any(), eq(-1), any());
+                verify(zk).delete(eq(TOPICS_PATH + "/my_topic"), eq(-1), any());
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testMigrationAfterTheZooKeeperStoreWasUsedAgain(VertxTestContext context) {
+        MockProducer<String, byte[]> producer = new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+        KafkaTopicStore store = new KafkaTopicStore(vertx, "store-topic", producer);
+        Topic topic = new Topic.Builder("my_topic", 2, (short) 3, Collections.emptyMap()).build();
+        Topic changedTopic = new Topic.Builder(topic).withNumPartitions(3).build();
+        Topic deletedTopic = new Topic.Builder("deleted_topic", 1, (short) 3, Collections.emptyMap()).build();
+        Zk zk = mockZk(null, topic);
+
+        Checkpoint async = context.checkpoint();
+        store.migrateFromZooKeeper(zk, TOPICS_PATH, false)
+            .compose(v -> store.create(deletedTopic))
+            .compose(v -> {
+                // The topics path is marked as migrated, the marker is removed when the ZooKeeper store is used again
+                ArgumentCaptor<byte[]> marker = ArgumentCaptor.forClass(byte[].class);
+                verify(zk).setData(eq(TOPICS_PATH), marker.capture(), eq(-1), any());
+                Zk migratedZk = mockZk(marker.getValue(), topic);
+                return KafkaTopicStore.clearMigrationMarker(migratedZk, TOPICS_PATH).map(migratedZk);
+            })
+            .compose(migratedZk -> {
+                ArgumentCaptor<byte[]> cleared = ArgumentCaptor.forClass(byte[].class);
+                verify(migratedZk).setData(eq(TOPICS_PATH), cleared.capture(), eq(-1), any());
+
+                // While the ZooKeeper store was used, my_topic was changed and deleted_topic was deleted
+                Zk changedZk = mockZk(cleared.getValue(), changedTopic);
+                return store.migrateFromZooKeeper(changedZk, TOPICS_PATH, false);
+            })
+            .compose(v -> CompositeFuture.all(store.read(topic.getTopicName()), store.read(deletedTopic.getTopicName())))
+            .onComplete(context.succeeding(reads -> context.verify(() -> {
+                assertThat(reads.resultAt(0), is(stored(changedTopic)));
+                assertThat(reads.resultAt(1), is(nullValue()));
+                // The first migration, deleted_topic, and then the changed topic and the tombstone of deleted_topic
+                assertThat(producer.history().size(), is(4));
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testClearingTheMigrationMarkerKeepsOtherData(VertxTestContext context) {
+        Topic topic = new Topic.Builder("my_topic", 2, (short) 3, Collections.emptyMap()).build();
+        Zk zk = mockZk(null, topic);
+
+        Checkpoint async = context.checkpoint();
+        KafkaTopicStore.clearMigrationMarker(zk, TOPICS_PATH).onComplete(context.succeeding(v -> context.verify(() -> {
+            verify(zk, never()).setData(anyString(), any(), anyInt(), any());
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testLoadTimesOut() {
+        MockProducer<String, byte[]> producer = new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+        KafkaTopicStore store = new KafkaTopicStore(vertx, "store-topic", producer);
+
+        // The end offset is never reached
+        MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        TopicPartition partition = new TopicPartition("store-topic", 0);
+        consumer.updatePartitions("store-topic", Collections.singletonList(new PartitionInfo("store-topic", 0, null, null, null)));
+        consumer.updateBeginningOffsets(Collections.singletonMap(partition, 0L));
+        consumer.updateEndOffsets(Collections.singletonMap(partition, 1L));
+
+        assertThrows(TimeoutException.class, () -> store.load(consumer, 10));
+    }
+
+    @Test
+    public void testLoad() {
+        MockProducer<String, byte[]> producer = new MockProducer<>(true, new StringSerializer(), new ByteArraySerializer());
+        KafkaTopicStore store = new KafkaTopicStore(vertx, "store-topic", producer);
+        Topic topic = new Topic.Builder("my_topic", 2, (short) 3, Collections.emptyMap()).build();
+        Topic deletedTopic = new Topic.Builder("deleted_topic", 1, (short) 3, Collections.emptyMap()).build();
+
+        MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        TopicPartition partition = new TopicPartition("store-topic", 0);
+        consumer.updatePartitions("store-topic", Collections.singletonList(new PartitionInfo("store-topic", 0, null, null, null)));
+        consumer.updateBeginningOffsets(Collections.singletonMap(partition, 0L));
+        consumer.updateEndOffsets(Collections.singletonMap(partition, 3L));
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(new ConsumerRecord<>("store-topic", 0, 0, "my_topic", TopicSerialization.toJson(topic)));
+            consumer.addRecord(new ConsumerRecord<>("store-topic", 0, 1, "deleted_topic", TopicSerialization.toJson(deletedTopic)));
+            consumer.addRecord(new ConsumerRecord<>("store-topic", 0, 2, "deleted_topic", null));
+        });
+
+        store.load(consumer, 10_000);
+        assertThat(store.read(topic.getTopicName()).result(), is(stored(topic)));
+        assertThat(store.read(deletedTopic.getTopicName()).result(), is(nullValue()));
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.topic;
+
+import io.strimzi.operator.topic.MockTopicOperator.MockOperatorEvent;
+import io.strimzi.operator.topic.MockTopicOperator.MockOperatorEvent.Type;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+public class KafkaTopicsPollerTest {
+
+    private static Vertx vertx;
+
+    private final Map<String, Topic> topics = new HashMap<>();
+    private MockKafka kafka;
+    private MockTopicOperator operator;
+    private KafkaTopicsPoller poller;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    @BeforeEach
+    public void setup() {
+        topics.clear();
+        addTopic(new Topic.Builder("foo", 2, (short) 3, Collections.singletonMap("retention.ms", "1000")).build());
+        addTopic(new Topic.Builder("bar", 1, (short) 1, Collections.emptyMap()).build());
+
+        kafka = new MockKafka();
+        kafka.setTopicsList(new HashSet<>(topics.keySet()));
+        kafka.setTopicMetadataResponse(topicName -> {
+            Topic topic = topics.get(topicName.toString());
+            return Future.succeededFuture(topic == null ? null : Utils.getTopicMetadata(topic));
+        });
+
+        operator = new MockTopicOperator();
+        operator.topicCreatedResult = Future.succeededFuture();
+        operator.topicDeletedResult = Future.succeededFuture();
+        operator.topicModifiedResult = Future.succeededFuture();
+
+        poller = new KafkaTopicsPoller(vertx, kafka, operator, 3_600_000);
+        poller.start();
+    }
+
+    @AfterEach
+    public void teardown() {
+        poller.stop();
+    }
+
+    private void addTopic(Topic topic) {
+        topics.put(topic.getTopicName().toString(), topic);
+        if (kafka != null) {
+            kafka.setTopicsList(new HashSet<>(topics.keySet()));
+        }
+    }
+
+    private void removeTopic(String name) {
+        topics.remove(name);
+        kafka.setTopicsList(new HashSet<>(topics.keySet()));
+    }
+
+    @Test
+    public void testFirstPollOnlyRecordsTopics() {
+        assertThat(poller.started(), is(true));
+        assertThat(operator.getMockOperatorEvents(), is(emptyList()));
+
+        poller.poll();
+        assertThat(operator.getMockOperatorEvents(), is(emptyList()));
+    }
+
+    @Test
+    public void testTopicsAreRecordedUntilAPollSucceeds() {
+        poller.stop();
+        kafka.setTopicsListResponse(Future.failedFuture(new RuntimeException("Not listed")));
+        poller = new KafkaTopicsPoller(vertx, kafka, operator, 3_600_000);
+        poller.start();
+        assertThat(poller.started(), is(false));
+
+        // The first successful poll only records the topics, including the ones it could not describe
+        kafka.setTopicsList(new HashSet<>(topics.keySet()));
+        kafka.setTopicMetadataResponse(topicName -> "foo".equals(topicName.toString())
+                ? Future.failedFuture(new RuntimeException("Not described"))
+                : Future.succeededFuture(Utils.getTopicMetadata(topics.get(topicName.toString()))));
+        poller.poll();
+        assertThat(poller.started(), is(true));
+        assertThat(operator.getMockOperatorEvents(), is(emptyList()));
+
+        // The topic which was not described is not reported as created once it is described
+        kafka.setTopicMetadataResponse(topicName -> Future.succeededFuture(Utils.getTopicMetadata(topics.get(topicName.toString()))));
+        poller.poll();
+        assertThat(operator.getMockOperatorEvents(), is(emptyList()));
+
+        addTopic(new Topic.Builder(topics.get("foo")).withConfigEntry("retention.ms", "2000").build());
+        poller.poll();
+        assertThat(operator.getMockOperatorEvents(),
+                is(singletonList(new MockOperatorEvent(Type.MODIFY_CONFIG, new TopicName("foo")))));
+    }
+
+    @Test
+    public void testTopicCreatedAndDeleted() {
+        addTopic(new Topic.Builder("baz", 1, (short) 1, Collections.emptyMap()).build());
+        removeTopic("bar");
+
+        poller.poll();
+        assertThat(operator.getMockOperatorEvents(), containsInAnyOrder(
+                new MockOperatorEvent(Type.CREATE, new TopicName("baz")),
+                new MockOperatorEvent(Type.DELETE, new TopicName("bar"))));
+    }
+
+    @Test
+    public void testTopicChanges() {
+        addTopic(new Topic.Builder(topics.get("foo")).withConfigEntry("retention.ms", "2000").build());
+        poller.poll();
+        assertThat(operator.getMockOperatorEvents(),
+                is(singletonList(new MockOperatorEvent(Type.MODIFY_CONFIG, new TopicName("foo")))));
+
+        operator.clearEvents();
+        addTopic(new Topic.Builder(topics.get("bar")).withNumPartitions(3).build());
+        poller.poll();
+        assertThat(operator.getMockOperatorEvents(),
+                is(singletonList(new MockOperatorEvent(Type.MODIFY_PARTITIONS, new TopicName("bar")))));
+
+        operator.clearEvents();
+        addTopic(new Topic.Builder(topics.get("foo")).withNumReplicas((short) 2).withConfig(Collections.emptyMap()).build());
+        poller.poll();
+        assertThat(operator.getMockOperatorEvents(), is(asList(
+                new MockOperatorEvent(Type.MODIFY_PARTITIONS, new TopicName("foo")),
+                new MockOperatorEvent(Type.MODIFY_CONFIG, new TopicName("foo")))));
+
+        // Nothing changed since the last poll
+        operator.clearEvents();
+        poller.poll();
+        assertThat(operator.getMockOperatorEvents(), is(emptyList()));
+    }
+
+    @Test
+    public void testFingerprintDoesNotDependOnOrder() {
+        Map<String, String> config = new HashMap<>();
+        config.put("retention.ms", "1000");
+        config.put("cleanup.policy", "compact");
+        Topic topic = new Topic.Builder("foo", 3, (short) 2, config).build();
+        TopicMetadata metadata = Utils.getTopicMetadata(topic);
+        TopicMetadata reversed = new TopicMetadata(
+                new TopicDescription("foo", false,
+                        reverse(metadata.getDescription().partitions())),
+                new org.apache.kafka.clients.admin.Config(reverse(new ArrayList<>(metadata.getConfig().entries()))));
+
+        assertThat(KafkaTopicsPoller.fingerprint(reversed), is(KafkaTopicsPoller.fingerprint(metadata)));
+    }
+
+    private static <T> List<T> reverse(List<T> list) {
+        List<T> result = new ArrayList<>(list);
+        Collections.reverse(result);
+        return result;
+    }
+}
@@ -21,6 +21,7 @@ class MockZk implements Zk {
     public AsyncResult<Void> setDataResult = Future.failedFuture("Unexpected mock interaction. Configure " + getClass().getSimpleName() + ".setDataResult");
     public AsyncResult<List<String>> childrenResult = Future.failedFuture("Unexpected mock interaction. Configure " + getClass().getSimpleName() + ".childrenResult");
     public AsyncResult<byte[]> dataResult = Future.failedFuture("Unexpected mock interaction. Configure " + getClass().getSimpleName() + ".dataResult");
+    public Map<String, Map<String, Integer>> childrenDataVersions = new HashMap<>();
     private Handler<AsyncResult<List<String>>> childrenHandler;
     private Map<String, Handler<AsyncResult<byte[]>>> dataHandlers = new HashMap<>();
 
@@ -61,6 +62,28 @@ class MockZk implements Zk {
         return this;
     }
 
+    @Override
+    public Zk childrenDataVersions(String path, Handler<AsyncResult<Map<String, Integer>>> handler) {
+        handler.handle(Future.succeededFuture(childrenDataVersions.getOrDefault(path, new HashMap<>())));
+        return this;
+    }
+
+    @Override
+    public Zk createAll(Map<String, byte[]> data, List<ACL> acls, CreateMode createMode, Handler<AsyncResult<Map<String, Throwable>>> handler) {
+        Map<String, Throwable> errors = new HashMap<>();
+        for (String path : data.keySet()) {
+            if (createResult.failed()) {
+                errors.put(path, createResult.cause());
+            }
+        }
+        handler.handle(Future.succeededFuture(errors));
+        return this;
+    }
+
+    public boolean watchingData(String path) {
+        return dataHandlers.containsKey(path);
+    }
+
     @Override
     public Future<Zk> watchChildren(String path, Handler<AsyncResult<List<String>>> watcher) {
         childrenHandler = watcher;
@@ -93,6 +116,7 @@ class MockZk implements Zk {
 
     @Override
     public Zk delete(String path, int version, Handler<AsyncResult<Void>> handler) {
-        return null;
+        handler.handle(Future.succeededFuture());
+        return this;
     }
 }
@@ -4,6 +4,8 @@
  */
 package io.strimzi.operator.topic;
 
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
@@ -180,4 +182,37 @@ public class TopicDiffTest {
         assertThat(TopicDiff.diff(topicD, topicE).changesReplicationFactor(), is(true));
         assertThat(TopicDiff.diff(topicC, topicE).changesReplicationFactor(), is(true));
     }
+
+    @Test
+    public void testDiffOfSameContentOnlyChangesMetadata() {
+        ObjectMeta metadata = new ObjectMetaBuilder().withName("test").withResourceVersion("2").build();
+        Topic topicC = new Topic.Builder(topicA.getTopicName(), topicA.getNumPartitions(), new HashMap<>(topicAConfig), metadata).build();
+
+        assertThat(topicC.getConfig(), is(topicAConfig));
+        assertThat(topicC.getConfig().hashCode(), is(topicAConfig.hashCode()));
+        TopicDiff diff = TopicDiff.diff(topicA, topicC);
+        assertThat(diff.isEmpty(), is(true));
+        assertThat(diff.apply(topicA), is(topicC));
+    }
+
+    @Test
+    public void testConfigDiffWithInterleavedKeys() {
+        Map<String, String> configC = new HashMap<>();
+        configC.put("a", "1");
+        configC.put("c", "three");
+        configC.put("e", "5");
+        configC.put("g", "7");
+        Map<String, String> configD = new HashMap<>();
+        configD.put("b", "2");
+        configD.put("c", "3");
+        configD.put("f", "6");
+        configD.put("g", "7");
+        configD.put("h", "8");
+        Topic topicC = new Topic.Builder("test", 2, configC).build();
+        Topic topicD = new Topic.Builder("test", 2, configD).build();
+
+        TopicDiff diff = TopicDiff.diff(topicC, topicD);
+        assertThat(diff.toString(), diff.apply(topicC), is(topicD));
+        assertThat(TopicDiff.diff(topicD, topicC).apply(topicD), is(topicC));
+    }
 }
@@ -0,0 +1,302 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.topic;
+
+import io.fabric8.kubernetes.client.Watcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.strimzi.api.kafka.model.KafkaTopic;
+import io.strimzi.api.kafka.model.KafkaTopicBuilder;
+import io.strimzi.operator.common.MetricsProvider;
+import io.strimzi.operator.common.MicrometerMetricsProvider;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.micrometer.MicrometerMetricsOptions;
+import io.vertx.micrometer.VertxPrometheusOptions;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load harness which drives a {@link TopicOperator} backed by {@link MockKafka}, {@link MockK8s} and
+ * {@link MockTopicStore} with thousands of topics, to find out how far one operator instance scales.
+ *
+ * The harness runs two phases:
+ * <ol>
+ * <li>create: a {@code KafkaTopic} ADDED event for each topic, which creates the topic in Kafka and in the topic store,</li>
+ * <li>storm: {@code events} events for each topic, alternating between a config change in Kafka and a modification
+ *     of the {@code KafkaTopic}, all submitted at once.</li>
+ * </ol>
+ * For each phase it reports the events per second, the median and p99 latency from the submission of an event to the
+ * completion of its reconciliation, the heap used, the reconciliations and coalesced events counted by the operator,
+ * and the events which failed, including those which timed out waiting for the topic lock.
+ *
+ * The harness is configured with system properties and is not run by the test suite. For example:
+ * <pre>
+ * mvn -pl topic-operator test-compile org.codehaus.mojo:exec-maven-plugin:1.6.0:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=io.strimzi.operator.topic.TopicOperatorLoadHarness -Dtopics=10000 -Devents=5 -DkafkaLatencyMs=5
+ * </pre>
+ * <ul>
+ * <li>{@code topics}: the number of topics (default 5000),</li>
+ * <li>{@code events}: the number of storm events for each topic (default 3),</li>
+ * <li>{@code kafkaLatencyMs}, {@code k8sLatencyMs}, {@code storeLatencyMs}: the latency added to every call to the
+ *     Kafka, Kubernetes and topic store mocks (default 0),</li>
+ * <li>any {@code STRIMZI_*} property: passed to the operator {@link Config}, for example {@code STRIMZI_EVENT_DEBOUNCE_MS}.</li>
+ * </ul>
+ */
+public class TopicOperatorLoadHarness {
+
+    private final int topics;
+    private final int events;
+    private final long kafkaLatencyMs;
+    private final long k8sLatencyMs;
+    private final long storeLatencyMs;
+    private final Map<String, String> config;
+
+    private final Vertx vertx;
+    private final MetricsProvider metrics;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final Labels labels = Labels.fromString("app=strimzi");
+    // The generation of the modified KafkaTopics, distinct from the generations set by the status updates
+    private final AtomicLong generation = new AtomicLong(1_000_000);
+
+    private MockKafka mockKafka;
+    private MockK8s mockK8s;
+    private TopicOperator topicOperator;
+    private Context context;
+
+    TopicOperatorLoadHarness(int topics, int events, long kafkaLatencyMs, long k8sLatencyMs, long storeLatencyMs,
+                             Map<String, String> config) {
+        this.topics = topics;
+        this.events = events;
+        this.kafkaLatencyMs = kafkaLatencyMs;
+        this.k8sLatencyMs = k8sLatencyMs;
+        this.storeLatencyMs = storeLatencyMs;
+        this.config = config;
+        this.vertx = Vertx.vertx(new VertxOptions().setMetricsOptions(
+                new MicrometerMetricsOptions()
+                        .setPrometheusOptions(new VertxPrometheusOptions().setEnabled(true))
+                        .setEnabled(true)));
+        this.metrics = new MicrometerMetricsProvider();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> config = new HashMap<>();
+        config.put(Config.ZOOKEEPER_CONNECT.key, "localhost:2181");
+        config.put(Config.KAFKA_BOOTSTRAP_SERVERS.key, "localhost:9092");
+        config.put(Config.NAMESPACE.key, "default");
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("STRIMZI_"))
+                .forEach(name -> config.put(name, System.getProperty(name)));
+
+        TopicOperatorLoadHarness harness = new TopicOperatorLoadHarness(
+                Integer.getInteger("topics", 5_000),
+                Integer.getInteger("events", 3),
+                Long.getLong("kafkaLatencyMs", 0),
+                Long.getLong("k8sLatencyMs", 0),
+                Long.getLong("storeLatencyMs", 0),
+                config);
+        try {
+            harness.run();
+        } finally {
+            harness.vertx.close();
+        }
+    }
+
+    void run() throws Exception {
+        System.out.printf("%d topics, %d storm events per topic, latency kafka=%dms k8s=%dms store=%dms, config %s%n",
+                topics, events, kafkaLatencyMs, k8sLatencyMs, storeLatencyMs, config);
+        context = vertx.getOrCreateContext();
+        onContext(() -> {
+            setup();
+            return Future.succeededFuture();
+        });
+
+        phase("create", topics, i -> {
+            KafkaTopic resource = resource(new Topic.Builder(topicName(i), 3, (short) 3, Collections.singletonMap("retention.ms", "1000")).build());
+            mockK8s.setGetFromNameResponse(new ResourceName(resource), Future.succeededFuture(resource));
+            return topicOperator.onResourceEvent(LogContext.kubeWatch(Watcher.Action.ADDED, resource), resource, Watcher.Action.ADDED);
+        });
+
+        phase("storm", topics * events, i -> {
+            int topic = i % topics;
+            TopicName topicName = new TopicName(topicName(topic));
+            // Kafka and Kubernetes change different configs, so that the changes can be merged without conflicts
+            String value = String.valueOf(2000 + i);
+            if ((i / topics) % 2 == 0) {
+                // A topic config changed in Kafka
+                Topic kafkaTopic = mockKafka.getTopicState(topicName);
+                mockKafka.updateTopicConfig(new Topic.Builder(kafkaTopic).withConfigEntry("retention.ms", value).build());
+                return topicOperator.onTopicConfigChanged(LogContext.zkWatch("///", topicName.toString()), topicName);
+            } else {
+                // A KafkaTopic modified in Kubernetes
+                KafkaTopic current = mockK8s.getFromName(topicName.asKubeName()).result();
+                KafkaTopic resource = new KafkaTopicBuilder(current)
+                        .editMetadata()
+                            .withGeneration(generation.incrementAndGet())
+                        .endMetadata()
+                        .editSpec()
+                            .addToConfig("segment.ms", value)
+                        .endSpec()
+                    .build();
+                mockK8s.setGetFromNameResponse(new ResourceName(resource), Future.succeededFuture(resource));
+                return topicOperator.onResourceEvent(LogContext.kubeWatch(Watcher.Action.MODIFIED, resource), resource, Watcher.Action.MODIFIED);
+            }
+        });
+    }
+
+    private void setup() {
+        mockKafka = new MockKafka();
+        mockKafka.setCreateTopicResponse(name -> Future.succeededFuture());
+        mockKafka.setUpdateTopicResponse(name -> Future.succeededFuture());
+        mockKafka.setDeleteTopicResponse(name -> Future.succeededFuture());
+        mockKafka.setTopicMetadataResponse(name -> {
+            Topic topic = mockKafka.getTopicState(name);
+            return Future.succeededFuture(topic == null ? null : Utils.getTopicMetadata(topic));
+        });
+
+        mockK8s = new MockK8s();
+        mockK8s.setCreateResponse(name -> Future.succeededFuture());
+        mockK8s.setModifyResponse(name -> Future.succeededFuture());
+        mockK8s.setDeleteResponse(name -> Future.succeededFuture());
+
+        MockTopicStore mockTopicStore = new MockTopicStore();
+        mockTopicStore.setCreateTopicResponse(name -> Future.succeededFuture());
+        mockTopicStore.setDeleteTopicResponse(name -> Future.succeededFuture());
+
+        topicOperator = new TopicOperator(vertx,
+                delayed(Kafka.class, mockKafka, kafkaLatencyMs),
+                delayed(K8s.class, mockK8s, k8sLatencyMs),
+                delayed(TopicStore.class, mockTopicStore, storeLatencyMs),
+                labels, "default", new Config(config), metrics);
+    }
+
+    private String topicName(int i) {
+        return "topic-" + i;
+    }
+
+    private KafkaTopic resource(Topic topic) {
+        KafkaTopic resource = TopicSerialization.toTopicResource(topic, labels);
+        resource.getMetadata().setGeneration(generation.incrementAndGet());
+        return resource;
+    }
+
+    interface Event {
+        Future<Void> submit(int i);
+    }
+
+    /**
+     * Submits the given number of events at once on the Vert.x context, waits for all of them and reports the results.
+     */
+    private void phase(String name, int count, Event event) throws Exception {
+        MeterRegistry registry = metrics.meterRegistry();
+        double reconciliationsBefore = count(registry, "reconciliations");
+        double coalescedBefore = count(registry, "events.coalesced");
+        // The operator turns the lock timeouts into plain failures, so they are counted from its metric
+        double lockTimeoutsBefore = count(registry, "reconciliations.locked");
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong maxHeap = new AtomicLong(heapBefore);
+        long heapTimer = vertx.setPeriodic(100, id -> maxHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max));
+
+        long[] latencies = new long[count];
+        AtomicInteger failures = new AtomicInteger();
+        long start = System.nanoTime();
+
+        onContext(() -> {
+            List<Future> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                long submitted = System.nanoTime();
+                results.add(event.submit(i).onComplete(ar -> {
+                    latencies[index] = System.nanoTime() - submitted;
+                    if (ar.failed()) {
+                        failures.incrementAndGet();
+                    }
+                }));
+            }
+            Promise<Void> done = Promise.promise();
+            CompositeFuture.join(results).onComplete(ar -> done.complete());
+            return done.future();
+        });
+
+        long elapsed = System.nanoTime() - start;
+        vertx.cancelTimer(heapTimer);
+        Arrays.sort(latencies);
+        System.out.printf("%-6s %8d events in %8.1f ms: %10.1f events/s, latency p50 %8.2f ms p99 %8.2f ms max %8.2f ms, "
+                        + "heap used %6d MB (max %6d MB), %6.0f reconciliations, %6.0f coalesced, %d failed, %.0f lock timeouts%n",
+                name, count, elapsed / 1e6, count / (elapsed / 1e9),
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[count - 1] / 1e6,
+                memory.getHeapMemoryUsage().getUsed() >> 20, maxHeap.get() >> 20,
+                count(registry, "reconciliations") - reconciliationsBefore,
+                count(registry, "events.coalesced") - coalescedBefore,
+                failures.get(), count(registry, "reconciliations.locked") - lockTimeoutsBefore);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+
+    private static double count(MeterRegistry registry, String name) {
+        Counter counter = registry.find(TopicOperator.METRICS_PREFIX + name).tag("kind", "KafkaTopic").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    /**
+     * Runs the given action on the harness context and waits for the future it returns.
+     */
+    private void onContext(Callable<Future<Void>> action) throws Exception {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        context.runOnContext(ignored -> {
+            try {
+                action.call().onComplete(ar -> result.complete(null));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.get(1, TimeUnit.HOURS);
+    }
+
+    /**
+     * Wraps the given mock so that every {@link Future} it returns completes after the given latency.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T delayed(Class<T> type, T delegate, long latencyMs) {
+        if (latencyMs <= 0) {
+            return delegate;
+        }
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(delegate, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (!(result instanceof Future)) {
+                return result;
+            }
+            Promise<Object> delayed = Promise.promise();
+            ((Future<Object>) result).onComplete(ar -> vertx.setTimer(latencyMs, id -> delayed.handle(ar)));
+            return delayed.future();
+        });
+    }
+}
@@ -16,6 +16,7 @@ import io.strimzi.operator.common.MaxAttemptsExceededException;
 import io.strimzi.operator.common.MetricsProvider;
 import io.strimzi.operator.common.MicrometerMetricsProvider;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxOptions;
@@ -1108,6 +1109,108 @@ public class TopicOperatorTest {
         })));
     }
 
+    @Test
+    public void testWindowedReconcileSkipsUnchangedTopics(VertxTestContext context) {
+        Map<String, String> windowedConfig = new HashMap<>(MANDATORY_CONFIG);
+        windowedConfig.put(Config.PERIODIC_RECONCILIATION_PARALLELISM.key, "2");
+        windowedConfig.put(Config.FULL_RECONCILIATION_INTERVAL_MS.key, "100");
+        topicOperator = new TopicOperator(vertx, mockKafka, mockK8s, mockTopicStore, labels, "default-namespace", new Config(windowedConfig), metrics);
+
+        Topic topic = new Topic.Builder(topicName.toString(), 10, (short) 2, map("cleanup.policy", "bar")).build();
+        mockKafka.setCreateTopicResponse(topicName.toString(), null)
+                .createTopic(topic);
+        mockKafka.setTopicMetadataResponse(topicName, Utils.getTopicMetadata(topic), null);
+        mockKafka.setTopicsList(singleton(topicName.toString()));
+        mockTopicStore.setCreateTopicResponse(topicName, null)
+                .create(topic);
+        mockK8s.setCreateResponse(resourceName, null)
+                .createResource(TopicSerialization.toTopicResource(topic, labels));
+
+        Checkpoint async = context.checkpoint();
+        topicOperator.reconcileAllTopics("periodic")
+            .compose(ignored -> topicOperator.reconcileAllTopics("periodic"))
+            .onComplete(context.succeeding(ignored -> context.verify(() -> {
+                MeterRegistry registry = metrics.meterRegistry();
+
+                // The topic is reconciled by the first pass and skipped by the second one
+                assertThat(registry.get(TopicOperator.METRICS_PREFIX + "reconciliations").tag("kind", "KafkaTopic").counter().count(), is(1.0));
+                assertThat(registry.get(TopicOperator.METRICS_PREFIX + "reconciliations.unchanged").tag("kind", "KafkaTopic").counter().count(), is(1.0));
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testWindowedReconcileSkipsTopicsUnchangedSinceTheyWereReconciled(VertxTestContext context) {
+        Map<String, String> windowedConfig = new HashMap<>(MANDATORY_CONFIG);
+        windowedConfig.put(Config.PERIODIC_RECONCILIATION_PARALLELISM.key, "2");
+        windowedConfig.put(Config.FULL_RECONCILIATION_INTERVAL_MS.key, "100");
+        topicOperator = new TopicOperator(vertx, mockKafka, mockK8s, mockTopicStore, labels, "default-namespace", new Config(windowedConfig), metrics);
+
+        Topic kubeTopic = new Topic.Builder(topicName, resourceName, 10, (short) 2, map("cleanup.policy", "baz"), null).build();
+        Topic kafkaTopic = new Topic.Builder(topicName, resourceName, 10, (short) 2, map("cleanup.policy", "bar"), null).build();
+        mockKafka.setCreateTopicResponse(topicName.toString(), null)
+                .createTopic(kafkaTopic);
+        mockKafka.setTopicMetadataResponse(topicName, Utils.getTopicMetadata(kafkaTopic), null);
+        mockKafka.setTopicsList(singleton(topicName.toString()));
+        mockKafka.setUpdateTopicResponse(topicName -> Future.succeededFuture());
+        mockTopicStore.setCreateTopicResponse(topicName, null)
+                .create(kafkaTopic);
+        mockTopicStore.setUpdateTopicResponse(topicName, null);
+        mockK8s.setCreateResponse(resourceName, null)
+                .createResource(TopicSerialization.toTopicResource(kubeTopic, labels));
+        mockK8s.setModifyResponse(resourceName, null);
+
+        Checkpoint async = context.checkpoint();
+        topicOperator.reconcileAllTopics("periodic")
+            .compose(ignored -> topicOperator.reconcileAllTopics("periodic"))
+            .onComplete(context.succeeding(ignored -> context.verify(() -> {
+                MeterRegistry registry = metrics.meterRegistry();
+
+                // The changed topic is reconciled by the first pass, and its state after that reconciliation
+                // is unchanged in the second pass
+                assertThat(registry.get(TopicOperator.METRICS_PREFIX + "reconciliations").tag("kind", "KafkaTopic").counter().count(), is(1.0));
+                assertThat(registry.get(TopicOperator.METRICS_PREFIX + "reconciliations.unchanged").tag("kind", "KafkaTopic").counter().count(), is(1.0));
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testDebouncedEventsAreReconciledTogether(VertxTestContext context) {
+        Map<String, String> debounceConfig = new HashMap<>(MANDATORY_CONFIG);
+        debounceConfig.put(Config.EVENT_DEBOUNCE_MS.key, "100");
+        topicOperator = new TopicOperator(vertx, mockKafka, mockK8s, mockTopicStore, labels, "default-namespace", new Config(debounceConfig), metrics);
+
+        Topic kubeTopic = new Topic.Builder(topicName.toString(), 10, (short) 2, map("cleanup.policy", "bar")).build();
+        Topic kafkaTopic = new Topic.Builder(topicName.toString(), 12, (short) 2, map("cleanup.policy", "baz")).build();
+        mockKafka.setCreateTopicResponse(topicName.toString(), null)
+                .createTopic(kafkaTopic);
+        mockKafka.setTopicMetadataResponse(topicName, Utils.getTopicMetadata(kafkaTopic), null);
+        mockTopicStore.setCreateTopicResponse(topicName, null)
+                .create(kubeTopic);
+        mockTopicStore.setUpdateTopicResponse(topicName, null);
+        mockK8s.setCreateResponse(resourceName, null)
+                .createResource(TopicSerialization.toTopicResource(kubeTopic, labels));
+        mockK8s.setModifyResponse(resourceName, null);
+
+        LogContext logContext = LogContext.zkWatch("///", topicName.toString());
+        Checkpoint async = context.checkpoint();
+        CompositeFuture.all(
+                topicOperator.onTopicConfigChanged(logContext, topicName),
+                topicOperator.onTopicPartitionsChanged(logContext, topicName),
+                topicOperator.onTopicConfigChanged(logContext, topicName))
+            .onComplete(context.succeeding(ignored -> context.verify(() -> {
+                Topic storeTopic = mockTopicStore.read(topicName).result();
+                assertThat(storeTopic.getConfig().get("cleanup.policy"), is("baz"));
+                assertThat(storeTopic.getNumPartitions(), is(12));
+
+                MeterRegistry registry = metrics.meterRegistry();
+                // The three events are handled by a single reconciliation
+                assertThat(registry.get(TopicOperator.METRICS_PREFIX + "reconciliations").tag("kind", "KafkaTopic").counter().count(), is(1.0));
+                assertThat(registry.get(TopicOperator.METRICS_PREFIX + "events.coalesced").tag("kind", "KafkaTopic").counter().count(), is(2.0));
+                async.flag();
+            })));
+    }
+
     @Test
     public void testReconcileMetricsDeletedTopic(VertxTestContext context) throws InterruptedException {
         mockKafka.setTopicsListResponse(Future.succeededFuture(emptySet()));
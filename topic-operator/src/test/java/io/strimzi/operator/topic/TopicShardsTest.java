@@ -0,0 +1,102 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.topic;
+
+import io.vertx.core.Future;
+import org.I0Itec.zkclient.exception.ZkNodeExistsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+
+public class TopicShardsTest {
+
+    private MockZk mockZk;
+
+    @BeforeEach
+    public void setup() {
+        mockZk = new MockZk();
+        mockZk.createResult = Future.succeededFuture();
+    }
+
+    @Test
+    public void testTopicsAreSharedBetweenMembers() {
+        List<String> members = asList("to-0", "to-1", "to-2");
+        Map<String, Integer> owned = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            owned.merge(TopicShards.owner(members, "topic-" + i), 1, Integer::sum);
+        }
+
+        assertThat(owned.size(), is(3));
+        for (int count : owned.values()) {
+            assertThat(count, is(greaterThan(800)));
+            assertThat(count, is(lessThan(1200)));
+        }
+    }
+
+    @Test
+    public void testOnlyTheTopicsOfALeavingMemberMove() {
+        List<String> before = asList("to-0", "to-1", "to-2");
+        List<String> after = asList("to-0", "to-2");
+        for (int i = 0; i < 3000; i++) {
+            String ownerBefore = TopicShards.owner(before, "topic-" + i);
+            String ownerAfter = TopicShards.owner(after, "topic-" + i);
+            if (!ownerBefore.equals("to-1")) {
+                assertThat(ownerAfter, is(ownerBefore));
+            }
+        }
+    }
+
+    @Test
+    public void testMembersChangeTriggersRebalance() {
+        mockZk.childrenResult = Future.succeededFuture(asList("to-1", "to-0"));
+        TopicShards shards = new TopicShards(mockZk, "/strimzi/topic-operators", "to-0");
+        AtomicInteger rebalances = new AtomicInteger();
+
+        assertThat(shards.start(ignored -> rebalances.incrementAndGet()).succeeded(), is(true));
+        assertThat(shards.members(), is(asList("to-0", "to-1")));
+        assertThat(rebalances.get(), is(0));
+
+        int owned = 0;
+        for (int i = 0; i < 100; i++) {
+            if (shards.owns(new TopicName("topic-" + i))) {
+                owned++;
+            }
+        }
+        assertThat(owned, is(greaterThan(0)));
+        assertThat(owned, is(lessThan(100)));
+
+        mockZk.triggerChildren(Future.succeededFuture(singletonList("to-0")));
+        assertThat(rebalances.get(), is(1));
+        for (int i = 0; i < 100; i++) {
+            assertThat(shards.owns(new TopicName("topic-" + i)), is(true));
+        }
+
+        assertThat(shards.stop().succeeded(), is(true));
+        assertThat(shards.owns(new TopicName("topic-0")), is(false));
+    }
+
+    @Test
+    public void testDuplicateMemberIdFailsToStart() {
+        mockZk.createResult = Future.failedFuture(new ZkNodeExistsException("/strimzi/topic-operators/to-0"));
+        TopicShards shards = new TopicShards(mockZk, "/strimzi/topic-operators", "to-0");
+
+        Future<Void> started = shards.start(ignored -> { });
+        assertThat(started.failed(), is(true));
+        assertThat(started.cause().getCause(), instanceOf(ZkNodeExistsException.class));
+        assertThat(shards.owns(new TopicName("topic-0")), is(false));
+    }
+}
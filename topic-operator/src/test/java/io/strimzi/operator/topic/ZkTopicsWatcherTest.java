@@ -11,7 +11,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -81,4 +85,49 @@ public class ZkTopicsWatcherTest {
                 Type.DELETE, new TopicName("bar")))));
         assertThat(topicConfigsWatcher.watching("baz"), is(false));
     }
+
+    @Test
+    public void testTopicChangesAreScannedWithoutDataWatches() {
+        operator.topicCreatedResult = Future.succeededFuture();
+        mockZk.childrenResult = Future.succeededFuture(asList("foo", "bar"));
+
+        TopicConfigsWatcher topicConfigsWatcher = new TopicConfigsWatcher(operator, true);
+        ZkTopicWatcher topicWatcher = new ZkTopicWatcher(operator, true);
+        ZkTopicsWatcher topicsWatcher = new ZkTopicsWatcher(operator, topicConfigsWatcher, topicWatcher);
+        topicsWatcher.start(mockZk);
+        mockZk.triggerChildren(Future.succeededFuture(asList("foo", "bar", "baz")));
+
+        assertThat(topicConfigsWatcher.watching("baz"), is(true));
+        assertThat(mockZk.watchingData("/config/topics/baz"), is(false));
+        assertThat(mockZk.watchingData("/brokers/topics/baz"), is(false));
+
+        // The first scan only records the versions
+        Map<String, Integer> configVersions = new HashMap<>();
+        Map<String, Integer> topicVersions = new HashMap<>();
+        for (String topic : asList("foo", "bar", "baz")) {
+            configVersions.put(topic, 0);
+            topicVersions.put(topic, 0);
+        }
+        mockZk.childrenDataVersions.put("/config/topics", configVersions);
+        mockZk.childrenDataVersions.put("/brokers/topics", topicVersions);
+        operator.clearEvents();
+        topicsWatcher.scan();
+        assertThat(operator.getMockOperatorEvents(), is(emptyList()));
+
+        configVersions.put("baz", 1);
+        topicsWatcher.scan();
+        assertThat(operator.getMockOperatorEvents(),
+                is(singletonList(new MockTopicOperator.MockOperatorEvent(Type.MODIFY_CONFIG, new TopicName("baz")))));
+
+        operator.clearEvents();
+        topicVersions.put("foo", 2);
+        topicsWatcher.scan();
+        assertThat(operator.getMockOperatorEvents(),
+                is(singletonList(new MockTopicOperator.MockOperatorEvent(Type.MODIFY_PARTITIONS, new TopicName("foo")))));
+
+        // Unchanged versions do not notify the operator again
+        operator.clearEvents();
+        topicsWatcher.scan();
+        assertThat(operator.getMockOperatorEvents(), is(emptyList()));
+    }
 }
@@ -11,7 +11,12 @@ import io.vertx.core.Vertx;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
+import org.I0Itec.zkclient.ZkClient;
+import org.I0Itec.zkclient.ZkConnection;
+import org.apache.zookeeper.AsyncCallback;
 import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.ZooKeeper;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -21,11 +26,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(VertxExtension.class)
 public class ZkImplTest {
@@ -150,4 +168,121 @@ public class ZkImplTest {
             });
         });
     }
+
+    @Test
+    public void testChildrenDataVersions(VertxTestContext context) {
+        Checkpoint async = context.checkpoint();
+
+        Promise<Void> fooCreated = Promise.promise();
+        zk.create("/foo", null, AclBuilder.PUBLIC, CreateMode.PERSISTENT, fooCreated);
+
+        fooCreated.future()
+            .compose(v -> {
+                Promise<Void> barCreated = Promise.promise();
+                zk.create("/foo/bar", null, AclBuilder.PUBLIC, CreateMode.PERSISTENT, barCreated);
+                return barCreated.future();
+            })
+            .compose(v -> {
+                Promise<Void> bazCreated = Promise.promise();
+                zk.create("/foo/baz", null, AclBuilder.PUBLIC, CreateMode.PERSISTENT, bazCreated);
+                return bazCreated.future();
+            })
+            .compose(v -> {
+                Promise<Void> bazChanged = Promise.promise();
+                zk.setData("/foo/baz", new byte[]{1}, -1, bazChanged);
+                return bazChanged.future();
+            })
+            .compose(v -> {
+                Promise<Map<String, Integer>> versions = Promise.promise();
+                zk.childrenDataVersions("/foo", versions);
+                return versions.future();
+            })
+            .onComplete(context.succeeding(versions -> context.verify(() -> {
+                Map<String, Integer> expected = new HashMap<>();
+                expected.put("bar", 0);
+                expected.put("baz", 1);
+                assertThat(versions, is(expected));
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testCreateAll(VertxTestContext context) {
+        Checkpoint async = context.checkpoint();
+
+        Promise<Void> fooCreated = Promise.promise();
+        zk.create("/foo", null, AclBuilder.PUBLIC, CreateMode.PERSISTENT, fooCreated);
+
+        fooCreated.future()
+            .compose(v -> {
+                Promise<Void> barCreated = Promise.promise();
+                zk.create("/foo/bar", null, AclBuilder.PUBLIC, CreateMode.PERSISTENT, barCreated);
+                return barCreated.future();
+            })
+            .compose(v -> {
+                Map<String, byte[]> data = new HashMap<>();
+                data.put("/foo/bar", new byte[]{1});
+                data.put("/foo/baz", new byte[]{2});
+                Promise<Map<String, Throwable>> created = Promise.promise();
+                zk.createAll(data, AclBuilder.PUBLIC, CreateMode.PERSISTENT, created);
+                return created.future();
+            })
+            .compose(errors -> {
+                // The existing znode does not prevent the other one from being created
+                context.verify(() -> {
+                    assertThat(errors.keySet(), is(singleton("/foo/bar")));
+                    assertThat(errors.get("/foo/bar"), instanceOf(KeeperException.NodeExistsException.class));
+                });
+                Promise<byte[]> data = Promise.promise();
+                zk.getData("/foo/baz", data);
+                return data.future();
+            })
+            .onComplete(context.succeeding(data -> context.verify(() -> {
+                assertThat(data, is(new byte[]{2}));
+                async.flag();
+            })));
+    }
+
+    /**
+     * A ZkImpl whose pipelined create requests are answered with the given result code, or not at all when null
+     */
+    private static ZkImpl zkImplWithAsyncCreateResult(ZkClient zkClient, KeeperException.Code code) {
+        ZooKeeper zooKeeper = mock(ZooKeeper.class);
+        doAnswer(invocation -> {
+            if (code != null) {
+                AsyncCallback.StringCallback callback = invocation.getArgument(4);
+                callback.processResult(code.intValue(), invocation.getArgument(0), null, null);
+            }
+            return null;
+        }).when(zooKeeper).create(anyString(), any(byte[].class), any(), any(CreateMode.class), any(AsyncCallback.StringCallback.class), any());
+        ZkConnection connection = mock(ZkConnection.class);
+        when(connection.getZookeeper()).thenReturn(zooKeeper);
+        return new ZkImpl(vertx, zkClient, connection, 100);
+    }
+
+    @Test
+    public void testCreateAllRetriesTheCreationsLostWithTheConnection(VertxTestContext context) {
+        ZkClient zkClient = mock(ZkClient.class);
+        ZkImpl zkImpl = zkImplWithAsyncCreateResult(zkClient, KeeperException.Code.CONNECTIONLOSS);
+
+        Checkpoint async = context.checkpoint();
+        zkImpl.createAll(singletonMap("/foo", new byte[]{1}), AclBuilder.PUBLIC, CreateMode.PERSISTENT,
+            context.succeeding(errors -> context.verify(() -> {
+                assertThat(errors.isEmpty(), is(true));
+                verify(zkClient).create(eq("/foo"), eq(new byte[]{1}), eq(AclBuilder.PUBLIC), eq(CreateMode.PERSISTENT));
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testCreateAllFailsWithoutResponses(VertxTestContext context) {
+        ZkImpl zkImpl = zkImplWithAsyncCreateResult(mock(ZkClient.class), null);
+
+        Checkpoint async = context.checkpoint();
+        zkImpl.createAll(singletonMap("/foo", new byte[]{1}), AclBuilder.PUBLIC, CreateMode.PERSISTENT,
+            context.failing(error -> context.verify(() -> {
+                assertThat(error, instanceOf(TimeoutException.class));
+                async.flag();
+            })));
+    }
 }
@@ -12,17 +12,20 @@ import io.strimzi.api.kafka.Crds;
 import io.strimzi.api.kafka.KafkaUserList;
 import io.strimzi.api.kafka.model.DoneableKafkaUser;
 import io.strimzi.api.kafka.model.KafkaUser;
-import io.strimzi.certs.OpenSslCertManager;
+import io.strimzi.certs.BouncyCastleCertManager;
 import io.strimzi.operator.common.AdminClientProvider;
 import io.strimzi.operator.common.DefaultAdminClientProvider;
 import io.strimzi.operator.common.Util;
 import io.strimzi.operator.common.operator.resource.CrdOperator;
 import io.strimzi.operator.common.operator.resource.SecretOperator;
+import io.strimzi.operator.user.operator.AdminApiUserQuotasOperator;
 import io.strimzi.operator.user.operator.KafkaUserOperator;
 import io.strimzi.operator.user.operator.KafkaUserQuotasOperator;
 import io.strimzi.operator.user.operator.ScramShaCredentials;
 import io.strimzi.operator.user.operator.ScramShaCredentialsOperator;
 import io.strimzi.operator.user.operator.SimpleAclOperator;
+import io.strimzi.operator.user.operator.UserQuotasOperator;
+import io.strimzi.operator.user.operator.ZkUserConfigStore;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
@@ -77,20 +80,26 @@ public class Main {
         String dnsCacheTtl = System.getenv("STRIMZI_DNS_CACHE_TTL") == null ? "30" : System.getenv("STRIMZI_DNS_CACHE_TTL");
         Security.setProperty("networkaddress.cache.ttl", dnsCacheTtl);
 
-        OpenSslCertManager certManager = new OpenSslCertManager();
+        BouncyCastleCertManager certManager = new BouncyCastleCertManager();
         SecretOperator secretOperations = new SecretOperator(vertx, client);
         CrdOperator<KubernetesClient, KafkaUser, KafkaUserList, DoneableKafkaUser> crdOperations = new CrdOperator<>(vertx, client, KafkaUser.class, KafkaUserList.class, DoneableKafkaUser.class, Crds.kafkaUser());
-        return createAdminClient(adminClientProvider, config, secretOperations)
-                .compose(adminClient -> {
-                    SimpleAclOperator aclOperations = new SimpleAclOperator(vertx, adminClient);
-                    ScramShaCredentials scramShaCredentials = new ScramShaCredentials(config.getZookeperConnect(), (int) config.getZookeeperSessionTimeoutMs());
+        return CompositeFuture.all(createAdminClient(adminClientProvider, config, secretOperations),
+                        ZkUserConfigStore.create(vertx, config.getZookeperConnect(), (int) config.getZookeeperSessionTimeoutMs()))
+                .compose(clients -> {
+                    Admin adminClient = clients.resultAt(0);
+                    ZkUserConfigStore userConfigStore = clients.resultAt(1);
+                    SimpleAclOperator aclOperations = new SimpleAclOperator(vertx, adminClient, config.getReconciliationIntervalMs());
+                    ScramShaCredentials scramShaCredentials = new ScramShaCredentials(userConfigStore);
                     ScramShaCredentialsOperator scramShaCredentialsOperator = new ScramShaCredentialsOperator(vertx, scramShaCredentials);
-                    KafkaUserQuotasOperator quotasOperator = new KafkaUserQuotasOperator(vertx, config.getZookeperConnect(), (int) config.getZookeeperSessionTimeoutMs());
+                    UserQuotasOperator quotasOperator = UserOperatorConfig.QUOTAS_BACKEND_ADMIN.equals(config.getQuotasBackend())
+                            ? new AdminApiUserQuotasOperator(vertx, adminClient)
+                            : new KafkaUserQuotasOperator(userConfigStore);
 
                     KafkaUserOperator kafkaUserOperations = new KafkaUserOperator(vertx,
                             certManager, crdOperations,
                             config.getLabels(),
-                            secretOperations, scramShaCredentialsOperator, quotasOperator, aclOperations, config.getCaCertSecretName(), config.getCaKeySecretName(), config.getCaNamespace());
+                            secretOperations, scramShaCredentialsOperator, quotasOperator, aclOperations, config.getCaCertSecretName(), config.getCaKeySecretName(), config.getCaNamespace(),
+                            config.getReconciliationConcurrency());
 
                     Promise<String> promise = Promise.promise();
                     UserOperator operator = new UserOperator(config.getNamespace(),
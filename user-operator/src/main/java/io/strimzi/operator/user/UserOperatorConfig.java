@@ -8,6 +8,7 @@ import io.strimzi.api.kafka.model.CertificateAuthority;
 import io.strimzi.operator.common.InvalidConfigurationException;
 import io.strimzi.operator.common.model.Labels;
 
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -28,11 +29,18 @@ public class UserOperatorConfig {
     public static final String STRIMZI_ZOOKEEPER_SESSION_TIMEOUT_MS = "STRIMZI_ZOOKEEPER_SESSION_TIMEOUT_MS";
     public static final String STRIMZI_CLIENTS_CA_VALIDITY = "STRIMZI_CA_VALIDITY";
     public static final String STRIMZI_CLIENTS_CA_RENEWAL = "STRIMZI_CA_RENEWAL";
+    public static final String STRIMZI_RECONCILIATION_CONCURRENCY = "STRIMZI_RECONCILIATION_CONCURRENCY";
+    public static final String STRIMZI_QUOTAS_BACKEND = "STRIMZI_QUOTAS_BACKEND";
+
+    public static final String QUOTAS_BACKEND_ZOOKEEPER = "zookeeper";
+    public static final String QUOTAS_BACKEND_ADMIN = "admin";
 
     public static final long DEFAULT_FULL_RECONCILIATION_INTERVAL_MS = 120_000;
     public static final String DEFAULT_KAFKA_BOOTSTRAP_SERVERS = "localhost:9091";
     public static final String DEFAULT_ZOOKEEPER_CONNECT = "localhost:2181";
     public static final long DEFAULT_ZOOKEEPER_SESSION_TIMEOUT_MS = 6_000;
+    public static final int DEFAULT_RECONCILIATION_CONCURRENCY = 0;
+    public static final String DEFAULT_QUOTAS_BACKEND = QUOTAS_BACKEND_ZOOKEEPER;
 
     private final String namespace;
     private final long reconciliationIntervalMs;
@@ -45,6 +53,8 @@ public class UserOperatorConfig {
     private final String clusterCaCertSecretName;
     private final String eoKeySecretName;
     private final String caNamespace;
+    private final int reconciliationConcurrency;
+    private final String quotasBackend;
 
     /**
      * Constructor
@@ -60,6 +70,8 @@ public class UserOperatorConfig {
      * @param clusterCaCertSecretName Name of the secret containing the cluster Certification Authority certificate.
      * @param eoKeySecretName The name of the secret containing the Entity Operator key and certificate
      * @param caNamespace Namespace with the CA secret.
+     * @param reconciliationConcurrency Maximum number of concurrent reconciliations, or 0 for no limit.
+     * @param quotasBackend How the user quotas are managed: "zookeeper" or "admin" (Kafka Admin API).
      */
     @SuppressWarnings({"checkstyle:ParameterNumber"}) //TODO: to remove when removing the zookeeper related parameters
     public UserOperatorConfig(String namespace,
@@ -71,7 +83,9 @@ public class UserOperatorConfig {
                               String caKeySecretName,
                               String clusterCaCertSecretName,
                               String eoKeySecretName,
-                              String caNamespace) {
+                              String caNamespace,
+                              int reconciliationConcurrency,
+                              String quotasBackend) {
         this.namespace = namespace;
         this.reconciliationIntervalMs = reconciliationIntervalMs;
         this.kafkaBootstrapServers = kafkaBootstrapServers;
@@ -83,6 +97,8 @@ public class UserOperatorConfig {
         this.clusterCaCertSecretName = clusterCaCertSecretName;
         this.eoKeySecretName = eoKeySecretName;
         this.caNamespace = caNamespace;
+        this.reconciliationConcurrency = reconciliationConcurrency;
+        this.quotasBackend = quotasBackend;
     }
 
     /**
@@ -150,8 +166,27 @@ public class UserOperatorConfig {
             caNamespace = namespace;
         }
 
+        int reconciliationConcurrency = DEFAULT_RECONCILIATION_CONCURRENCY;
+        String reconciliationConcurrencyEnvVar = map.get(UserOperatorConfig.STRIMZI_RECONCILIATION_CONCURRENCY);
+        if (reconciliationConcurrencyEnvVar != null) {
+            reconciliationConcurrency = Integer.parseInt(reconciliationConcurrencyEnvVar);
+            if (reconciliationConcurrency < 0) {
+                throw new InvalidConfigurationException(UserOperatorConfig.STRIMZI_RECONCILIATION_CONCURRENCY + " cannot be negative");
+            }
+        }
+
+        String quotasBackend = DEFAULT_QUOTAS_BACKEND;
+        String quotasBackendEnvVar = map.get(UserOperatorConfig.STRIMZI_QUOTAS_BACKEND);
+        if (quotasBackendEnvVar != null && !quotasBackendEnvVar.isEmpty()) {
+            quotasBackend = quotasBackendEnvVar.toLowerCase(Locale.ENGLISH);
+            if (!QUOTAS_BACKEND_ZOOKEEPER.equals(quotasBackend) && !QUOTAS_BACKEND_ADMIN.equals(quotasBackend)) {
+                throw new InvalidConfigurationException(UserOperatorConfig.STRIMZI_QUOTAS_BACKEND + " has to be either "
+                        + QUOTAS_BACKEND_ZOOKEEPER + " or " + QUOTAS_BACKEND_ADMIN);
+            }
+        }
+
         return new UserOperatorConfig(namespace, reconciliationInterval, kafkaBootstrapServers, zookeeperConnect, zookeeperSessionTimeoutMs, labels,
-                caCertSecretName, caKeySecretName, clusterCaCertSecretName, eoKeySecretName, caNamespace);
+                caCertSecretName, caKeySecretName, clusterCaCertSecretName, eoKeySecretName, caNamespace, reconciliationConcurrency, quotasBackend);
     }
 
     public static int getClientsCaValidityDays() {
@@ -248,6 +283,20 @@ public class UserOperatorConfig {
         return zookeeperSessionTimeoutMs;
     }
 
+    /**
+     * @return  Maximum number of concurrent reconciliations, or 0 if it is not limited
+     */
+    public int getReconciliationConcurrency() {
+        return reconciliationConcurrency;
+    }
+
+    /**
+     * @return  How the user quotas are managed: "zookeeper" or "admin" (Kafka Admin API)
+     */
+    public String getQuotasBackend() {
+        return quotasBackend;
+    }
+
     @Override
     public String toString() {
         return "ClusterOperatorConfig(" +
@@ -261,6 +310,8 @@ public class UserOperatorConfig {
                 ",clusterCaCertSecretName=" + clusterCaCertSecretName +
                 ",eoKeySecretName=" + eoKeySecretName +
                 ",caNamespace=" + caNamespace +
+                ",reconciliationConcurrency=" + reconciliationConcurrency +
+                ",quotasBackend=" + quotasBackend +
                 ")";
     }
 }
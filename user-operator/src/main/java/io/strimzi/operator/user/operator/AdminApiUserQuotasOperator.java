@@ -0,0 +1,291 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.user.operator;
+
+import io.strimzi.api.kafka.model.KafkaUserQuotas;
+import io.strimzi.operator.common.Util;
+import io.strimzi.operator.common.operator.resource.ReconcileResult;
+import io.strimzi.operator.user.model.KafkaUserModel;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.quota.ClientQuotaAlteration;
+import org.apache.kafka.common.quota.ClientQuotaEntity;
+import org.apache.kafka.common.quota.ClientQuotaFilter;
+import org.apache.kafka.common.quota.ClientQuotaFilterComponent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Manages the quotas of Kafka users through the Kafka Admin API instead of writing them to ZooKeeper.
+ *
+ * {@link #getUsersWithQuotas()} (called at the start of every periodic reconciliation) describes the quotas of all
+ * users in one request, and each user reconciliation uses this snapshot the first time it reads the user's quotas.
+ * Later reconciliations of the same user, and users whose quotas are changed while the snapshot is loaded, describe
+ * their quotas directly. The quota changes of concurrent user reconciliations are sent in one alterClientQuotas request.
+ */
+public class AdminApiUserQuotasOperator implements UserQuotasOperator {
+    private static final Logger log = LogManager.getLogger(AdminApiUserQuotasOperator.class.getName());
+
+    private static final String PRODUCER_BYTE_RATE = "producer_byte_rate";
+    private static final String CONSUMER_BYTE_RATE = "consumer_byte_rate";
+    private static final String REQUEST_PERCENTAGE = "request_percentage";
+    private static final List<String> QUOTA_KEYS = Arrays.asList(PRODUCER_BYTE_RATE, CONSUMER_BYTE_RATE, REQUEST_PERCENTAGE);
+    // How long the quota changes are collected before they are sent to Kafka in one request
+    private static final long BATCH_WINDOW_MS = 10;
+
+    private final Vertx vertx;
+    private final Admin adminClient;
+
+    // The quotas of all users from the last call to getUsersWithQuotas, indexed by username in the Kafka format
+    private Map<String, Map<String, Double>> snapshot;
+    // The users for which the snapshot cannot be used anymore
+    private Set<String> snapshotUsed = new HashSet<>();
+    // The users whose quotas were changed while a new snapshot was being loaded
+    private Set<String> changedDuringRefresh = new HashSet<>();
+    private int refreshesInProgress = 0;
+
+    private List<PendingAlteration> pending = new ArrayList<>();
+    private boolean flushScheduled = false;
+
+    /**
+     * Constructor
+     *
+     * @param vertx Vertx instance
+     * @param adminClient Kafka Admin client instance
+     */
+    public AdminApiUserQuotasOperator(Vertx vertx, Admin adminClient) {
+        this.vertx = vertx;
+        this.adminClient = adminClient;
+    }
+
+    @Override
+    public Future<ReconcileResult<KafkaUserQuotas>> reconcile(String username, KafkaUserQuotas quotas) {
+        return getCurrentQuotas(username).compose(current -> {
+            Map<String, Double> desired = toQuotaMap(quotas);
+
+            List<ClientQuotaAlteration.Op> ops = new ArrayList<>();
+            for (String key : QUOTA_KEYS) {
+                if (!Objects.equals(current.get(key), desired.get(key))) {
+                    // A null value removes the quota
+                    ops.add(new ClientQuotaAlteration.Op(key, desired.get(key)));
+                }
+            }
+
+            if (ops.isEmpty()) {
+                log.debug("User {}: Quotas did not change -> NoOp", username);
+                return Future.succeededFuture(ReconcileResult.noop(quotas));
+            }
+
+            log.debug("User {}: Changing {} quotas", username, ops.size());
+            return enqueue(username, new ClientQuotaAlteration(userEntity(username), ops))
+                    .<ReconcileResult<KafkaUserQuotas>>map(v -> {
+                        if (desired.isEmpty()) {
+                            return ReconcileResult.deleted();
+                        } else if (current.isEmpty()) {
+                            return ReconcileResult.created(quotas);
+                        } else {
+                            return ReconcileResult.patched(quotas);
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public boolean reconcilesUsersWithQuotas() {
+        return true;
+    }
+
+    @Override
+    public Set<String> getUsersWithQuotas() {
+        log.debug("Searching for Users with any quotas");
+
+        Map<ClientQuotaEntity, Map<String, Double>> entities;
+        synchronized (this) {
+            refreshesInProgress++;
+        }
+        try {
+            entities = adminClient.describeClientQuotas(ClientQuotaFilter.containsOnly(
+                    Collections.singletonList(ClientQuotaFilterComponent.ofEntityType(ClientQuotaEntity.USER)))).entities().get();
+        } catch (InterruptedException | ExecutionException e) {
+            synchronized (this) {
+                refreshesInProgress--;
+                snapshot = null;
+            }
+            throw new RuntimeException("Failed to describe the quotas of the users", e);
+        }
+
+        Map<String, Map<String, Double>> quotasByUser = new HashMap<>();
+        Set<String> result = new HashSet<>();
+
+        for (Map.Entry<ClientQuotaEntity, Map<String, Double>> entity : entities.entrySet()) {
+            String username = entity.getKey().entries().get(ClientQuotaEntity.USER);
+
+            // The default quotas of all users are not managed by the operator
+            if (username != null && !entity.getValue().isEmpty()) {
+                quotasByUser.put(username, entity.getValue());
+                result.add(KafkaUserModel.decodeUsername(username));
+            }
+        }
+
+        synchronized (this) {
+            refreshesInProgress--;
+            snapshot = quotasByUser;
+            snapshotUsed = changedDuringRefresh;
+            changedDuringRefresh = new HashSet<>();
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the current quotas of the user, from the snapshot loaded by {@link #getUsersWithQuotas()} when it was
+     * not used for this user yet, or from Kafka otherwise.
+     */
+    private Future<Map<String, Double>> getCurrentQuotas(String username) {
+        synchronized (this) {
+            if (snapshot != null && snapshotUsed.add(username)) {
+                log.debug("Using the quotas snapshot for user {}", username);
+                return Future.succeededFuture(snapshot.getOrDefault(username, Collections.emptyMap()));
+            }
+        }
+
+        ClientQuotaFilter filter = ClientQuotaFilter.containsOnly(
+                Collections.singletonList(ClientQuotaFilterComponent.ofEntity(ClientQuotaEntity.USER, username)));
+
+        return Util.kafkaFutureToVertxFuture(vertx, adminClient.describeClientQuotas(filter).entities())
+                .map(entities -> entities.getOrDefault(userEntity(username), Collections.emptyMap()));
+    }
+
+    /**
+     * Adds a quota alteration to the next batch and makes sure the batch is sent.
+     */
+    private Future<Void> enqueue(String username, ClientQuotaAlteration alteration) {
+        PendingAlteration pendingAlteration = new PendingAlteration(alteration);
+
+        synchronized (this) {
+            markChanged(username);
+            pending.add(pendingAlteration);
+            scheduleFlush();
+        }
+
+        return pendingAlteration.promise.future().onComplete(ignore -> {
+            synchronized (this) {
+                markChanged(username);
+            }
+        });
+    }
+
+    /**
+     * Has to be called while holding the lock of this instance.
+     */
+    private void scheduleFlush() {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            vertx.setTimer(BATCH_WINDOW_MS, id -> flush());
+        }
+    }
+
+    /**
+     * Sends the pending quota alterations to Kafka in one alterClientQuotas request. A request can contain only one
+     * alteration per user, so further alterations of the same user are left for the next request.
+     */
+    private void flush() {
+        Map<ClientQuotaEntity, PendingAlteration> batch = new LinkedHashMap<>();
+
+        synchronized (this) {
+            List<PendingAlteration> remaining = new ArrayList<>();
+            for (PendingAlteration alteration : pending) {
+                if (batch.putIfAbsent(alteration.alteration.entity(), alteration) != null) {
+                    remaining.add(alteration);
+                }
+            }
+            pending = remaining;
+            flushScheduled = false;
+
+            if (!pending.isEmpty()) {
+                scheduleFlush();
+            }
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        log.debug("Altering the quotas of {} users in one request", batch.size());
+        List<ClientQuotaAlteration> alterations = new ArrayList<>(batch.size());
+        batch.values().forEach(alteration -> alterations.add(alteration.alteration));
+
+        try {
+            Map<ClientQuotaEntity, KafkaFuture<Void>> results = adminClient.alterClientQuotas(alterations).values();
+            for (Map.Entry<ClientQuotaEntity, PendingAlteration> entry : batch.entrySet()) {
+                Util.kafkaFutureToVertxFuture(vertx, results.get(entry.getKey())).onComplete(entry.getValue().promise);
+            }
+        } catch (Exception e) {
+            batch.values().forEach(alteration -> alteration.promise.tryFail(e));
+        }
+    }
+
+    /**
+     * Records that the quotas of the user changed, so that they are not read from a snapshot which might not include
+     * the change. Has to be called while holding the lock of this instance.
+     */
+    private void markChanged(String username) {
+        if (snapshot != null) {
+            snapshotUsed.add(username);
+        }
+        if (refreshesInProgress > 0) {
+            changedDuringRefresh.add(username);
+        }
+    }
+
+    private static ClientQuotaEntity userEntity(String username) {
+        return new ClientQuotaEntity(Collections.singletonMap(ClientQuotaEntity.USER, username));
+    }
+
+    private static Map<String, Double> toQuotaMap(KafkaUserQuotas quotas) {
+        Map<String, Double> result = new HashMap<>(3);
+
+        if (quotas != null) {
+            if (quotas.getProducerByteRate() != null) {
+                result.put(PRODUCER_BYTE_RATE, quotas.getProducerByteRate().doubleValue());
+            }
+            if (quotas.getConsumerByteRate() != null) {
+                result.put(CONSUMER_BYTE_RATE, quotas.getConsumerByteRate().doubleValue());
+            }
+            if (quotas.getRequestPercentage() != null) {
+                result.put(REQUEST_PERCENTAGE, quotas.getRequestPercentage().doubleValue());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * A quota alteration of a user which is waiting to be sent to Kafka.
+     */
+    private static class PendingAlteration {
+        private final ClientQuotaAlteration alteration;
+        private final Promise<Void> promise = Promise.promise();
+
+        PendingAlteration(ClientQuotaAlteration alteration) {
+            this.alteration = alteration;
+        }
+    }
+}
@@ -19,6 +19,7 @@ import io.strimzi.operator.common.AbstractOperator;
 import io.strimzi.operator.common.MicrometerMetricsProvider;
 import io.strimzi.operator.common.PasswordGenerator;
 import io.strimzi.operator.common.Reconciliation;
+import io.strimzi.operator.common.WorkQueue;
 import io.strimzi.operator.common.model.Labels;
 import io.strimzi.operator.common.model.NamespaceAndName;
 import io.strimzi.operator.common.operator.resource.CrdOperator;
@@ -27,8 +28,10 @@ import io.strimzi.operator.common.operator.resource.SecretOperator;
 import io.strimzi.operator.common.operator.resource.StatusUtils;
 import io.strimzi.operator.user.model.KafkaUserModel;
 import io.strimzi.operator.user.model.acl.SimpleAclRule;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import org.apache.logging.log4j.LogManager;
@@ -37,6 +40,7 @@ import org.apache.logging.log4j.Logger;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -59,7 +63,7 @@ public class KafkaUserOperator extends AbstractOperator<KafkaUser,
     private final String caNamespace;
     private final ScramShaCredentialsOperator scramShaCredentialOperator;
     private final Optional<LabelSelector> selector;
-    private final KafkaUserQuotasOperator kafkaUserQuotasOperator;
+    private final UserQuotasOperator kafkaUserQuotasOperator;
     private PasswordGenerator passwordGenerator = new PasswordGenerator(12);
 
     /**
@@ -81,9 +85,37 @@ public class KafkaUserOperator extends AbstractOperator<KafkaUser,
                              Labels labels,
                              SecretOperator secretOperations,
                              ScramShaCredentialsOperator scramShaCredentialOperator,
-                             KafkaUserQuotasOperator kafkaUserQuotasOperator,
+                             UserQuotasOperator kafkaUserQuotasOperator,
                              SimpleAclOperator aclOperations, String caCertName, String caKeyName, String caNamespace) {
-        super(vertx, "KafkaUser", crdOperator, new MicrometerMetricsProvider());
+        this(vertx, certManager, crdOperator, labels, secretOperations, scramShaCredentialOperator, kafkaUserQuotasOperator,
+                aclOperations, caCertName, caKeyName, caNamespace, WorkQueue.UNBOUNDED);
+    }
+
+    /**
+     * @param vertx The Vertx instance.
+     * @param certManager For managing certificates.
+     * @param crdOperator For operating on Custom Resources.
+     * @param labels A selector for which users in the namespace to consider as the operators
+     * @param secretOperations For operating on Secrets.
+     * @param scramShaCredentialOperator For operating on SCRAM SHA credentials.
+     * @param kafkaUserQuotasOperator For operating on Kafka User quotas.
+     * @param aclOperations For operating on ACLs.
+     * @param caCertName The name of the Secret containing the clients CA certificate.
+     * @param caKeyName The name of the Secret containing the clients CA private key.
+     * @param caNamespace The namespace of the Secret containing the clients CA certificate and private key.
+     * @param maxConcurrentReconciliations The maximum number of users reconciled at the same time.
+     */
+    @SuppressWarnings({"checkstyle:ParameterNumber"})
+    public KafkaUserOperator(Vertx vertx,
+                             CertManager certManager,
+                             CrdOperator<KubernetesClient, KafkaUser, KafkaUserList, DoneableKafkaUser> crdOperator,
+                             Labels labels,
+                             SecretOperator secretOperations,
+                             ScramShaCredentialsOperator scramShaCredentialOperator,
+                             UserQuotasOperator kafkaUserQuotasOperator,
+                             SimpleAclOperator aclOperations, String caCertName, String caKeyName, String caNamespace,
+                             int maxConcurrentReconciliations) {
+        super(vertx, "KafkaUser", crdOperator, new MicrometerMetricsProvider(), maxConcurrentReconciliations);
         this.certManager = certManager;
         Map<String, String> matchLabels = labels.toMap();
         this.selector = matchLabels.isEmpty() ? Optional.empty() : Optional.of(new LabelSelector(null, matchLabels));
@@ -101,14 +133,28 @@ public class KafkaUserOperator extends AbstractOperator<KafkaUser,
         return selector;
     }
 
+    @Override
+    public void reconcileAll(String trigger, String namespace, Handler<AsyncResult<Void>> handler) {
+        super.reconcileAll(trigger, namespace, result -> {
+            // The ACLs snapshot is only meant for the reconciliations of this pass
+            aclOperations.dropSnapshot();
+            handler.handle(result);
+        });
+    }
+
     @Override
     public Future<Set<NamespaceAndName>> allResourceNames(String namespace) {
+        Future<Set<String>> usersWithQuotas = kafkaUserQuotasOperator.reconcilesUsersWithQuotas()
+                ? invokeAsync(kafkaUserQuotasOperator::getUsersWithQuotas)
+                : Future.succeededFuture(Collections.emptySet());
         return CompositeFuture.join(super.allResourceNames(namespace),
                 invokeAsync(aclOperations::getUsersWithAcls),
-                invokeAsync(scramShaCredentialOperator::list)).map(compositeFuture -> {
+                invokeAsync(scramShaCredentialOperator::list),
+                usersWithQuotas).map(compositeFuture -> {
                     Set<NamespaceAndName> names = compositeFuture.resultAt(0);
                     names.addAll(toResourceRef(namespace, compositeFuture.resultAt(1)));
                     names.addAll(toResourceRef(namespace, compositeFuture.resultAt(2)));
+                    names.addAll(toResourceRef(namespace, compositeFuture.resultAt(3)));
                     return names;
                 });
     }
@@ -4,64 +4,73 @@
  */
 package io.strimzi.operator.user.operator;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import io.fabric8.zjsonpatch.JsonDiff;
 import io.strimzi.api.kafka.model.KafkaUserQuotas;
 import io.strimzi.operator.common.operator.resource.ReconcileResult;
+import io.strimzi.operator.user.model.KafkaUserModel;
 import io.vertx.core.Future;
-import io.vertx.core.Promise;
-import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
-import org.I0Itec.zkclient.ZkClient;
-import org.I0Itec.zkclient.serialize.BytesPushThroughSerializer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
 
-public class KafkaUserQuotasOperator {
+/**
+ * Manages the quotas of Kafka users by writing them directly to the user configurations in ZooKeeper.
+ */
+public class KafkaUserQuotasOperator implements UserQuotasOperator {
     private static final Logger log = LogManager.getLogger(KafkaUserQuotasOperator.class.getName());
 
-    private final static int CONNECTION_TIMEOUT = 30_000;
-
-    private ZkClient zkClient;
-    private Vertx vertx;
+    private final ZkUserConfigStore store;
 
-    public KafkaUserQuotasOperator(Vertx vertx, String zookeeperUrl, int zookeeperSessionTimeout) {
-        this.zkClient = new ZkClient(zookeeperUrl, zookeeperSessionTimeout, CONNECTION_TIMEOUT, new BytesPushThroughSerializer());
-        this.vertx = vertx;
+    public KafkaUserQuotasOperator(ZkUserConfigStore store) {
+        this.store = store;
     }
 
-    Future<ReconcileResult<KafkaUserQuotas>> reconcile(String username, KafkaUserQuotas quotas) {
-        Promise<ReconcileResult<KafkaUserQuotas>> prom = Promise.promise();
-        
-        vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
-            future -> {
-                try {
-                    boolean exists = exists(username);
-                    if (quotas != null) {
-                        createOrUpdate(username, quotas);
-                        future.complete(exists ? ReconcileResult.created(quotas) : ReconcileResult.patched(quotas));
-                    } else {
-                        if (exists) {
-                            delete(username);
-                            future.complete(ReconcileResult.deleted());
-                        } else {
-                            future.complete(ReconcileResult.noop(null));
-                        }
-                    }
-                } catch (Throwable t) {
-                    prom.fail(t);
+    @Override
+    public Future<ReconcileResult<KafkaUserQuotas>> reconcile(String username, KafkaUserQuotas quotas) {
+        try {
+            boolean exists = exists(username);
+            if (quotas != null) {
+                return createOrUpdate(username, quotas)
+                        .map(exists ? ReconcileResult.created(quotas) : ReconcileResult.patched(quotas));
+            } else {
+                if (exists) {
+                    return delete(username).map(ReconcileResult.deleted());
+                } else {
+                    return Future.succeededFuture(ReconcileResult.noop(null));
                 }
-            },
-            false,
-            prom);
+            }
+        } catch (Throwable t) {
+            return Future.failedFuture(t);
+        }
+    }
 
-        return prom.future();
+    /**
+     * Users with quotas but without KafkaUser resource are not reconciled, so that upgrading does not remove the
+     * quotas which were not set by the operator.
+     */
+    @Override
+    public boolean reconcilesUsersWithQuotas() {
+        return false;
+    }
+
+    @Override
+    public Set<String> getUsersWithQuotas() {
+        Set<String> result = new HashSet<>();
+
+        for (String node : store.list()) {
+            String username = decodeUsername(node);
+            if (exists(username)) {
+                result.add(KafkaUserModel.decodeUsername(username));
+            }
+        }
+
+        return result;
     }
 
     /**
@@ -69,36 +78,17 @@ public class KafkaUserQuotasOperator {
      *
      * @param username The name of the user which should be created or updated
      * @param quotas The desired user quotas
+     * @return A Future which completes once the quotas were stored
      */
-    public void createOrUpdate(String username, KafkaUserQuotas quotas) {
-        String encodedUsername = encodeUsername(username);
-
-        byte[] data = zkClient.readData("/config/users/" + encodedUsername, true);
-
-        if (data != null)   {
-            log.debug("Checking quota updates for user {}", username);
-            JsonNode diff = null;
-
-            try {
-                ObjectMapper objectMapper = new ObjectMapper();
-                diff = JsonDiff.asJson(objectMapper.readTree(data), objectMapper.readTree(createOrUpdateUserJson(data, quotas)));
-            } catch (IOException e) {
-                log.error("Failed to diff user configuration for user {}", username, e);
-            }
-
-            if (diff != null && diff.size() > 0) {
-                log.debug("Updating quotas for user {}", username);
-                zkClient.writeData("/config/users/" + encodedUsername, createOrUpdateUserJson(data, quotas));
-                notifyChanges(username);
+    public Future<Void> createOrUpdate(String username, KafkaUserQuotas quotas) {
+        return store.update(encodeUsername(username), json -> {
+            if (json != null)   {
+                log.debug("Checking quota updates for user {}", username);
             } else {
-                log.debug("Nothing to update in quotas for user {}", username);
+                log.debug("Creating quotas for user {}", username);
             }
-        } else {
-            log.debug("Creating quotas for user {}", username);
-            ensurePath("/config/users");
-            zkClient.createPersistent("/config/users/" + encodedUsername, createUserJson(quotas));
-            notifyChanges(username);
-        }
+            return withQuotas(json, quotas);
+        });
     }
 
     /**
@@ -120,10 +110,12 @@ public class KafkaUserQuotasOperator {
      * @return  Returns the updated JSON as byte array
      */
     protected byte[] createOrUpdateUserJson(byte[] user, KafkaUserQuotas quotas)   {
-        JsonObject json;
+        return withQuotas(user != null ? new JsonObject(new String(user, StandardCharsets.UTF_8)) : null, quotas)
+                .encode().getBytes(StandardCharsets.UTF_8);
+    }
 
-        if (user != null) {
-            json = new JsonObject(new String(user, StandardCharsets.UTF_8));
+    private JsonObject withQuotas(JsonObject json, KafkaUserQuotas quotas)   {
+        if (json != null) {
             validateJsonVersion(json);
         } else {
             json = new JsonObject()
@@ -159,40 +151,7 @@ public class KafkaUserQuotasOperator {
 
         json.put("config", config);
 
-        return json.encode().getBytes(StandardCharsets.UTF_8);
-    }
-
-    /**
-     * This notifies Kafka about the changes we have made
-     *
-     * @param username  Name of the user whose configuration changed
-     */
-    private void notifyChanges(String username) {
-        String encodedUsername = encodeUsername(username);
-
-        log.debug("Notifying changes for user {}", username);
-
-        ensurePath("/config/changes");
-
-        JsonObject json = new JsonObject().put("version", 2).put("entity_path", "users/" + encodedUsername);
-        zkClient.createPersistentSequential("/config/changes/config_change_", json.encode().getBytes(StandardCharsets.UTF_8));
-    }
-
-    /**
-     * Ensures that the path in Zookeeper exists.
-     * It checks whether it already exists and in case it doesn't, it will create the path.
-     *
-     * @param path The Zookeeper path which should exist
-     */
-    private void ensurePath(String path)    {
-        if (!zkClient.exists(path))   {
-            zkClient.createPersistent(path, true);
-        }
-    }
-
-    /* test */
-    boolean isPathExist(String path)    {
-        return zkClient.exists(path);
+        return json;
     }
 
     /**
@@ -203,13 +162,9 @@ public class KafkaUserQuotasOperator {
      * @return True if the user exists
      */
     boolean exists(String username) {
-        String encodedUsername = encodeUsername(username);
-
-        byte[] data = zkClient.readData("/config/users/" + encodedUsername, true);
+        JsonObject json = store.get(encodeUsername(username));
 
-        if (data != null)   {
-            String jsonString = new String(data, StandardCharsets.UTF_8);
-            JsonObject json = new JsonObject(jsonString);
+        if (json != null)   {
             validateJsonVersion(json);
             JsonObject config = json.getJsonObject("config");
 
@@ -237,25 +192,19 @@ public class KafkaUserQuotasOperator {
      * It is not an error if the user doesn't exist, or doesn't currently have any quotas.
      *
      * @param username Name of the user
+     * @return A Future which completes once the quotas were deleted
      */
-    public void delete(String username) {
-        String encodedUsername = encodeUsername(username);
-
-        byte[] data = zkClient.readData("/config/users/" + encodedUsername, true);
-
-        if (data != null)   {
-            log.debug("Deleting quotas for user {}", username);
-            JsonObject deleteJson = removeQuotasFromJsonUser(data);
-            if (configJsonIsEmpty(deleteJson)) {
-                zkClient.deleteRecursive("/config/users/" + encodedUsername);
-                log.debug("User {} deleted from ZK store", username);
+    public Future<Void> delete(String username) {
+        return store.update(encodeUsername(username), json -> {
+            if (json != null)   {
+                log.debug("Deleting quotas for user {}", username);
+                JsonObject deleteJson = removeQuotas(json);
+                return configJsonIsEmpty(deleteJson) ? null : deleteJson;
             } else {
-                zkClient.writeData("/config/users/" + encodedUsername, deleteJson.toBuffer().getBytes());
+                log.warn("Quotas for user {} already don't exist", username);
+                return null;
             }
-            notifyChanges(username);
-        } else {
-            log.warn("Quotas for user {} already don't exist", username);
-        }
+        });
     }
 
     /**
@@ -266,8 +215,10 @@ public class KafkaUserQuotasOperator {
      * @return  Returns the updated JSON without the quotas
      */
     protected JsonObject removeQuotasFromJsonUser(byte[] userConfig)   {
-        JsonObject json = new JsonObject(new String(userConfig, StandardCharsets.UTF_8));
+        return removeQuotas(new JsonObject(new String(userConfig, StandardCharsets.UTF_8)));
+    }
 
+    private JsonObject removeQuotas(JsonObject json)   {
         validateJsonVersion(json);
         JsonObject config = json.getJsonObject("config");
         if (config == null) {
@@ -293,15 +244,7 @@ public class KafkaUserQuotasOperator {
     }
 
     protected JsonObject getQuotas(String username) {
-        String encodedUsername = encodeUsername(username);
-
-        byte[] data = zkClient.readData("/config/users/" + encodedUsername, true);
-
-        if (data != null) {
-            String jsonString = new String(data, StandardCharsets.UTF_8);
-            JsonObject json = new JsonObject(jsonString);
-            return json;
-        } else return null;
+        return store.get(encodeUsername(username));
     }
 
     /**
@@ -317,4 +260,18 @@ public class KafkaUserQuotasOperator {
             throw new RuntimeException("Failed to encode username", e);
         }
     }
+
+    /**
+     * Decodes the username encoded with URL Encoder
+     *
+     * @param username  Encoded username
+     * @return          Decoded username
+     */
+    protected static String decodeUsername(String username) {
+        try {
+            return URLDecoder.decode(username, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException("Failed to decode username", e);
+        }
+    }
 }
@@ -4,9 +4,8 @@
  */
 package io.strimzi.operator.user.operator;
 
+import io.vertx.core.Future;
 import io.vertx.core.json.JsonObject;
-import org.I0Itec.zkclient.ZkClient;
-import org.I0Itec.zkclient.serialize.BytesPushThroughSerializer;
 import org.apache.kafka.common.security.scram.ScramCredential;
 import org.apache.kafka.common.security.scram.internals.ScramCredentialUtils;
 import org.apache.kafka.common.security.scram.internals.ScramFormatter;
@@ -26,34 +25,34 @@ public class ScramShaCredentials {
     private static final Logger log = LogManager.getLogger(ScramShaCredentials.class.getName());
 
     private final static int ITERATIONS = 4096;
-    private final static int CONNECTION_TIMEOUT = 30_000;
 
     private final ScramMechanism mechanism = ScramMechanism.SCRAM_SHA_512;
-    private ZkClient zkClient;
+    private final ZkUserConfigStore store;
 
-    public ScramShaCredentials(String zookeeperUrl, int zookeeperSessionTimeout) {
-        zkClient = new ZkClient(zookeeperUrl, zookeeperSessionTimeout, CONNECTION_TIMEOUT, new BytesPushThroughSerializer());
+    public ScramShaCredentials(ZkUserConfigStore store) {
+        this.store = store;
     }
 
     /**
      * Create or update the SCRAM-SHA credentials for the given user.
+     * The credentials are generated in the calling thread, which should not be an event loop thread.
      *
      * @param username The name of the user which should be created or updated
      * @param password The desired user password
+     * @return A Future which completes once the credentials were stored
      */
-    public void createOrUpdate(String username, String password) {
-        byte[] data = zkClient.readData("/config/users/" + username, true);
-
-        if (data != null)   {
-            log.debug("Updating {} credentials for user {}", mechanism.mechanismName(), username);
-            zkClient.writeData("/config/users/" + username, updateUserJson(data, password));
-        } else {
-            log.debug("Creating {} credentials for user {}", mechanism.mechanismName(), username);
-            ensurePath("/config/users");
-            zkClient.createPersistent("/config/users/" + username, createUserJson(password));
-        }
+    public Future<Void> createOrUpdate(String username, String password) {
+        String credentials = generateCredentials(password);
 
-        notifyChanges(username);
+        return store.update(username, json -> {
+            if (json != null)   {
+                log.debug("Updating {} credentials for user {}", mechanism.mechanismName(), username);
+                return withCredentials(json, credentials);
+            } else {
+                log.debug("Creating {} credentials for user {}", mechanism.mechanismName(), username);
+                return withCredentials(new JsonObject().put("version", 1), credentials);
+            }
+        });
     }
 
     private boolean configJsonIsEmpty(JsonObject json) {
@@ -67,22 +66,19 @@ public class ScramShaCredentials {
      * It is not an error if the user doesn't exist, or doesn't currently have any SCRAM-SHA credentials.
      *
      * @param username Name of the user
+     * @return A Future which completes once the credentials were deleted
      */
-    public void delete(String username) {
-        byte[] data = zkClient.readData("/config/users/" + username, true);
-
-        if (data != null)   {
-            log.debug("Deleting {} credentials for user {}", mechanism.mechanismName(), username);
-            JsonObject deletedJson = removeScramCredentialsFromUserJson(data);
-            if (configJsonIsEmpty(deletedJson)) {
-                zkClient.deleteRecursive("/config/users/" + username);
+    public Future<Void> delete(String username) {
+        return store.update(username, json -> {
+            if (json != null)   {
+                log.debug("Deleting {} credentials for user {}", mechanism.mechanismName(), username);
+                JsonObject deletedJson = removeScramCredentials(json);
+                return configJsonIsEmpty(deletedJson) ? null : deletedJson;
             } else {
-                zkClient.writeData("/config/users/" + username, deletedJson.toBuffer().getBytes());
+                log.warn("Credentials for user {} already don't exist", username);
+                return null;
             }
-            notifyChanges(username);
-        } else {
-            log.warn("Credentials for user {} already don't exist", username);
-        }
+        });
     }
 
     /**
@@ -93,11 +89,9 @@ public class ScramShaCredentials {
      * @return True if the user exists and is configured for given mechanism
      */
     public boolean exists(String username) {
-        byte[] data = zkClient.readData("/config/users/" + username, true);
+        JsonObject json = store.get(username);
 
-        if (data != null)   {
-            String jsonString = new String(data, Charset.defaultCharset());
-            JsonObject json = new JsonObject(jsonString);
+        if (json != null)   {
             validateJsonVersion(json);
             JsonObject config = json.getJsonObject("config");
 
@@ -126,48 +120,34 @@ public class ScramShaCredentials {
     public List<String> list() {
         List<String> result = new ArrayList<>();
 
-        if (zkClient.exists("/config/users"))   {
-            List<String> nodes = zkClient.getChildren("/config/users");
-
-            for (String node : nodes)   {
-                if (exists(node))   {
-                    result.add(node);
-                }
+        for (String node : store.list())   {
+            if (exists(node))   {
+                result.add(node);
             }
         }
 
         return result;
     }
 
-    /**
-     * This notifies Kafka about the changes we have made
-     *
-     * @param username  Name of the user whose configuration changed
-     */
-    private void notifyChanges(String username) {
-        log.debug("Notifying changes for user {}", username);
-
-        ensurePath("/config/changes");
-
-        JsonObject json = new JsonObject().put("version", 2).put("entity_path", "users/" + username);
-        zkClient.createPersistentSequential("/config/changes/config_change_", json.encode().getBytes(Charset.defaultCharset()));
+    private String generateCredentials(String password) {
+        try {
+            ScramFormatter formatter = new ScramFormatter(mechanism);
+            ScramCredential credentials = formatter.generateCredential(password, ITERATIONS);
+            return ScramCredentialUtils.credentialToString(credentials);
+        } catch (NoSuchAlgorithmException e)    {
+            throw new RuntimeException("Failed to generate credentials", e);
+        }
     }
 
-    /**
-     * Ensures that the path in Zookeeper exists.
-     * It checks whether it already exists and in case it doesn't, it will create the path.
-     *
-     * @param path The Zookeeper path which should exist
-     */
-    private void ensurePath(String path)    {
-        if (!zkClient.exists(path))   {
-            zkClient.createPersistent(path, true);
+    private JsonObject withCredentials(JsonObject json, String credentials) {
+        validateJsonVersion(json);
+
+        if (json.getJsonObject("config") == null)   {
+            json.put("config", new JsonObject());
         }
-    }
 
-    /* test */
-    boolean isPathExist(String path)    {
-        return zkClient.exists(path);
+        json.getJsonObject("config").put(mechanism.mechanismName(), credentials);
+        return json;
     }
 
     /**
@@ -177,18 +157,8 @@ public class ScramShaCredentials {
      * @return  Returns the geenrated JSON as byte array
      */
     protected byte[] createUserJson(String password)   {
-        try {
-            ScramFormatter formatter = new ScramFormatter(mechanism);
-            ScramCredential credentials = formatter.generateCredential(password, ITERATIONS);
-
-            JsonObject json = new JsonObject()
-                    .put("version", 1)
-                    .put("config", new JsonObject().put(mechanism.mechanismName(), ScramCredentialUtils.credentialToString(credentials)));
-
-            return json.encode().getBytes(Charset.defaultCharset());
-        } catch (NoSuchAlgorithmException e)    {
-            throw new RuntimeException("Failed to generate credentials", e);
-        }
+        return withCredentials(new JsonObject().put("version", 1), generateCredentials(password))
+                .encode().getBytes(Charset.defaultCharset());
     }
 
     /**
@@ -201,23 +171,7 @@ public class ScramShaCredentials {
      */
     protected byte[] updateUserJson(byte[] user, String password)   {
         JsonObject json = new JsonObject(new String(user, Charset.defaultCharset()));
-
-        validateJsonVersion(json);
-
-        if (json.getJsonObject("config") == null)   {
-            json.put("config", new JsonObject());
-        }
-
-        try {
-            ScramFormatter formatter = new ScramFormatter(mechanism);
-            ScramCredential credentials = formatter.generateCredential(password, ITERATIONS);
-
-            json.getJsonObject("config").put(mechanism.mechanismName(), ScramCredentialUtils.credentialToString(credentials));
-
-            return json.encode().getBytes(Charset.defaultCharset());
-        } catch (NoSuchAlgorithmException e)    {
-            throw new RuntimeException("Failed to generate credentials", e);
-        }
+        return withCredentials(json, generateCredentials(password)).encode().getBytes(Charset.defaultCharset());
     }
 
     /**
@@ -228,8 +182,10 @@ public class ScramShaCredentials {
      * @return  Returns the updated JSON without the SCRAM credentials
      */
     protected JsonObject removeScramCredentialsFromUserJson(byte[] user)   {
-        JsonObject json = new JsonObject(new String(user, Charset.defaultCharset()));
+        return removeScramCredentials(new JsonObject(new String(user, Charset.defaultCharset())));
+    }
 
+    private JsonObject removeScramCredentials(JsonObject json)   {
         validateJsonVersion(json);
 
         if (json.getJsonObject("config") == null)   {
@@ -249,4 +205,3 @@ public class ScramShaCredentials {
         }
     }
 }
-
@@ -22,20 +22,19 @@ public class ScramShaCredentialsOperator {
     }
 
     Future<Void> reconcile(String username, String password) {
+        if (password == null) {
+            return credsManager.exists(username) ? credsManager.delete(username) : Future.succeededFuture();
+        }
+
+        // Generating the credentials is CPU intensive, so it is done on a worker thread. The credentials are then
+        // written together with the changes of other users.
         Promise<Void> promise = Promise.promise();
         vertx.createSharedWorkerExecutor("kubernetes-ops-pool").executeBlocking(
             future -> {
-                boolean exists = credsManager.exists(username);
-                if (password != null) {
-                    credsManager.createOrUpdate(username, password);
-                    future.complete(null);
-                } else  {
-                    if (exists) {
-                        credsManager.delete(username);
-                        future.complete(null);
-                    } else {
-                        future.complete(null);
-                    }
+                try {
+                    credsManager.createOrUpdate(username, password).onComplete(future);
+                } catch (Throwable t) {
+                    future.fail(t);
                 }
             },
             false,
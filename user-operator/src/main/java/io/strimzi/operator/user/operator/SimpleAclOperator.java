@@ -5,6 +5,7 @@
 package io.strimzi.operator.user.operator;
 
 import io.strimzi.operator.cluster.model.InvalidResourceException;
+import io.strimzi.operator.common.Util;
 import io.strimzi.operator.common.operator.resource.ReconcileResult;
 import io.strimzi.operator.user.model.KafkaUserModel;
 import io.strimzi.operator.user.model.acl.SimpleAclRule;
@@ -13,6 +14,8 @@ import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.DeleteAclsResult;
+import org.apache.kafka.common.KafkaFuture;
 import org.apache.kafka.common.acl.AccessControlEntryFilter;
 import org.apache.kafka.common.acl.AclBinding;
 import org.apache.kafka.common.acl.AclBindingFilter;
@@ -29,8 +32,12 @@ import org.apache.logging.log4j.Logger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
@@ -40,16 +47,39 @@ import java.util.concurrent.ExecutionException;
  * Since SimpleAclAuthorizer is written in Scala, this operator is using some Scala structures required for passing to / returned from the SimpleAclAuthorizer object.
  * This class expects the SimpleAclAuthorizer instance to be passed from the outside.
  * That is useful for testing and is similar to how the Kubernetes client is passed around.
+ *
+ * To avoid one describeAcls request per user, {@link #getUsersWithAcls()} (called at the start of every periodic
+ * reconciliation) keeps the ACLs of all users, indexed by principal, and each user reconciliation uses this snapshot
+ * the first time it reads the user's ACLs. Later reconciliations of the same user, and users whose ACLs are changed
+ * while the snapshot is loaded, describe their ACLs directly. The snapshot is dropped with {@link #dropSnapshot()} once
+ * the periodic reconciliation completes, and is not used anymore once it is older than its maximum age. The ACLs created and deleted by concurrent user
+ * reconciliations are grouped into a single createAcls or deleteAcls request.
  */
 @SuppressWarnings("deprecation")
 public class SimpleAclOperator {
     private static final Logger log = LogManager.getLogger(SimpleAclOperator.class.getName());
 
     private static final List<String> IGNORED_USERS = Arrays.asList("*", "ANONYMOUS");
+    // How long the ACL changes are collected before they are sent to Kafka in one request
+    private static final long BATCH_WINDOW_MS = 10;
 
     private final Vertx vertx;
     private final Admin adminClient;
 
+    // The ACLs of all users from the last call to getUsersWithAcls, indexed by username in the Kafka format
+    private Map<String, Set<SimpleAclRule>> snapshot;
+    private long snapshotTimeMs;
+    private final long snapshotMaxAgeMs;
+    // The users for which the snapshot cannot be used anymore
+    private Set<String> snapshotUsed = new HashSet<>();
+    // The users whose ACLs were changed while a new snapshot was being loaded
+    private Set<String> changedDuringRefresh = new HashSet<>();
+    private int refreshesInProgress = 0;
+
+    private List<PendingChange<AclBinding>> pendingCreates = new ArrayList<>();
+    private List<PendingChange<AclBindingFilter>> pendingDeletes = new ArrayList<>();
+    private boolean flushScheduled = false;
+
     /**
      * Constructor
      *
@@ -57,8 +87,20 @@ public class SimpleAclOperator {
      * @param adminClient Kafka Admin client instance
      */
     public SimpleAclOperator(Vertx vertx, Admin adminClient)  {
+        this(vertx, adminClient, 120_000);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param vertx Vertx instance
+     * @param adminClient Kafka Admin client instance
+     * @param snapshotMaxAgeMs How long the ACLs snapshot loaded by {@link #getUsersWithAcls()} can be used
+     */
+    public SimpleAclOperator(Vertx vertx, Admin adminClient, long snapshotMaxAgeMs)  {
         this.vertx = vertx;
         this.adminClient = adminClient;
+        this.snapshotMaxAgeMs = snapshotMaxAgeMs;
     }
 
     /**
@@ -75,7 +117,7 @@ public class SimpleAclOperator {
                 Set<SimpleAclRule> current;
 
                 try {
-                    current = getAcls(username);
+                    current = getCurrentAcls(username);
                 } catch (Exception e)   {
                     // if authorization is not enabled in the Kafka resource, but the KafkaUser resource doesn't
                     // have ACLs, the UO can just ignore the corresponding exception
@@ -117,15 +159,22 @@ public class SimpleAclOperator {
      * Create all ACLs for given user
      */
     protected Future<ReconcileResult<Set<SimpleAclRule>>> internalCreate(String username, Set<SimpleAclRule> desired) {
-        try {
-            Collection<AclBinding> aclBindings = getAclBindings(username, desired);
-            adminClient.createAcls(aclBindings).all().get();
-        } catch (Exception e) {
-            log.error("Adding Acl rules for user {} failed", username, e);
-            return Future.failedFuture(e);
+        if (desired.isEmpty()) {
+            return Future.succeededFuture(ReconcileResult.created(desired));
         }
 
-        return Future.succeededFuture(ReconcileResult.created(desired));
+        Collection<AclBinding> aclBindings = getAclBindings(username, desired);
+        List<Future> creates = new ArrayList<>(aclBindings.size());
+        for (AclBinding aclBinding : aclBindings) {
+            creates.add(enqueue(pendingCreates, username, aclBinding));
+        }
+
+        return CompositeFuture.all(creates)
+                .recover(e -> {
+                    log.error("Adding Acl rules for user {} failed", username, e);
+                    return Future.failedFuture(e);
+                })
+                .map(ReconcileResult.created(desired));
     }
 
     /**
@@ -181,15 +230,145 @@ public class SimpleAclOperator {
      * Deletes all ACLs for given user
      */
     protected Future<ReconcileResult<Set<SimpleAclRule>>> internalDelete(String username, Set<SimpleAclRule> current) {
+        if (current.isEmpty()) {
+            return Future.succeededFuture(ReconcileResult.deleted());
+        }
 
-        try {
-            Collection<AclBindingFilter> aclBindingFilters = getAclBindingFilters(username, current);
-            adminClient.deleteAcls(aclBindingFilters).all().get();
-        } catch (Exception e) {
-            log.error("Deleting Acl rules for user {} failed", username, e);
-            return Future.failedFuture(e);
+        Collection<AclBindingFilter> aclBindingFilters = getAclBindingFilters(username, current);
+        List<Future> deletes = new ArrayList<>(aclBindingFilters.size());
+        for (AclBindingFilter aclBindingFilter : aclBindingFilters) {
+            deletes.add(enqueue(pendingDeletes, username, aclBindingFilter));
         }
-        return Future.succeededFuture(ReconcileResult.deleted());
+
+        return CompositeFuture.all(deletes)
+                .recover(e -> {
+                    log.error("Deleting Acl rules for user {} failed", username, e);
+                    return Future.failedFuture(e);
+                })
+                .map(ReconcileResult.deleted());
+    }
+
+    /**
+     * Adds an ACL change to the next batch and makes sure the batch is sent.
+     */
+    private <T> Future<Void> enqueue(List<PendingChange<T>> pending, String username, T change) {
+        PendingChange<T> pendingChange = new PendingChange<>(change);
+
+        synchronized (this) {
+            markChanged(username);
+            pending.add(pendingChange);
+
+            if (!flushScheduled) {
+                flushScheduled = true;
+                vertx.setTimer(BATCH_WINDOW_MS, id -> flush());
+            }
+        }
+
+        return pendingChange.promise.future().onComplete(ignore -> {
+            synchronized (this) {
+                markChanged(username);
+            }
+        });
+    }
+
+    /**
+     * Sends all the pending ACL changes to Kafka, using one createAcls and one deleteAcls request.
+     */
+    private void flush() {
+        List<PendingChange<AclBinding>> creates;
+        List<PendingChange<AclBindingFilter>> deletes;
+
+        synchronized (this) {
+            creates = pendingCreates;
+            deletes = pendingDeletes;
+            pendingCreates = new ArrayList<>();
+            pendingDeletes = new ArrayList<>();
+            flushScheduled = false;
+        }
+
+        if (!creates.isEmpty()) {
+            Set<AclBinding> aclBindings = new LinkedHashSet<>();
+            creates.forEach(create -> aclBindings.add(create.change));
+            log.debug("Creating {} Acl rules in one request", aclBindings.size());
+
+            try {
+                Map<AclBinding, KafkaFuture<Void>> results = adminClient.createAcls(aclBindings).values();
+                for (PendingChange<AclBinding> create : creates) {
+                    Util.kafkaFutureToVertxFuture(vertx, results.get(create.change)).onComplete(create.promise);
+                }
+            } catch (Exception e) {
+                creates.forEach(create -> create.promise.tryFail(e));
+            }
+        }
+
+        if (!deletes.isEmpty()) {
+            Set<AclBindingFilter> aclBindingFilters = new LinkedHashSet<>();
+            deletes.forEach(delete -> aclBindingFilters.add(delete.change));
+            log.debug("Deleting {} Acl rules in one request", aclBindingFilters.size());
+
+            try {
+                Map<AclBindingFilter, KafkaFuture<DeleteAclsResult.FilterResults>> results = adminClient.deleteAcls(aclBindingFilters).values();
+                for (PendingChange<AclBindingFilter> delete : deletes) {
+                    Util.kafkaFutureToVertxFuture(vertx, results.get(delete.change))
+                            .compose(SimpleAclOperator::checkDeleted)
+                            .onComplete(delete.promise);
+                }
+            } catch (Exception e) {
+                deletes.forEach(delete -> delete.promise.tryFail(e));
+            }
+        }
+    }
+
+    private static Future<Void> checkDeleted(DeleteAclsResult.FilterResults filterResults) {
+        if (filterResults != null) {
+            for (DeleteAclsResult.FilterResult filterResult : filterResults.values()) {
+                if (filterResult.exception() != null) {
+                    return Future.failedFuture(filterResult.exception());
+                }
+            }
+        }
+        return Future.succeededFuture();
+    }
+
+    /**
+     * Records that the ACLs of the user changed, so that they are not read from a snapshot which might not include
+     * the change. Has to be called while holding the lock of this instance.
+     */
+    private void markChanged(String username) {
+        if (snapshot != null) {
+            snapshotUsed.add(username);
+        }
+        if (refreshesInProgress > 0) {
+            changedDuringRefresh.add(username);
+        }
+    }
+
+    /**
+     * Returns the current ACLs of the user, from the snapshot loaded by {@link #getUsersWithAcls()} when it was not
+     * used for this user yet, or from Kafka otherwise.
+     */
+    private Set<SimpleAclRule> getCurrentAcls(String username) {
+        synchronized (this) {
+            if (snapshot != null && System.currentTimeMillis() - snapshotTimeMs > snapshotMaxAgeMs) {
+                log.debug("Dropping the ACL rules snapshot older than {}ms", snapshotMaxAgeMs);
+                dropSnapshot();
+            }
+            if (snapshot != null && snapshotUsed.add(username)) {
+                log.debug("Using the ACL rules snapshot for user {}", username);
+                return new HashSet<>(snapshot.getOrDefault(username, Collections.emptySet()));
+            }
+        }
+
+        return getAcls(username);
+    }
+
+    /**
+     * Drops the ACLs snapshot loaded by {@link #getUsersWithAcls()}, so that the following reconciliations describe
+     * the ACLs of their user.
+     */
+    public synchronized void dropSnapshot() {
+        snapshot = null;
+        snapshotUsed = new HashSet<>();
     }
 
     /**
@@ -241,16 +420,27 @@ public class SimpleAclOperator {
         log.debug("Searching for Users with any ACL rules");
 
         Collection<AclBinding> aclBindings;
+        synchronized (this) {
+            refreshesInProgress++;
+        }
         try {
             aclBindings = adminClient.describeAcls(AclBindingFilter.ANY).values().get();
         } catch (InterruptedException | ExecutionException e) {
+            synchronized (this) {
+                refreshesInProgress--;
+                snapshot = null;
+            }
             return result;
         }
 
+        Map<String, Set<SimpleAclRule>> aclsByUser = new HashMap<>();
+
         for (AclBinding aclBinding : aclBindings) {
             KafkaPrincipal principal = SecurityUtils.parseKafkaPrincipal(aclBinding.entry().principal());
 
             if (KafkaPrincipal.USER_TYPE.equals(principal.getPrincipalType()))  {
+                aclsByUser.computeIfAbsent(principal.getName(), name -> new HashSet<>()).add(SimpleAclRule.fromAclBinding(aclBinding));
+
                 // Username in ACL might keep different format (for example based on user's subject) and need to be decoded
                 String username = KafkaUserModel.decodeUsername(principal.getName());
 
@@ -270,6 +460,26 @@ public class SimpleAclOperator {
             }
         }
 
+        synchronized (this) {
+            refreshesInProgress--;
+            snapshot = aclsByUser;
+            snapshotTimeMs = System.currentTimeMillis();
+            snapshotUsed = changedDuringRefresh;
+            changedDuringRefresh = new HashSet<>();
+        }
+
         return result;
     }
+
+    /**
+     * An ACL change of a user which is waiting to be sent to Kafka.
+     */
+    private static class PendingChange<T> {
+        private final T change;
+        private final Promise<Void> promise = Promise.promise();
+
+        PendingChange(T change) {
+            this.change = change;
+        }
+    }
 }
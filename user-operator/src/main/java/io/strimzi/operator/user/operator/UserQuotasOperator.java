@@ -0,0 +1,42 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.user.operator;
+
+import io.strimzi.api.kafka.model.KafkaUserQuotas;
+import io.strimzi.operator.common.operator.resource.ReconcileResult;
+import io.vertx.core.Future;
+
+import java.util.Set;
+
+/**
+ * Manages the quotas of Kafka users.
+ */
+public interface UserQuotasOperator {
+    /**
+     * Reconciles the quotas of the given user.
+     *
+     * @param username  User name of the reconciled user. When using TLS client auth, the username should be already in the Kafka format, e.g. CN=my-user
+     * @param quotas    The desired quotas, or null if the user should not have any quotas
+     * @return the Future with reconcile result
+     */
+    Future<ReconcileResult<KafkaUserQuotas>> reconcile(String username, KafkaUserQuotas quotas);
+
+    /**
+     * Returns the names of all users which have some quotas. It is called at the start of every periodic
+     * reconciliation and it might block.
+     *
+     * @return The set with the names of the users which have some quotas.
+     */
+    Set<String> getUsersWithQuotas();
+
+    /**
+     * Users which have quotas but no KafkaUser resource are only included in the periodic reconciliation, which
+     * removes their quotas, when this returns true. Otherwise their quotas are left alone, for example because they
+     * might have been set by hand.
+     *
+     * @return True if the users returned by {@link #getUsersWithQuotas()} should be reconciled.
+     */
+    boolean reconcilesUsersWithQuotas();
+}
@@ -0,0 +1,414 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.user.operator;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.I0Itec.zkclient.IZkChildListener;
+import org.I0Itec.zkclient.IZkDataListener;
+import org.I0Itec.zkclient.ZkClient;
+import org.I0Itec.zkclient.exception.ZkNoNodeException;
+import org.I0Itec.zkclient.serialize.BytesPushThroughSerializer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.Op;
+import org.apache.zookeeper.OpResult;
+import org.apache.zookeeper.ZooDefs;
+import org.apache.zookeeper.data.Stat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Shared access to the user configurations which Kafka keeps in ZooKeeper under {@code /config/users}, and which hold
+ * both the SCRAM-SHA credentials and the quotas of the users.
+ *
+ * <ul>
+ * <li>The configurations are kept in memory and refreshed by ZooKeeper watches, so reading them does not need any
+ *     ZooKeeper request.
+ * <li>Updates are queued and written by a single worker. All the updates queued while the previous batch was being
+ *     written are sent in one ZooKeeper multi-op transaction, together with the config change notifications which
+ *     tell the brokers to reload the configurations of the changed users.
+ * <li>The znodes are updated only if they did not change since they were read. When a transaction fails, the
+ *     configurations of its users are read again and each user is retried in a transaction of its own.
+ * </ul>
+ */
+public class ZkUserConfigStore {
+    private static final Logger log = LogManager.getLogger(ZkUserConfigStore.class.getName());
+
+    private static final String USERS_PATH = "/config/users";
+    private static final String CHANGES_PATH = "/config/changes";
+    private static final String CHANGE_PREFIX = CHANGES_PATH + "/config_change_";
+    private static final int CONNECTION_TIMEOUT = 30_000;
+    // Keeps the size of one transaction well below the default jute.maxbuffer of 1MB
+    private static final int MAX_BATCH_SIZE = 200;
+
+    private final Vertx vertx;
+    private final ZkClient zkClient;
+    private final Map<String, Node> users = new ConcurrentHashMap<>();
+    private final Object refreshLock = new Object();
+    private final IZkChildListener childListener = (path, children) -> refresh(children);
+    private final IZkDataListener dataListener = new IZkDataListener() {
+        @Override
+        public void handleDataChange(String path, Object data) {
+            reload(userFromPath(path));
+        }
+
+        @Override
+        public void handleDataDeleted(String path) {
+            reload(userFromPath(path));
+        }
+    };
+
+    private List<PendingUpdate> pending = new ArrayList<>();
+    private boolean writing = false;
+
+    /* test */ ZkUserConfigStore(Vertx vertx, ZkClient zkClient) {
+        this.vertx = vertx;
+        this.zkClient = zkClient;
+    }
+
+    /**
+     * Connects to ZooKeeper and loads the current user configurations.
+     *
+     * @param vertx The Vertx instance.
+     * @param zookeeperUrl The ZooKeeper connection string.
+     * @param zookeeperSessionTimeout The ZooKeeper session timeout in milliseconds.
+     * @return A Future with the store, which completes once the user configurations were loaded.
+     */
+    public static Future<ZkUserConfigStore> create(Vertx vertx, String zookeeperUrl, int zookeeperSessionTimeout) {
+        Promise<ZkUserConfigStore> promise = Promise.promise();
+        vertx.createSharedWorkerExecutor("zookeeper-ops-pool").executeBlocking(
+            future -> {
+                try {
+                    ZkUserConfigStore store = new ZkUserConfigStore(vertx,
+                            new ZkClient(zookeeperUrl, zookeeperSessionTimeout, CONNECTION_TIMEOUT, new BytesPushThroughSerializer()));
+                    store.start();
+                    future.complete(store);
+                } catch (Throwable t) {
+                    future.fail(t);
+                }
+            },
+            true,
+            promise);
+        return promise.future();
+    }
+
+    /* test */ void start() {
+        ensurePath(USERS_PATH);
+        ensurePath(CHANGES_PATH);
+        refresh(zkClient.subscribeChildChanges(USERS_PATH, childListener));
+        log.debug("Loaded the configuration of {} users", users.size());
+    }
+
+    /**
+     * Disconnects from ZooKeeper.
+     */
+    public void close() {
+        zkClient.unsubscribeAll();
+        zkClient.close();
+    }
+
+    /**
+     * @param user The name of the user's znode.
+     * @return The current configuration of the user, or null if the user has no configuration.
+     */
+    public JsonObject get(String user) {
+        Node node = users.get(user);
+        return node != null ? node.json() : null;
+    }
+
+    /**
+     * @return The names of the znodes of all the users which have a configuration.
+     */
+    public Set<String> list() {
+        return new HashSet<>(users.keySet());
+    }
+
+    /**
+     * Queues an update of the configuration of a user.
+     *
+     * @param user The name of the user's znode.
+     * @param update Computes the new configuration from a copy of the current one (null if the user has no
+     *               configuration yet). It returns the new configuration, or null if the znode should be deleted.
+     *               It can be called more than once, so it should not have any side effects.
+     * @return A Future which completes once the new configuration was written to ZooKeeper. When the configuration
+     * did not change, nothing is written.
+     */
+    public Future<Void> update(String user, UnaryOperator<JsonObject> update) {
+        PendingUpdate pendingUpdate = new PendingUpdate(user, update, vertx.getOrCreateContext());
+
+        synchronized (this) {
+            pending.add(pendingUpdate);
+
+            if (!writing) {
+                writing = true;
+                vertx.createSharedWorkerExecutor("zookeeper-ops-pool").executeBlocking(future -> {
+                    try {
+                        writePending();
+                        future.complete();
+                    } catch (Throwable t) {
+                        log.error("Failed to write the user configurations", t);
+                        synchronized (this) {
+                            pending.forEach(queued -> queued.fail(t));
+                            pending = new ArrayList<>();
+                            writing = false;
+                        }
+                        future.fail(t);
+                    }
+                }, false, null);
+            }
+        }
+
+        return pendingUpdate.promise.future();
+    }
+
+    /**
+     * Writes batches of pending updates until no updates are left.
+     */
+    private void writePending() {
+        while (true) {
+            List<PendingUpdate> batch;
+
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    writing = false;
+                    return;
+                }
+
+                int size = Math.min(pending.size(), MAX_BATCH_SIZE);
+                batch = new ArrayList<>(pending.subList(0, size));
+                pending = new ArrayList<>(pending.subList(size, pending.size()));
+            }
+
+            Map<String, List<PendingUpdate>> byUser = new LinkedHashMap<>();
+            for (PendingUpdate update : batch) {
+                byUser.computeIfAbsent(update.user, user -> new ArrayList<>()).add(update);
+            }
+
+            try {
+                write(byUser);
+            } catch (RuntimeException e) {
+                log.warn("Failed to update the configuration of {} users in one transaction, retrying them one by one", byUser.size(), e);
+
+                for (Map.Entry<String, List<PendingUpdate>> entry : byUser.entrySet()) {
+                    reload(entry.getKey());
+
+                    try {
+                        write(Collections.singletonMap(entry.getKey(), entry.getValue()));
+                    } catch (RuntimeException userException) {
+                        log.error("Failed to update the configuration of user {}", entry.getKey(), userException);
+                        entry.getValue().forEach(update -> update.fail(userException));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the updates to the cached configurations and writes the changed ones in one transaction.
+     *
+     * @throws RuntimeException If the transaction failed. None of the updates was completed in that case.
+     */
+    private void write(Map<String, List<PendingUpdate>> byUser) {
+        List<Op> ops = new ArrayList<>();
+        List<String> changedUsers = new ArrayList<>();
+        List<byte[]> changedData = new ArrayList<>();
+        List<PendingUpdate> succeeded = new ArrayList<>();
+
+        for (Map.Entry<String, List<PendingUpdate>> entry : byUser.entrySet()) {
+            String user = entry.getKey();
+            Node node = users.get(user);
+            JsonObject original = node != null ? node.json() : null;
+            JsonObject json = original;
+
+            for (PendingUpdate update : entry.getValue()) {
+                try {
+                    json = update.update.apply(json != null ? json.copy() : null);
+                    succeeded.add(update);
+                } catch (RuntimeException e) {
+                    log.error("Failed to update the configuration of user {}", user, e);
+                    update.fail(e);
+                }
+            }
+
+            if (json == null ? original == null : json.equals(original)) {
+                log.debug("Configuration of user {} did not change", user);
+                continue;
+            }
+
+            byte[] data = json != null ? json.encode().getBytes(StandardCharsets.UTF_8) : null;
+            if (node == null) {
+                log.debug("Creating configuration of user {}", user);
+                ops.add(Op.create(path(user), data, ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.PERSISTENT));
+            } else if (data == null) {
+                log.debug("Deleting configuration of user {}", user);
+                ops.add(Op.delete(path(user), node.version));
+            } else {
+                log.debug("Updating configuration of user {}", user);
+                ops.add(Op.setData(path(user), data, node.version));
+            }
+            ops.add(Op.create(CHANGE_PREFIX, changeNotification(user), ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.PERSISTENT_SEQUENTIAL));
+            changedUsers.add(user);
+            changedData.add(data);
+        }
+
+        if (!ops.isEmpty()) {
+            log.debug("Writing the configuration of {} users in one transaction", changedUsers.size());
+            List<OpResult> results = zkClient.multi(ops);
+
+            for (int i = 0; i < changedUsers.size(); i++) {
+                // Each user has its own update followed by the change notification
+                OpResult result = results.get(2 * i);
+                String user = changedUsers.get(i);
+
+                if (result instanceof OpResult.SetDataResult) {
+                    Stat stat = ((OpResult.SetDataResult) result).getStat();
+                    cache(user, changedData.get(i), stat.getCzxid(), stat.getVersion());
+                } else if (result instanceof OpResult.CreateResult) {
+                    // The result of a create has no stat, the watch reloads it with its czxid
+                    cache(user, changedData.get(i), Node.UNKNOWN_CZXID, 0);
+                } else {
+                    users.remove(user);
+                }
+            }
+        }
+
+        succeeded.forEach(PendingUpdate::complete);
+    }
+
+    /**
+     * Updates the cached users to match the children of /config/users.
+     */
+    private void refresh(List<String> children) {
+        Set<String> current = children != null ? new HashSet<>(children) : Collections.emptySet();
+
+        synchronized (refreshLock) {
+            for (String user : current) {
+                if (!users.containsKey(user)) {
+                    zkClient.subscribeDataChanges(path(user), dataListener);
+                    reload(user);
+                }
+            }
+
+            for (String user : new ArrayList<>(users.keySet())) {
+                if (!current.contains(user)) {
+                    zkClient.unsubscribeDataChanges(path(user), dataListener);
+                    users.remove(user);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the configuration of the user from ZooKeeper into the cache.
+     */
+    private void reload(String user) {
+        Stat stat = new Stat();
+        try {
+            byte[] data = zkClient.readData(path(user), stat);
+            cache(user, data, stat.getCzxid(), stat.getVersion());
+        } catch (ZkNoNodeException e) {
+            users.remove(user);
+        }
+    }
+
+    private void cache(String user, byte[] data, long czxid, int version) {
+        users.compute(user, (key, old) -> old == null || old.isOlderThan(czxid, version) ? new Node(data, czxid, version) : old);
+    }
+
+    private void ensurePath(String path)    {
+        if (!zkClient.exists(path))   {
+            zkClient.createPersistent(path, true);
+        }
+    }
+
+    /* test */ boolean isPathExist(String path)    {
+        return zkClient.exists(path);
+    }
+
+    private static String path(String user) {
+        return USERS_PATH + "/" + user;
+    }
+
+    private static String userFromPath(String path) {
+        return path.substring(USERS_PATH.length() + 1);
+    }
+
+    private static byte[] changeNotification(String user) {
+        return new JsonObject().put("version", 2).put("entity_path", "users/" + user).encode().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The cached configuration of a user with the czxid and the version of its znode.
+     */
+    private static class Node {
+        static final long UNKNOWN_CZXID = -1;
+
+        private final byte[] data;
+        private final long czxid;
+        private final int version;
+
+        Node(byte[] data, long czxid, int version) {
+            this.data = data;
+            this.czxid = czxid;
+            this.version = version;
+        }
+
+        /**
+         * The version of a znode which was deleted and created again starts again from 0, so the versions are only
+         * compared when both are of the same znode, which is identified by the zxid of its creation.
+         *
+         * @return True if this configuration is older than the configuration of the znode with the given czxid and
+         * version.
+         */
+        boolean isOlderThan(long czxid, int version) {
+            if (this.czxid != UNKNOWN_CZXID && czxid != UNKNOWN_CZXID && this.czxid != czxid) {
+                return this.czxid < czxid;
+            }
+            return this.version <= version;
+        }
+
+        JsonObject json() {
+            return data != null ? new JsonObject(new String(data, StandardCharsets.UTF_8)) : new JsonObject();
+        }
+    }
+
+    /**
+     * An update of the configuration of a user which is waiting to be written.
+     */
+    private static class PendingUpdate {
+        private final String user;
+        private final UnaryOperator<JsonObject> update;
+        private final Context context;
+        private final Promise<Void> promise = Promise.promise();
+
+        PendingUpdate(String user, UnaryOperator<JsonObject> update, Context context) {
+            this.user = user;
+            this.update = update;
+            this.context = context;
+        }
+
+        void complete() {
+            context.runOnContext(v -> promise.tryComplete());
+        }
+
+        void fail(Throwable cause) {
+            context.runOnContext(v -> promise.tryFail(cause));
+        }
+    }
+}
@@ -107,4 +107,38 @@ public class UserOperatorConfigTest {
 
         assertThrows(InvalidConfigurationException.class, () -> UserOperatorConfig.fromMap(envVars));
     }
+
+    @Test
+    public void testReconciliationConcurrency()  {
+        Map<String, String> envVars = new HashMap<>(UserOperatorConfigTest.envVars);
+        assertThat(UserOperatorConfig.fromMap(envVars).getReconciliationConcurrency(), is(UserOperatorConfig.DEFAULT_RECONCILIATION_CONCURRENCY));
+
+        envVars.put(UserOperatorConfig.STRIMZI_RECONCILIATION_CONCURRENCY, "10");
+        assertThat(UserOperatorConfig.fromMap(envVars).getReconciliationConcurrency(), is(10));
+    }
+
+    @Test
+    public void testFromMapNegativeReconciliationConcurrencyThrows()  {
+        Map<String, String> envVars = new HashMap<>(UserOperatorConfigTest.envVars);
+        envVars.put(UserOperatorConfig.STRIMZI_RECONCILIATION_CONCURRENCY, "-1");
+
+        assertThrows(InvalidConfigurationException.class, () -> UserOperatorConfig.fromMap(envVars));
+    }
+
+    @Test
+    public void testQuotasBackend()  {
+        Map<String, String> envVars = new HashMap<>(UserOperatorConfigTest.envVars);
+        assertThat(UserOperatorConfig.fromMap(envVars).getQuotasBackend(), is(UserOperatorConfig.QUOTAS_BACKEND_ZOOKEEPER));
+
+        envVars.put(UserOperatorConfig.STRIMZI_QUOTAS_BACKEND, "Admin");
+        assertThat(UserOperatorConfig.fromMap(envVars).getQuotasBackend(), is(UserOperatorConfig.QUOTAS_BACKEND_ADMIN));
+    }
+
+    @Test
+    public void testFromMapInvalidQuotasBackendThrows()  {
+        Map<String, String> envVars = new HashMap<>(UserOperatorConfigTest.envVars);
+        envVars.put(UserOperatorConfig.STRIMZI_QUOTAS_BACKEND, "kraft");
+
+        assertThrows(InvalidConfigurationException.class, () -> UserOperatorConfig.fromMap(envVars));
+    }
 }
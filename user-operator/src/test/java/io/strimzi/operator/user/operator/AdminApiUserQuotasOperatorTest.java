@@ -0,0 +1,189 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.user.operator;
+
+import io.strimzi.api.kafka.model.KafkaUserQuotas;
+import io.strimzi.operator.common.operator.resource.ReconcileResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AlterClientQuotasResult;
+import org.apache.kafka.clients.admin.DescribeClientQuotasResult;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.quota.ClientQuotaAlteration;
+import org.apache.kafka.common.quota.ClientQuotaEntity;
+import org.apache.kafka.common.quota.ClientQuotaFilter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(VertxExtension.class)
+public class AdminApiUserQuotasOperatorTest {
+    protected static Vertx vertx;
+
+    @BeforeAll
+    public static void before() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterAll
+    public static void after() {
+        vertx.close();
+    }
+
+    private static ClientQuotaEntity user(String name) {
+        return new ClientQuotaEntity(Collections.singletonMap(ClientQuotaEntity.USER, name));
+    }
+
+    private static KafkaUserQuotas quotas(Integer producerByteRate, Integer consumerByteRate) {
+        KafkaUserQuotas quotas = new KafkaUserQuotas();
+        quotas.setProducerByteRate(producerByteRate);
+        quotas.setConsumerByteRate(consumerByteRate);
+        return quotas;
+    }
+
+    private static void mockDescribeClientQuotas(Admin mockAdminClient, Map<ClientQuotaEntity, Map<String, Double>> entities) {
+        DescribeClientQuotasResult result = mock(DescribeClientQuotasResult.class);
+        when(result.entities()).thenReturn(KafkaFuture.completedFuture(entities));
+        when(mockAdminClient.describeClientQuotas(any(ClientQuotaFilter.class))).thenReturn(result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Collection<ClientQuotaAlteration>> mockAlterClientQuotas(Admin mockAdminClient) {
+        ArgumentCaptor<Collection<ClientQuotaAlteration>> captor = ArgumentCaptor.forClass(Collection.class);
+        when(mockAdminClient.alterClientQuotas(captor.capture())).thenAnswer(invocation -> {
+            Collection<ClientQuotaAlteration> alterations = invocation.getArgument(0);
+            Map<ClientQuotaEntity, KafkaFuture<Void>> values = new HashMap<>();
+            alterations.forEach(alteration -> values.put(alteration.entity(), KafkaFuture.completedFuture(null)));
+
+            AlterClientQuotasResult result = mock(AlterClientQuotasResult.class);
+            when(result.values()).thenReturn(values);
+            return result;
+        });
+        return captor;
+    }
+
+    @Test
+    public void testGetUsersWithQuotasIgnoresDefaultUser() {
+        Admin mockAdminClient = mock(AdminClient.class);
+        Map<ClientQuotaEntity, Map<String, Double>> entities = new HashMap<>();
+        entities.put(user("CN=tls-user"), Collections.singletonMap("producer_byte_rate", 1000.0));
+        entities.put(user("scram-user"), Collections.singletonMap("consumer_byte_rate", 2000.0));
+        entities.put(user(null), Collections.singletonMap("producer_byte_rate", 500.0));
+        mockDescribeClientQuotas(mockAdminClient, entities);
+
+        AdminApiUserQuotasOperator op = new AdminApiUserQuotasOperator(vertx, mockAdminClient);
+
+        assertThat(op.getUsersWithQuotas(), containsInAnyOrder("tls-user", "scram-user"));
+    }
+
+    @Test
+    public void testReconcileUsesSnapshotAndGroupsAlterations(VertxTestContext context) {
+        Admin mockAdminClient = mock(AdminClient.class);
+        Map<ClientQuotaEntity, Map<String, Double>> entities = new HashMap<>();
+        entities.put(user("unchanged"), Collections.singletonMap("producer_byte_rate", 1000.0));
+        Map<String, Double> changed = new HashMap<>();
+        changed.put("producer_byte_rate", 1000.0);
+        changed.put("consumer_byte_rate", 2000.0);
+        entities.put(user("changed"), changed);
+        entities.put(user("removed"), Collections.singletonMap("producer_byte_rate", 1000.0));
+        mockDescribeClientQuotas(mockAdminClient, entities);
+        ArgumentCaptor<Collection<ClientQuotaAlteration>> alterCaptor = mockAlterClientQuotas(mockAdminClient);
+
+        AdminApiUserQuotasOperator op = new AdminApiUserQuotasOperator(vertx, mockAdminClient);
+        op.getUsersWithQuotas();
+
+        Checkpoint async = context.checkpoint();
+        CompositeFuture.join(op.reconcile("unchanged", quotas(1000, null)),
+                op.reconcile("changed", quotas(1000, 3000)),
+                op.reconcile("removed", null),
+                op.reconcile("new", quotas(500, null)))
+            .onComplete(context.succeeding(results -> context.verify(() -> {
+                assertThat(results.resultAt(0), instanceOf(ReconcileResult.Noop.class));
+                assertThat(results.resultAt(1), instanceOf(ReconcileResult.Patched.class));
+                assertThat(results.resultAt(2), is(ReconcileResult.deleted()));
+                assertThat(results.resultAt(3), instanceOf(ReconcileResult.Created.class));
+
+                // Only the snapshot was used to read the current quotas
+                verify(mockAdminClient, times(1)).describeClientQuotas(any(ClientQuotaFilter.class));
+
+                // All changes were sent in one request
+                verify(mockAdminClient, times(1)).alterClientQuotas(any());
+                Map<ClientQuotaEntity, Collection<ClientQuotaAlteration.Op>> alterations = alterCaptor.getValue().stream()
+                        .collect(Collectors.toMap(ClientQuotaAlteration::entity, ClientQuotaAlteration::ops));
+                assertThat(alterations.keySet(), containsInAnyOrder(user("changed"), user("removed"), user("new")));
+                assertThat(alterations.get(user("changed")), containsInAnyOrder(new ClientQuotaAlteration.Op("consumer_byte_rate", 3000.0)));
+                assertThat(alterations.get(user("removed")), containsInAnyOrder(new ClientQuotaAlteration.Op("producer_byte_rate", null)));
+                assertThat(alterations.get(user("new")), containsInAnyOrder(new ClientQuotaAlteration.Op("producer_byte_rate", 500.0)));
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testSnapshotIsUsedOnlyOnce(VertxTestContext context) {
+        Admin mockAdminClient = mock(AdminClient.class);
+        Map<ClientQuotaEntity, Map<String, Double>> entities = new HashMap<>();
+        entities.put(user("my-user"), Collections.singletonMap("producer_byte_rate", 1000.0));
+        mockDescribeClientQuotas(mockAdminClient, entities);
+
+        AdminApiUserQuotasOperator op = new AdminApiUserQuotasOperator(vertx, mockAdminClient);
+        op.getUsersWithQuotas();
+
+        Checkpoint async = context.checkpoint();
+        op.reconcile("my-user", quotas(1000, null))
+            .compose(ignore -> op.reconcile("my-user", quotas(1000, null)))
+            .onComplete(context.succeeding(result -> context.verify(() -> {
+                assertThat(result, instanceOf(ReconcileResult.Noop.class));
+                // One describe for the snapshot and one for the second reconciliation
+                verify(mockAdminClient, times(2)).describeClientQuotas(any(ClientQuotaFilter.class));
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testAlterationsOfSameUserAreSentSeparately(VertxTestContext context) {
+        Admin mockAdminClient = mock(AdminClient.class);
+        mockDescribeClientQuotas(mockAdminClient, Collections.emptyMap());
+        ArgumentCaptor<Collection<ClientQuotaAlteration>> alterCaptor = mockAlterClientQuotas(mockAdminClient);
+
+        AdminApiUserQuotasOperator op = new AdminApiUserQuotasOperator(vertx, mockAdminClient);
+
+        Checkpoint async = context.checkpoint();
+        CompositeFuture.join(op.reconcile("my-user", quotas(1000, null)), op.reconcile("my-user", quotas(2000, null)))
+            .onComplete(context.succeeding(results -> context.verify(() -> {
+                verify(mockAdminClient, times(2)).alterClientQuotas(any());
+                List<Collection<ClientQuotaAlteration>> requests = alterCaptor.getAllValues();
+                assertThat(requests.get(0).size(), is(1));
+                assertThat(requests.get(1).size(), is(1));
+                assertThat(asList(requests.get(0).iterator().next().ops().iterator().next().value(),
+                        requests.get(1).iterator().next().ops().iterator().next().value()), containsInAnyOrder(1000.0, 2000.0));
+                async.flag();
+            })));
+    }
+}
@@ -10,6 +10,7 @@ import io.strimzi.api.kafka.model.KafkaUser;
 import io.strimzi.certs.CertManager;
 import io.strimzi.operator.common.Reconciliation;
 import io.strimzi.operator.common.model.Labels;
+import io.strimzi.operator.common.model.NamespaceAndName;
 import io.strimzi.operator.common.operator.MockCertManager;
 import io.strimzi.operator.common.operator.resource.CrdOperator;
 import io.strimzi.operator.common.operator.resource.SecretOperator;
@@ -33,6 +34,7 @@ import org.mockito.ArgumentCaptor;
 
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -50,6 +52,8 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(VertxExtension.class)
@@ -642,6 +646,8 @@ public class KafkaUserOperatorTest {
         when(mockSecretOps.list(eq(ResourceUtils.NAMESPACE), eq(Labels.fromMap(ResourceUtils.LABELS).withStrimziKind(KafkaUser.RESOURCE_KIND)))).thenReturn(Arrays.asList(existingTlsUserSecret, existingScramShaUserSecret));
         when(aclOps.getUsersWithAcls()).thenReturn(new HashSet<String>(Arrays.asList("existing-tls-user", "second-deleted-user")));
         when(scramOps.list()).thenReturn(asList("existing-tls-user", "deleted-scram-sha-user"));
+        when(quotasOps.reconcilesUsersWithQuotas()).thenReturn(true);
+        when(quotasOps.getUsersWithQuotas()).thenReturn(new HashSet<String>(Arrays.asList("existing-tls-user", "deleted-quotas-user")));
 
         when(mockCrdOps.get(eq(newTlsUser.getMetadata().getNamespace()), eq(newTlsUser.getMetadata().getName()))).thenReturn(newTlsUser);
         when(mockCrdOps.get(eq(newScramShaUser.getMetadata().getNamespace()), eq(newScramShaUser.getMetadata().getName()))).thenReturn(newScramShaUser);
@@ -685,11 +691,46 @@ public class KafkaUserOperatorTest {
         reconcileAllCompleted.future().compose(v -> context.verify(() -> {
             assertThat(createdOrUpdated, is(new HashSet(asList("new-tls-user", "existing-tls-user",
                     "new-scram-sha-user", "existing-scram-sha-user"))));
-            assertThat(deleted, is(new HashSet(asList("second-deleted-user", "deleted-scram-sha-user"))));
+            assertThat(deleted, is(new HashSet(asList("second-deleted-user", "deleted-scram-sha-user", "deleted-quotas-user"))));
+            // The ACLs snapshot is dropped once the pass completes
+            verify(aclOps).dropSnapshot();
             async.flag();
         }));
     }
 
+    @Test
+    public void testUsersWithQuotasAreNotReconciledWhenTheQuotasOperatorDoesNotReconcileThem(VertxTestContext context) {
+        CrdOperator mockCrdOps = mock(CrdOperator.class);
+        SecretOperator mockSecretOps = mock(SecretOperator.class);
+        SimpleAclOperator aclOps = mock(SimpleAclOperator.class);
+        ScramShaCredentialsOperator scramOps = mock(ScramShaCredentialsOperator.class);
+        KafkaUserQuotasOperator quotasOps = mock(KafkaUserQuotasOperator.class);
+
+        KafkaUser existingTlsUser = ResourceUtils.createKafkaUserTls();
+        existingTlsUser.getMetadata().setName("existing-tls-user");
+
+        when(mockCrdOps.listAsync(eq(ResourceUtils.NAMESPACE), eq(Optional.of(new LabelSelector(null, Labels.fromMap(ResourceUtils.LABELS).toMap()))))).thenReturn(
+                Future.succeededFuture(Arrays.asList(existingTlsUser)));
+        when(aclOps.getUsersWithAcls()).thenReturn(new HashSet<String>());
+        when(scramOps.list()).thenReturn(Collections.emptyList());
+        when(quotasOps.reconcilesUsersWithQuotas()).thenReturn(false);
+        when(quotasOps.getUsersWithQuotas()).thenReturn(new HashSet<String>(Arrays.asList("existing-tls-user", "hand-set-quotas-user")));
+
+        KafkaUserOperator op = new KafkaUserOperator(vertx,
+                mockCertManager,
+                mockCrdOps,
+                Labels.fromMap(ResourceUtils.LABELS),
+                mockSecretOps, scramOps, quotasOps,
+                aclOps, ResourceUtils.CA_CERT_NAME, ResourceUtils.CA_KEY_NAME, ResourceUtils.NAMESPACE);
+
+        Checkpoint async = context.checkpoint();
+        op.allResourceNames(ResourceUtils.NAMESPACE).onComplete(context.succeeding(names -> context.verify(() -> {
+            assertThat(names, is(new HashSet<>(asList(new NamespaceAndName(ResourceUtils.NAMESPACE, "existing-tls-user")))));
+            verify(quotasOps, never()).getUsersWithQuotas();
+            async.flag();
+        })));
+    }
+
     @Test
     public void testReconcileNewScramShaUser(VertxTestContext context)    {
         CrdOperator mockCrdOps = mock(CrdOperator.class);
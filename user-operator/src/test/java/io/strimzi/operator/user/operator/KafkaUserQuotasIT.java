@@ -6,11 +6,14 @@ package io.strimzi.operator.user.operator;
 
 import io.strimzi.api.kafka.model.KafkaUserQuotas;
 import io.strimzi.test.EmbeddedZooKeeper;
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
+import org.I0Itec.zkclient.ZkClient;
+import org.I0Itec.zkclient.serialize.BytesPushThroughSerializer;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +22,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -37,22 +42,39 @@ public class KafkaUserQuotasIT {
 
     private static Vertx vertx;
 
+    private static ZkUserConfigStore store;
 
     @BeforeAll
     public static void before() throws IOException, InterruptedException {
         vertx = Vertx.vertx();
         // Start ZookKeeper Server
         zkServer = new EmbeddedZooKeeper();
-        kuq = new KafkaUserQuotasOperator(vertx, zkServer.getZkConnectString(), 6_000);
+        store = new ZkUserConfigStore(vertx, new ZkClient(zkServer.getZkConnectString(), 6_000, 30_000, new BytesPushThroughSerializer()));
+        store.start();
+        kuq = new KafkaUserQuotasOperator(store);
     }
 
     @AfterAll
     public static void after() {
+        store.close();
         vertx.close();
         // Teardown ZooKeeper Server
         zkServer.close();
     }
 
+    private static void await(Future<Void> future) {
+        CountDownLatch latch = new CountDownLatch(1);
+        future.onComplete(ignore -> latch.countDown());
+        try {
+            assertThat(latch.await(30, TimeUnit.SECONDS), is(true));
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        if (future.failed()) {
+            throw new RuntimeException(future.cause());
+        }
+    }
+
     @BeforeEach
     public void beforeEach() {
         defaultQuotas = new KafkaUserQuotas();
@@ -72,7 +94,7 @@ public class KafkaUserQuotasIT {
 
     public void testUserExistsAfterCreate(String username) {
         assertThat(kuq.exists(username), is(false));
-        kuq.createOrUpdate(username, defaultQuotas);
+        await(kuq.createOrUpdate(username, defaultQuotas));
         assertThat(kuq.exists(username), is(true));
     }
 
@@ -103,16 +125,16 @@ public class KafkaUserQuotasIT {
     public void testCreateOrUpdate(String username) {
         assertThat(kuq.exists(username), is(false));
         assertThat(kuq.getQuotas(username), is(nullValue()));
-        assertThat(kuq.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(false));
+        assertThat(store.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(false));
 
         KafkaUserQuotas newQuotas = new KafkaUserQuotas();
         newQuotas.setConsumerByteRate(1000);
         newQuotas.setProducerByteRate(2000);
-        kuq.createOrUpdate(username, newQuotas);
+        await(kuq.createOrUpdate(username, newQuotas));
         assertThat(kuq.exists(username), is(true));
         assertThat(kuq.getQuotas(username).getJsonObject("config").getString("consumer_byte_rate"), is("1000"));
         assertThat(kuq.getQuotas(username).getJsonObject("config").getString("producer_byte_rate"), is("2000"));
-        assertThat(kuq.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(true));
+        assertThat(store.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(true));
     }
 
     @Test
@@ -126,16 +148,16 @@ public class KafkaUserQuotasIT {
     }
 
     public void testCreateOrUpdateTwice(String username) {
-        assertThat(kuq.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(false));
+        assertThat(store.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(false));
         assertThat(kuq.exists(username), is(false));
         assertThat(kuq.getQuotas(username), is(nullValue()));
 
-        kuq.createOrUpdate(username, defaultQuotas);
-        kuq.createOrUpdate(username, defaultQuotas);
+        await(kuq.createOrUpdate(username, defaultQuotas));
+        await(kuq.createOrUpdate(username, defaultQuotas));
         assertThat(kuq.exists(username), is(true));
         assertThat(kuq.getQuotas(username).getJsonObject("config").getString("consumer_byte_rate"), is("1000"));
         assertThat(kuq.getQuotas(username).getJsonObject("config").getString("producer_byte_rate"), is("2000"));
-        assertThat(kuq.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(true));
+        assertThat(store.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(true));
     }
 
     @Test
@@ -149,13 +171,13 @@ public class KafkaUserQuotasIT {
     }
 
     public void testDelete(String username) {
-        kuq.createOrUpdate(username, defaultQuotas);
-        assertThat(kuq.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(true));
+        await(kuq.createOrUpdate(username, defaultQuotas));
+        assertThat(store.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(true));
         assertThat(kuq.exists(username), is(true));
 
-        kuq.delete(username);
+        await(kuq.delete(username));
         assertThat(kuq.exists(username), is(false));
-        assertThat(kuq.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(false));
+        assertThat(store.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(false));
     }
 
     @Test
@@ -169,30 +191,30 @@ public class KafkaUserQuotasIT {
     }
 
     public void testDeleteTwice(String username) {
-        kuq.createOrUpdate(username, defaultQuotas);
-        assertThat(kuq.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(true));
+        await(kuq.createOrUpdate(username, defaultQuotas));
+        assertThat(store.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(true));
         assertThat(kuq.exists(username), is(true));
 
-        kuq.delete(username);
-        kuq.delete(username);
+        await(kuq.delete(username));
+        await(kuq.delete(username));
         assertThat(kuq.exists(username), is(false));
-        assertThat(kuq.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(false));
+        assertThat(store.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(false));
     }
 
     @Test
     public void testUpdateConsumerByteRate() {
-        kuq.createOrUpdate("changeProducerByteRate", defaultQuotas);
+        await(kuq.createOrUpdate("changeProducerByteRate", defaultQuotas));
         defaultQuotas.setConsumerByteRate(4000);
-        kuq.createOrUpdate("changeProducerByteRate", defaultQuotas);
+        await(kuq.createOrUpdate("changeProducerByteRate", defaultQuotas));
         assertThat(kuq.getQuotas("changeProducerByteRate").getJsonObject("config").getString("consumer_byte_rate"),
                 is("4000"));
     }
 
     @Test
     public void testUpdateProducerByteRate() {
-        kuq.createOrUpdate("changeProducerByteRate", defaultQuotas);
+        await(kuq.createOrUpdate("changeProducerByteRate", defaultQuotas));
         defaultQuotas.setProducerByteRate(8000);
-        kuq.createOrUpdate("changeProducerByteRate", defaultQuotas);
+        await(kuq.createOrUpdate("changeProducerByteRate", defaultQuotas));
         assertThat(kuq.getQuotas("changeProducerByteRate").getJsonObject("config").getString("producer_byte_rate"),
                 is("8000"));
     }
@@ -344,7 +366,7 @@ public class KafkaUserQuotasIT {
                 assertThat(kuq.getQuotas(username).getJsonObject("config").getString("consumer_byte_rate"), is("2000000"));
                 assertThat(kuq.getQuotas(username).getJsonObject("config").getString("producer_byte_rate"), is("1000000"));
                 assertThat(kuq.getQuotas(username).getJsonObject("config").getString("request_percentage"), is("50"));
-                assertThat(kuq.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(true));
+                assertThat(store.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(true));
                 async.flag();
             })));
     }
@@ -365,7 +387,7 @@ public class KafkaUserQuotasIT {
         initialQuotas.setProducerByteRate(1_000_000);
         initialQuotas.setRequestPercentage(50);
 
-        kuq.createOrUpdate(username, initialQuotas);
+        await(kuq.createOrUpdate(username, initialQuotas));
         assertThat(kuq.exists(username), is(true));
 
         KafkaUserQuotas updatedQuotas = new KafkaUserQuotas();
@@ -380,7 +402,7 @@ public class KafkaUserQuotasIT {
                 assertThat(kuq.getQuotas(username).getJsonObject("config").getString("consumer_byte_rate"), is("4000000"));
                 assertThat(kuq.getQuotas(username).getJsonObject("config").getString("producer_byte_rate"), is("3000000"));
                 assertThat(kuq.getQuotas(username).getJsonObject("config").getString("request_percentage"), is("75"));
-                assertThat(kuq.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(true));
+                assertThat(store.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(true));
                 async.flag();
             })));
     }
@@ -401,7 +423,7 @@ public class KafkaUserQuotasIT {
         initialQuotas.setProducerByteRate(1_000_000);
         initialQuotas.setRequestPercentage(50);
 
-        kuq.createOrUpdate(username, initialQuotas);
+        await(kuq.createOrUpdate(username, initialQuotas));
         assertThat(kuq.exists(username), is(true));
 
         KafkaUserQuotas updatedQuotas = new KafkaUserQuotas();
@@ -415,7 +437,7 @@ public class KafkaUserQuotasIT {
                 assertThat(kuq.getQuotas(username).getJsonObject("config").getString("consumer_byte_rate"), is("4000000"));
                 assertThat(kuq.getQuotas(username).getJsonObject("config").getString("producer_byte_rate"), is("3000000"));
                 assertThat(kuq.getQuotas(username).getJsonObject("config").getString("request_percentage"), is(nullValue()));
-                assertThat(kuq.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(true));
+                assertThat(store.isPathExist("/config/users/" + kuq.encodeUsername(username)), is(true));
                 async.flag();
             })));
 
@@ -437,7 +459,7 @@ public class KafkaUserQuotasIT {
         initialQuotas.setProducerByteRate(1_000_000);
         initialQuotas.setRequestPercentage(50);
 
-        kuq.createOrUpdate(username, initialQuotas);
+        await(kuq.createOrUpdate(username, initialQuotas));
         assertThat(kuq.exists(username), is(true));
 
         Checkpoint async = testContext.checkpoint();
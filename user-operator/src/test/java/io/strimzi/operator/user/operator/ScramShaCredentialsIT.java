@@ -5,7 +5,11 @@
 package io.strimzi.operator.user.operator;
 
 import io.strimzi.test.EmbeddedZooKeeper;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
+import org.I0Itec.zkclient.ZkClient;
+import org.I0Itec.zkclient.serialize.BytesPushThroughSerializer;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +17,8 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -26,28 +32,48 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 public class ScramShaCredentialsIT {
 
     private static EmbeddedZooKeeper zkServer;
+    private static Vertx vertx;
+    private static ZkUserConfigStore store;
 
     private ScramShaCredentials scramShaCred;
 
     @BeforeAll
     public static void startZk() throws IOException, InterruptedException {
         zkServer = new EmbeddedZooKeeper();
+        vertx = Vertx.vertx();
+        store = new ZkUserConfigStore(vertx, new ZkClient(zkServer.getZkConnectString(), 6_000, 30_000, new BytesPushThroughSerializer()));
+        store.start();
     }
 
     @AfterAll
     public static void stopZk() {
+        store.close();
+        vertx.close();
         zkServer.close();
     }
 
     @BeforeEach
     public void createSTS() {
-        scramShaCred = new ScramShaCredentials(zkServer.getZkConnectString(), 6_000);
+        scramShaCred = new ScramShaCredentials(store);
+    }
+
+    private static void await(Future<Void> future) {
+        CountDownLatch latch = new CountDownLatch(1);
+        future.onComplete(ignore -> latch.countDown());
+        try {
+            assertThat(latch.await(30, TimeUnit.SECONDS), is(true));
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        if (future.failed()) {
+            throw new RuntimeException(future.cause());
+        }
     }
 
     @Test
     public void testUserExistsAfterCreate() {
         assertThat(scramShaCred.exists("userExists"), is(false));
-        scramShaCred.createOrUpdate("userExists", "foo-password");
+        await(scramShaCred.createOrUpdate("userExists", "foo-password"));
         assertThat(scramShaCred.exists("userExists"), is(true));
     }
 
@@ -58,52 +84,52 @@ public class ScramShaCredentialsIT {
 
     @Test
     public void testCreateOrUpdate() {
-        scramShaCred.createOrUpdate("normalCreate", "foo-password");
+        await(scramShaCred.createOrUpdate("normalCreate", "foo-password"));
         assertThat(scramShaCred.exists("normalCreate"), is(true));
-        assertThat(scramShaCred.isPathExist("/config/users/normalCreate"), is(true));
+        assertThat(store.isPathExist("/config/users/normalCreate"), is(true));
     }
 
     @Test
     public void testCreateOrUpdateTwice() {
-        scramShaCred.createOrUpdate("doubleCreate", "foo-password");
-        scramShaCred.createOrUpdate("doubleCreate", "foo-password");
+        await(scramShaCred.createOrUpdate("doubleCreate", "foo-password"));
+        await(scramShaCred.createOrUpdate("doubleCreate", "foo-password"));
         assertThat(scramShaCred.exists("doubleCreate"), is(true));
-        assertThat(scramShaCred.isPathExist("/config/users/doubleCreate"), is(true));
+        assertThat(store.isPathExist("/config/users/doubleCreate"), is(true));
     }
 
     @Test
     public void testDelete() {
-        scramShaCred.createOrUpdate("normalDelete", "foo-password");
+        await(scramShaCred.createOrUpdate("normalDelete", "foo-password"));
         assertThat(scramShaCred.exists("normalDelete"), is(true));
-        assertThat(scramShaCred.isPathExist("/config/users/normalDelete"), is(true));
-        scramShaCred.delete("normalDelete");
+        assertThat(store.isPathExist("/config/users/normalDelete"), is(true));
+        await(scramShaCred.delete("normalDelete"));
         assertThat(scramShaCred.exists("normalDelete"), is(false));
-        assertThat(scramShaCred.isPathExist("/config/users/normalDelete"), is(false));
+        assertThat(store.isPathExist("/config/users/normalDelete"), is(false));
     }
 
     @Test
     public void testDeleteTwice() {
-        scramShaCred.createOrUpdate("doubleDelete", "foo-password");
+        await(scramShaCred.createOrUpdate("doubleDelete", "foo-password"));
         assertThat(scramShaCred.exists("doubleDelete"), is(true));
-        assertThat(scramShaCred.isPathExist("/config/users/doubleDelete"), is(true));
+        assertThat(store.isPathExist("/config/users/doubleDelete"), is(true));
 
-        scramShaCred.delete("doubleDelete");
-        scramShaCred.delete("doubleDelete");
+        await(scramShaCred.delete("doubleDelete"));
+        await(scramShaCred.delete("doubleDelete"));
         assertThat(scramShaCred.exists("doubleDelete"), is(false));
-        assertThat(scramShaCred.isPathExist("/config/users/doubleDelete"), is(false));
+        assertThat(store.isPathExist("/config/users/doubleDelete"), is(false));
     }
 
     @Test
     public void testCreateOrUpdatePasswordUpdate() {
-        scramShaCred.createOrUpdate("changePassword", "changePassword-password");
-        scramShaCred.createOrUpdate("changePassword", "changePassword-password2");
+        await(scramShaCred.createOrUpdate("changePassword", "changePassword-password"));
+        await(scramShaCred.createOrUpdate("changePassword", "changePassword-password2"));
         assertThat(scramShaCred.exists("changePassword"), is(true));
-        assertThat(scramShaCred.isPathExist("/config/users/changePassword"), is(true));
+        assertThat(store.isPathExist("/config/users/changePassword"), is(true));
     }
 
     @Test
     public void testListListsCreatedUsers() {
-        scramShaCred.createOrUpdate("listSome", "foo-password");
+        await(scramShaCred.createOrUpdate("listSome", "foo-password"));
         assertThat(scramShaCred.list(), hasItem("listSome"));
     }
 
@@ -111,7 +137,7 @@ public class ScramShaCredentialsIT {
     public void testListWithNoUsersReturnsEmptyList() {
         // Ensure all users deleted from other tests
         for (String user : scramShaCred.list()) {
-            scramShaCred.delete(user);
+            await(scramShaCred.delete(user));
         }
         assertThat(scramShaCred.list(), is(empty()));
     }
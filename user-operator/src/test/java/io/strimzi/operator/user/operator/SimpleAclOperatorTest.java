@@ -10,6 +10,7 @@ import io.strimzi.api.kafka.model.AclRuleType;
 import io.strimzi.operator.user.model.acl.SimpleAclRule;
 import io.strimzi.operator.user.model.acl.SimpleAclRuleResource;
 import io.strimzi.operator.user.model.acl.SimpleAclRuleResourceType;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxExtension;
@@ -37,8 +38,10 @@ import org.mockito.ArgumentCaptor;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
@@ -47,12 +50,15 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(VertxExtension.class)
@@ -165,7 +171,7 @@ public class SimpleAclOperatorTest {
         assertDoesNotThrow(() -> {
             mockDescribeAcls(mockAdminClient, null, Collections.singleton(readAclBinding));
             mockCreateAcls(mockAdminClient, aclBindingsCaptor);
-            mockDeleteAcls(mockAdminClient, Collections.singleton(readAclBinding), aclBindingFiltersCaptor);
+            mockDeleteAcls(mockAdminClient, aclBindingFiltersCaptor);
         });
 
         Checkpoint async = context.checkpoint();
@@ -208,7 +214,7 @@ public class SimpleAclOperatorTest {
         ArgumentCaptor<Collection<AclBindingFilter>> aclBindingFiltersCaptor = ArgumentCaptor.forClass(Collection.class);
         assertDoesNotThrow(() -> {
             mockDescribeAcls(mockAdminClient, null, Collections.singleton(readAclBinding));
-            mockDeleteAcls(mockAdminClient, Collections.singleton(readAclBinding), aclBindingFiltersCaptor);
+            mockDeleteAcls(mockAdminClient, aclBindingFiltersCaptor);
         });
 
         Checkpoint async = context.checkpoint();
@@ -228,6 +234,109 @@ public class SimpleAclOperatorTest {
                 })));
     }
 
+    @Test
+    public void testReconcileUsesSnapshotAndGroupsChanges(VertxTestContext context) {
+        Admin mockAdminClient = mock(AdminClient.class);
+        SimpleAclOperator aclOp = new SimpleAclOperator(vertx, mockAdminClient);
+
+        ResourcePattern resource = new ResourcePattern(ResourceType.TOPIC, "my-topic", PatternType.LITERAL);
+
+        KafkaPrincipal foo = new KafkaPrincipal(KafkaPrincipal.USER_TYPE, "CN=foo");
+        AclBinding fooReadAclBinding = new AclBinding(resource, new AccessControlEntry(foo.toString(), "*",
+                org.apache.kafka.common.acl.AclOperation.READ, AclPermissionType.ALLOW));
+        AclBinding fooWriteAclBinding = new AclBinding(resource, new AccessControlEntry(foo.toString(), "*",
+                org.apache.kafka.common.acl.AclOperation.WRITE, AclPermissionType.ALLOW));
+        KafkaPrincipal bar = new KafkaPrincipal(KafkaPrincipal.USER_TYPE, "bar");
+        AclBinding barReadAclBinding = new AclBinding(resource, new AccessControlEntry(bar.toString(), "*",
+                org.apache.kafka.common.acl.AclOperation.READ, AclPermissionType.ALLOW));
+        AclBinding barWriteAclBinding = new AclBinding(resource, new AccessControlEntry(bar.toString(), "*",
+                org.apache.kafka.common.acl.AclOperation.WRITE, AclPermissionType.ALLOW));
+
+        SimpleAclRuleResource ruleResource = new SimpleAclRuleResource("my-topic", SimpleAclRuleResourceType.TOPIC, AclResourcePatternType.LITERAL);
+        SimpleAclRule writeRule = new SimpleAclRule(AclRuleType.ALLOW, ruleResource, "*", AclOperation.WRITE);
+
+        ArgumentCaptor<Collection<AclBinding>> aclBindingsCaptor = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Collection<AclBindingFilter>> aclBindingFiltersCaptor = ArgumentCaptor.forClass(Collection.class);
+        assertDoesNotThrow(() -> {
+            mockDescribeAcls(mockAdminClient, null, asList(fooReadAclBinding, barReadAclBinding));
+            mockCreateAcls(mockAdminClient, aclBindingsCaptor);
+            mockDeleteAcls(mockAdminClient, aclBindingFiltersCaptor);
+        });
+
+        assertThat(aclOp.getUsersWithAcls(), is(new HashSet<>(asList("foo", "bar"))));
+
+        Checkpoint async = context.checkpoint();
+        CompositeFuture.all(aclOp.reconcile("CN=foo", Collections.singleton(writeRule)), aclOp.reconcile("bar", Collections.singleton(writeRule)))
+                .onComplete(context.succeeding(rr -> context.verify(() -> {
+                    // The ACLs were described only once, for all the users
+                    verify(mockAdminClient, times(1)).describeAcls(any());
+
+                    // The changes of both users were sent in one request each
+                    verify(mockAdminClient, times(1)).createAcls(any());
+                    assertThat(aclBindingsCaptor.getValue(), containsInAnyOrder(fooWriteAclBinding, barWriteAclBinding));
+                    verify(mockAdminClient, times(1)).deleteAcls(any());
+                    assertThat(aclBindingFiltersCaptor.getValue(), containsInAnyOrder(fooReadAclBinding.toFilter(), barReadAclBinding.toFilter()));
+
+                    async.flag();
+                })));
+    }
+
+    @Test
+    public void testSnapshotIsUsedOnlyOnce(VertxTestContext context) {
+        Admin mockAdminClient = mock(AdminClient.class);
+        SimpleAclOperator aclOp = new SimpleAclOperator(vertx, mockAdminClient);
+
+        assertDoesNotThrow(() -> mockDescribeAcls(mockAdminClient, null, emptyList()));
+
+        aclOp.getUsersWithAcls();
+
+        Checkpoint async = context.checkpoint();
+        aclOp.reconcile("CN=foo", null)
+                .compose(ignore -> aclOp.reconcile("CN=foo", null))
+                .onComplete(context.succeeding(rr -> context.verify(() -> {
+                    // Once for the snapshot and once for the second reconciliation of the user
+                    verify(mockAdminClient, times(2)).describeAcls(any());
+                    async.flag();
+                })));
+    }
+
+    @Test
+    public void testDroppedSnapshotIsNotUsed(VertxTestContext context) {
+        Admin mockAdminClient = mock(AdminClient.class);
+        SimpleAclOperator aclOp = new SimpleAclOperator(vertx, mockAdminClient);
+
+        assertDoesNotThrow(() -> mockDescribeAcls(mockAdminClient, null, emptyList()));
+
+        aclOp.getUsersWithAcls();
+        aclOp.dropSnapshot();
+
+        Checkpoint async = context.checkpoint();
+        aclOp.reconcile("CN=foo", null)
+                .onComplete(context.succeeding(rr -> context.verify(() -> {
+                    // Once for the snapshot and once for the reconciliation of the user
+                    verify(mockAdminClient, times(2)).describeAcls(any());
+                    async.flag();
+                })));
+    }
+
+    @Test
+    public void testExpiredSnapshotIsNotUsed(VertxTestContext context) {
+        Admin mockAdminClient = mock(AdminClient.class);
+        SimpleAclOperator aclOp = new SimpleAclOperator(vertx, mockAdminClient, -1);
+
+        assertDoesNotThrow(() -> mockDescribeAcls(mockAdminClient, null, emptyList()));
+
+        aclOp.getUsersWithAcls();
+
+        Checkpoint async = context.checkpoint();
+        aclOp.reconcile("CN=foo", null)
+                .onComplete(context.succeeding(rr -> context.verify(() -> {
+                    // Once for the snapshot and once for the reconciliation of the user
+                    verify(mockAdminClient, times(2)).describeAcls(any());
+                    async.flag();
+                })));
+    }
+
     private void mockDescribeAcls(Admin mockAdminClient, AclBindingFilter aclBindingFilter, Collection<AclBinding> aclBindings)
             throws InterruptedException, ExecutionException {
         DescribeAclsResult result = mock(DescribeAclsResult.class);
@@ -237,21 +346,27 @@ public class SimpleAclOperatorTest {
         when(mockAdminClient.describeAcls(aclBindingFilter != null ? aclBindingFilter : any())).thenReturn(result);
     }
 
-    private void mockCreateAcls(Admin mockAdminClient, ArgumentCaptor<Collection<AclBinding>> aclBindingsCaptor)
-            throws InterruptedException, ExecutionException {
-        CreateAclsResult result = mock(CreateAclsResult.class);
-        KafkaFuture<Void> future = mock(KafkaFuture.class);
-        when(future.get()).thenReturn(null);
-        when(result.all()).thenReturn(future);
-        when(mockAdminClient.createAcls(aclBindingsCaptor.capture())).thenReturn(result);
+    private void mockCreateAcls(Admin mockAdminClient, ArgumentCaptor<Collection<AclBinding>> aclBindingsCaptor) {
+        when(mockAdminClient.createAcls(aclBindingsCaptor.capture())).thenAnswer(invocation -> {
+            Collection<AclBinding> aclBindings = invocation.getArgument(0);
+            Map<AclBinding, KafkaFuture<Void>> futures = new HashMap<>();
+            aclBindings.forEach(aclBinding -> futures.put(aclBinding, KafkaFuture.completedFuture(null)));
+
+            CreateAclsResult result = mock(CreateAclsResult.class);
+            when(result.values()).thenReturn(futures);
+            return result;
+        });
     }
 
-    private void mockDeleteAcls(Admin mockAdminClient, Collection<AclBinding> aclBindings, ArgumentCaptor<Collection<AclBindingFilter>> aclBindingFiltersCaptor)
-            throws InterruptedException, ExecutionException {
-        DeleteAclsResult result = mock(DeleteAclsResult.class);
-        KafkaFuture<Collection<AclBinding>> future = mock(KafkaFuture.class);
-        when(future.get()).thenReturn(aclBindings);
-        when(result.all()).thenReturn(future);
-        when(mockAdminClient.deleteAcls(aclBindingFiltersCaptor.capture())).thenReturn(result);
+    private void mockDeleteAcls(Admin mockAdminClient, ArgumentCaptor<Collection<AclBindingFilter>> aclBindingFiltersCaptor) {
+        when(mockAdminClient.deleteAcls(aclBindingFiltersCaptor.capture())).thenAnswer(invocation -> {
+            Collection<AclBindingFilter> aclBindingFilters = invocation.getArgument(0);
+            Map<AclBindingFilter, KafkaFuture<DeleteAclsResult.FilterResults>> futures = new HashMap<>();
+            aclBindingFilters.forEach(aclBindingFilter -> futures.put(aclBindingFilter, KafkaFuture.completedFuture(null)));
+
+            DeleteAclsResult result = mock(DeleteAclsResult.class);
+            when(result.values()).thenReturn(futures);
+            return result;
+        });
     }
 }
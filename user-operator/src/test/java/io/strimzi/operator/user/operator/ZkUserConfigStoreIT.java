@@ -0,0 +1,183 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+package io.strimzi.operator.user.operator;
+
+import io.strimzi.test.EmbeddedZooKeeper;
+import io.strimzi.test.TestUtils;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.I0Itec.zkclient.ZkClient;
+import org.I0Itec.zkclient.serialize.BytesPushThroughSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+
+@ExtendWith(VertxExtension.class)
+public class ZkUserConfigStoreIT {
+
+    private static EmbeddedZooKeeper zkServer;
+    private static Vertx vertx;
+    private static ZkClient zkClient;
+    private static ZkUserConfigStore store;
+
+    @BeforeAll
+    public static void before() throws IOException, InterruptedException {
+        zkServer = new EmbeddedZooKeeper();
+        vertx = Vertx.vertx();
+        zkClient = new ZkClient(zkServer.getZkConnectString(), 6_000, 30_000, new BytesPushThroughSerializer());
+        store = new ZkUserConfigStore(vertx, new ZkClient(zkServer.getZkConnectString(), 6_000, 30_000, new BytesPushThroughSerializer()));
+        store.start();
+    }
+
+    @AfterAll
+    public static void after() {
+        store.close();
+        zkClient.close();
+        vertx.close();
+        zkServer.close();
+    }
+
+    private static JsonObject config(String key, String value) {
+        return new JsonObject().put("version", 1).put("config", new JsonObject().put(key, value));
+    }
+
+    private static JsonObject read(String user) {
+        byte[] data = zkClient.readData("/config/users/" + user, true);
+        return data != null ? new JsonObject(new String(data, StandardCharsets.UTF_8)) : null;
+    }
+
+    @Test
+    public void testConcurrentUpdatesOfManyUsers(VertxTestContext context) {
+        int changesBefore = zkClient.getChildren("/config/changes").size();
+
+        List<Future> updates = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String user = "batch-user-" + i;
+            updates.add(store.update(user, json -> config("producer_byte_rate", user)));
+        }
+
+        Checkpoint async = context.checkpoint();
+        CompositeFuture.all(updates).onComplete(context.succeeding(v -> context.verify(() -> {
+            for (int i = 0; i < 500; i++) {
+                String user = "batch-user-" + i;
+                assertThat(read(user), is(config("producer_byte_rate", user)));
+                assertThat(store.get(user), is(config("producer_byte_rate", user)));
+            }
+            assertThat(store.list(), hasItems("batch-user-0", "batch-user-499"));
+            // One change notification per user
+            assertThat(zkClient.getChildren("/config/changes").size() - changesBefore, is(500));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testUpdatesOfOneUserAreAppliedInOrder(VertxTestContext context) {
+        String user = "ordered-user";
+
+        Future<Void> first = store.update(user, json -> config("producer_byte_rate", "1000"));
+        Future<Void> second = store.update(user, json -> {
+            json.getJsonObject("config").put("consumer_byte_rate", "2000");
+            return json;
+        });
+
+        Checkpoint async = context.checkpoint();
+        CompositeFuture.all(first, second).onComplete(context.succeeding(v -> context.verify(() -> {
+            JsonObject expected = config("producer_byte_rate", "1000");
+            expected.getJsonObject("config").put("consumer_byte_rate", "2000");
+            assertThat(read(user), is(expected));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testUnchangedConfigurationIsNotWritten(VertxTestContext context) {
+        String user = "unchanged-user";
+
+        Checkpoint async = context.checkpoint();
+        store.update(user, json -> config("producer_byte_rate", "1000"))
+            .compose(v -> {
+                int changesBefore = zkClient.getChildren("/config/changes").size();
+                return store.update(user, json -> config("producer_byte_rate", "1000")).map(changesBefore);
+            })
+            .onComplete(context.succeeding(changesBefore -> context.verify(() -> {
+                assertThat(zkClient.getChildren("/config/changes").size(), is(changesBefore));
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testDeleteUser(VertxTestContext context) {
+        String user = "deleted-user";
+
+        Checkpoint async = context.checkpoint();
+        store.update(user, json -> config("producer_byte_rate", "1000"))
+            .compose(v -> store.update(user, json -> null))
+            .onComplete(context.succeeding(v -> context.verify(() -> {
+                assertThat(store.isPathExist("/config/users/" + user), is(false));
+                assertThat(store.get(user), is(nullValue()));
+                async.flag();
+            })));
+    }
+
+    @Test
+    public void testExternalChangesAreWatched(VertxTestContext context) {
+        String user = "external-user";
+
+        zkClient.createPersistent("/config/users/" + user, config("producer_byte_rate", "1000").encode().getBytes(StandardCharsets.UTF_8));
+        TestUtils.waitFor("user to be cached", 100, 10_000, () -> store.get(user) != null);
+
+        zkClient.writeData("/config/users/" + user, config("producer_byte_rate", "2000").encode().getBytes(StandardCharsets.UTF_8));
+        TestUtils.waitFor("user to be updated", 100, 10_000,
+            () -> "2000".equals(store.get(user).getJsonObject("config").getString("producer_byte_rate")));
+
+        // Update based on a possibly stale cached version, which is retried with the current configuration
+        zkClient.writeData("/config/users/" + user, config("producer_byte_rate", "3000").encode().getBytes(StandardCharsets.UTF_8));
+
+        Checkpoint async = context.checkpoint();
+        store.update(user, json -> {
+            json.getJsonObject("config").put("consumer_byte_rate", "4000");
+            return json;
+        }).onComplete(context.succeeding(v -> context.verify(() -> {
+            JsonObject expected = config("producer_byte_rate", "3000");
+            expected.getJsonObject("config").put("consumer_byte_rate", "4000");
+            assertThat(read(user), is(expected));
+            async.flag();
+        })));
+    }
+
+    @Test
+    public void testExternallyRecreatedUserIsReloaded() {
+        String user = "recreated-user";
+        String path = "/config/users/" + user;
+
+        zkClient.createPersistent(path, config("producer_byte_rate", "1000").encode().getBytes(StandardCharsets.UTF_8));
+        zkClient.writeData(path, config("producer_byte_rate", "2000").encode().getBytes(StandardCharsets.UTF_8));
+        zkClient.writeData(path, config("producer_byte_rate", "3000").encode().getBytes(StandardCharsets.UTF_8));
+        TestUtils.waitFor("user to be cached", 100, 10_000,
+            () -> store.get(user) != null && "3000".equals(store.get(user).getJsonObject("config").getString("producer_byte_rate")));
+
+        // The recreated znode has a lower version than the cached one
+        zkClient.delete(path);
+        zkClient.createPersistent(path, config("producer_byte_rate", "4000").encode().getBytes(StandardCharsets.UTF_8));
+        TestUtils.waitFor("recreated user to be cached", 100, 10_000,
+            () -> store.get(user) != null && "4000".equals(store.get(user).getJsonObject("config").getString("producer_byte_rate")));
+    }
+}